@@ -0,0 +1,17 @@
+#!/bin/bash
+# Runs wrk against the blocking /sleep route and appends the throughput and
+# latency percentiles to results.txt, e.g. ./sleep.sh workers or ./sleep.sh virtual
+set -e
+
+LABEL=${1:?"Usage: sleep.sh <label> [connections] [url]"}
+CONNECTIONS=${2:-1000}
+URL=${3:-http://localhost:8080/sleep}
+
+OUTPUT=$(wrk -t4 -c"$CONNECTIONS" -d30s --latency "$URL")
+echo "$OUTPUT"
+
+{
+  echo "$LABEL, java $(java -version 2>&1 | head -1), $CONNECTIONS connections"
+  echo "$OUTPUT" | grep -E "Requests/sec|Non-2xx|Socket errors|^ +(50|99)%"
+  echo
+} >> results.txt
@@ -74,4 +74,15 @@ public class ApplicationController {
         return Response.withOk()
                 .andTextBody(Constants.HELLO_WORLD);
     }
+    
+    public Response sleep() {
+        try {
+            Thread.sleep(Constants.SLEEP_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        
+        return Response.withOk()
+                .andTextBody(Constants.HELLO_WORLD);
+    }
 }
\ No newline at end of file
@@ -12,4 +12,5 @@ public interface Constants {
     public static final String HELLO_WORLD = "Hello, World!";
     public static final String FORTUNE_MESSAGE = "Additional fortune added at request time.";
     public static final int MAX_QUERIES = 50;
+    public static final long SLEEP_MILLIS = 50;
 }
\ No newline at end of file
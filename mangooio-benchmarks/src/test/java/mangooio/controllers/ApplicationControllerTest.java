@@ -56,6 +56,15 @@ public class ApplicationControllerTest {
 		assertThat(mangooResponse.getContent(), containsString(Constants.HELLO_WORLD));
 	}
 	
+	@Test
+	public void testSleep() {
+		WebResponse mangooResponse = WebRequest.get("/sleep").execute();
+		
+		assertThat(mangooResponse, not(nullValue()));
+		assertThat(StatusCodes.OK, equalTo(mangooResponse.getStatusCode()));
+		assertThat(mangooResponse.getContent(), containsString(Constants.HELLO_WORLD));
+	}
+	
 	@Test
 	public void testFortunes() {
 		WebResponse mangooResponse = WebRequest.get("/fortunes").execute();
@@ -11,11 +11,13 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Logger;
@@ -25,22 +27,34 @@ import com.google.inject.Inject;
 
 import io.mangoo.annotations.FilterWith;
 import io.mangoo.cache.Cache;
+import io.mangoo.cache.CacheStatistics;
 import io.mangoo.configuration.Config;
 import io.mangoo.core.Application;
 import io.mangoo.crypto.Crypto;
 import io.mangoo.enums.CacheName;
 import io.mangoo.enums.Key;
+import io.mangoo.enums.RequestStage;
 import io.mangoo.enums.Required;
 import io.mangoo.enums.Template;
 import io.mangoo.exceptions.MangooSchedulerException;
 import io.mangoo.models.Job;
 import io.mangoo.models.Metrics;
+import io.mangoo.models.MetricsRegistry;
+import io.mangoo.models.RequestLog;
+import io.mangoo.models.RequestSummary;
 import io.mangoo.providers.CacheProvider;
 import io.mangoo.routing.Response;
 import io.mangoo.routing.Route;
 import io.mangoo.routing.Router;
 import io.mangoo.routing.bindings.Request;
 import io.mangoo.scheduler.Scheduler;
+import io.mangoo.services.ConcurrentService;
+import io.mangoo.services.EventBusService;
+import io.mangoo.services.HeartbeatService;
+import io.mangoo.services.RuntimeService;
+import io.mangoo.services.ServerSentEventService;
+import io.mangoo.services.SlowRequestService;
+import io.mangoo.services.WebSocketService;
 import io.mangoo.utils.BootstrapUtils;
 import io.mangoo.utils.CodecUtils;
 import io.mangoo.utils.MetricsUtils;
@@ -54,16 +68,26 @@ import io.mangoo.utils.MetricsUtils;
 @FilterWith(AdminFilter.class)
 public class AdminController {
     private static final org.apache.logging.log4j.Logger LOG = LogManager.getLogger(AdminController.class);
+    private static final String APPLICATION = "application";
+    private static final String CACHES = "caches";
+    private static final String CONNECTIONS = "connections";
+    private static final String EVENTBUS = "eventbus";
+    private static final String EXECUTORS = "executors";
     private static final String JOBS = "jobs";
     private static final String LOGGER = "logger";
     private static final String METRICS = "metrics"; //NOSONAR
+    private static final String REQUESTS = "requests";
     private static final String ROUTES = "routes"; //NOSONAR
+    private static final String RUNTIME = "runtime";
     private static final String SCHEDULER = "scheduler";    
+    private static final String SERVER = "server";
+    private static final String SLOW = "slow";
     private static final String SPACE = "space";
     private static final String TOOLS = "tools";
     private static final String VERSION = "version";
     private static final String VERSION_TAG = BootstrapUtils.getVersion();
     private final Cache cache; //NOSONAR
+    private final CacheProvider cacheProvider; //NOSONAR
     private final Config config; //NOSONAR
     private final Crypto crypto; //NOSONAR
     private final Scheduler scheduler; //NOSONAR
@@ -73,9 +97,41 @@ public class AdminController {
         this.config = Objects.requireNonNull(config, Required.CONFIG.toString());
         this.scheduler = Objects.requireNonNull(scheduler, Required.SCHEDULER.toString());
         this.crypto = Objects.requireNonNull(crypto, Required.CRYPTO.toString());
+        this.cacheProvider = Objects.requireNonNull(cacheProvider, Required.CACHE_PROVIDER.toString());
         this.cache = cacheProvider.getCache(CacheName.APPLICATION);
     }
     
+    public Response cache() {
+        Map<String, CacheStatistics> caches = new TreeMap<>();
+        this.cacheProvider.getCaches().forEach((String name, Cache value) -> caches.put(name, value.getStatistics()));
+        
+        return Response.withOk()
+                .andContent(SPACE, CACHES)
+                .andContent(VERSION, VERSION_TAG)
+                .andContent(CACHES, caches)
+                .andTemplate(Template.DEFAULT.cachePath());
+    }
+    
+    public Response eventbus() {
+        EventBusService eventBusService = Application.getInstance(EventBusService.class);
+        
+        return Response.withOk()
+                .andContent(SPACE, EVENTBUS)
+                .andContent(VERSION, VERSION_TAG)
+                .andContent("listeners", eventBusService.getNumListeners())
+                .andContent("events", eventBusService.getNumEvents())
+                .andContent("subscribers", eventBusService.getSubscriberStatistics())
+                .andTemplate(Template.DEFAULT.eventbusPath());
+    }
+    
+    public Response executors() {
+        return Response.withOk()
+                .andContent(SPACE, EXECUTORS)
+                .andContent(VERSION, VERSION_TAG)
+                .andContent(EXECUTORS, Application.getInstance(ConcurrentService.class).getStatistics())
+                .andTemplate(Template.DEFAULT.executorsPath());
+    }
+    
     public Response execute(String name) {
         try {
             this.scheduler.executeJob(name);
@@ -101,6 +157,7 @@ public class AdminController {
                 .andContent("allocatedMemory", FileUtils.byteCountToDisplaySize(allocatedMemory))
                 .andContent("freeMemory", FileUtils.byteCountToDisplaySize(freeMemory))
                 .andContent("warnings", this.cache.get(Key.MANGOOIO_WARNINGS.toString()))
+                .andContent(CONNECTIONS, getConnections())
                 .andTemplate(Template.DEFAULT.adminPath());
     }
     
@@ -155,6 +212,9 @@ public class AdminController {
                     .andContent(SPACE, METRICS)
                     .andContent(VERSION, VERSION_TAG)
                     .andContent(METRICS, metrics.getResponseMetrics())
+                    .andContent("routeMetrics", metrics.getRoutes())
+                    .andContent("stages", this.config.isMetricsStagesEnabled() ? RequestStage.values() : new RequestStage[0])
+                    .andContent(APPLICATION, Application.getInstance(MetricsRegistry.class))
                     .andContent("dataSend", MetricsUtils.readableFileSize(metrics.getDataSend()))
                     .andContent("totalRequests", totalRequests)
                     .andContent("minRequestTime", metrics.getMinRequestTime())
@@ -172,6 +232,42 @@ public class AdminController {
                 .andTemplate(Template.DEFAULT.metricsPath());
     }
     
+    public Response slow() {
+        SlowRequestService slowRequestService = Application.getInstance(SlowRequestService.class);
+        
+        return Response.withOk()
+                .andContent(SPACE, SLOW)
+                .andContent(VERSION, VERSION_TAG)
+                .andContent("enabled", slowRequestService.isEnabled())
+                .andContent("threshold", this.config.getMetricsSlowThreshold())
+                .andContent("requests", slowRequestService.getSlowRequests())
+                .andTemplate(Template.DEFAULT.slowPath());
+    }
+    
+    public Response requests(Request request) {
+        RequestLog requestLog = Application.getInstance(RequestLog.class);
+        
+        return Response.withOk()
+                .andContent(SPACE, REQUESTS)
+                .andContent(VERSION, VERSION_TAG)
+                .andContent("enabled", requestLog.isEnabled())
+                .andContent("capacity", requestLog.getCapacity())
+                .andContent("route", StringUtils.defaultString(request.getParameter("route")))
+                .andContent("status", StringUtils.defaultString(request.getParameter("status")))
+                .andContent("min", StringUtils.defaultString(request.getParameter("min")))
+                .andContent(REQUESTS, getRequests(requestLog, request))
+                .andTemplate(Template.DEFAULT.requestsPath());
+    }
+    
+    public Response requestsjson(Request request) {
+        RequestLog requestLog = Application.getInstance(RequestLog.class);
+        if (!requestLog.isEnabled()) {
+            return Response.withNotFound();
+        }
+        
+        return Response.withOk().andJsonBody(getRequests(requestLog, request));
+    }
+    
     public Response routes() {
         Set<Route> routes = Router.getRoutes()
             .stream()
@@ -252,12 +348,75 @@ public class AdminController {
             json.put("totalRequests", totalRequests);
             json.put("errorRate", errorRate);
             
+            Map<String, CacheStatistics> caches = new TreeMap<>();
+            this.cacheProvider.getCaches().forEach((String name, Cache value) -> caches.put(name, value.getStatistics()));
+            json.put(CACHES, caches);
+            json.put(CONNECTIONS, getConnections());
+            json.put(EVENTBUS, Application.getInstance(EventBusService.class).getSubscriberStatistics());
+            json.put(EXECUTORS, Application.getInstance(ConcurrentService.class).getStatistics());
+            json.put(SERVER, getServer());
+            json.put(RUNTIME, Application.getInstance(RuntimeService.class).getSamples());
+            json.put(APPLICATION, Application.getInstance(MetricsRegistry.class));
+            
             return Response.withOk().andJsonBody(json);
         }
         
         return Response.withNotFound();
     }
     
+    public Response prometheus() {
+        if (this.config.isMetricsEnabled()) {
+            return Response.withOk()
+                    .andTextBody(new PrometheusWriter().write(this.cacheProvider, this.scheduler))
+                    .andContentType("text/plain; version=0.0.4");
+        }
+        
+        return Response.withNotFound();
+    }
+    
+    private static Map<String, Object> getConnections() {
+        HeartbeatService heartbeatService = Application.getInstance(HeartbeatService.class);
+        
+        Map<String, Object> connections = new TreeMap<>();
+        connections.put("serverSentEvents", Application.getInstance(ServerSentEventService.class).getConnectionCount());
+        connections.put("webSockets", Application.getInstance(WebSocketService.class).getChannelCount());
+        connections.put("heartbeats", heartbeatService.getCount());
+        connections.put("heartbeatFailures", heartbeatService.getFailureCount());
+        connections.put("idleTimeouts", heartbeatService.getTimeoutCount());
+        
+        return connections;
+    }
+    
+    /**
+     * Filters the recorded requests by the request parameters route (part of the
+     * controller and method), status (prefix of the status code, e.g. 5) and
+     * min (minimum processing time in milliseconds)
+     */
+    private static List<RequestSummary> getRequests(RequestLog requestLog, Request request) {
+        String route = request.getParameter("route");
+        String status = request.getParameter("status");
+        double min = NumberUtils.toDouble(request.getParameter("min"), 0);
+        
+        return requestLog.getRequests()
+                .stream()
+                .filter((RequestSummary summary) -> StringUtils.isBlank(route) || StringUtils.containsIgnoreCase(summary.getRoute(), route))
+                .filter((RequestSummary summary) -> StringUtils.isBlank(status) || String.valueOf(summary.getStatus()).startsWith(status.trim()))
+                .filter((RequestSummary summary) -> summary.getLatency() >= min)
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Object> getServer() {
+        Map<String, Object> server = new TreeMap<>();
+        server.put("ioThreads", this.config.getUndertowIoThreads());
+        server.put("workerThreads", this.config.getUndertowWorkerThreads());
+        server.put("bufferSize", this.config.getUndertowBufferSize());
+        server.put("directBuffers", this.config.isUndertowDirectBuffers());
+        server.put("workers", MetricsUtils.getWorkers());
+        server.put("bufferPools", MetricsUtils.getBufferPools());
+        
+        return server;
+    }
+    
     public Response tools() {
         return Response.withOk()
                 .andContent(SPACE, TOOLS)
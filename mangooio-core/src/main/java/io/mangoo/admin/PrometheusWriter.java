@@ -0,0 +1,344 @@
+package io.mangoo.admin;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.mangoo.cache.Cache;
+import io.mangoo.cache.CacheStatistics;
+import io.mangoo.core.Application;
+import io.mangoo.exceptions.MangooSchedulerException;
+import io.mangoo.models.Counter;
+import io.mangoo.models.ExecutorStatistics;
+import io.mangoo.models.Gauge;
+import io.mangoo.models.LatencyHistogram;
+import io.mangoo.models.Meter;
+import io.mangoo.models.Metrics;
+import io.mangoo.models.MetricsRegistry;
+import io.mangoo.models.RouteMetrics;
+import io.mangoo.models.SubscriberStatistics;
+import io.mangoo.models.Timer;
+import io.mangoo.providers.CacheProvider;
+import io.mangoo.scheduler.Scheduler;
+import io.mangoo.services.ConcurrentService;
+import io.mangoo.services.EventBusService;
+
+/**
+ * Writes the metrics of the application in the Prometheus text exposition format
+ *
+ * All values are appended straight to a single buffer, which is presized with
+ * the length of the previous scrape. The samples of a metric family are always
+ * written as one group directly after its HELP and TYPE lines.
+ *
+ * @author svenkubiak
+ *
+ */
+final class PrometheusWriter {
+    private static final Logger LOG = LogManager.getLogger(PrometheusWriter.class);
+    private static final double[] QUANTILES = {50, 90, 99, 99.9};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.9", "0.99", "0.999"};
+    private static final int MIN_STATUS_CODE = 100;
+    private static final int MAX_STATUS_CODE = 599;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String COUNTER = "counter";
+    private static final String GAUGE = "gauge";
+    private static final String SUMMARY = "summary";
+    private static volatile int lastLength = 4096;
+    private final StringBuilder buffer;
+
+    PrometheusWriter() {
+        this.buffer = new StringBuilder(lastLength + 256);
+    }
+
+    /**
+     * Writes all metrics
+     *
+     * @param cacheProvider The cache provider
+     * @param scheduler The scheduler
+     * @return The metrics in the text exposition format
+     */
+    String write(CacheProvider cacheProvider, Scheduler scheduler) {
+        writeRequests(Application.getInstance(Metrics.class));
+        writeCaches(cacheProvider);
+        writeScheduler(scheduler);
+        writeExecutors(Application.getInstance(ConcurrentService.class));
+        writeEventBus(Application.getInstance(EventBusService.class));
+        writeJvm();
+        writeApplication(Application.getInstance(MetricsRegistry.class));
+
+        lastLength = this.buffer.length();
+        return this.buffer.toString();
+    }
+
+    private void writeRequests(Metrics metrics) {
+        header("mangooio_requests_total", COUNTER, "Completed requests by HTTP status code");
+        for (int code = MIN_STATUS_CODE; code <= MAX_STATUS_CODE; code++) {
+            long count = metrics.getStatusCodeCount(code);
+            if (count > 0) {
+                name("mangooio_requests_total").label("code", String.valueOf(code)).value(count);
+            }
+        }
+
+        header("mangooio_response_bytes_total", COUNTER, "Bytes sent in response bodies");
+        name("mangooio_response_bytes_total").value(metrics.getDataSend());
+
+        List<RouteMetrics> routes = metrics.getRoutes();
+        header("mangooio_route_requests_total", COUNTER, "Completed requests by route and status class");
+        for (RouteMetrics route : routes) {
+            for (int statusClass = 1; statusClass <= 5; statusClass++) {
+                name("mangooio_route_requests_total").label("route", route.getName()).label("class", statusClass + "xx").value(route.getStatusClass(statusClass));
+            }
+        }
+
+        header("mangooio_route_duration_seconds", SUMMARY, "Processing time by route");
+        for (RouteMetrics route : routes) {
+            quantiles("mangooio_route_duration_seconds", "route", route.getName(), route.getLatency());
+            name("mangooio_route_duration_seconds_sum").label("route", route.getName()).seconds(route.getSum());
+            name("mangooio_route_duration_seconds_count").label("route", route.getName()).value(route.getCount());
+        }
+    }
+
+    private void writeCaches(CacheProvider cacheProvider) {
+        Map<String, CacheStatistics> caches = new TreeMap<>();
+        for (Map.Entry<String, Cache> entry : cacheProvider.getCaches().entrySet()) {
+            caches.put(entry.getKey(), entry.getValue().getStatistics());
+        }
+
+        header("mangooio_cache_requests_total", COUNTER, "Cache lookups by result");
+        for (Map.Entry<String, CacheStatistics> entry : caches.entrySet()) {
+            name("mangooio_cache_requests_total").label("cache", entry.getKey()).label("result", "hit").value(entry.getValue().getHits());
+            name("mangooio_cache_requests_total").label("cache", entry.getKey()).label("result", "miss").value(entry.getValue().getMisses());
+        }
+
+        header("mangooio_cache_puts_total", COUNTER, "Cache puts");
+        for (Map.Entry<String, CacheStatistics> entry : caches.entrySet()) {
+            name("mangooio_cache_puts_total").label("cache", entry.getKey()).value(entry.getValue().getPuts());
+        }
+
+        header("mangooio_cache_evictions_total", COUNTER, "Cache evictions");
+        for (Map.Entry<String, CacheStatistics> entry : caches.entrySet()) {
+            name("mangooio_cache_evictions_total").label("cache", entry.getKey()).value(entry.getValue().getEvictions());
+        }
+
+        header("mangooio_cache_expirations_total", COUNTER, "Cache expirations");
+        for (Map.Entry<String, CacheStatistics> entry : caches.entrySet()) {
+            name("mangooio_cache_expirations_total").label("cache", entry.getKey()).value(entry.getValue().getExpirations());
+        }
+
+        header("mangooio_cache_entries", GAUGE, "Cache entries");
+        for (Map.Entry<String, CacheStatistics> entry : caches.entrySet()) {
+            name("mangooio_cache_entries").label("cache", entry.getKey()).value(entry.getValue().getEntries());
+        }
+    }
+
+    private void writeScheduler(Scheduler scheduler) {
+        if (scheduler.isInitialize()) {
+            try {
+                header("mangooio_scheduler_started", GAUGE, "1 if the scheduler is started, 0 otherwise");
+                name("mangooio_scheduler_started").value(scheduler.isStarted() ? 1 : 0);
+                header("mangooio_scheduler_jobs", GAUGE, "Scheduled jobs");
+                name("mangooio_scheduler_jobs").value(scheduler.getAllJobKeys().size());
+            } catch (MangooSchedulerException e) {
+                LOG.error("Failed to retrieve jobs from scheduler", e);
+            }
+        }
+    }
+
+    private void writeExecutors(ConcurrentService concurrentService) {
+        List<ExecutorStatistics> executors = concurrentService.getStatistics();
+
+        header("mangooio_executor_active", GAUGE, "Tasks currently running");
+        for (ExecutorStatistics executor : executors) {
+            name("mangooio_executor_active").label("executor", executor.getName()).value(executor.getActive());
+        }
+
+        header("mangooio_executor_queue_depth", GAUGE, "Tasks waiting for a thread");
+        for (ExecutorStatistics executor : executors) {
+            name("mangooio_executor_queue_depth").label("executor", executor.getName()).value(executor.getQueueDepth());
+        }
+
+        header("mangooio_executor_completed_total", COUNTER, "Completed tasks");
+        for (ExecutorStatistics executor : executors) {
+            name("mangooio_executor_completed_total").label("executor", executor.getName()).value(executor.getCompleted());
+        }
+
+        header("mangooio_executor_rejected_total", COUNTER, "Rejected tasks");
+        for (ExecutorStatistics executor : executors) {
+            name("mangooio_executor_rejected_total").label("executor", executor.getName()).value(executor.getRejected());
+        }
+
+        header("mangooio_executor_wait_seconds", SUMMARY, "Time tasks waited for a thread");
+        for (ExecutorStatistics executor : executors) {
+            quantiles("mangooio_executor_wait_seconds", "executor", executor.getName(), executor.getWait());
+        }
+    }
+
+    private void writeEventBus(EventBusService eventBusService) {
+        header("mangooio_eventbus_events_total", COUNTER, "Events published to the event bus");
+        name("mangooio_eventbus_events_total").value(eventBusService.getNumEvents());
+
+        List<SubscriberStatistics> subscribers = eventBusService.getSubscriberStatistics();
+
+        header("mangooio_eventbus_delivered_total", COUNTER, "Events delivered to a subscriber");
+        for (SubscriberStatistics subscriber : subscribers) {
+            name("mangooio_eventbus_delivered_total").label("subscriber", subscriber.getName()).value(subscriber.getDelivered());
+        }
+
+        header("mangooio_eventbus_dropped_total", COUNTER, "Events dropped for a subscriber");
+        for (SubscriberStatistics subscriber : subscribers) {
+            name("mangooio_eventbus_dropped_total").label("subscriber", subscriber.getName()).value(subscriber.getDropped());
+        }
+
+        header("mangooio_eventbus_queue_depth", GAUGE, "Events waiting for a subscriber");
+        for (SubscriberStatistics subscriber : subscribers) {
+            name("mangooio_eventbus_queue_depth").label("subscriber", subscriber.getName()).value(subscriber.getQueueDepth());
+        }
+    }
+
+    private void writeJvm() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        header("jvm_memory_bytes_used", GAUGE, "Used memory by area");
+        name("jvm_memory_bytes_used").label("area", "heap").value(heap.getUsed());
+        name("jvm_memory_bytes_used").label("area", "nonheap").value(nonHeap.getUsed());
+        header("jvm_memory_bytes_committed", GAUGE, "Committed memory by area");
+        name("jvm_memory_bytes_committed").label("area", "heap").value(heap.getCommitted());
+        name("jvm_memory_bytes_committed").label("area", "nonheap").value(nonHeap.getCommitted());
+        header("jvm_memory_bytes_max", GAUGE, "Maximum memory by area");
+        name("jvm_memory_bytes_max").label("area", "heap").value(heap.getMax());
+        name("jvm_memory_bytes_max").label("area", "nonheap").value(nonHeap.getMax());
+
+        header("jvm_buffer_pool_used_bytes", GAUGE, "Used bytes by buffer pool");
+        for (BufferPoolMXBean bufferPool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            name("jvm_buffer_pool_used_bytes").label("pool", bufferPool.getName()).value(bufferPool.getMemoryUsed());
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        header("jvm_threads_current", GAUGE, "Current thread count");
+        name("jvm_threads_current").value(threads.getThreadCount());
+        header("jvm_threads_daemon", GAUGE, "Daemon thread count");
+        name("jvm_threads_daemon").value(threads.getDaemonThreadCount());
+
+        header("jvm_gc_collection_seconds", SUMMARY, "Time spent in garbage collection");
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            name("jvm_gc_collection_seconds_count").label("gc", collector.getName()).value(collector.getCollectionCount());
+            name("jvm_gc_collection_seconds_sum").label("gc", collector.getName()).seconds(TimeUnit.MILLISECONDS.toNanos(collector.getCollectionTime()));
+        }
+
+        header("process_uptime_seconds", GAUGE, "Uptime of the application");
+        name("process_uptime_seconds").value(Application.getUptime().getSeconds());
+    }
+
+    private void writeApplication(MetricsRegistry metricsRegistry) {
+        String previous = null;
+        for (Counter counter : metricsRegistry.getCounters()) {
+            if (!counter.getName().equals(previous)) {
+                header(counter.getName(), COUNTER, "Application counter");
+                previous = counter.getName();
+            }
+            name(counter.getName()).tags(counter).value(counter.getCount());
+        }
+
+        for (Gauge gauge : metricsRegistry.getGauges()) {
+            if (!gauge.getName().equals(previous)) {
+                header(gauge.getName(), GAUGE, "Application gauge");
+                previous = gauge.getName();
+            }
+            name(gauge.getName()).tags(gauge).value(gauge.getValue());
+        }
+
+        for (Timer timer : metricsRegistry.getTimers()) {
+            if (!timer.getName().equals(previous)) {
+                header(timer.getName(), SUMMARY, "Application timer");
+                previous = timer.getName();
+            }
+            long[] values = timer.getLatency().getPercentiles(QUANTILES);
+            for (int i = 0; i < values.length; i++) {
+                name(timer.getName()).tags(timer).label("quantile", QUANTILE_LABELS[i]).seconds(values[i]);
+            }
+            name(timer.getName() + "_sum").tags(timer).seconds(timer.getSum());
+            name(timer.getName() + "_count").tags(timer).value(timer.getCount());
+        }
+    }
+
+    private void quantiles(String metric, String labelName, String labelValue, LatencyHistogram histogram) {
+        long[] values = histogram.getPercentiles(QUANTILES);
+        for (int i = 0; i < values.length; i++) {
+            name(metric).label(labelName, labelValue).label("quantile", QUANTILE_LABELS[i]).seconds(values[i]);
+        }
+    }
+
+    private void header(String metric, String type, String help) {
+        this.buffer.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+        this.buffer.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+    }
+
+    private PrometheusWriter name(String metric) {
+        this.buffer.append(metric);
+        return this;
+    }
+
+    private PrometheusWriter label(String name, String value) {
+        char last = this.buffer.charAt(this.buffer.length() - 1);
+        this.buffer.append((last == '"') ? ',' : '{').append(name).append("=\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                this.buffer.append('\\').append(c);
+            } else if (c == '\n') {
+                this.buffer.append("\\n");
+            } else {
+                this.buffer.append(c);
+            }
+        }
+        this.buffer.append('"');
+
+        return this;
+    }
+
+    private PrometheusWriter tags(Meter meter) {
+        for (Map.Entry<String, String> tag : meter.getTags().entrySet()) {
+            label(tag.getKey(), tag.getValue());
+        }
+
+        return this;
+    }
+
+    private void value(double value) {
+        closeLabels();
+        if (Double.isNaN(value)) {
+            this.buffer.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            this.buffer.append((value > 0) ? "+Inf" : "-Inf");
+        } else {
+            this.buffer.append(value);
+        }
+        this.buffer.append('\n');
+    }
+
+    private void value(long value) {
+        closeLabels();
+        this.buffer.append(value).append('\n');
+    }
+
+    private void seconds(long nanos) {
+        closeLabels();
+        this.buffer.append(nanos / NANOS_PER_SECOND).append('\n');
+    }
+
+    private void closeLabels() {
+        if (this.buffer.charAt(this.buffer.length() - 1) == '"') {
+            this.buffer.append('}');
+        }
+        this.buffer.append(' ');
+    }
+}
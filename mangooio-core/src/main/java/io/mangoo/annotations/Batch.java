@@ -0,0 +1,18 @@
+package io.mangoo.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Batch annotation for event subscribers with a single {@link java.util.List} parameter,
+ * which then receive the queued events of the element type in batches instead of List events
+ *
+ * @author svenkubiak
+ *
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Batch {
+}
@@ -1,7 +1,10 @@
 package io.mangoo.cache;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * 
@@ -16,6 +19,17 @@ public interface Cache {
      * @param value The value to store
      */
     void put(String key, Object value);
+    
+    /**
+     * Adds a value to cache with a given key overwriting and existing value,
+     * expiring the value after the given time to live instead of the
+     * expiry configured for the cache
+     *
+     * @param key The key for the cached value
+     * @param value The value to store
+     * @param ttl The time to live of the value
+     */
+    void put(String key, Object value, Duration ttl);
 
     /**
      * Removes a value with a given key from the cache
@@ -40,6 +54,47 @@ public interface Cache {
      */
     <T> T get(String key);
 
+    /**
+     * Retrieves an object from the cache or computes it with the given fallback
+     * if no value is cached for the key. Concurrent callers for the same key wait
+     * for the first fallback to complete, so the fallback is executed only once
+     * per key. A null value returned by the fallback is not cached.
+     *
+     * @param key The key for the cached value
+     * @param fallback The function to compute the value if the key is not cached
+     * @param <T> JavaDoc requires this (just ignore it)
+     *
+     * @return The cached or computed value
+     */
+    <T> T get(String key, Function<String, Object> fallback);
+
+    /**
+     * Retrieves an object from the cache or computes it with the given fallback
+     * if no value is cached for the key. If the cached value has been loaded longer
+     * than the given refresh duration ago, the current value is returned and the
+     * fallback is executed asynchronously to refresh the cached value.
+     *
+     * @param key The key for the cached value
+     * @param fallback The function to compute the value if the key is not cached
+     * @param refreshAfter The duration after which a cached value is refreshed
+     * @param <T> JavaDoc requires this (just ignore it)
+     *
+     * @return The cached or computed value
+     */
+    <T> T get(String key, Function<String, Object> fallback, Duration refreshAfter);
+
+    /**
+     * Retrieves all objects for the given keys from the cache. All keys that are
+     * not cached are passed to the bulk fallback in one call and the returned values
+     * are added to the cache.
+     *
+     * @param keys The keys for the cached values
+     * @param fallback The function to compute all values that are not cached
+     *
+     * @return A map containing the cached and computed values
+     */
+    Map<String, Object> getAll(Set<String> keys, Function<Set<String>, Map<String, Object>> fallback);
+
     /**
      * Adds a complete map of objects to the cache
      *
@@ -70,4 +125,11 @@ public interface Cache {
      * @return A counter based on AtomicInteger or null if none found
      */
     AtomicInteger getCounter(String key);
-}
\ No newline at end of file
+    
+    /**
+     * Retrieves the statistics of the cache
+     * 
+     * @return The cache statistics
+     */
+    CacheStatistics getStatistics();
+}
@@ -0,0 +1,78 @@
+package io.mangoo.cache;
+
+import java.io.Serializable;
+
+/**
+ * Wrapper for cache values which have their own time to live
+ * 
+ * @author svenkubiak
+ *
+ */
+final class CacheEntry implements Serializable {
+    private static final long serialVersionUID = -2960429734547420556L;
+    private static final long REGION = -1;
+    private final Object value;
+    private final long timeToLive;
+    private final long created;
+
+    CacheEntry(Object value, long timeToLive) {
+        this.value = value;
+        this.timeToLive = timeToLive;
+        this.created = System.currentTimeMillis();
+    }
+
+    /**
+     * Wraps a value which expires with the time to live and time to idle of its
+     * cache region, keeping the time it was written so that reads can not extend
+     * its lifetime beyond the time to live of the region
+     * 
+     * @param value The value to wrap
+     * @return A cache entry without its own time to live
+     */
+    static CacheEntry stamp(Object value) {
+        return new CacheEntry(value, REGION);
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * @return True if the entry has its own time to live, false if it expires with its cache region
+     */
+    boolean hasTimeToLive() {
+        return timeToLive != REGION;
+    }
+
+    /**
+     * @return The time in epoch milliseconds when the entry was written
+     */
+    long getCreated() {
+        return created;
+    }
+
+    /**
+     * @return The time in epoch milliseconds when the entry expires
+     */
+    long getExpires() {
+        return created + timeToLive;
+    }
+
+    /**
+     * Returns the value of a cache entry or the given object if it is not a cache entry
+     * 
+     * @param object The object retrieved from the cache
+     * @return The actual value
+     */
+    static Object unwrap(Object object) {
+        if (object instanceof CacheEntry) {
+            return ((CacheEntry) object).getValue();
+        }
+        
+        return object;
+    }
+}
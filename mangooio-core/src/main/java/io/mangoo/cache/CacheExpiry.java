@@ -0,0 +1,77 @@
+package io.mangoo.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.ehcache.ValueSupplier;
+import org.ehcache.expiry.Duration;
+import org.ehcache.expiry.Expiry;
+
+/**
+ * Expiry for cache regions which combines the time to live and time to idle
+ * of a region with the time to live of entries added via
+ * {@link Cache#put(String, Object, java.time.Duration)}
+ * 
+ * @author svenkubiak
+ *
+ */
+public class CacheExpiry implements Expiry<String, Object> {
+    private final long timeToLive;
+    private final long timeToIdle;
+
+    /**
+     * Creates a new expiry for a cache region
+     * 
+     * @param timeToLive The time to live of the region in seconds, 0 for none
+     * @param timeToIdle The time to idle of the region in seconds, 0 for none
+     */
+    public CacheExpiry(long timeToLive, long timeToIdle) {
+        this.timeToLive = (timeToLive > 0) ? TimeUnit.SECONDS.toMillis(timeToLive) : 0;
+        this.timeToIdle = (timeToIdle > 0) ? TimeUnit.SECONDS.toMillis(timeToIdle) : 0;
+    }
+
+    /**
+     * @return True if the region has a time to live and a time to idle, which requires
+     * the values to be stored with the time they were written
+     */
+    boolean isStamped() {
+        return this.timeToLive > 0 && this.timeToIdle > 0;
+    }
+
+    @Override
+    public Duration getExpiryForCreation(String key, Object value) {
+        if (value instanceof CacheEntry && ((CacheEntry) value).hasTimeToLive()) {
+            return Duration.of(((CacheEntry) value).getTimeToLive(), TimeUnit.MILLISECONDS);
+        }
+        
+        if (isStamped()) {
+            return Duration.of(Math.min(this.timeToLive, this.timeToIdle), TimeUnit.MILLISECONDS);
+        }
+        
+        long expiry = Math.max(this.timeToLive, this.timeToIdle);
+        return (expiry > 0) ? Duration.of(expiry, TimeUnit.MILLISECONDS) : Duration.INFINITE;
+    }
+
+    @Override
+    public Duration getExpiryForAccess(String key, ValueSupplier<? extends Object> value) {
+        if (this.timeToIdle == 0) {
+            return null;
+        }
+        
+        Object stored = value.value();
+        if (this.timeToLive == 0) {
+            return (stored instanceof CacheEntry && ((CacheEntry) stored).hasTimeToLive()) ? null : Duration.of(this.timeToIdle, TimeUnit.MILLISECONDS);
+        }
+        
+        if (stored instanceof CacheEntry && !((CacheEntry) stored).hasTimeToLive()) {
+            long remaining = ((CacheEntry) stored).getCreated() + this.timeToLive - System.currentTimeMillis();
+            return Duration.of(Math.max(0, Math.min(this.timeToIdle, remaining)), TimeUnit.MILLISECONDS);
+        }
+        
+        return null;
+    }
+
+    @Override
+    public Duration getExpiryForUpdate(String key, ValueSupplier<? extends Object> oldValue, Object newValue) {
+        return getExpiryForCreation(key, newValue);
+    }
+}
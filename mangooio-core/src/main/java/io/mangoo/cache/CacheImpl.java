@@ -1,69 +1,219 @@
 package io.mangoo.cache;
 
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.ehcache.config.ResourcePool;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.EventFiring;
+import org.ehcache.event.EventOrdering;
+import org.ehcache.event.EventType;
+import org.ehcache.expiry.Expiry;
 
 import io.mangoo.enums.Required;
+import io.mangoo.utils.FlightRecorderUtils;
 
 /**
- * EhCache implementation 
- * 
+ * EhCache implementation
+ *
  * @author sven.kubiak
  *
  */
-public class CacheImpl implements Cache {
+public class CacheImpl implements Cache, Snapshotable {
+    private static final Logger LOG = LogManager.getLogger(CacheImpl.class);
+    private final Map<String, CompletableFuture<Object>> loaders = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final Map<String, Long> loaded = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final CacheStatistics statistics;
+    private final Executor executor;
+    private final boolean stamped;
     private org.ehcache.Cache<String, Object> ehCache;
-    
-    public CacheImpl(org.ehcache.Cache<String, Object> ehCache) {
+
+    /**
+     * @param ehCache The ehcache to wrap
+     * @param executor The executor which runs the fallbacks of background refreshes
+     * @param entries The supplier of the number of entries, usually backed by the tier statistics of ehcache
+     */
+    public CacheImpl(org.ehcache.Cache<String, Object> ehCache, Executor executor, LongSupplier entries) {
         Objects.requireNonNull(ehCache, Required.EHCACHE.toString());
         this.ehCache = ehCache;
+        this.executor = Objects.requireNonNull(executor, Required.EXECUTOR.toString());
+        this.statistics = new CacheStatistics(entries, resources(ehCache));
+        this.stamped = stamped(ehCache);
+        
+        try {
+            ehCache.getRuntimeConfiguration().registerCacheEventListener((CacheEvent<? extends String, ? extends Object> event) -> {
+                this.loaded.remove(event.getKey());
+                if (event.getType() == EventType.EVICTED) {
+                    this.statistics.recordEviction();
+                } else {
+                    this.statistics.recordExpiration();
+                }
+            }, EventOrdering.UNORDERED, EventFiring.ASYNCHRONOUS, EnumSet.of(EventType.EVICTED, EventType.EXPIRED));
+        } catch (IllegalStateException | UnsupportedOperationException e) {
+            LOG.warn("Failed to register listener for eviction and expiration statistics", e);
+        }
     }
-    
+
     @Override
     public void put(String key, Object value) {
         Objects.requireNonNull(key, Required.KEY.toString());
-        ehCache.put(key, value);
+        final Object cacheEvent = FlightRecorderUtils.beginCache();
+        ehCache.put(key, wrap(value));
+        this.statistics.recordPut();
+        FlightRecorderUtils.endCache(cacheEvent, "put", key, false);
+    }
+
+    @Override
+    public void put(String key, Object value, Duration ttl) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+        Objects.requireNonNull(ttl, Required.TTL.toString());
+        
+        final Object cacheEvent = FlightRecorderUtils.beginCache();
+        ehCache.put(key, new CacheEntry(value, ttl.toMillis()));
+        this.statistics.recordPut();
+        FlightRecorderUtils.endCache(cacheEvent, "put", key, false);
     }
 
     @Override
     public void remove(String key) {
         Objects.requireNonNull(key, Required.KEY.toString());
         ehCache.remove(key);
+        this.loaded.remove(key);
+        this.statistics.recordRemoval();
     }
 
     @Override
     public void clear() {
         ehCache.clear();
+        this.loaded.clear();
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(String key) {
         Objects.requireNonNull(key, Required.KEY.toString());
-        return (T) ehCache.get(key);
+        return (T) lookup(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Function<String, Object> fallback) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+        Objects.requireNonNull(fallback, Required.FALLBACK.toString());
+
+        Object value = lookup(key);
+        if (value == null) {
+            value = load(key, fallback);
+        }
+
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Function<String, Object> fallback, Duration refreshAfter) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+        Objects.requireNonNull(fallback, Required.FALLBACK.toString());
+        Objects.requireNonNull(refreshAfter, Required.REFRESH_AFTER.toString());
+
+        Object value = lookup(key);
+        if (value == null) {
+            value = load(key, fallback);
+        } else {
+            Long timestamp = this.loaded.get(key);
+            if (timestamp == null) {
+                this.loaded.putIfAbsent(key, System.currentTimeMillis());
+            } else if (System.currentTimeMillis() - timestamp > refreshAfter.toMillis() && this.refreshing.add(key)) {
+                schedule(key, fallback);
+            }
+        }
+
+        return (T) value;
+    }
+
+    @Override
+    public Map<String, Object> getAll(Set<String> keys, Function<Set<String>, Map<String, Object>> fallback) {
+        Objects.requireNonNull(keys, Required.KEYS.toString());
+        Objects.requireNonNull(fallback, Required.FALLBACK.toString());
+
+        Map<String, Object> values = new HashMap<>(ehCache.getAll(keys));
+        Set<String> missing = new HashSet<>();
+        for (String key : keys) {
+            Object value = CacheEntry.unwrap(values.remove(key));
+            if (value == null) {
+                this.statistics.recordMiss();
+                missing.add(key);
+            } else {
+                this.statistics.recordHit();
+                values.put(key, value);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, Object> computed = fallback.apply(missing);
+            if (computed != null) {
+                computed.forEach((String key, Object value) -> {
+                    if (key != null && value != null) {
+                        ehCache.put(key, wrap(value));
+                        this.statistics.recordPut();
+                        values.put(key, value);
+                    }
+                });
+            }
+        }
+
+        return values;
     }
 
     @Override
     public void putAll(Map<String, Object> map) {
         Objects.requireNonNull(map, Required.MAP.toString());
-        ehCache.putAll(map);
+        if (this.stamped) {
+            Map<String, Object> entries = new HashMap<>(map.size() * 2);
+            map.forEach((String key, Object value) -> entries.put(key, wrap(value)));
+            ehCache.putAll(entries);
+        } else {
+            ehCache.putAll(map);
+        }
+        this.statistics.recordPuts(map.size());
     }
 
     @Override
     public AtomicInteger increment(String key) {
         Objects.requireNonNull(key, Required.KEY.toString());
-        
+
         AtomicInteger counter = get(key);
         if (counter == null) {
             counter = new AtomicInteger(-1);
         }
         counter.incrementAndGet();
         put(key, counter);
-        
+
         return counter;
     }
-    
+
     @Override
     public AtomicInteger getCounter(String key) {
         Objects.requireNonNull(key, Required.KEY.toString());
@@ -80,7 +230,211 @@ public class CacheImpl implements Cache {
         }
         counter.decrementAndGet();
         put(key, counter);
-        
+
         return counter;
     }
-}
\ No newline at end of file
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    @Override
+    public void forEachEntry(BiConsumer<String, Object> action) {
+        for (org.ehcache.Cache.Entry<String, Object> entry : ehCache) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void restore(String key, Object value, long expires) {
+        if (expires < 0) {
+            ehCache.putIfAbsent(key, wrap(value));
+        } else {
+            long timeToLive = expires - System.currentTimeMillis();
+            if (timeToLive > 0) {
+                ehCache.putIfAbsent(key, new CacheEntry(value, timeToLive));
+            }
+        }
+    }
+
+    /**
+     * Retrieves a value from the cache, recording a hit or miss and
+     * sampling the latency of the lookup
+     * 
+     * @param key The key for the cached value
+     * @return The cached value or null
+     */
+    private Object lookup(String key) {
+        final Object cacheEvent = FlightRecorderUtils.beginCache();
+        Object value;
+        if (this.statistics.sample()) {
+            long start = System.nanoTime();
+            value = CacheEntry.unwrap(ehCache.get(key));
+            this.statistics.recordLatency(System.nanoTime() - start);
+        } else {
+            value = CacheEntry.unwrap(ehCache.get(key));
+        }
+        
+        if (value == null) {
+            this.statistics.recordMiss();
+        } else {
+            this.statistics.recordHit();
+        }
+        FlightRecorderUtils.endCache(cacheEvent, "get", key, value != null);
+        
+        return value;
+    }
+    
+    /**
+     * Stamps a value with the time it was written if the region expires by
+     * time to live and time to idle
+     * 
+     * @param value The value to store
+     * @return The value or a cache entry wrapping it
+     */
+    private Object wrap(Object value) {
+        return (this.stamped && value != null) ? CacheEntry.stamp(value) : value;
+    }
+    
+    private static boolean stamped(org.ehcache.Cache<String, Object> ehCache) {
+        Expiry<?, ?> expiry = ehCache.getRuntimeConfiguration().getExpiry();
+        return expiry instanceof CacheExpiry && ((CacheExpiry) expiry).isStamped();
+    }
+    
+    private static Map<String, String> resources(org.ehcache.Cache<String, Object> ehCache) {
+        Map<String, String> resources = new LinkedHashMap<>();
+        ResourcePools resourcePools = ehCache.getRuntimeConfiguration().getResourcePools();
+        for (ResourceType<?> resourceType : resourcePools.getResourceTypeSet()) {
+            ResourcePool resourcePool = resourcePools.getPoolForResource(resourceType);
+            if (resourcePool instanceof SizedResourcePool) {
+                SizedResourcePool sizedResourcePool = (SizedResourcePool) resourcePool;
+                resources.put(resourceType.toString().toLowerCase(Locale.ENGLISH), sizedResourcePool.getSize() + " " + sizedResourcePool.getUnit());
+            } else {
+                resources.put(resourceType.toString().toLowerCase(Locale.ENGLISH), "");
+            }
+        }
+        
+        return resources;
+    }
+
+    /**
+     * Loads a value with the given fallback, making sure that only one fallback
+     * per key is executed while concurrent callers wait for its result
+     *
+     * @param key The key for the cached value
+     * @param fallback The function to compute the value
+     * @return The computed value or null
+     */
+    private Object load(String key, Function<String, Object> fallback) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inflight = this.loaders.putIfAbsent(key, future);
+        if (inflight != null) {
+            return await(inflight);
+        }
+
+        try {
+            Object value = CacheEntry.unwrap(ehCache.get(key));
+            if (value == null) {
+                value = fallback.apply(key);
+                if (value != null) {
+                    ehCache.put(key, wrap(value));
+                    this.loaded.put(key, System.currentTimeMillis());
+                    this.statistics.recordPut();
+                }
+            }
+            future.complete(value);
+
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.loaders.remove(key, future);
+        }
+    }
+
+    /**
+     * Schedules the refresh of a cached value on the executor. The refresh is
+     * skipped if the executor rejects it or would run it on the calling thread,
+     * e.g. with the caller_runs policy, so that a read never waits for a fallback.
+     *
+     * @param key The key for the cached value
+     * @param fallback The function to compute the value
+     */
+    private void schedule(String key, Function<String, Object> fallback) {
+        final Thread caller = Thread.currentThread();
+        try {
+            this.executor.execute(() -> {
+                if (Thread.currentThread() == caller) {
+                    this.refreshing.remove(key);
+                    LOG.debug("Skipped refresh of cache value for key: " + key + ", as it would run on the calling thread");
+                } else {
+                    refresh(key, fallback);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.refreshing.remove(key);
+            LOG.warn("Skipped refresh of cache value for key: " + key, e);
+        }
+    }
+
+    /**
+     * Reloads a cached value in the background, keeping the current value
+     * if the fallback fails or returns null. A value put with its own time
+     * to live keeps its original expiry, and a value which expired or was
+     * removed in the meantime is not stored again.
+     *
+     * @param key The key for the cached value
+     * @param fallback The function to compute the value
+     */
+    private void refresh(String key, Function<String, Object> fallback) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (this.loaders.putIfAbsent(key, future) == null) {
+            try {
+                Object value = fallback.apply(key);
+                if (value != null) {
+                    Object current = ehCache.get(key);
+                    if (current instanceof CacheEntry && ((CacheEntry) current).hasTimeToLive()) {
+                        long timeToLive = ((CacheEntry) current).getExpires() - System.currentTimeMillis();
+                        if (timeToLive > 0) {
+                            ehCache.put(key, new CacheEntry(value, timeToLive));
+                            this.loaded.put(key, System.currentTimeMillis());
+                            this.statistics.recordPut();
+                        }
+                    } else if (current != null) {
+                        ehCache.put(key, wrap(value));
+                        this.loaded.put(key, System.currentTimeMillis());
+                        this.statistics.recordPut();
+                    }
+                }
+                future.complete(value);
+            } catch (RuntimeException e) {
+                LOG.error("Failed to refresh cache value for key: " + key, e);
+                future.complete(CacheEntry.unwrap(ehCache.get(key)));
+            } finally {
+                this.loaders.remove(key, future);
+                this.refreshing.remove(key);
+            }
+        } else {
+            this.refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Waits for a fallback of another caller to complete
+     *
+     * @param future The future of the running fallback
+     * @return The computed value or null
+     */
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package io.mangoo.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.mangoo.enums.Required;
+
+/**
+ * Writes caches to and restores caches from a local snapshot file
+ *
+ * The file starts with a magic number and a format version, followed by a
+ * compressed body of caches, each with its name and entries. An entry consists
+ * of its key, the time in epoch milliseconds when it expires (-1 if it uses the
+ * expiry of the cache) and the value in Java serialization. Names and keys are
+ * written as UTF-8 bytes with their length, so their size is not limited.
+ *
+ * @author svenkubiak
+ *
+ */
+public final class CacheSnapshot {
+    private static final Logger LOG = LogManager.getLogger(CacheSnapshot.class);
+    private static final int MAGIC = 0x4D43534E;
+    private static final int VERSION = 2;
+    private static final byte END = 0;
+    private static final byte NEXT = 1;
+
+    private CacheSnapshot() {
+    }
+
+    /**
+     * Writes the given caches to a snapshot file, replacing an existing snapshot
+     *
+     * Entries with values which are not serializable are skipped.
+     *
+     * @param caches The caches by their name
+     * @param path The path of the snapshot file
+     * @return The number of written entries
+     *
+     * @throws IOException if writing the snapshot failed
+     */
+    public static long write(Map<String, Cache> caches, Path path) throws IOException {
+        Objects.requireNonNull(caches, Required.MAP.toString());
+        Objects.requireNonNull(path, Required.PATH.toString());
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        long count = 0;
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temp);
+                 DataOutputStream header = new DataOutputStream(outputStream)) {
+                header.writeInt(MAGIC);
+                header.writeInt(VERSION);
+                header.flush();
+
+                try (DataOutputStream body = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(outputStream)))) {
+                    for (Map.Entry<String, Cache> cache : caches.entrySet()) {
+                        if (cache.getValue() instanceof Snapshotable) {
+                            body.writeByte(NEXT);
+                            writeString(body, cache.getKey());
+                            count = count + writeEntries(body, (Snapshotable) cache.getValue());
+                            body.writeByte(END);
+                        }
+                    }
+                    body.writeByte(END);
+                }
+            }
+
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        return count;
+    }
+
+    /**
+     * Restores the caches from a snapshot file, without overwriting values
+     * which have been added to the caches in the meantime
+     *
+     * Expired entries and entries of unknown caches are skipped.
+     *
+     * @param path The path of the snapshot file
+     * @param caches The caches by their name
+     * @return The number of read entries
+     *
+     * @throws IOException if reading the snapshot failed or the snapshot has an unsupported format
+     */
+    public static long read(Path path, Map<String, Cache> caches) throws IOException {
+        Objects.requireNonNull(path, Required.PATH.toString());
+        Objects.requireNonNull(caches, Required.MAP.toString());
+
+        long count = 0;
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(path));
+             DataInputStream header = new DataInputStream(inputStream)) {
+            if (header.readInt() != MAGIC) {
+                throw new IOException("Invalid cache snapshot " + path);
+            }
+
+            int version = header.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported cache snapshot version " + version);
+            }
+
+            try (DataInputStream body = new DataInputStream(new BufferedInputStream(new GZIPInputStream(inputStream)))) {
+                while (body.readByte() == NEXT) {
+                    Cache cache = caches.get(readString(body));
+                    while (body.readByte() == NEXT) {
+                        String key = readString(body);
+                        long expires = body.readLong();
+                        byte[] value = readBytes(body);
+
+                        if (cache instanceof Snapshotable && restore((Snapshotable) cache, key, expires, value)) {
+                            count++;
+                        }
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private static long writeEntries(DataOutputStream body, Snapshotable cache) throws IOException {
+        long[] count = {0};
+        IOException[] exception = {null};
+
+        cache.forEachEntry((String key, Object stored) -> {
+            Object value = CacheEntry.unwrap(stored);
+            long expires = (stored instanceof CacheEntry && ((CacheEntry) stored).hasTimeToLive()) ? ((CacheEntry) stored).getExpires() : -1;
+
+            if (exception[0] == null && value instanceof Serializable) {
+                try {
+                    byte[] bytes = SerializationUtils.serialize((Serializable) value);
+                    body.writeByte(NEXT);
+                    writeString(body, key);
+                    body.writeLong(expires);
+                    writeBytes(body, bytes);
+                    count[0]++;
+                } catch (SerializationException e) {
+                    LOG.debug("Skipping cache entry " + key + " from snapshot as it can not be serialized", e);
+                } catch (IOException e) {
+                    exception[0] = e;
+                }
+            }
+        });
+
+        if (exception[0] != null) {
+            throw exception[0];
+        }
+
+        return count[0];
+    }
+
+    private static void writeString(DataOutputStream body, String value) throws IOException {
+        writeBytes(body, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream body, byte[] bytes) throws IOException {
+        body.writeInt(bytes.length);
+        body.write(bytes);
+    }
+
+    private static String readString(DataInputStream body) throws IOException {
+        return new String(readBytes(body), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(DataInputStream body) throws IOException {
+        int length = body.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid length " + length + " in cache snapshot");
+        }
+
+        byte[] bytes = new byte[length];
+        body.readFully(bytes);
+
+        return bytes;
+    }
+
+    private static boolean restore(Snapshotable cache, String key, long expires, byte[] value) {
+        try {
+            cache.restore(key, SerializationUtils.deserialize(value), expires);
+            return true;
+        } catch (SerializationException | ClassCastException e) {
+            LOG.debug("Skipping cache entry " + key + " from snapshot as it can not be deserialized", e);
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,134 @@
+package io.mangoo.cache;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import io.mangoo.enums.Required;
+import io.mangoo.models.LatencyHistogram;
+
+/**
+ * Statistics of a cache, using striped counters to keep the overhead
+ * on the hot path close to zero
+ *
+ * @author svenkubiak
+ *
+ */
+public class CacheStatistics {
+    private static final int SAMPLE_MASK = 15;
+    private static final int HUNDRED_PERCENT = 100;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder removals = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongSupplier entries;
+    private final Map<String, String> resources;
+
+    public CacheStatistics(LongSupplier entries, Map<String, String> resources) {
+        this.entries = Objects.requireNonNull(entries, Required.ENTRIES.toString());
+        this.resources = Collections.unmodifiableMap(Objects.requireNonNull(resources, Required.RESOURCES.toString()));
+    }
+
+    /**
+     * @return True if the latency of the current operation should be recorded, which is the case for every 16th operation in average
+     */
+    public boolean sample() {
+        return (ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) == 0;
+    }
+
+    public void recordHit() {
+        this.hits.increment();
+    }
+
+    public void recordMiss() {
+        this.misses.increment();
+    }
+
+    public void recordPut() {
+        this.puts.increment();
+    }
+
+    public void recordPuts(int count) {
+        this.puts.add(count);
+    }
+
+    public void recordRemoval() {
+        this.removals.increment();
+    }
+
+    public void recordEviction() {
+        this.evictions.increment();
+    }
+
+    public void recordExpiration() {
+        this.expirations.increment();
+    }
+
+    public void recordLatency(long nanos) {
+        this.latency.record(nanos);
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return The percentage of gets which returned a cached value
+     */
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        if (total == 0) {
+            return 0;
+        }
+
+        return (hitCount * HUNDRED_PERCENT) / (double) total;
+    }
+
+    public long getPuts() {
+        return this.puts.sum();
+    }
+
+    public long getRemovals() {
+        return this.removals.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    public long getExpirations() {
+        return this.expirations.sum();
+    }
+
+    /**
+     * @return The current number of entries, which requires iterating the cache
+     */
+    public long getEntries() {
+        return this.entries.getAsLong();
+    }
+
+    /**
+     * @return The configured resource pools of the cache, e.g. heap or offheap with their sizes
+     */
+    public Map<String, String> getResources() {
+        return this.resources;
+    }
+
+    /**
+     * @return The sampled latencies of get operations in nanoseconds
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+}
@@ -0,0 +1,424 @@
+package io.mangoo.cache;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.mangoo.enums.Required;
+
+/**
+ * Caffeine implementation, using a window TinyLFU eviction policy
+ *
+ * @author svenkubiak
+ *
+ */
+public class CaffeineCache implements Cache, Snapshotable {
+    private static final Logger LOG = LogManager.getLogger(CaffeineCache.class);
+    private final Map<String, Long> loaded = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final CacheStatistics statistics;
+    private final Executor executor;
+    private final boolean stamped;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> caffeine;
+
+    /**
+     * Creates a new Caffeine cache
+     *
+     * @param maximumSize The maximum number of entries
+     * @param timeToLive The time to live of entries in seconds, 0 for none
+     * @param timeToIdle The time to idle of entries in seconds, 0 for none
+     * @param executor The executor which runs the fallbacks of background refreshes
+     */
+    public CaffeineCache(long maximumSize, long timeToLive, long timeToIdle, Executor executor) {
+        this.executor = Objects.requireNonNull(executor, Required.EXECUTOR.toString());
+        this.statistics = new CacheStatistics(this::count, Collections.singletonMap("heap", maximumSize + " entries"));
+        this.stamped = timeToLive > 0 && timeToIdle > 0;
+        this.caffeine = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TimeToLiveExpiry(timeToLive, timeToIdle))
+                .removalListener((String key, Object value, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        this.loaded.remove(key);
+                    }
+                    if (cause == RemovalCause.SIZE) {
+                        this.statistics.recordEviction();
+                    } else if (cause == RemovalCause.EXPIRED) {
+                        this.statistics.recordExpiration();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public void put(String key, Object value) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+        Objects.requireNonNull(value, Required.VALUE.toString());
+
+        this.caffeine.put(key, wrap(value));
+        this.statistics.recordPut();
+    }
+
+    @Override
+    public void put(String key, Object value, Duration ttl) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+        Objects.requireNonNull(value, Required.VALUE.toString());
+        Objects.requireNonNull(ttl, Required.TTL.toString());
+
+        this.caffeine.put(key, new CacheEntry(value, ttl.toMillis()));
+        this.statistics.recordPut();
+    }
+
+    @Override
+    public void remove(String key) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+
+        this.caffeine.invalidate(key);
+        this.loaded.remove(key);
+        this.statistics.recordRemoval();
+    }
+
+    @Override
+    public void clear() {
+        this.caffeine.invalidateAll();
+        this.loaded.clear();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+        return (T) lookup(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Function<String, Object> fallback) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+        Objects.requireNonNull(fallback, Required.FALLBACK.toString());
+
+        Object value = lookup(key);
+        if (value == null) {
+            value = load(key, fallback);
+        }
+
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Function<String, Object> fallback, Duration refreshAfter) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+        Objects.requireNonNull(fallback, Required.FALLBACK.toString());
+        Objects.requireNonNull(refreshAfter, Required.REFRESH_AFTER.toString());
+
+        Object value = lookup(key);
+        if (value == null) {
+            value = load(key, fallback);
+        } else {
+            Long timestamp = this.loaded.get(key);
+            if (timestamp == null) {
+                this.loaded.putIfAbsent(key, System.currentTimeMillis());
+            } else if (System.currentTimeMillis() - timestamp > refreshAfter.toMillis() && this.refreshing.add(key)) {
+                schedule(key, fallback);
+            }
+        }
+
+        return (T) value;
+    }
+
+    @Override
+    public Map<String, Object> getAll(Set<String> keys, Function<Set<String>, Map<String, Object>> fallback) {
+        Objects.requireNonNull(keys, Required.KEYS.toString());
+        Objects.requireNonNull(fallback, Required.FALLBACK.toString());
+
+        Map<String, Object> present = this.caffeine.getAllPresent(keys);
+        Map<String, Object> values = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String key : keys) {
+            Object value = CacheEntry.unwrap(present.get(key));
+            if (value == null) {
+                this.statistics.recordMiss();
+                missing.add(key);
+            } else {
+                this.statistics.recordHit();
+                values.put(key, value);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, Object> computed = fallback.apply(missing);
+            if (computed != null) {
+                computed.forEach((String key, Object value) -> {
+                    if (key != null && value != null) {
+                        this.caffeine.put(key, wrap(value));
+                        this.statistics.recordPut();
+                        values.put(key, value);
+                    }
+                });
+            }
+        }
+
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<String, Object> map) {
+        Objects.requireNonNull(map, Required.MAP.toString());
+
+        if (this.stamped) {
+            Map<String, Object> entries = new HashMap<>(map.size() * 2);
+            map.forEach((String key, Object value) -> entries.put(key, wrap(value)));
+            this.caffeine.putAll(entries);
+        } else {
+            this.caffeine.putAll(map);
+        }
+        this.statistics.recordPuts(map.size());
+    }
+
+    @Override
+    public AtomicInteger increment(String key) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+
+        AtomicInteger counter = (AtomicInteger) CacheEntry.unwrap(this.caffeine.asMap().compute(key, (String k, Object value) -> {
+            return (CacheEntry.unwrap(value) instanceof AtomicInteger) ? value : wrap(new AtomicInteger(-1));
+        }));
+        counter.incrementAndGet();
+        this.statistics.recordPut();
+
+        return counter;
+    }
+
+    @Override
+    public AtomicInteger decrement(String key) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+
+        AtomicInteger counter = (AtomicInteger) CacheEntry.unwrap(this.caffeine.asMap().compute(key, (String k, Object value) -> {
+            return (CacheEntry.unwrap(value) instanceof AtomicInteger) ? value : wrap(new AtomicInteger(1));
+        }));
+        counter.decrementAndGet();
+        this.statistics.recordPut();
+
+        return counter;
+    }
+
+    @Override
+    public AtomicInteger getCounter(String key) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+        return get(key);
+    }
+
+    @Override
+    public CacheStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    @Override
+    public void forEachEntry(BiConsumer<String, Object> action) {
+        this.caffeine.asMap().forEach(action);
+    }
+
+    @Override
+    public void restore(String key, Object value, long expires) {
+        if (expires < 0) {
+            this.caffeine.asMap().putIfAbsent(key, wrap(value));
+        } else {
+            long timeToLive = expires - System.currentTimeMillis();
+            if (timeToLive > 0) {
+                this.caffeine.asMap().putIfAbsent(key, new CacheEntry(value, timeToLive));
+            }
+        }
+    }
+
+    /**
+     * Retrieves a value from the cache, recording a hit or miss and
+     * sampling the latency of the lookup
+     *
+     * @param key The key for the cached value
+     * @return The cached value or null
+     */
+    private Object lookup(String key) {
+        Object value;
+        if (this.statistics.sample()) {
+            long start = System.nanoTime();
+            value = CacheEntry.unwrap(this.caffeine.getIfPresent(key));
+            this.statistics.recordLatency(System.nanoTime() - start);
+        } else {
+            value = CacheEntry.unwrap(this.caffeine.getIfPresent(key));
+        }
+
+        if (value == null) {
+            this.statistics.recordMiss();
+        } else {
+            this.statistics.recordHit();
+        }
+
+        return value;
+    }
+
+    /**
+     * Loads a value with the given fallback, using the atomic compute of
+     * Caffeine so that only one fallback per key is executed while concurrent
+     * callers wait for its result
+     *
+     * @param key The key for the cached value
+     * @param fallback The function to compute the value
+     * @return The computed value or null
+     */
+    private Object load(String key, Function<String, Object> fallback) {
+        return CacheEntry.unwrap(this.caffeine.get(key, (String k) -> {
+            Object value = fallback.apply(k);
+            if (value != null) {
+                this.loaded.put(k, System.currentTimeMillis());
+                this.statistics.recordPut();
+            }
+
+            return wrap(value);
+        }));
+    }
+
+    /**
+     * Schedules the refresh of a cached value on the executor. The refresh is
+     * skipped if the executor rejects it or would run it on the calling thread,
+     * e.g. with the caller_runs policy, so that a read never waits for a fallback.
+     *
+     * @param key The key for the cached value
+     * @param fallback The function to compute the value
+     */
+    private void schedule(String key, Function<String, Object> fallback) {
+        final Thread caller = Thread.currentThread();
+        try {
+            this.executor.execute(() -> {
+                if (Thread.currentThread() == caller) {
+                    this.refreshing.remove(key);
+                    LOG.debug("Skipped refresh of cache value for key: " + key + ", as it would run on the calling thread");
+                } else {
+                    refresh(key, fallback);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.refreshing.remove(key);
+            LOG.warn("Skipped refresh of cache value for key: " + key, e);
+        }
+    }
+
+    /**
+     * Reloads a cached value in the background, keeping the current value
+     * if the fallback fails or returns null. A value put with its own time
+     * to live keeps its original expiry, and a value which expired or was
+     * removed in the meantime is not stored again.
+     *
+     * @param key The key for the cached value
+     * @param fallback The function to compute the value
+     */
+    private void refresh(String key, Function<String, Object> fallback) {
+        try {
+            Object value = fallback.apply(key);
+            if (value != null) {
+                Object refreshed = this.caffeine.asMap().computeIfPresent(key, (String k, Object current) -> {
+                    if (current instanceof CacheEntry && ((CacheEntry) current).hasTimeToLive()) {
+                        long timeToLive = ((CacheEntry) current).getExpires() - System.currentTimeMillis();
+                        return (timeToLive > 0) ? new CacheEntry(value, timeToLive) : null;
+                    }
+
+                    return wrap(value);
+                });
+
+                if (refreshed != null) {
+                    this.loaded.put(key, System.currentTimeMillis());
+                    this.statistics.recordPut();
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Failed to refresh cache value for key: " + key, e);
+        } finally {
+            this.refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Stamps a value with the time it was written if the cache expires by
+     * time to live and time to idle
+     *
+     * @param value The value to store
+     * @return The value or a cache entry wrapping it
+     */
+    private Object wrap(Object value) {
+        return (this.stamped && value != null) ? CacheEntry.stamp(value) : value;
+    }
+
+    private long count() {
+        this.caffeine.cleanUp();
+        return this.caffeine.estimatedSize();
+    }
+
+    /**
+     * Combines the time to live and time to idle of the cache with
+     * the time to live of entries added via {@link Cache#put(String, Object, Duration)}.
+     * If the cache has both, an entry expires after the shorter of the two and a read
+     * extends its lifetime by the time to idle at most up to the time to live.
+     */
+    private static final class TimeToLiveExpiry implements Expiry<String, Object> {
+        private final long timeToLive;
+        private final long timeToIdle;
+
+        TimeToLiveExpiry(long timeToLive, long timeToIdle) {
+            this.timeToLive = (timeToLive > 0) ? TimeUnit.SECONDS.toNanos(timeToLive) : 0;
+            this.timeToIdle = (timeToIdle > 0) ? TimeUnit.SECONDS.toNanos(timeToIdle) : 0;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Object value, long currentTime) {
+            if (value instanceof CacheEntry && ((CacheEntry) value).hasTimeToLive()) {
+                return TimeUnit.MILLISECONDS.toNanos(((CacheEntry) value).getTimeToLive());
+            }
+
+            if (this.timeToLive > 0 && this.timeToIdle > 0) {
+                return Math.min(this.timeToLive, this.timeToIdle);
+            }
+
+            long expiry = Math.max(this.timeToLive, this.timeToIdle);
+            return (expiry > 0) ? expiry : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+            if (this.timeToIdle == 0 || (value instanceof CacheEntry && ((CacheEntry) value).hasTimeToLive())) {
+                return currentDuration;
+            }
+
+            if (this.timeToLive == 0) {
+                return this.timeToIdle;
+            }
+
+            if (value instanceof CacheEntry) {
+                long age = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - ((CacheEntry) value).getCreated());
+                return Math.max(0, Math.min(this.timeToIdle, this.timeToLive - age));
+            }
+
+            return Math.min(this.timeToIdle, currentDuration);
+        }
+    }
+}
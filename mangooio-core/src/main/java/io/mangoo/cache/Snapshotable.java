@@ -0,0 +1,27 @@
+package io.mangoo.cache;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Internal contract for caches which can be written to and restored from a snapshot
+ * 
+ * @author svenkubiak
+ *
+ */
+interface Snapshotable {
+    /**
+     * Passes every entry of the cache as stored, e.g. wrapped in a CacheEntry, to the given action
+     * 
+     * @param action The action to perform for every entry
+     */
+    void forEachEntry(BiConsumer<String, Object> action);
+    
+    /**
+     * Adds a value from a snapshot to the cache if the cache does not contain the key yet
+     * 
+     * @param key The key for the cached value
+     * @param value The value to store
+     * @param expires The time in epoch milliseconds when the value expires or -1 to use the expiry of the cache
+     */
+    void restore(String key, Object value, long expires);
+}
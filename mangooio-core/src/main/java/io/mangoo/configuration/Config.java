@@ -5,10 +5,12 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.FileUtils;
@@ -22,10 +24,14 @@ import com.google.inject.Singleton;
 
 import io.mangoo.core.Application;
 import io.mangoo.crypto.Crypto;
+import io.mangoo.enums.Backpressure;
 import io.mangoo.enums.Default;
+import io.mangoo.enums.ExecutorType;
 import io.mangoo.enums.Jvm;
 import io.mangoo.enums.Key;
 import io.mangoo.enums.Mode;
+import io.mangoo.enums.Overflow;
+import io.mangoo.enums.Rejection;
 import io.mangoo.enums.Required;
 import io.mangoo.utils.IOUtils;
 
@@ -40,6 +46,8 @@ import io.mangoo.utils.IOUtils;
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class Config {
     private static final Logger LOG = LogManager.getLogger(Config.class);
+    private static final String CACHE = "cache.";
+    private static final String EXECUTOR = "executor.";
     private final Map<String, String> values = new ConcurrentHashMap<>(16, 0.9F, 1);
     private boolean decrypted = true;
     
@@ -571,6 +579,41 @@ public class Config {
         return getLong(Key.AUTHENTICATION_COOKIE_REMEMBER_EXPIRES, Default.AUTHENTICATION_COOKIE_REMEMBER_EXPIRES.toLong());
     }
 
+    /**
+     * @return eventbus.threads or default value if undefined
+     */
+    public int getEventBusThreads() {
+        return getInt(Key.EVENTBUS_THREADS, Default.EVENTBUS_THREADS.toInt());
+    }
+
+    /**
+     * @return eventbus.partitions or default value if undefined
+     */
+    public int getEventBusPartitions() {
+        return getInt(Key.EVENTBUS_PARTITIONS, Default.EVENTBUS_PARTITIONS.toInt());
+    }
+
+    /**
+     * @return eventbus.queue or default value if undefined
+     */
+    public int getEventBusQueue() {
+        return getInt(Key.EVENTBUS_QUEUE, Default.EVENTBUS_QUEUE.toInt());
+    }
+
+    /**
+     * @return eventbus.batch or default value if undefined
+     */
+    public int getEventBusBatch() {
+        return getInt(Key.EVENTBUS_BATCH, Default.EVENTBUS_BATCH.toInt());
+    }
+
+    /**
+     * @return eventbus.overflow or default value if undefined
+     */
+    public Overflow getEventBusOverflow() {
+        return Overflow.of(getString(Key.EVENTBUS_OVERFLOW), Overflow.of(Default.EVENTBUS_OVERFLOW.toString(), Overflow.BLOCK));
+    }
+
     /**
      * @return execution.threadpool from application.yaml or default value if undefined
      */
@@ -578,6 +621,60 @@ public class Config {
         return getInt(Key.APPLICATION_THREADPOOL, Default.EXECUTION_THREADPOOL.toInt());
     }
 
+    /**
+     * @return application.virtualthreads or default value if undefined
+     */
+    public boolean isVirtualThreadsEnabled() {
+        return getBoolean(Key.APPLICATION_VIRTUALTHREADS, Default.APPLICATION_VIRTUALTHREADS.toBoolean());
+    }
+
+    /**
+     * @return The names of all executors configured as executor.{name}.* in application.yaml
+     */
+    public Set<String> getExecutorNames() {
+        Set<String> names = new HashSet<>();
+        this.values.keySet().forEach((String key) -> {
+            if (key.startsWith(EXECUTOR) && StringUtils.countMatches(key, '.') == 2) {
+                names.add(StringUtils.substringBetween(key, EXECUTOR, "."));
+            }
+        });
+
+        return names;
+    }
+
+    /**
+     * @param name The name of the executor
+     * @return executor.{name}.type or default value if undefined
+     */
+    public ExecutorType getExecutorType(String name) {
+        return ExecutorType.of(getString(EXECUTOR + name + ".type", null), ExecutorType.of(Default.EXECUTOR_TYPE.toString(), ExecutorType.FIXED));
+    }
+
+    /**
+     * @param name The name of the executor
+     * @param defaultValue The default value
+     * @return executor.{name}.threads or default value if undefined
+     */
+    public int getExecutorThreads(String name, int defaultValue) {
+        return getInt(EXECUTOR + name + ".threads", defaultValue);
+    }
+
+    /**
+     * @param name The name of the executor
+     * @return executor.{name}.queue or default value if undefined
+     */
+    public int getExecutorQueue(String name) {
+        return getInt(EXECUTOR + name + ".queue", Default.EXECUTOR_QUEUE.toInt());
+    }
+
+    /**
+     * @param name The name of the executor
+     * @return executor.{name}.rejection or default value if undefined
+     */
+    public Rejection getExecutorRejection(String name) {
+        return Rejection.of(getString(EXECUTOR + name + ".rejection", null), Rejection.of(Default.EXECUTOR_REJECTION.toString(), Rejection.CALLER_RUNS));
+    }
+
     /**
      * @return application.controller from application.yaml or default value if undefined
      */
@@ -701,6 +798,65 @@ public class Config {
         return getInt(Key.CONNECTOR_HTTP_PORT, 0);
     }
 
+    /**
+     * @return jvm property https.host or connector.https.host or null if undefined
+     */
+    public String getConnectorHttpsHost() {
+        String httpsHost = System.getProperty(Jvm.HTTPS_HOST.toString());
+        if (StringUtils.isNotBlank(httpsHost)) {
+            return httpsHost;
+        }
+        
+        return getString(Key.CONNECTOR_HTTPS_HOST, null);
+    }
+
+    /**
+     * @return jvm property https.port or connector.https.port or 0 if undefined
+     */
+    public int getConnectorHttpsPort() {
+        String httpsPort = System.getProperty(Jvm.HTTPS_PORT.toString());
+        if (StringUtils.isNotBlank(httpsPort)) {
+            return Integer.parseInt(httpsPort);
+        }
+        
+        return getInt(Key.CONNECTOR_HTTPS_PORT, 0);
+    }
+
+    /**
+     * @return connector.https.keystore or null if undefined
+     */
+    public String getConnectorHttpsKeystore() {
+        return getString(Key.CONNECTOR_HTTPS_KEYSTORE, null);
+    }
+
+    /**
+     * @return connector.https.keystorepassword or an empty String if undefined
+     */
+    public String getConnectorHttpsKeystorePassword() {
+        return getString(Key.CONNECTOR_HTTPS_KEYSTOREPASSWORD, "");
+    }
+
+    /**
+     * @return connector.https.keypassword or the keystore password if undefined
+     */
+    public String getConnectorHttpsKeyPassword() {
+        return getString(Key.CONNECTOR_HTTPS_KEYPASSWORD, getConnectorHttpsKeystorePassword());
+    }
+
+    /**
+     * @return connector.https.keystoretype or default value if undefined
+     */
+    public String getConnectorHttpsKeystoreType() {
+        return getString(Key.CONNECTOR_HTTPS_KEYSTORETYPE, Default.CONNECTOR_HTTPS_KEYSTORETYPE.toString());
+    }
+
+    /**
+     * @return connector.http2 or default value if undefined
+     */
+    public boolean isConnectorHttp2() {
+        return getBoolean(Key.CONNECTOR_HTTP2, Default.CONNECTOR_HTTP2.toBoolean());
+    }
+
     /**
      * @return jvm property ajp.host or connector.ajp.host or null if undefined
      */
@@ -802,6 +958,189 @@ public class Config {
         return getBoolean(Key.METRICS_ENABLE, Default.METRICS_ENABLE.toBoolean());
     }
 
+    /**
+     * @return metrics.requests.size or default value if undefined
+     */
+    public int getMetricsRequestsSize() {
+        return getInt(Key.METRICS_REQUESTS_SIZE, Default.METRICS_REQUESTS_SIZE.toInt());
+    }
+
+    /**
+     * @return metrics.runtime.interval or default value if undefined
+     */
+    public int getMetricsRuntimeInterval() {
+        return getInt(Key.METRICS_RUNTIME_INTERVAL, Default.METRICS_RUNTIME_INTERVAL.toInt());
+    }
+
+    /**
+     * @return metrics.runtime.samples or default value if undefined
+     */
+    public int getMetricsRuntimeSamples() {
+        return getInt(Key.METRICS_RUNTIME_SAMPLES, Default.METRICS_RUNTIME_SAMPLES.toInt());
+    }
+
+    /**
+     * @return metrics.slow.sampling.interval or default value if undefined
+     */
+    public int getMetricsSlowSamplingInterval() {
+        return getInt(Key.METRICS_SLOW_SAMPLING_INTERVAL, Default.METRICS_SLOW_SAMPLING_INTERVAL.toInt());
+    }
+
+    /**
+     * @return metrics.slow.sampling.threshold or default value if undefined
+     */
+    public int getMetricsSlowSamplingThreshold() {
+        return getInt(Key.METRICS_SLOW_SAMPLING_THRESHOLD, Default.METRICS_SLOW_SAMPLING_THRESHOLD.toInt());
+    }
+
+    /**
+     * @return metrics.slow.size or default value if undefined
+     */
+    public int getMetricsSlowSize() {
+        return getInt(Key.METRICS_SLOW_SIZE, Default.METRICS_SLOW_SIZE.toInt());
+    }
+
+    /**
+     * @return metrics.slow.threshold or default value if undefined
+     */
+    public int getMetricsSlowThreshold() {
+        return getInt(Key.METRICS_SLOW_THRESHOLD, Default.METRICS_SLOW_THRESHOLD.toInt());
+    }
+
+    /**
+     * @return metrics.stages.enable or default value if undefined
+     */
+    public boolean isMetricsStagesEnabled() {
+        return getBoolean(Key.METRICS_STAGES_ENABLE, Default.METRICS_STAGES_ENABLE.toBoolean());
+    }
+
+    /**
+     * @return metrics.stages.sample or default value if undefined
+     */
+    public int getMetricsStagesSample() {
+        return getInt(Key.METRICS_STAGES_SAMPLE, Default.METRICS_STAGES_SAMPLE.toInt());
+    }
+
+    /**
+     * @return metrics.stages.servertiming or default value if undefined
+     */
+    public boolean isMetricsStagesServerTiming() {
+        return getBoolean(Key.METRICS_STAGES_SERVERTIMING, Default.METRICS_STAGES_SERVERTIMING.toBoolean());
+    }
+
+    /**
+     * @return The names of all cache regions configured as cache.{name}.* in application.yaml
+     */
+    public Set<String> getCacheNames() {
+        Set<String> names = new HashSet<>();
+        this.values.keySet().forEach((String key) -> {
+            if (key.startsWith(CACHE) && StringUtils.countMatches(key, '.') == 2) {
+                names.add(StringUtils.substringBetween(key, CACHE, "."));
+            }
+        });
+        names.remove("cluster");
+        names.remove("persistence");
+        names.remove("snapshot");
+        
+        return names;
+    }
+
+    /**
+     * @param name The name of the cache region
+     * @param defaultValue The default value
+     * @return cache.{name}.entries or default value if undefined
+     */
+    public long getCacheEntries(String name, long defaultValue) {
+        return getLong(CACHE + name + ".entries", defaultValue);
+    }
+
+    /**
+     * @param name The name of the cache region
+     * @return cache.{name}.size in megabytes or 0 if undefined
+     */
+    public long getCacheSize(String name) {
+        return getLong(CACHE + name + ".size", 0);
+    }
+
+    /**
+     * @param name The name of the cache region
+     * @param defaultValue The default value
+     * @return cache.{name}.ttl in seconds or default value if undefined
+     */
+    public long getCacheTimeToLive(String name, long defaultValue) {
+        return getLong(CACHE + name + ".ttl", defaultValue);
+    }
+
+    /**
+     * @param name The name of the cache region
+     * @param defaultValue The default value
+     * @return cache.{name}.tti in seconds or default value if undefined
+     */
+    public long getCacheTimeToIdle(String name, long defaultValue) {
+        return getLong(CACHE + name + ".tti", defaultValue);
+    }
+
+    /**
+     * @param name The name of the cache region
+     * @return cache.{name}.offheap in megabytes or 0 if undefined
+     */
+    public long getCacheOffHeap(String name) {
+        return getLong(CACHE + name + ".offheap", 0);
+    }
+
+    /**
+     * @param name The name of the cache region
+     * @return cache.{name}.disk in megabytes or 0 if undefined
+     */
+    public long getCacheDisk(String name) {
+        return getLong(CACHE + name + ".disk", 0);
+    }
+
+    /**
+     * @param name The name of the cache region
+     * @return cache.{name}.persistent or false if undefined
+     */
+    public boolean isCachePersistent(String name) {
+        return getBoolean(CACHE + name + ".persistent", false);
+    }
+
+    /**
+     * @param name The name of the cache region
+     * @return cache.{name}.serializer or null if undefined
+     */
+    public String getCacheSerializer(String name) {
+        return getString(CACHE + name + ".serializer", null);
+    }
+
+    /**
+     * @param name The name of the cache region
+     * @return cache.{name}.implementation or default value if undefined
+     */
+    public String getCacheImplementation(String name) {
+        return getString(CACHE + name + ".implementation", Default.CACHE_IMPLEMENTATION.toString());
+    }
+
+    /**
+     * @return cache.snapshot.enable or default value if undefined
+     */
+    public boolean isCacheSnapshotEnabled() {
+        return getBoolean(Key.CACHE_SNAPSHOT_ENABLE, Default.CACHE_SNAPSHOT_ENABLE.toBoolean());
+    }
+
+    /**
+     * @return cache.snapshot.path or default value if undefined
+     */
+    public String getCacheSnapshotPath() {
+        return getString(Key.CACHE_SNAPSHOT_PATH, Default.CACHE_SNAPSHOT_PATH.toString());
+    }
+
+    /**
+     * @return cache.persistence.path or default value if undefined
+     */
+    public String getCachePersistencePath() {
+        return getString(Key.CACHE_PERSISTENCE_PATH, Default.CACHE_PERSISTENCE_PATH.toString());
+    }
+
     /**
      * @return authentication.lock or default value if undefined
      */
@@ -830,6 +1169,177 @@ public class Config {
         return getLong(Key.UNDERTOW_MAX_ENTITY_SIZE, Default.UNDERTOW_MAX_ENTITY_SIZE.toLong());
     }
 
+    /**
+     * @return undertow.iothreads or the number of available cores, but at least 2, if undefined
+     */
+    public int getUndertowIoThreads() {
+        return getInt(Key.UNDERTOW_IO_THREADS, Math.max(2, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @return undertow.workerthreads or eight worker threads per IO thread if undefined
+     */
+    public int getUndertowWorkerThreads() {
+        return getInt(Key.UNDERTOW_WORKER_THREADS, getUndertowIoThreads() * Default.UNDERTOW_WORKER_THREADS_PER_IO_THREAD.toInt());
+    }
+
+    /**
+     * @return undertow.buffersize in bytes or a size based on the maximum heap size if undefined
+     */
+    public int getUndertowBufferSize() {
+        final long maxMemory = Runtime.getRuntime().maxMemory();
+        int bufferSize;
+        if (maxMemory < 64 * 1024 * 1024) {
+            bufferSize = 512;
+        } else if (maxMemory < 128 * 1024 * 1024) {
+            bufferSize = 1024;
+        } else {
+            bufferSize = 16 * 1024 - 20;
+        }
+        
+        return getInt(Key.UNDERTOW_BUFFER_SIZE, bufferSize);
+    }
+
+    /**
+     * @return undertow.directbuffers or true if the maximum heap size is at least 128 MB if undefined
+     */
+    public boolean isUndertowDirectBuffers() {
+        return getBoolean(Key.UNDERTOW_DIRECT_BUFFERS, Runtime.getRuntime().maxMemory() >= 128 * 1024 * 1024);
+    }
+
+    /**
+     * @return undertow.backlog or default value if undefined
+     */
+    public int getUndertowBacklog() {
+        return getInt(Key.UNDERTOW_BACKLOG, Default.UNDERTOW_BACKLOG.toInt());
+    }
+
+    /**
+     * @return undertow.idletimeout in milliseconds or default value if undefined
+     */
+    public long getUndertowIdleTimeout() {
+        return getLong(Key.UNDERTOW_IDLE_TIMEOUT, Default.UNDERTOW_IDLE_TIMEOUT.toLong());
+    }
+
+    /**
+     * @return undertow.maxheaders or default value if undefined
+     */
+    public int getUndertowMaxHeaders() {
+        return getInt(Key.UNDERTOW_MAX_HEADERS, Default.UNDERTOW_MAX_HEADERS.toInt());
+    }
+
+    /**
+     * @return undertow.keepalive or default value if undefined
+     */
+    public boolean isUndertowKeepAlive() {
+        return getBoolean(Key.UNDERTOW_KEEP_ALIVE, Default.UNDERTOW_KEEP_ALIVE.toBoolean());
+    }
+
+    /**
+     * @return sse.replay.size or default value if undefined
+     */
+    public int getSseReplaySize() {
+        return getInt(Key.SSE_REPLAY_SIZE, Default.SSE_REPLAY_SIZE.toInt());
+    }
+
+    /**
+     * @return sse.coalesce.threshold or default value if undefined
+     */
+    public int getSseCoalesceThreshold() {
+        return getInt(Key.SSE_COALESCE_THRESHOLD, Default.SSE_COALESCE_THRESHOLD.toInt());
+    }
+
+    /**
+     * @return sse.pending.limit or default value if undefined
+     */
+    public int getSsePendingLimit() {
+        return getInt(Key.SSE_PENDING_LIMIT, Default.SSE_PENDING_LIMIT.toInt());
+    }
+
+    /**
+     * @return sse.heartbeat.interval or default value if undefined
+     */
+    public long getSseHeartbeatInterval() {
+        return getLong(Key.SSE_HEARTBEAT_INTERVAL, Default.SSE_HEARTBEAT_INTERVAL.toLong());
+    }
+
+    /**
+     * @return sse.retry or default value if undefined
+     */
+    public long getSseRetry() {
+        return getLong(Key.SSE_RETRY, Default.SSE_RETRY.toLong());
+    }
+
+    /**
+     * @return tracing.enable or default value if undefined
+     */
+    public boolean isTracingEnabled() {
+        return getBoolean(Key.TRACING_ENABLE, Default.TRACING_ENABLE.toBoolean());
+    }
+
+    /**
+     * @return tracing.exporter or default value if undefined
+     */
+    public String getTracingExporter() {
+        return getString(Key.TRACING_EXPORTER, Default.TRACING_EXPORTER.toString());
+    }
+
+    /**
+     * @return tracing.file or default value if undefined
+     */
+    public String getTracingFile() {
+        return getString(Key.TRACING_FILE, Default.TRACING_FILE.toString());
+    }
+
+    /**
+     * @return tracing.queue or default value if undefined
+     */
+    public int getTracingQueue() {
+        return getInt(Key.TRACING_QUEUE, Default.TRACING_QUEUE.toInt());
+    }
+
+    /**
+     * @return tracing.sample or default value if undefined
+     */
+    public int getTracingSample() {
+        return getInt(Key.TRACING_SAMPLE, Default.TRACING_SAMPLE.toInt());
+    }
+
+    /**
+     * @return websocket.heartbeat.interval or default value if undefined
+     */
+    public long getWebSocketHeartbeatInterval() {
+        return getLong(Key.WEBSOCKET_HEARTBEAT_INTERVAL, Default.WEBSOCKET_HEARTBEAT_INTERVAL.toLong());
+    }
+
+    /**
+     * @return websocket.heartbeat.timeout or default value if undefined
+     */
+    public long getWebSocketHeartbeatTimeout() {
+        return getLong(Key.WEBSOCKET_HEARTBEAT_TIMEOUT, Default.WEBSOCKET_HEARTBEAT_TIMEOUT.toLong());
+    }
+
+    /**
+     * @return websocket.backpressure.limit or default value if undefined
+     */
+    public int getWebSocketBackpressureLimit() {
+        return getInt(Key.WEBSOCKET_BACKPRESSURE_LIMIT, Default.WEBSOCKET_BACKPRESSURE_LIMIT.toInt());
+    }
+
+    /**
+     * @return websocket.backpressure.policy or default value if undefined
+     */
+    public Backpressure getWebSocketBackpressurePolicy() {
+        return Backpressure.of(getString(Key.WEBSOCKET_BACKPRESSURE_POLICY), Backpressure.of(Default.WEBSOCKET_BACKPRESSURE_POLICY.toString(), Backpressure.QUEUE));
+    }
+
+    /**
+     * @return websocket.backpressure.queue or default value if undefined
+     */
+    public int getWebSocketBackpressureQueue() {
+        return getInt(Key.WEBSOCKET_BACKPRESSURE_QUEUE, Default.WEBSOCKET_BACKPRESSURE_QUEUE.toInt());
+    }
+
     /**
      * @return session.cookie.signkey or application secret if undefined
      */
@@ -1,7 +1,12 @@
 package io.mangoo.core;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -10,6 +15,9 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,6 +25,8 @@ import org.quartz.CronExpression;
 import org.quartz.Job;
 import org.quartz.JobDetail;
 import org.quartz.Trigger;
+import org.xnio.Options;
+import org.xnio.XnioWorker;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
@@ -54,6 +64,8 @@ import io.mangoo.routing.handlers.MetricsHandler;
 import io.mangoo.routing.handlers.ServerSentEventHandler;
 import io.mangoo.routing.handlers.WebSocketHandler;
 import io.mangoo.scheduler.Scheduler;
+import io.mangoo.services.RuntimeService;
+import io.mangoo.services.SlowRequestService;
 import io.mangoo.utils.BootstrapUtils;
 import io.mangoo.utils.CryptoUtils;
 import io.mangoo.utils.SchedulerUtils;
@@ -79,9 +91,12 @@ public final class Application {
     private static Logger LOG; //NOSONAR
     private static final int BUFFERSIZE = 255;
     private static volatile String httpHost;
+    private static volatile String httpsHost;
     private static volatile String ajpHost;
     private static volatile int httpPort;
+    private static volatile int httpsPort;
     private static volatile int ajpPort;
+    private static volatile boolean http2;
     private static volatile Undertow undertow;
     private static volatile Mode mode;
     private static volatile Injector injector;
@@ -115,6 +130,7 @@ public final class Application {
             prepareRoutes();
             createRoutes();
             prepareScheduler();
+            prepareRuntime();
             prepareUndertow();
 
             if (!error) {
@@ -213,6 +229,14 @@ public final class Application {
         return injector.getInstance(clazz);
     }
     
+    /**
+     * @return The XNIO worker of the underlying undertow server or null if the server is not started
+     */
+    public static XnioWorker getWorker() {
+        Undertow server = undertow;
+        return (server == null) ? null : server.getWorker();
+    }
+    
     /**
      * Stops the underlying undertow server
      */
@@ -449,12 +473,19 @@ public final class Application {
         if (config.isAdminEnabled()) {
             Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin").withRequest(Methods.GET).withClass(AdminController.class).withMethod("index").useInternalTemplateEngine());
             Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/json").withRequest(Methods.GET).withClass(AdminController.class).withMethod("json").useInternalTemplateEngine());
+            Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/prometheus").withRequest(Methods.GET).withClass(AdminController.class).withMethod("prometheus").useInternalTemplateEngine());
             Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/scheduler").withRequest(Methods.GET).withClass(AdminController.class).withMethod("scheduler").useInternalTemplateEngine());
             Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/logger").withRequest(Methods.GET).withClass(AdminController.class).withMethod("logger").useInternalTemplateEngine());
             Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/logger/ajax").withRequest(Methods.POST).withClass(AdminController.class).withMethod("loggerajax").useInternalTemplateEngine());
             Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/routes").withRequest(Methods.GET).withClass(AdminController.class).withMethod("routes").useInternalTemplateEngine());
             Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/metrics").withRequest(Methods.GET).withClass(AdminController.class).withMethod("metrics").useInternalTemplateEngine());
+            Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/requests").withRequest(Methods.GET).withClass(AdminController.class).withMethod("requests").useInternalTemplateEngine());
+            Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/requests/json").withRequest(Methods.GET).withClass(AdminController.class).withMethod("requestsjson").useInternalTemplateEngine());
+            Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/slow").withRequest(Methods.GET).withClass(AdminController.class).withMethod("slow").useInternalTemplateEngine());
             Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/metrics/reset").withRequest(Methods.GET).withClass(AdminController.class).withMethod("resetMetrics").useInternalTemplateEngine());
+            Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/cache").withRequest(Methods.GET).withClass(AdminController.class).withMethod("cache").useInternalTemplateEngine());
+            Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/eventbus").withRequest(Methods.GET).withClass(AdminController.class).withMethod("eventbus").useInternalTemplateEngine());
+            Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/executors").withRequest(Methods.GET).withClass(AdminController.class).withMethod("executors").useInternalTemplateEngine());
             Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/tools").withRequest(Methods.GET).withClass(AdminController.class).withMethod("tools").useInternalTemplateEngine());
             Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/tools/ajax").withRequest(Methods.POST).withClass(AdminController.class).withMethod("toolsajax").useInternalTemplateEngine());
             Router.addRoute(new Route(RouteType.REQUEST).toUrl("/@admin/scheduler/execute/{name}").withRequest(Methods.GET).withClass(AdminController.class).withMethod("execute").useInternalTemplateEngine());
@@ -468,7 +499,8 @@ public final class Application {
                         .withTimer(route.isTimerEnabled())
                         .withUsername(route.getUsername())
                         .withPassword(route.getPassword())
-                        .withLimit(route.getLimit());
+                        .withLimit(route.getLimit())
+                        .withMetrics(config.isMetricsEnabled() && !AdminController.class.equals(route.getControllerClass()));
                 
                 routingHandler.add(route.getRequestMethod(),route.getUrl(), dispatcherHandler);
             } else if (RouteType.RESOURCE_FILE == route.getRouteType()) {
@@ -498,12 +530,28 @@ public final class Application {
                         .addExceptionHandler(Throwable.class, Application.getInstance(ExceptionHandler.class));
             }
             
+            http2 = config.isConnectorHttp2();
             Builder builder = Undertow.builder()
+                    .setIoThreads(config.getUndertowIoThreads())
+                    .setWorkerThreads(config.getUndertowWorkerThreads())
+                    .setBufferSize(config.getUndertowBufferSize())
+                    .setDirectBuffers(config.isUndertowDirectBuffers())
+                    .setSocketOption(Options.BACKLOG, config.getUndertowBacklog())
                     .setServerOption(UndertowOptions.MAX_ENTITY_SIZE, config.getUndertowMaxEntitySize())
+                    .setServerOption(UndertowOptions.MAX_HEADERS, config.getUndertowMaxHeaders())
+                    .setServerOption(UndertowOptions.ALWAYS_SET_KEEP_ALIVE, config.isUndertowKeepAlive())
+                    .setServerOption(UndertowOptions.ENABLE_HTTP2, http2)
+                    .setServerOption(UndertowOptions.RECORD_REQUEST_START_TIME, config.isMetricsEnabled())
                     .setHandler(httpHandler);
+            
+            if (config.getUndertowIdleTimeout() > 0) {
+                builder.setServerOption(UndertowOptions.IDLE_TIMEOUT, (int) config.getUndertowIdleTimeout());
+            }
 
             httpHost = config.getConnectorHttpHost();
             httpPort = config.getConnectorHttpPort();
+            httpsHost = config.getConnectorHttpsHost();
+            httpsPort = config.getConnectorHttpsPort();
             ajpHost = config.getConnectorAjpHost();
             ajpPort = config.getConnectorAjpPort();
 
@@ -513,21 +561,69 @@ public final class Application {
                 hasConnector = true;
             }
             
+            if (httpsPort > 0 && StringUtils.isNotBlank(httpsHost)) {
+                SSLContext sslContext = getSSLContext(config);
+                if (sslContext == null) {
+                    error = true;
+                    return;
+                }
+                builder.addHttpsListener(httpsPort, httpsHost, sslContext);
+                hasConnector = true;
+            }
+            
             if (ajpPort > 0 && StringUtils.isNotBlank(ajpHost)) {
                 builder.addAjpListener(ajpPort, ajpHost);
                 hasConnector = true;
             }
                     
             if (hasConnector) {
+                LOG.info("Undertow using {} IO threads, {} worker threads, {} byte {} buffers, backlog {}, max headers {}, keep-alive {}, idle timeout {}",
+                        config.getUndertowIoThreads(), config.getUndertowWorkerThreads(), config.getUndertowBufferSize(),
+                        config.isUndertowDirectBuffers() ? "direct" : "heap", config.getUndertowBacklog(), config.getUndertowMaxHeaders(),
+                        config.isUndertowKeepAlive(), (config.getUndertowIdleTimeout() > 0) ? config.getUndertowIdleTimeout() + " ms" : "default");
+                
                 undertow = builder.build();
                 undertow.start();
             } else {
-                LOG.error("No connector found! Please configure a HTTP and/or AJP connector in your application.yaml");
+                LOG.error("No connector found! Please configure a HTTP, HTTPS and/or AJP connector in your application.yaml");
                 error = true;
             }
         }
     }
 
+    /**
+     * Creates the SSLContext for the HTTPS connector from the configured keystore, which
+     * is either a file or a resource in the classpath
+     *
+     * @param config The application configuration
+     * @return The SSLContext or null if the keystore could not be loaded
+     */
+    private static SSLContext getSSLContext(Config config) {
+        String keystore = config.getConnectorHttpsKeystore();
+        if (StringUtils.isBlank(keystore)) {
+            LOG.error("No keystore found! Please configure connector.https.keystore in your application.yaml");
+            return null;
+        }
+        
+        File file = new File(keystore);
+        try (InputStream inputStream = file.exists() ? new FileInputStream(file) : Resources.getResource(keystore).openStream()) { //NOSONAR
+            KeyStore keyStore = KeyStore.getInstance(config.getConnectorHttpsKeystoreType());
+            keyStore.load(inputStream, config.getConnectorHttpsKeystorePassword().toCharArray());
+            
+            KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagerFactory.init(keyStore, config.getConnectorHttpsKeyPassword().toCharArray());
+            
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+            
+            return sslContext;
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            LOG.error("Failed to load keystore " + keystore + " for HTTPS connector", e);
+        }
+        
+        return null;
+    }
+
     private static void showLogo() {
         if (!error) {
             final StringBuilder buffer = new StringBuilder(BUFFERSIZE);
@@ -543,10 +639,18 @@ public final class Application {
                 LOG.info("HTTP connector listening @{}:{}", httpHost, httpPort);
             }
             
+            if (httpsPort > 0 && StringUtils.isNotBlank(httpsHost)) {
+                LOG.info("HTTPS connector listening @{}:{}", httpsHost, httpsPort);
+            }
+            
             if (ajpPort > 0 && StringUtils.isNotBlank(ajpHost)) {
                 LOG.info("AJP connector listening @{}:{}", ajpHost, ajpPort);
             }
             
+            if (http2) {
+                LOG.info("HTTP/2 enabled (ALPN on HTTPS, h2c upgrade on HTTP)");
+            }
+            
             LOG.info("mangoo I/O application started in {} ms in {} mode. Enjoy.", ChronoUnit.MILLIS.between(start, LocalDateTime.now()), mode.toString());
         }
     }
@@ -572,6 +676,13 @@ public final class Application {
         }
     }
 
+    private static void prepareRuntime() {
+        if (!error && injector.getInstance(Config.class).isMetricsEnabled()) {
+            injector.getInstance(RuntimeService.class).start();
+            injector.getInstance(SlowRequestService.class).start();
+        }
+    }
+
     private static void prepareScheduler() {
         if (!error) {
             Config config = injector.getInstance(Config.class);
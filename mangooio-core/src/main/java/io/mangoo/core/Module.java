@@ -6,8 +6,10 @@ import com.google.inject.AbstractModule;
 
 import io.mangoo.cache.Cache;
 import io.mangoo.configuration.Config;
+import io.mangoo.interfaces.MangooSpanExporter;
 import io.mangoo.interfaces.MangooTemplateEngine;
 import io.mangoo.providers.CacheProvider;
+import io.mangoo.providers.SpanExporterProvider;
 import io.mangoo.providers.TemplateEngineProvider;
 import io.mangoo.scheduler.SchedulerFactory;
 
@@ -23,5 +25,6 @@ public class Module extends AbstractModule {
         bind(JobFactory.class).to(SchedulerFactory.class);
         bind(Cache.class).toProvider(CacheProvider.class);
         bind(MangooTemplateEngine.class).toProvider(TemplateEngineProvider.class);
+        bind(MangooSpanExporter.class).toProvider(SpanExporterProvider.class);
     }
 }
\ No newline at end of file
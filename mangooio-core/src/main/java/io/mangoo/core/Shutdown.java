@@ -11,6 +11,11 @@ import io.mangoo.interfaces.MangooLifecycle;
 import io.mangoo.providers.CacheProvider;
 import io.mangoo.scheduler.Scheduler;
 import io.mangoo.services.ConcurrentService;
+import io.mangoo.services.EventBusService;
+import io.mangoo.services.HeartbeatService;
+import io.mangoo.services.RuntimeService;
+import io.mangoo.services.SlowRequestService;
+import io.mangoo.tracing.Tracer;
 
 /**
  * 
@@ -29,8 +34,12 @@ public class Shutdown extends Thread {
     public void run() {
         invokeLifecycle();
         stopUndertow();
+        stopHeartbeats();
+        stopRuntime();
         stopScheduler();
         stopExecutionManager();
+        stopEventBus();
+        stopTracer();
         closeCaches();
         closeLifecycleManager();
     }
@@ -43,6 +52,23 @@ public class Shutdown extends Thread {
         Application.getInstance(ConcurrentService.class).shutdown();
     }
 
+    private static void stopHeartbeats() {
+        Application.getInstance(HeartbeatService.class).shutdown();
+    }
+
+    private static void stopRuntime() {
+        Application.getInstance(RuntimeService.class).shutdown();
+        Application.getInstance(SlowRequestService.class).shutdown();
+    }
+
+    private static void stopEventBus() {
+        Application.getInstance(EventBusService.class).shutdown();
+    }
+
+    private static void stopTracer() {
+        Application.getInstance(Tracer.class).shutdown();
+    }
+
     private static void stopScheduler() {
         Scheduler scheduler = Application.getInstance(Scheduler.class);
         try {
@@ -59,7 +85,9 @@ public class Shutdown extends Thread {
     }
 
     private static void closeCaches() {
-        Application.getInstance(CacheProvider.class).close();
+        CacheProvider cacheProvider = Application.getInstance(CacheProvider.class);
+        cacheProvider.snapshot();
+        cacheProvider.close();
     }
 
     private static void closeLifecycleManager() {
@@ -24,6 +24,8 @@ import io.mangoo.enums.Required;
 import io.mangoo.exceptions.MangooMailerException;
 import io.mangoo.exceptions.MangooTemplateEngineException;
 import io.mangoo.interfaces.MangooTemplateEngine;
+import io.mangoo.tracing.Span;
+import io.mangoo.tracing.Tracer;
 
 /**
  * 
@@ -221,12 +223,24 @@ public class Mail {
             this.from = config.getSmtpFrom();
         }
         
-        if (this.html) {
-            sendHtmlEmail();
-        } else if (this.attachment) {
-            sendMultipartEmail();
-        } else {
-            sendSimpleEmail();
+        Span span = Tracer.startSpan("mail");
+        try {
+            if (this.html) {
+                sendHtmlEmail();
+            } else if (this.attachment) {
+                sendMultipartEmail();
+            } else {
+                sendSimpleEmail();
+            }
+        } catch (MangooMailerException e) {
+            if (span != null) {
+                span.withError(e);
+            }
+            throw e;
+        } finally {
+            if (span != null) {
+                span.withAttribute("mail.recipients", this.recipients.size() + this.ccRecipients.size() + this.bccRecipients.size()).end();
+            }
         }
     }
 
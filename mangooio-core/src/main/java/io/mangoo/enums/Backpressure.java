@@ -0,0 +1,41 @@
+package io.mangoo.enums;
+
+/**
+ * Policies for connections which can not keep up with the sent messages
+ *
+ * @author svenkubiak
+ *
+ */
+public enum Backpressure {
+    CLOSE("close"),
+    DROP("drop"),
+    QUEUE("queue");
+
+    private final String value;
+
+    Backpressure (String value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the policy matching the given value, case insensitive
+     *
+     * @param value The value to look up
+     * @param defaultValue The policy to use if none matches
+     * @return The matching policy or the default value
+     */
+    public static Backpressure of(String value, Backpressure defaultValue) {
+        for (Backpressure backpressure : values()) {
+            if (backpressure.value.equalsIgnoreCase(value)) {
+                return backpressure;
+            }
+        }
+
+        return defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+}
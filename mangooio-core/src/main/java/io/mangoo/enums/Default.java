@@ -18,6 +18,7 @@ public enum Default {
     APPLICATION_JWT_ENCRYPT(Constants.FALSE),
     APPLICATION_SECRET_MIN_LENGTH("32"),
     APPLICATION_TEST_MASTERKEY("f8%q8G6Px8vxn7Tl%2P40vyT9e8KeTJ9"),
+    APPLICATION_VIRTUALTHREADS(Constants.FALSE),
     ASSETS_PATH("src/main/resources/files/assets/"),
     
     @Deprecated /** Use AUTHENTICATION_COOKIE_ENCRYPT instead **/
@@ -52,7 +53,13 @@ public enum Default {
     BASICAUTH_CREDENTIALS_LENGTH("2"),
     BUNDLE_NAME("translations/messages"),
     CACHE_CLUSTER_ENABLE(Constants.FALSE),
+    CACHE_IMPLEMENTATION("ehcache"),
+    CACHE_PERSISTENCE_PATH("cache"),
+    CACHE_SNAPSHOT_ENABLE(Constants.FALSE),
+    CACHE_SNAPSHOT_PATH("cache-snapshot.bin"),
     CONFIG_PATH("/src/main/resources/application.yaml"),
+    CONNECTOR_HTTP2(Constants.FALSE),
+    CONNECTOR_HTTPS_KEYSTORETYPE("JKS"),
     CONFIGURATION_FILE("application.yaml"),
     CONTENT_TYPE("text/html; charset=UTF-8"),
     
@@ -82,7 +89,18 @@ public enum Default {
     DEFAULT_TEMPLATES_DIR("/templates/defaults/"), //NOSONAR
     DELIMITER("|"), //NOSONAR
     ENCODING("UTF-8"),
+    EVENTBUS_BATCH("64"),
+    EVENTBUS_OVERFLOW("block"),
+    EVENTBUS_PARTITIONS("4"),
+    EVENTBUS_QUEUE("1024"),
+    EVENTBUS_THREADS("4"),
     EXECUTION_THREADPOOL("10"),
+    EXECUTOR_CACHE("cache"),
+    EXECUTOR_NAME("default"),
+    EXECUTOR_QUEUE("1000"),
+    EXECUTOR_REJECTION("caller_runs"),
+    EXECUTOR_REQUESTS("requests"),
+    EXECUTOR_TYPE("fixed"),
     FILES_FOLDER("files"),
     FILES_PATH("src/main/resources/files/"),
     FILTER_METHOD("execute"),
@@ -93,6 +111,16 @@ public enum Default {
     LIFECYCLE_CLASS("conf.Lifecycle"),
     LOGO_FILE("logo.txt"),
     METRICS_ENABLE(Constants.FALSE),
+    METRICS_REQUESTS_SIZE("4096"),
+    METRICS_RUNTIME_INTERVAL("10"),
+    METRICS_RUNTIME_SAMPLES("360"),
+    METRICS_SLOW_SAMPLING_INTERVAL("100"),
+    METRICS_SLOW_SAMPLING_THRESHOLD("3000"),
+    METRICS_SLOW_SIZE("50"),
+    METRICS_SLOW_THRESHOLD("0"),
+    METRICS_STAGES_ENABLE(Constants.FALSE),
+    METRICS_STAGES_SAMPLE("100"),
+    METRICS_STAGES_SERVERTIMING(Constants.FALSE),
     MODULE_CLASS("conf.Module"),
     NUMBER_FORMAT("0.######"),
     OAUTH_REQUEST_PARAMETER("oauth"),
@@ -108,12 +136,32 @@ public enum Default {
     SMTP_SERVER_NAME("smtp"),
     SMTP_SSL(Constants.FALSE),
     SSE_CACHE_PREFIX("MANGOOIO-SSE-"),
+    SSE_COALESCE_THRESHOLD("16"),
+    SSE_HEARTBEAT_INTERVAL("30"),
+    SSE_PENDING_LIMIT("1024"),
+    SSE_REPLAY_SIZE("100"),
+    SSE_RETRY("3000"),
     STYLESHEET_FOLDER("stylesheet"),
     TEMPLATE_ENGINE_CLASS("io.mangoo.templating.TemplateEngineFreemarker"),
     TEMPLATES_FOLDER("/templates/"),
+    TRACING_ENABLE(Constants.FALSE),
+    TRACING_EXPORTER("io.mangoo.tracing.FileSpanExporter"),
+    TRACING_FILE("logs/spans.json"),
+    TRACING_QUEUE("4096"),
+    TRACING_SAMPLE("10"),
+    UNDERTOW_BACKLOG("1000"),
+    UNDERTOW_IDLE_TIMEOUT("0"),
+    UNDERTOW_KEEP_ALIVE("true"),
     UNDERTOW_MAX_ENTITY_SIZE("4194304"),
+    UNDERTOW_MAX_HEADERS("200"),
+    UNDERTOW_WORKER_THREADS_PER_IO_THREAD("8"),
     VERSION("unknown"),
     VERSION_PROPERTIES("version.properties"),
+    WEBSOCKET_BACKPRESSURE_LIMIT("64"),
+    WEBSOCKET_BACKPRESSURE_POLICY("queue"),
+    WEBSOCKET_BACKPRESSURE_QUEUE("1024"),
+    WEBSOCKET_HEARTBEAT_INTERVAL("30"),
+    WEBSOCKET_HEARTBEAT_TIMEOUT("90"),
     WSS_CACHE_PREFIX("MANGOOIO-WSS-");
 
     private static class Constants {
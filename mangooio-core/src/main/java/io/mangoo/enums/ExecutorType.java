@@ -0,0 +1,42 @@
+package io.mangoo.enums;
+
+/**
+ * Types of executors provided by the concurrent service
+ *
+ * @author svenkubiak
+ *
+ */
+public enum ExecutorType {
+    FIXED("fixed"),
+    SCHEDULED("scheduled"),
+    VIRTUAL("virtual"),
+    WORK_STEALING("work_stealing");
+
+    private final String value;
+
+    ExecutorType (String value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the type matching the given value, case insensitive
+     *
+     * @param value The value to look up
+     * @param defaultValue The type to use if none matches
+     * @return The matching type or the default value
+     */
+    public static ExecutorType of(String value, ExecutorType defaultValue) {
+        for (ExecutorType executorType : values()) {
+            if (executorType.value.equalsIgnoreCase(value)) {
+                return executorType;
+            }
+        }
+
+        return defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+}
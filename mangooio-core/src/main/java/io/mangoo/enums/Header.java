@@ -20,6 +20,8 @@ public enum Header {
     LOCATION("Location", new HttpString("Location")),
     REFERER_POLICY("Referrer-Policy", new HttpString("Referrer-Policy")),
     SERVER("Server", new HttpString("Server")),
+    SERVER_TIMING("Server-Timing", new HttpString("Server-Timing")),
+    TRACEPARENT("traceparent", new HttpString("traceparent")),
     WWW_AUTHENTICATE("WWW-Authenticate", new HttpString("WWW-Authenticate")),
     X_CONTENT_TYPE_OPTIONS("X-Content-Type-Options", new HttpString("X-Content-Type-Options")),
     X_FORWARDED_FOR("X-Forwarded-For", new HttpString("X-Forwarded-For")),
@@ -13,6 +13,8 @@ public enum Jvm {
     APPLICATION_MASTERKEY("application.masterkey"),   
     HTTP_HOST("http.host"),
     HTTP_PORT("http.port"),
+    HTTPS_HOST("https.host"),
+    HTTPS_PORT("https.port"),
     AJP_HOST("ajp.host"),
     AJP_PORT("ajp.port"),;
 
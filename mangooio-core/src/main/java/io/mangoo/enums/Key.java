@@ -49,6 +49,7 @@ public enum Key {
     APPLICATION_SECRET("application.secret"),
     APPLICATION_TEMPLATEENGINE("application.templateengine"),
     APPLICATION_THREADPOOL("application.threadpool"),
+    APPLICATION_VIRTUALTHREADS("application.virtualthreads"),
     
     @Deprecated /** Use AUTHENTICATION_COOKIE_ENCRYPT instead **/
     AUTH_COOKIE_ENCRYPT("auth.cookie.encrypt"),
@@ -84,10 +85,20 @@ public enum Key {
     AUTHENTICATION_REDIRECT("authentication.redirect"),
     CACHE_CLUSTER_ENABLE("cache.cluster.enable"),
     CACHE_CLUSTER_URL("cache.cluster.url"),
+    CACHE_PERSISTENCE_PATH("cache.persistence.path"),
+    CACHE_SNAPSHOT_ENABLE("cache.snapshot.enable"),
+    CACHE_SNAPSHOT_PATH("cache.snapshot.path"),
     CONNECTOR_AJP_HOST("connector.ajp.host"),
     CONNECTOR_AJP_PORT("connector.ajp.port"),
     CONNECTOR_HTTP_HOST("connector.http.host"),
     CONNECTOR_HTTP_PORT("connector.http.port"),
+    CONNECTOR_HTTP2("connector.http2"),
+    CONNECTOR_HTTPS_HOST("connector.https.host"),
+    CONNECTOR_HTTPS_KEYPASSWORD("connector.https.keypassword"),
+    CONNECTOR_HTTPS_KEYSTORE("connector.https.keystore"),
+    CONNECTOR_HTTPS_KEYSTOREPASSWORD("connector.https.keystorepassword"),
+    CONNECTOR_HTTPS_KEYSTORETYPE("connector.https.keystoretype"),
+    CONNECTOR_HTTPS_PORT("connector.https.port"),
     
     @Deprecated /** Use SESSION_COOKIE_ENCRYPTION instead **/
     COOKIE_ENCRYPTION("cookie.encryption"),
@@ -104,6 +115,11 @@ public enum Key {
     @Deprecated /** Use SESSION_COOKIE_VERSION instead **/
     COOKIE_VERSION("cookie.version"),
     
+    EVENTBUS_BATCH("eventbus.batch"),
+    EVENTBUS_OVERFLOW("eventbus.overflow"),
+    EVENTBUS_PARTITIONS("eventbus.partitions"),
+    EVENTBUS_QUEUE("eventbus.queue"),
+    EVENTBUS_THREADS("eventbus.threads"),
     I18N_COOKIE_NAME("i18n.cookie.name"),
     SESSION_COOKIE_ENCRYPTION("session.cookie.encryption"),
     SESSION_COOKIE_EXPIRES("session.cookie.expires"),
@@ -112,6 +128,16 @@ public enum Key {
     SESSION_COOKIE_VERSION("session.cookie.version"),
     MANGOOIO_WARNINGS("MANGOOIO-WARNINGS"),
     METRICS_ENABLE("metrics.enable"),
+    METRICS_REQUESTS_SIZE("metrics.requests.size"),
+    METRICS_RUNTIME_INTERVAL("metrics.runtime.interval"),
+    METRICS_RUNTIME_SAMPLES("metrics.runtime.samples"),
+    METRICS_SLOW_SAMPLING_INTERVAL("metrics.slow.sampling.interval"),
+    METRICS_SLOW_SAMPLING_THRESHOLD("metrics.slow.sampling.threshold"),
+    METRICS_SLOW_SIZE("metrics.slow.size"),
+    METRICS_SLOW_THRESHOLD("metrics.slow.threshold"),
+    METRICS_STAGES_ENABLE("metrics.stages.enable"),
+    METRICS_STAGES_SAMPLE("metrics.stages.sample"),
+    METRICS_STAGES_SERVERTIMING("metrics.stages.servertiming"),
     OAUTH_FACEBOOK_CALLBACK("oauth.facebook.callback"),
     OAUTH_FACEBOOK_KEY("oauth.facebook.key"),
     OAUTH_FACEBOOK_SECRET("oauth.facebook.secret"),
@@ -129,7 +155,30 @@ public enum Key {
     SMTP_PORT("smtp.port"),
     SMTP_SSL("smtp.ssl"),
     SMTP_USERNAME("smtp.username"),
+    SSE_COALESCE_THRESHOLD("sse.coalesce.threshold"),
+    SSE_HEARTBEAT_INTERVAL("sse.heartbeat.interval"),
+    SSE_PENDING_LIMIT("sse.pending.limit"),
+    SSE_REPLAY_SIZE("sse.replay.size"),
+    SSE_RETRY("sse.retry"),
+    TRACING_ENABLE("tracing.enable"),
+    TRACING_EXPORTER("tracing.exporter"),
+    TRACING_FILE("tracing.file"),
+    TRACING_QUEUE("tracing.queue"),
+    TRACING_SAMPLE("tracing.sample"),
+    UNDERTOW_BACKLOG("undertow.backlog"),
+    UNDERTOW_BUFFER_SIZE("undertow.buffersize"),
+    UNDERTOW_DIRECT_BUFFERS("undertow.directbuffers"),
+    UNDERTOW_IDLE_TIMEOUT("undertow.idletimeout"),
+    UNDERTOW_IO_THREADS("undertow.iothreads"),
+    UNDERTOW_KEEP_ALIVE("undertow.keepalive"),
     UNDERTOW_MAX_ENTITY_SIZE("undertow.maxentitysize"),
+    UNDERTOW_MAX_HEADERS("undertow.maxheaders"),
+    UNDERTOW_WORKER_THREADS("undertow.workerthreads"),
+    WEBSOCKET_BACKPRESSURE_LIMIT("websocket.backpressure.limit"),
+    WEBSOCKET_BACKPRESSURE_POLICY("websocket.backpressure.policy"),
+    WEBSOCKET_BACKPRESSURE_QUEUE("websocket.backpressure.queue"),
+    WEBSOCKET_HEARTBEAT_INTERVAL("websocket.heartbeat.interval"),
+    WEBSOCKET_HEARTBEAT_TIMEOUT("websocket.heartbeat.timeout"),
     LOGGER_MESSAGE("logger.configuration.message"),
     SESSION_COOKIE_SIGNKEY("session.cookie.signkey"),
     SESSION_COOKIE_ENCRYPTIONKEY("session.cookie.encryptionkey"),
@@ -0,0 +1,41 @@
+package io.mangoo.enums;
+
+/**
+ * Policies for events published to a subscriber whose queue is full
+ *
+ * @author svenkubiak
+ *
+ */
+public enum Overflow {
+    BLOCK("block"),
+    DROP("drop"),
+    DROP_OLDEST("drop_oldest");
+
+    private final String value;
+
+    Overflow (String value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the policy matching the given value, case insensitive
+     *
+     * @param value The value to look up
+     * @param defaultValue The policy to use if none matches
+     * @return The matching policy or the default value
+     */
+    public static Overflow of(String value, Overflow defaultValue) {
+        for (Overflow overflow : values()) {
+            if (overflow.value.equalsIgnoreCase(value)) {
+                return overflow;
+            }
+        }
+
+        return defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+}
@@ -0,0 +1,42 @@
+package io.mangoo.enums;
+
+/**
+ * Policies for tasks submitted to an executor whose queue is full
+ *
+ * @author svenkubiak
+ *
+ */
+public enum Rejection {
+    ABORT("abort"),
+    CALLER_RUNS("caller_runs"),
+    DISCARD("discard"),
+    DISCARD_OLDEST("discard_oldest");
+
+    private final String value;
+
+    Rejection (String value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the policy matching the given value, case insensitive
+     *
+     * @param value The value to look up
+     * @param defaultValue The policy to use if none matches
+     * @return The matching policy or the default value
+     */
+    public static Rejection of(String value, Rejection defaultValue) {
+        for (Rejection rejection : values()) {
+            if (rejection.value.equalsIgnoreCase(value)) {
+                return rejection;
+            }
+        }
+
+        return defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+}
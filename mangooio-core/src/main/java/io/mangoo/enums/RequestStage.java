@@ -0,0 +1,30 @@
+package io.mangoo.enums;
+
+/**
+ * Stages of the request handler chain, in the order they are passed
+ *
+ * @author svenkubiak
+ *
+ */
+public enum RequestStage {
+    LIMIT("limit"),
+    LOCALE("locale"),
+    INBOUND_COOKIES("cookies-in"),
+    FORM("form"),
+    FILTERS("filters"),
+    CONTROLLER("controller"),
+    RENDER("render"),
+    OUTBOUND_COOKIES("cookies-out"),
+    SEND("send");
+
+    private final String value;
+
+    RequestStage (String value) {
+        this.value = value;
+    }
+
+    @Override
+    public String toString() {
+        return this.value;
+    }
+}
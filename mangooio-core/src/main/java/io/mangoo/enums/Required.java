@@ -7,18 +7,21 @@ package io.mangoo.enums;
  */
 public enum Required {
     ACCOUNT_NAME("account name can not be null"),
+    ACTIVE_REQUEST("active request can not be null"),
     ALGORITHM("algorithm can not be null"),
     APPLICATION_SECRET("application secret can not be null"),
     AUTHENTICITY("authenticity can not be null"),
     BCC_RECIPIENT("bcc recipient can not be null"),
     BINDING("binding can not be null"),
     BODY("body can not be null"),
+    CALLABLE("callable can not be null"),
     CACHE_PROVIDER("cacheProvider can not be null"),
     CC_RECIPIENT("cc recipient can not be null"),
     CHANNEL("channel can not be null"),
     CHARSET("charset can not be null"),
     CLASS("class can not be null"),
     COMPONENT_TYPE("component type can not be null"),
+    CONCURRENT_SERVICE("concurrent service can not be null"),
     CONFIG("config can not be null"),
     CONFIG_FILE("config file can not be null"),
     CONNECTION("connection can not be null"),
@@ -35,15 +38,19 @@ public enum Required {
     DATE("date can not be null"),
     EHCACHE("ehCache can not be null"),
     ENCRYPTED_TEXT("encrypted text can not be null"),
+    ENTRIES("entries can not be null"),
     EVENT("event can not be null"),
     EVENT_CALLBACK("event callback can not be null"),
     EVENT_LISTENER("eventListener can not be null"),
+    EXECUTOR("executor can not be null"),
     EXPIRES("expires can not be null"),
+    FALLBACK("fallback can not be null"),
     FILE("file can not be null"),
     FROM("from can not be null"),
     GROUP_NAME("group name can not be null"),
     HASH("hash can not be null"),
     HEADER("header can not be null"),
+    HEARTBEAT_SERVICE("heartbeat service can not be null"),
     HEADERS("headers can not be null"),
     HTTP_HANDLER("httpHandler can not be null"),
     HTTP_SERVER_EXCHANGE("httpServerExchange can not be null"),
@@ -54,6 +61,7 @@ public enum Required {
     JSON("json can not be null"),
     JSON_OBJECT("json object can not be null"),
     KEY("key can not be null"),
+    KEYS("keys can not be null"),
     LOCAL_DATE("localDate can not be null"),
     LOCAL_DATE_TIME("localDateTime can not be null"),
     LOCALE("locale can not be null"),
@@ -62,6 +70,7 @@ public enum Required {
     MESSAGES("messages can not be null"),
     METHOD("method can not be null"),
     METHOD_PARAMETERS("method parameters can not be null"),
+    METRICS("metrics can not be null"),
     MODE("mode can not be null"),
     NAME("name can not be null"),
     OAUTH_PROVIDER("OAuthProvider can not be null"),
@@ -70,26 +79,47 @@ public enum Required {
     PASSWORD("password can not be null"),
     PATH("path can not be null"),
     PLAIN_TEXT("plan text can not be null"),
+    QUEUE_DEPTH("queue depth can not be null"),
     RECIPIENT("recipient can not be null"),
     REDIRECT_TO("redirect to can not be null"),
+    REFRESH_AFTER("refresh after can not be null"),
     REQUEST_HELPER("requesthelper can not be null"),
+    REQUEST_LOG("request log can not be null"),
     REQUEST_PARAMETER("request parameter can not be null"),
+    RESOURCES("resources can not be null"),
     RESPONSE("response can not be null"),
+    RUNNABLE("runnable can not be null"),
     ROUTE("route can not be null"),
     ROUTE_TYPE("route type can not be null"),
     SALT("salt can not be null"),
     SCHEDULER("scheduler can not be null"),
     SECRET("secret can not be null"),
+    SLOW_REQUEST_SERVICE("slow request service can not be null"),
+    SNAPSHOT("snapshot can not be null"),
     SOURCE_PATH("source path can not be null"),
+    SPAN("span can not be null"),
+    SPAN_EXPORTER("span exporter can not be null"),
+    SSE_SERVICE("server sent event service can not be null"),
     STACK_TRACE_ELEMENT("stack trace element can not be null"),
+    STAGE("stage can not be null"),
+    STAGE_TIMER("stage timer can not be null"),
     START("start can not be null"),
     SUBJECT("subject can not be null"),
+    SUPPLIER("supplier can not be null"),
+    SUPPLIERS("suppliers can not be null"),
+    TAGS("tags can not be null"),
     TEMPLATE("template can not be null"),
     TEMPLATE_ENGINE("tempalte engine can not be null"),
     TEMPLATE_NAME("template name can not be null"),
+    THREAD("thread can not be null"),
+    TIME_UNIT("time unit can not be null"),
+    TOPIC("topic can not be null"),
     TOTP("totp can not be null"),
+    TRACE_ID("trace id can not be null"),
+    TRACER("tracer can not be null"),
     TRIGGER("trigger can not be null"),
     TRIGGER_FIRE_BUNDLE("trigger fire bundle can not be null"),
+    TTL("ttl can not be null"),
     TWO_FACTOR_HELPER("twofactorhelper can not be null"),
     URI("uri can not be null"),
     URI_CONNECTIONS("uri connections can not be null"),
@@ -97,7 +127,8 @@ public enum Required {
     USERNAME("username can not be null"),
     VALIDATOR("validator can not be null"),
     VALUE("value can not be null"),
-    VALUES("values can not be null");
+    VALUES("values can not be null"),
+    WEBSOCKET_SERVICE("websocket service can not be null");
     
     private final String value;
 
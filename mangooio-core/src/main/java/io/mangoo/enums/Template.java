@@ -30,9 +30,13 @@ public enum Template {
     private static final String INTERNAL_SERVER_ERROR_TEMPLATE_PATH = "defaults/500.html";
     private static final String ROUTES_TEMPLATE_PATH = "admin/routes.ftl";
     private static final String CACHE_TEMPLATE_PATH = "admin/cache.ftl";
+    private static final String EVENTBUS_TEMPLATE_PATH = "admin/eventbus.ftl";
+    private static final String EXECUTORS_TEMPLATE_PATH = "admin/executors.ftl";
     private static final String TOOLS_TEMPLATE_PATH = "admin/tools.ftl";
     private static final String METRICS_TEMPLARE_PATH = "admin/metrics.ftl";
+    private static final String REQUESTS_TEMPLATE_PATH = "admin/requests.ftl";
     private static final String SCHEDULER_TEMPLATE_PATH = "admin/scheduler.ftl";
+    private static final String SLOW_TEMPLATE_PATH = "admin/slow.ftl";
     private static final String ADMIN_TEMPLATE_PATH = "admin/index.ftl";
     private static final String LOGGER_TEMPLATE_PATH = "admin/logger.ftl";
     
@@ -131,6 +135,20 @@ public enum Template {
     public String cachePath() {
         return CACHE_TEMPLATE_PATH;
     }
+
+    /**
+     * @return The relative path of the event bus template
+     */
+    public String eventbusPath() {
+        return EVENTBUS_TEMPLATE_PATH;
+    }
+
+    /**
+     * @return The relative path of the executors template
+     */
+    public String executorsPath() {
+        return EXECUTORS_TEMPLATE_PATH;
+    }
     
     /**
      * @return The relative path of the cache template
@@ -160,6 +178,20 @@ public enum Template {
         return SCHEDULER_TEMPLATE_PATH;
     }
 
+    /**
+     * @return The relative path of the requests template
+     */
+    public String requestsPath() {
+        return REQUESTS_TEMPLATE_PATH;
+    }
+
+    /**
+     * @return The relative path of the slow requests template
+     */
+    public String slowPath() {
+        return SLOW_TEMPLATE_PATH;
+    }
+
     /**
      * @return The relative path of the admin template
      */
@@ -0,0 +1,24 @@
+package io.mangoo.interfaces;
+
+import io.mangoo.tracing.Span;
+
+/**
+ * Receives the ended spans of sampled traces, configured with tracing.exporter
+ *
+ * @author svenkubiak
+ *
+ */
+public interface MangooSpanExporter {
+    /**
+     * Exports an ended span. This method is called on the thread which ended the
+     * span, e.g. a request worker, and must therefore never block.
+     *
+     * @param span The ended span
+     */
+    void export(Span span);
+
+    /**
+     * Exports all pending spans and releases the resources of the exporter
+     */
+    void close();
+}
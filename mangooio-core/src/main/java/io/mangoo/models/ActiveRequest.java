@@ -0,0 +1,105 @@
+package io.mangoo.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import io.mangoo.enums.Required;
+
+/**
+ * A request which is currently being handled, tracked for the slow request log
+ *
+ * The stack of the handling thread is sampled by a single watchdog thread while the
+ * request is running. A request with an asynchronous controller is detached from its
+ * thread while the controller's CompletionStage is pending and attached to the thread
+ * which resumes it, so no samples are taken of threads handling other work.
+ *
+ * @author svenkubiak
+ *
+ */
+public class ActiveRequest {
+    private final Queue<SlowRequest.StackSample> samples = new ConcurrentLinkedQueue<>();
+    private final String route;
+    private final long start;
+    private volatile Thread thread;
+    private volatile boolean completed;
+    private int count;
+
+    /**
+     * @param route The controller and method, e.g. ApplicationController:index
+     * @param thread The thread handling the request
+     * @param start The start of the request as returned by System.nanoTime()
+     */
+    public ActiveRequest(String route, Thread thread, long start) {
+        this.route = Objects.requireNonNull(route, Required.ROUTE.toString());
+        this.thread = Objects.requireNonNull(thread, Required.THREAD.toString());
+        this.start = start;
+    }
+
+    /**
+     * Takes a stack sample of the handling thread
+     *
+     * @param now The current time as returned by System.nanoTime()
+     * @param maxSamples The maximum number of samples to keep for the request
+     * @return True if a sample was taken, false otherwise
+     */
+    public boolean sample(long now, int maxSamples) {
+        Thread handler = this.thread;
+        if (this.completed || handler == null || this.count >= maxSamples) {
+            return false;
+        }
+
+        Thread.State state = handler.getState();
+        StackTraceElement[] stackTrace = handler.getStackTrace();
+        if (this.completed || this.thread != handler) {
+            // The thread may already handle another request
+            return false;
+        }
+
+        this.samples.add(new SlowRequest.StackSample(now - this.start, state, stackTrace));
+        this.count++;
+
+        return true;
+    }
+
+    /**
+     * Stops sampling the handling thread, e.g. when the request waits for an asynchronous controller
+     */
+    public void detach() {
+        this.thread = null;
+    }
+
+    /**
+     * Continues sampling on the current thread, e.g. when an asynchronous controller completed
+     */
+    public void attach() {
+        if (!this.completed) {
+            this.thread = Thread.currentThread();
+        }
+    }
+
+    /**
+     * Marks the request as completed, after which no more samples are taken
+     */
+    public void complete() {
+        this.completed = true;
+    }
+
+    public String getRoute() {
+        return this.route;
+    }
+
+    public long getStart() {
+        return this.start;
+    }
+
+    /**
+     * @return The stack samples taken so far, oldest first
+     */
+    public List<SlowRequest.StackSample> getSamples() {
+        return Collections.unmodifiableList(new ArrayList<>(this.samples));
+    }
+}
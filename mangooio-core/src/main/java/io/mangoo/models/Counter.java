@@ -0,0 +1,40 @@
+package io.mangoo.models;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing application metric
+ *
+ * @author svenkubiak
+ *
+ */
+public class Counter extends Meter {
+    private final LongAdder count = new LongAdder();
+
+    public Counter(String name, Map<String, String> tags) {
+        super(name, tags);
+    }
+
+    /**
+     * Increments the counter by one
+     */
+    public void increment() {
+        this.count.increment();
+    }
+
+    /**
+     * Increments the counter by the given amount
+     *
+     * @param amount The amount to add, ignored if negative
+     */
+    public void increment(long amount) {
+        if (amount > 0) {
+            this.count.add(amount);
+        }
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+}
@@ -0,0 +1,98 @@
+package io.mangoo.models;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import io.mangoo.enums.ExecutorType;
+import io.mangoo.enums.Required;
+
+/**
+ * Statistics of an executor of the concurrent service
+ *
+ * @author svenkubiak
+ *
+ */
+public class ExecutorStatistics {
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyHistogram wait = new LatencyHistogram();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongSupplier active;
+    private final LongSupplier queueDepth;
+    private final ExecutorType type;
+    private final String name;
+    private final int threads;
+    private final int queueCapacity;
+
+    public ExecutorStatistics(String name, ExecutorType type, int threads, int queueCapacity, LongSupplier active, LongSupplier queueDepth) {
+        this.name = Objects.requireNonNull(name, Required.NAME.toString());
+        this.type = Objects.requireNonNull(type, Required.VALUE.toString());
+        this.active = Objects.requireNonNull(active, Required.VALUE.toString());
+        this.queueDepth = Objects.requireNonNull(queueDepth, Required.QUEUE_DEPTH.toString());
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public void recordCompleted(long waitNanos, long latencyNanos) {
+        this.completed.increment();
+        this.wait.record(waitNanos);
+        this.latency.record(latencyNanos);
+    }
+
+    public void recordRejected() {
+        this.rejected.increment();
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public ExecutorType getType() {
+        return this.type;
+    }
+
+    /**
+     * @return The number of threads or 0 if the executor starts a virtual thread per task
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * @return The capacity of the task queue or -1 if the queue is unbounded
+     */
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    public long getActive() {
+        return this.active.getAsLong();
+    }
+
+    public long getQueueDepth() {
+        return this.queueDepth.getAsLong();
+    }
+
+    public long getCompleted() {
+        return this.completed.sum();
+    }
+
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * @return The time tasks spent in the queue before being executed
+     */
+    public LatencyHistogram getWait() {
+        return this.wait;
+    }
+
+    /**
+     * @return The time tasks took to execute
+     */
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+}
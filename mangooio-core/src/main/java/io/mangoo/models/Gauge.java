@@ -0,0 +1,42 @@
+package io.mangoo.models;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.mangoo.enums.Required;
+
+/**
+ * Application metric whose value is read from a supplier when the metrics are requested
+ *
+ * @author svenkubiak
+ *
+ */
+public class Gauge extends Meter {
+    private static final Logger LOG = LogManager.getLogger(Gauge.class);
+    private final Supplier<? extends Number> supplier;
+
+    public Gauge(String name, Map<String, String> tags, Supplier<? extends Number> supplier) {
+        super(name, tags);
+        this.supplier = Objects.requireNonNull(supplier, Required.SUPPLIER.toString());
+    }
+
+    /**
+     * @return The current value of the supplier or NaN if the supplier failed or returned null
+     */
+    public double getValue() {
+        try {
+            Number value = this.supplier.get();
+            if (value != null) {
+                return value.doubleValue();
+            }
+        } catch (RuntimeException e) { //NOSONAR
+            LOG.error("Failed to read gauge " + getName(), e);
+        }
+
+        return Double.NaN;
+    }
+}
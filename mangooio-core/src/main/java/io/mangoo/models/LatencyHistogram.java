@@ -0,0 +1,154 @@
+package io.mangoo.models;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram for latencies in nanoseconds with log-linear buckets,
+ * giving percentiles with a relative error of at most 12.5% while recording
+ * without allocation
+ *
+ * @author svenkubiak
+ *
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final double P50 = 50;
+    private static final double P90 = 90;
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a latency
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    public void record(long nanos) {
+        this.buckets.incrementAndGet(index(Math.max(0, nanos)));
+    }
+
+    /**
+     * @return The number of recorded latencies
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count = count + this.buckets.get(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the latency at the given percentile
+     *
+     * @param percentile The percentile between 0 and 100
+     * @return The upper bound of the matching bucket in nanoseconds or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets.get(i);
+            total = total + counts[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long threshold = (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen = seen + counts[i];
+            if (seen >= threshold && counts[i] > 0) {
+                return upperBound(i);
+            }
+        }
+
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Returns the latencies at the given percentiles from a single pass over the buckets
+     *
+     * @param percentiles The percentiles between 0 and 100 in ascending order
+     * @return The upper bounds of the matching buckets in nanoseconds, 0 for each if nothing was recorded
+     */
+    public long[] getPercentiles(double... percentiles) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets.get(i);
+            total = total + counts[i];
+        }
+
+        long[] values = new long[percentiles.length];
+        if (total == 0) {
+            return values;
+        }
+
+        int bucket = 0;
+        long seen = counts[0];
+        for (int j = 0; j < percentiles.length; j++) {
+            long threshold = (long) Math.ceil(total * Math.min(100, Math.max(0, percentiles[j])) / 100);
+            while (bucket < BUCKETS - 1 && (seen < threshold || counts[bucket] == 0)) {
+                bucket++;
+                seen = seen + counts[bucket];
+            }
+            values[j] = upperBound(bucket);
+        }
+
+        return values;
+    }
+
+    public long getP50() {
+        return getPercentile(P50);
+    }
+
+    public long getP90() {
+        return getPercentile(P90);
+    }
+
+    public long getP99() {
+        return getPercentile(P99);
+    }
+
+    public long getP999() {
+        return getPercentile(P999);
+    }
+
+    /**
+     * Resets all recorded latencies
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets.set(i, 0);
+        }
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+
+        return ((shift + 1) * SUB_BUCKETS) + subBucket;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int shift = (index / SUB_BUCKETS) - 1;
+        long subBucket = SUB_BUCKETS + (long) (index % SUB_BUCKETS);
+        long upperBound = ((subBucket + 1) << shift) - 1;
+
+        return (upperBound < 0) ? Long.MAX_VALUE : upperBound;
+    }
+}
@@ -0,0 +1,37 @@
+package io.mangoo.models;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import io.mangoo.enums.Required;
+
+/**
+ * Base class for application metrics, identified by name and tags
+ *
+ * @author svenkubiak
+ *
+ */
+public abstract class Meter {
+    private final Map<String, String> tags;
+    private final String name;
+
+    protected Meter(String name, Map<String, String> tags) {
+        Objects.requireNonNull(tags, Required.TAGS.toString());
+
+        this.name = Objects.requireNonNull(name, Required.NAME.toString());
+        this.tags = Collections.unmodifiableMap(new TreeMap<>(tags));
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The tags of the metric, sorted by tag name
+     */
+    public Map<String, String> getTags() {
+        return this.tags;
+    }
+}
@@ -1,14 +1,22 @@
 package io.mangoo.models;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.LongAdder;
 
 import com.google.inject.Singleton;
 
+import io.mangoo.enums.Required;
+
 /**
  * Base class for system metrics
  *
@@ -20,13 +28,14 @@ public class Metrics {
     private static final int CONCURRENCY_LEVEL = 1;
     private static final float LOAD_FACTOR = 0.9F;
     private static final int INITIAL_CAPACITY = 16;
+    private static final int STATUS_CODES = 600;
     private AtomicIntegerFieldUpdater<Metrics> maxRequestTimeUpdater = AtomicIntegerFieldUpdater.newUpdater(Metrics.class, "maxRequestTime");
     private AtomicIntegerFieldUpdater<Metrics> minRequestTimeUpdater = AtomicIntegerFieldUpdater.newUpdater(Metrics.class, "minRequestTime");
     private AtomicLongFieldUpdater<Metrics> totalRequestTimeUpdater = AtomicLongFieldUpdater.newUpdater(Metrics.class, "totalRequestTime");
     private AtomicLongFieldUpdater<Metrics> totalRequestsUpdater = AtomicLongFieldUpdater.newUpdater(Metrics.class, "totalRequests");
-    private Map<Integer, LongAdder> responseCount = new ConcurrentHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, CONCURRENCY_LEVEL);
+    private final AtomicReferenceArray<LongAdder> responseCount = new AtomicReferenceArray<>(STATUS_CODES);
+    private final Map<String, RouteMetrics> routes = new ConcurrentHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, CONCURRENCY_LEVEL);
     private volatile AtomicLong dataSend = new AtomicLong();
-    private volatile long avgRequestTime;
     private volatile long totalRequestTime;
     private volatile long totalRequests;
     private volatile int maxRequestTime;
@@ -44,7 +53,25 @@ public class Metrics {
     }
     
     public void addStatusCode(int responseCode) {
-        this.responseCount.computeIfAbsent(responseCode, (Integer integer) -> new LongAdder()).increment();
+        if (responseCode < 0 || responseCode >= STATUS_CODES) {
+            return;
+        }
+        
+        LongAdder count = this.responseCount.get(responseCode);
+        if (count == null) {
+            this.responseCount.compareAndSet(responseCode, null, new LongAdder());
+            count = this.responseCount.get(responseCode);
+        }
+        count.increment();
+    }
+    
+    /**
+     * @param responseCode The HTTP status code
+     * @return The number of responses sent with the status code
+     */
+    public long getStatusCodeCount(int responseCode) {
+        LongAdder count = (responseCode < 0 || responseCode >= STATUS_CODES) ? null : this.responseCount.get(responseCode);
+        return (count == null) ? 0 : count.sum();
     }
     
     public void update(final int requestTime) {
@@ -67,11 +94,47 @@ public class Metrics {
         } while (!this.minRequestTimeUpdater.compareAndSet(this, tempMinRequestTime, requestTime));
         
         this.totalRequestsUpdater.incrementAndGet(this);
-        this.avgRequestTime = this.totalRequestTime / this.totalRequests;
+    }
+    
+    /**
+     * Returns the metrics of a route, creating them on first access
+     * 
+     * @param name The name of the route, e.g. ApplicationController:index
+     * @return The metrics of the route
+     */
+    public RouteMetrics getRouteMetrics(String name) {
+        Objects.requireNonNull(name, Required.NAME.toString());
+        return this.routes.computeIfAbsent(name, RouteMetrics::new);
+    }
+    
+    /**
+     * @return The metrics of all routes which recorded at least one request, ordered by name
+     */
+    public List<RouteMetrics> getRoutes() {
+        List<RouteMetrics> recorded = new ArrayList<>();
+        this.routes.values().forEach((RouteMetrics routeMetrics) -> {
+            if (routeMetrics.getCount() > 0) {
+                recorded.add(routeMetrics);
+            }
+        });
+        recorded.sort(Comparator.comparing(RouteMetrics::getName));
+        
+        return recorded;
     }
 
+    /**
+     * @return The number of responses per HTTP status code, containing only status codes which have been sent
+     */
     public Map<Integer, LongAdder> getResponseMetrics() {
-        return this.responseCount;
+        Map<Integer, LongAdder> responseMetrics = new TreeMap<>();
+        for (int i = 0; i < STATUS_CODES; i++) {
+            LongAdder count = this.responseCount.get(i);
+            if (count != null && count.sum() > 0) {
+                responseMetrics.put(i, count);
+            }
+        }
+        
+        return responseMetrics;
     }
 
     public int getMaxRequestTime() {
@@ -83,7 +146,8 @@ public class Metrics {
     }
     
     public long getAvgRequestTime() {
-        return avgRequestTime;
+        long requests = this.totalRequests;
+        return (requests > 0) ? this.totalRequestTime / requests : 0;
     }
 
     public void incrementDataSend(long length) {
@@ -99,9 +163,14 @@ public class Metrics {
         this.minRequestTimeUpdater = AtomicIntegerFieldUpdater.newUpdater(Metrics.class, "minRequestTime");
         this.totalRequestTimeUpdater = AtomicLongFieldUpdater.newUpdater(Metrics.class, "totalRequestTime");
         this.totalRequestsUpdater = AtomicLongFieldUpdater.newUpdater(Metrics.class, "totalRequests");
-        this.responseCount = new ConcurrentHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, CONCURRENCY_LEVEL);
+        for (int i = 0; i < STATUS_CODES; i++) {
+            LongAdder count = this.responseCount.get(i);
+            if (count != null) {
+                count.reset();
+            }
+        }
         this.dataSend = new AtomicLong();
-        this.avgRequestTime = 0;
+        this.routes.values().forEach(RouteMetrics::reset);
         this.totalRequestTime = 0;
         this.totalRequests = 0;
         this.maxRequestTime = 0;
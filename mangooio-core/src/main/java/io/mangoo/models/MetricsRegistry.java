@@ -0,0 +1,173 @@
+package io.mangoo.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Preconditions;
+import com.google.inject.Singleton;
+
+import io.mangoo.enums.Required;
+
+/**
+ * Registry for application defined counters, gauges and timers, which are published
+ * in the administrative area, the JSON metrics and the Prometheus export
+ *
+ * A metric is created on first use and cached by its name and tags, subsequent calls
+ * with the same name and tags return the same instance. Looking up a metric allocates,
+ * so the returned instance should be kept in a field when it is updated in hot code.
+ * Updating a counter or timer is lock-free and does not allocate.
+ *
+ * Tags are given as alternating names and values, e.g.
+ * registry.counter("orders_total", "type", "express")
+ *
+ * Names starting with mangooio_, jvm_ or process_ are reserved for the metrics of the
+ * framework. As a timer is exported as a summary with the additional series {name}_sum and
+ * {name}_count, these names can not be used by other metrics while the timer exists.
+ *
+ * @author svenkubiak
+ *
+ */
+@Singleton
+public class MetricsRegistry {
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+    private static final Pattern TAG = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+    private static final String[] RESERVED = {"mangooio_", "jvm_", "process_"};
+    private static final String[] SUMMARY_SUFFIXES = {"_sum", "_count"};
+    private static final Comparator<Meter> ORDER = Comparator.comparing(Meter::getName).thenComparing((Meter meter) -> meter.getTags().toString());
+    private final Map<List<Object>, Meter> meters = new ConcurrentHashMap<>();
+    private final Map<String, Class<? extends Meter>> types = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the counter with the given name and tags, creating it if it does not exist
+     *
+     * @param name The name of the counter, e.g. orders_total
+     * @param tags Alternating tag names and values
+     * @return The counter
+     */
+    public Counter counter(String name, String... tags) {
+        return register(Counter.class, name, tags, (Map<String, String> map) -> new Counter(name, map));
+    }
+
+    /**
+     * Returns the gauge with the given name and tags, creating it with the given supplier
+     * if it does not exist
+     *
+     * @param name The name of the gauge, e.g. orders_pending
+     * @param supplier The supplier of the value, called whenever the metrics are requested
+     * @param tags Alternating tag names and values
+     * @return The gauge
+     */
+    public Gauge gauge(String name, Supplier<? extends Number> supplier, String... tags) {
+        Objects.requireNonNull(supplier, Required.SUPPLIER.toString());
+        return register(Gauge.class, name, tags, (Map<String, String> map) -> new Gauge(name, map, supplier));
+    }
+
+    /**
+     * Returns the timer with the given name and tags, creating it if it does not exist
+     *
+     * @param name The name of the timer, e.g. checkout_duration
+     * @param tags Alternating tag names and values
+     * @return The timer
+     */
+    public Timer timer(String name, String... tags) {
+        return register(Timer.class, name, tags, (Map<String, String> map) -> new Timer(name, map));
+    }
+
+    /**
+     * @return All counters, sorted by name and tags
+     */
+    public List<Counter> getCounters() {
+        return getMeters(Counter.class);
+    }
+
+    /**
+     * @return All gauges, sorted by name and tags
+     */
+    public List<Gauge> getGauges() {
+        return getMeters(Gauge.class);
+    }
+
+    /**
+     * @return All timers, sorted by name and tags
+     */
+    public List<Timer> getTimers() {
+        return getMeters(Timer.class);
+    }
+
+    /**
+     * Removes all metrics
+     */
+    public void clear() {
+        this.meters.clear();
+        this.types.clear();
+    }
+
+    private <T extends Meter> T register(Class<T> type, String name, String[] tags, Function<Map<String, String>, T> factory) {
+        Objects.requireNonNull(name, Required.NAME.toString());
+        Objects.requireNonNull(tags, Required.TAGS.toString());
+        Preconditions.checkArgument(NAME.matcher(name).matches(), "Invalid metric name '" + name + "'");
+        Preconditions.checkArgument(tags.length % 2 == 0, "Tags of metric '" + name + "' must be pairs of name and value");
+        for (String prefix : RESERVED) {
+            Preconditions.checkArgument(!name.startsWith(prefix), "Metric '" + name + "' uses the reserved prefix " + prefix);
+        }
+
+        Class<? extends Meter> registered = this.types.putIfAbsent(name, type);
+        if (registered != null && registered != type) {
+            throw new IllegalArgumentException("Metric '" + name + "' is already registered as " + registered.getSimpleName());
+        } else if (registered == null && collides(name, type)) {
+            this.types.remove(name, type);
+            throw new IllegalArgumentException("Metric '" + name + "' collides with the _sum or _count series of a timer");
+        }
+
+        Map<String, String> map = new TreeMap<>();
+        for (int i = 0; i < tags.length; i = i + 2) {
+            Objects.requireNonNull(tags[i], Required.NAME.toString());
+            Preconditions.checkArgument(TAG.matcher(tags[i]).matches(), "Invalid tag name '" + tags[i] + "' of metric '" + name + "'");
+            map.put(tags[i], Objects.toString(tags[i + 1], ""));
+        }
+
+        return type.cast(this.meters.computeIfAbsent(Arrays.asList(name, map), (List<Object> key) -> factory.apply(map)));
+    }
+
+    /**
+     * Checks if a new metric name clashes with the series of a timer, which is
+     * exported as {name}, {name}_sum and {name}_count
+     *
+     * @param name The name of the metric
+     * @param type The type of the metric
+     * @return True if the name is used by the series of a timer or the series of the timer use an existing name
+     */
+    private boolean collides(String name, Class<? extends Meter> type) {
+        for (String suffix : SUMMARY_SUFFIXES) {
+            if (type == Timer.class && this.types.containsKey(name + suffix)) {
+                return true;
+            }
+            if (name.endsWith(suffix) && this.types.get(name.substring(0, name.length() - suffix.length())) == Timer.class) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private <T extends Meter> List<T> getMeters(Class<T> type) {
+        List<T> result = new ArrayList<>();
+        for (Meter meter : this.meters.values()) {
+            if (type.isInstance(meter)) {
+                result.add(type.cast(meter));
+            }
+        }
+        result.sort(ORDER);
+
+        return result;
+    }
+}
@@ -0,0 +1,163 @@
+package io.mangoo.models;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import io.mangoo.configuration.Config;
+import io.mangoo.enums.Required;
+
+/**
+ * Fixed size ring buffer with a compact summary of the most recent requests
+ *
+ * The summaries are stored in preallocated arrays, one per field, so recording a
+ * request does not allocate. Every slot is guarded by a sequence number: a writer
+ * marks the slot as being written, stores the fields and then publishes the sequence
+ * of the request. Readers skip slots which are being written or have been overwritten
+ * while reading, so neither writers nor readers ever block.
+ *
+ * @author svenkubiak
+ *
+ */
+@Singleton
+public class RequestLog {
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLongArray versions;
+    private final AtomicLongArray timestamps;
+    private final AtomicLongArray latencies;
+    private final AtomicLongArray bytes;
+    private final AtomicLongArray threads;
+    private final AtomicIntegerArray statuses;
+    private final AtomicReferenceArray<String> routes;
+    private final AtomicReferenceArray<String> methods;
+    private final AtomicReferenceArray<String> paths;
+    private final boolean enabled;
+    private final int mask;
+
+    @Inject
+    public RequestLog(Config config) {
+        Objects.requireNonNull(config, Required.CONFIG.toString());
+
+        int size = config.getMetricsRequestsSize();
+        this.enabled = config.isMetricsEnabled() && size > 0;
+
+        int capacity = this.enabled ? Math.max(2, Integer.highestOneBit(size - 1) << 1) : 1;
+        this.mask = capacity - 1;
+        this.versions = new AtomicLongArray(capacity);
+        this.timestamps = new AtomicLongArray(capacity);
+        this.latencies = new AtomicLongArray(capacity);
+        this.bytes = new AtomicLongArray(capacity);
+        this.threads = new AtomicLongArray(capacity);
+        this.statuses = new AtomicIntegerArray(capacity);
+        this.routes = new AtomicReferenceArray<>(capacity);
+        this.methods = new AtomicReferenceArray<>(capacity);
+        this.paths = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @return True if requests are recorded, false otherwise
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * @return The number of requests the buffer holds
+     */
+    public int getCapacity() {
+        return this.mask + 1;
+    }
+
+    /**
+     * @return The number of requests recorded since the application started
+     */
+    public long getCount() {
+        return this.sequence.get();
+    }
+
+    /**
+     * Records a completed request, replacing the oldest request if the buffer is full
+     *
+     * @param timestamp The completion time in milliseconds since the epoch
+     * @param route The controller and method or null if the request was not dispatched to a controller
+     * @param method The HTTP method
+     * @param path The request path
+     * @param status The HTTP status code
+     * @param latency The processing time in nanoseconds or -1 if unknown
+     * @param sent The number of bytes sent
+     * @param thread The id of the thread which handled the request
+     */
+    public void record(long timestamp, String route, String method, String path, int status, long latency, long sent, long thread) {
+        long current = this.sequence.getAndIncrement();
+        int index = (int) (current & this.mask);
+
+        this.versions.getAndSet(index, (current << 1) | 1);
+        this.timestamps.lazySet(index, timestamp);
+        this.routes.lazySet(index, route);
+        this.methods.lazySet(index, method);
+        this.paths.lazySet(index, path);
+        this.statuses.lazySet(index, status);
+        this.latencies.lazySet(index, latency);
+        this.bytes.lazySet(index, sent);
+        this.threads.lazySet(index, thread);
+        this.versions.set(index, (current + 1) << 1);
+    }
+
+    /**
+     * @return The recorded requests, most recent first
+     */
+    public List<RequestSummary> getRequests() {
+        long end = this.sequence.get();
+        long start = Math.max(0, end - getCapacity());
+        Map<Long, String> threadNames = threadNames();
+
+        List<RequestSummary> requests = new ArrayList<>((int) (end - start));
+        for (long current = end - 1; current >= start; current--) {
+            int index = (int) (current & this.mask);
+            long version = (current + 1) << 1;
+            if (this.versions.get(index) != version) {
+                continue;
+            }
+
+            long thread = this.threads.get(index);
+            RequestSummary request = new RequestSummary(this.timestamps.get(index),
+                    this.routes.get(index),
+                    this.methods.get(index),
+                    this.paths.get(index),
+                    this.statuses.get(index),
+                    this.latencies.get(index),
+                    this.bytes.get(index),
+                    threadNames.getOrDefault(thread, String.valueOf(thread)));
+
+            if (this.versions.get(index) == version) {
+                requests.add(request);
+            }
+        }
+
+        return requests;
+    }
+
+    private static Map<Long, String> threadNames() {
+        Map<Long, String> names = new HashMap<>();
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds())) {
+            if (threadInfo != null) {
+                names.put(threadInfo.getThreadId(), threadInfo.getThreadName());
+            }
+        }
+
+        return names;
+    }
+}
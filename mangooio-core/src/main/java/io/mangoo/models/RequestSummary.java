@@ -0,0 +1,76 @@
+package io.mangoo.models;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a completed request as recorded in the {@link RequestLog}
+ *
+ * @author svenkubiak
+ *
+ */
+public class RequestSummary {
+    private static final double NANOS_PER_MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+    private final String route;
+    private final String method;
+    private final String path;
+    private final String thread;
+    private final long timestamp;
+    private final long latency;
+    private final long bytes;
+    private final int status;
+
+    public RequestSummary(long timestamp, String route, String method, String path, int status, long latency, long bytes, String thread) {
+        this.timestamp = timestamp;
+        this.route = route;
+        this.method = method;
+        this.path = path;
+        this.status = status;
+        this.latency = latency;
+        this.bytes = bytes;
+        this.thread = thread;
+    }
+
+    /**
+     * @return The completion time in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * @return The controller and method or null if the request was not dispatched to a controller
+     */
+    public String getRoute() {
+        return this.route;
+    }
+
+    public String getMethod() {
+        return this.method;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    public int getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return The processing time in milliseconds or -1 if unknown
+     */
+    public double getLatency() {
+        return (this.latency < 0) ? -1 : this.latency / NANOS_PER_MILLISECOND;
+    }
+
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * @return The name of the thread which handled the request or its id if the thread has terminated
+     */
+    public String getThread() {
+        return this.thread;
+    }
+}
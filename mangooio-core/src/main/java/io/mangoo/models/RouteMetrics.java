@@ -0,0 +1,237 @@
+package io.mangoo.models;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.mangoo.enums.RequestStage;
+import io.mangoo.enums.Required;
+
+/**
+ * Latency histogram and response counts per status class of a single route,
+ * identified by controller and method
+ *
+ * @author svenkubiak
+ *
+ */
+public class RouteMetrics {
+    private static final RequestStage[] STAGES = RequestStage.values();
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder[] statusClasses = new LongAdder[STATUS_CLASSES.length];
+    private final LongAdder sum = new LongAdder();
+    private final String name;
+    private volatile LatencyHistogram[] stages;
+
+    public RouteMetrics(String name) {
+        this.name = Objects.requireNonNull(name, Required.NAME.toString());
+        for (int i = 0; i < this.statusClasses.length; i++) {
+            this.statusClasses[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a completed request
+     *
+     * @param nanos The processing time in nanoseconds
+     * @param statusCode The HTTP status code of the response
+     */
+    public void record(long nanos, int statusCode) {
+        this.latency.record(nanos);
+        this.sum.add(nanos);
+        this.statusClasses[index(statusCode)].increment();
+    }
+
+    /**
+     * Records the stage durations of a sampled request
+     *
+     * @param stageTimer The timer of the request
+     */
+    public void record(StageTimer stageTimer) {
+        Objects.requireNonNull(stageTimer, Required.STAGE_TIMER.toString());
+
+        LatencyHistogram[] histograms = this.stages;
+        if (histograms == null) {
+            histograms = createStages();
+        }
+
+        for (RequestStage stage : STAGES) {
+            histograms[stage.ordinal()].record(stageTimer.getDuration(stage));
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * @return The number of recorded requests
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder statusClass : this.statusClasses) {
+            count = count + statusClass.sum();
+        }
+
+        return count;
+    }
+
+    /**
+     * @return The total processing time of all recorded requests in nanoseconds
+     */
+    public long getSum() {
+        return this.sum.sum();
+    }
+
+    /**
+     * @return The number of recorded requests per status class, e.g. 2xx
+     */
+    public Map<String, Long> getStatusClasses() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < this.statusClasses.length; i++) {
+            counts.put(STATUS_CLASSES[i], this.statusClasses[i].sum());
+        }
+
+        return counts;
+    }
+
+    /**
+     * @return The histograms of the sampled stage durations by stage, empty if no request has been sampled
+     */
+    public Map<String, LatencyHistogram> getStages() {
+        Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+        LatencyHistogram[] current = this.stages;
+        if (current != null) {
+            for (RequestStage stage : STAGES) {
+                histograms.put(stage.toString(), current[stage.ordinal()]);
+            }
+        }
+
+        return histograms;
+    }
+
+    /**
+     * @param statusClass The status class from 1 to 5, e.g. 2 for 2xx
+     * @return The number of recorded requests of the status class
+     */
+    public long getStatusClass(int statusClass) {
+        return this.statusClasses[index(statusClass * 100)].sum();
+    }
+
+    /**
+     * Takes a snapshot of the current counters, which can be compared with
+     * a previous snapshot to compute request and error rates for the interval
+     *
+     * @return A new snapshot
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[this.statusClasses.length];
+        for (int i = 0; i < this.statusClasses.length; i++) {
+            counts[i] = this.statusClasses[i].sum();
+        }
+
+        return new Snapshot(System.nanoTime(), counts);
+    }
+
+    /**
+     * Resets the histogram and all counters
+     */
+    public void reset() {
+        this.latency.reset();
+        this.sum.reset();
+        LatencyHistogram[] current = this.stages;
+        if (current != null) {
+            for (LatencyHistogram histogram : current) {
+                histogram.reset();
+            }
+        }
+        for (LongAdder statusClass : this.statusClasses) {
+            statusClass.reset();
+        }
+    }
+
+    private synchronized LatencyHistogram[] createStages() {
+        if (this.stages == null) {
+            LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+            this.stages = histograms;
+        }
+
+        return this.stages;
+    }
+
+    private static int index(int statusCode) {
+        return Math.min(STATUS_CLASSES.length, Math.max(1, statusCode / 100)) - 1;
+    }
+
+    /**
+     * Immutable counters of a route at a point in time
+     */
+    public static final class Snapshot {
+        private final long timestamp;
+        private final long[] counts;
+
+        Snapshot(long timestamp, long[] counts) {
+            this.timestamp = timestamp;
+            this.counts = counts;
+        }
+
+        /**
+         * @return The number of requests recorded until the snapshot was taken
+         */
+        public long getCount() {
+            long count = 0;
+            for (long value : this.counts) {
+                count = count + value;
+            }
+
+            return count;
+        }
+
+        /**
+         * @return The number of requests with a 5xx status recorded until the snapshot was taken
+         */
+        public long getErrors() {
+            return this.counts[this.counts.length - 1];
+        }
+
+        /**
+         * Computes the number of requests per second between a previous snapshot and this snapshot
+         *
+         * @param previous The previous snapshot of the same route
+         * @return The number of requests per second or 0 if no time has passed
+         */
+        public double getRate(Snapshot previous) {
+            Objects.requireNonNull(previous, Required.SNAPSHOT.toString());
+            return perSecond(getCount() - previous.getCount(), previous);
+        }
+
+        /**
+         * Computes the number of requests with a 5xx status per second between a previous snapshot and this snapshot
+         *
+         * @param previous The previous snapshot of the same route
+         * @return The number of errors per second or 0 if no time has passed
+         */
+        public double getErrorRate(Snapshot previous) {
+            Objects.requireNonNull(previous, Required.SNAPSHOT.toString());
+            return perSecond(getErrors() - previous.getErrors(), previous);
+        }
+
+        private double perSecond(long delta, Snapshot previous) {
+            long elapsed = this.timestamp - previous.timestamp;
+            if (elapsed <= 0) {
+                return 0;
+            }
+
+            return delta * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        }
+    }
+}
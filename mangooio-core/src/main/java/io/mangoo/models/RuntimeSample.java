@@ -0,0 +1,354 @@
+package io.mangoo.models;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.mangoo.utils.MetricsUtils;
+
+/**
+ * Immutable snapshot of the JVM and the Undertow workers, taken when the sample is created
+ *
+ * Counters which are cumulative in the JVM, e.g. the garbage collection time, are also
+ * reported as the delta to the previous sample, so that a time series of samples can be
+ * correlated with request latencies without further computation.
+ *
+ * Values which are not provided by the running JVM or XNIO version are reported as -1.
+ *
+ * @author svenkubiak
+ *
+ */
+public class RuntimeSample {
+    private static final String DIRECT = "direct";
+    private final List<Collector> collectors = new ArrayList<>();
+    private final Map<String, Integer> threadStates = new LinkedHashMap<>();
+    private final long timestamp;
+    private final long heapUsed;
+    private final long heapCommitted;
+    private final long heapMax;
+    private final long nonHeapUsed;
+    private final long allocatedBytes;
+    private final long allocationRate;
+    private final long gcPause;
+    private final int threads;
+    private final int daemonThreads;
+    private final int peakThreads;
+    private final long workerBusy;
+    private final long workerMax;
+    private final long workerQueue;
+    private final long directBuffers;
+    private final long directMemoryUsed;
+    private final long openFileDescriptors;
+    private final long maxFileDescriptors;
+    private final int loadedClasses;
+    private final long totalLoadedClasses;
+    private final long unloadedClasses;
+
+    /**
+     * Takes a new sample
+     *
+     * @param previous The previous sample to compute rates and deltas from, or null for the first sample
+     */
+    public RuntimeSample(RuntimeSample previous) {
+        this.timestamp = System.currentTimeMillis();
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        this.heapUsed = heap.getUsed();
+        this.heapCommitted = heap.getCommitted();
+        this.heapMax = heap.getMax();
+        this.nonHeapUsed = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage().getUsed();
+
+        long pause = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            Collector current = new Collector(collector.getName(), collector.getCollectionCount(), collector.getCollectionTime(), (previous == null) ? null : previous.getCollector(collector.getName()));
+            this.collectors.add(current);
+            pause = pause + current.getPause();
+        }
+        this.gcPause = pause;
+
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long[] threadIds = threadMXBean.getAllThreadIds();
+        this.threads = threadMXBean.getThreadCount();
+        this.daemonThreads = threadMXBean.getDaemonThreadCount();
+        this.peakThreads = threadMXBean.getPeakThreadCount();
+        this.allocatedBytes = allocatedBytes(threadMXBean, threadIds);
+        this.allocationRate = rate(previous, this.allocatedBytes);
+        this.threadStates.putAll(threadStates(threadMXBean, threadIds));
+
+        long busy = -1;
+        long max = -1;
+        long queue = -1;
+        for (Map<String, Object> worker : MetricsUtils.getWorkers().values()) {
+            busy = add(busy, worker.get("BusyWorkerThreadCount"));
+            max = add(max, worker.get("MaxWorkerPoolSize"));
+            queue = add(queue, worker.get("WorkerQueueSize"));
+        }
+        this.workerBusy = busy;
+        this.workerMax = max;
+        this.workerQueue = queue;
+
+        long buffers = -1;
+        long memoryUsed = -1;
+        for (BufferPoolMXBean bufferPool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (DIRECT.equals(bufferPool.getName())) {
+                buffers = bufferPool.getCount();
+                memoryUsed = bufferPool.getMemoryUsed();
+            }
+        }
+        this.directBuffers = buffers;
+        this.directMemoryUsed = memoryUsed;
+
+        OperatingSystemMXBean operatingSystem = ManagementFactory.getOperatingSystemMXBean();
+        if (operatingSystem instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            this.openFileDescriptors = ((com.sun.management.UnixOperatingSystemMXBean) operatingSystem).getOpenFileDescriptorCount();
+            this.maxFileDescriptors = ((com.sun.management.UnixOperatingSystemMXBean) operatingSystem).getMaxFileDescriptorCount();
+        } else {
+            this.openFileDescriptors = -1;
+            this.maxFileDescriptors = -1;
+        }
+
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        this.loadedClasses = classLoading.getLoadedClassCount();
+        this.totalLoadedClasses = classLoading.getTotalLoadedClassCount();
+        this.unloadedClasses = classLoading.getUnloadedClassCount();
+    }
+
+    /**
+     * @return The time the sample was taken in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    public long getHeapUsed() {
+        return this.heapUsed;
+    }
+
+    public long getHeapCommitted() {
+        return this.heapCommitted;
+    }
+
+    public long getHeapMax() {
+        return this.heapMax;
+    }
+
+    public long getNonHeapUsed() {
+        return this.nonHeapUsed;
+    }
+
+    /**
+     * @return The bytes allocated per second by all live threads since the previous sample, or -1 if not supported
+     */
+    public long getAllocationRate() {
+        return this.allocationRate;
+    }
+
+    /**
+     * @return The milliseconds spent in garbage collection by all collectors since the previous sample
+     */
+    public long getGcPause() {
+        return this.gcPause;
+    }
+
+    public List<Collector> getCollectors() {
+        return Collections.unmodifiableList(this.collectors);
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public int getDaemonThreads() {
+        return this.daemonThreads;
+    }
+
+    public int getPeakThreads() {
+        return this.peakThreads;
+    }
+
+    /**
+     * @return The number of live threads by thread state, e.g. BLOCKED
+     */
+    public Map<String, Integer> getThreadStates() {
+        return Collections.unmodifiableMap(this.threadStates);
+    }
+
+    /**
+     * @return The number of busy worker threads of all XNIO workers
+     */
+    public long getWorkerBusy() {
+        return this.workerBusy;
+    }
+
+    /**
+     * @return The maximum number of worker threads of all XNIO workers
+     */
+    public long getWorkerMax() {
+        return this.workerMax;
+    }
+
+    /**
+     * @return The number of tasks waiting for a worker thread of all XNIO workers
+     */
+    public long getWorkerQueue() {
+        return this.workerQueue;
+    }
+
+    public long getDirectBuffers() {
+        return this.directBuffers;
+    }
+
+    public long getDirectMemoryUsed() {
+        return this.directMemoryUsed;
+    }
+
+    public long getOpenFileDescriptors() {
+        return this.openFileDescriptors;
+    }
+
+    public long getMaxFileDescriptors() {
+        return this.maxFileDescriptors;
+    }
+
+    public int getLoadedClasses() {
+        return this.loadedClasses;
+    }
+
+    public long getTotalLoadedClasses() {
+        return this.totalLoadedClasses;
+    }
+
+    public long getUnloadedClasses() {
+        return this.unloadedClasses;
+    }
+
+    private Collector getCollector(String name) {
+        for (Collector collector : this.collectors) {
+            if (collector.getName().equals(name)) {
+                return collector;
+            }
+        }
+
+        return null;
+    }
+
+    private long rate(RuntimeSample previous, long bytes) {
+        if (previous == null || bytes < 0 || previous.allocatedBytes < 0) {
+            return -1;
+        }
+
+        long elapsed = this.timestamp - previous.timestamp;
+        if (elapsed <= 0) {
+            return 0;
+        }
+
+        // Bytes of threads which terminated since the previous sample are no longer included
+        return Math.max(0, bytes - previous.allocatedBytes) * 1000 / elapsed;
+    }
+
+    private static long allocatedBytes(ThreadMXBean threadMXBean, long[] threadIds) {
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (sunThreadMXBean.isThreadAllocatedMemorySupported() && sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+                long bytes = 0;
+                for (long allocated : sunThreadMXBean.getThreadAllocatedBytes(threadIds)) {
+                    if (allocated > 0) {
+                        bytes = bytes + allocated;
+                    }
+                }
+
+                return bytes;
+            }
+        }
+
+        return -1;
+    }
+
+    private static Map<String, Integer> threadStates(ThreadMXBean threadMXBean, long[] threadIds) {
+        Map<Thread.State, Integer> states = new EnumMap<>(Thread.State.class);
+        for (Thread.State state : Thread.State.values()) {
+            states.put(state, 0);
+        }
+
+        for (ThreadInfo threadInfo : threadMXBean.getThreadInfo(threadIds)) {
+            if (threadInfo != null) {
+                states.merge(threadInfo.getThreadState(), 1, Integer::sum);
+            }
+        }
+
+        Map<String, Integer> result = new LinkedHashMap<>();
+        states.forEach((Thread.State state, Integer count) -> result.put(state.name(), count));
+
+        return result;
+    }
+
+    private static long add(long sum, Object value) {
+        if (value instanceof Number) {
+            return Math.max(0, sum) + ((Number) value).longValue();
+        }
+
+        return sum;
+    }
+
+    /**
+     * Collection count and time of a garbage collector
+     */
+    public static final class Collector {
+        private final String name;
+        private final long count;
+        private final long time;
+        private final long collections;
+        private final long pause;
+
+        Collector(String name, long count, long time, Collector previous) {
+            this.name = name;
+            this.count = count;
+            this.time = time;
+            this.collections = (previous == null) ? 0 : Math.max(0, count - previous.count);
+            this.pause = (previous == null) ? 0 : Math.max(0, time - previous.time);
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * @return The total number of collections
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * @return The total collection time in milliseconds
+         */
+        public long getTime() {
+            return this.time;
+        }
+
+        /**
+         * @return The number of collections since the previous sample
+         */
+        public long getCollections() {
+            return this.collections;
+        }
+
+        /**
+         * @return The collection time in milliseconds since the previous sample
+         */
+        public long getPause() {
+            return this.pause;
+        }
+    }
+}
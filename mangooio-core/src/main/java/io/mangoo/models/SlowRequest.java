@@ -0,0 +1,163 @@
+package io.mangoo.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import io.mangoo.enums.RequestStage;
+import io.mangoo.enums.Required;
+
+/**
+ * A request which exceeded the slow request threshold, with its stage durations and
+ * the stack samples taken while it was running
+ *
+ * Request parameter values are redacted, only the parameter names are kept.
+ *
+ * @author svenkubiak
+ *
+ */
+public class SlowRequest {
+    private static final String REDACTED = "***";
+    private static final double NANOS_PER_MILLISECOND = 1000000D;
+    private final Map<String, String> parameters = new LinkedHashMap<>();
+    private final Map<String, Double> stages = new LinkedHashMap<>();
+    private final List<StackSample> samples;
+    private final String route;
+    private final String method;
+    private final String uri;
+    private final long timestamp;
+    private final long duration;
+    private final int status;
+
+    /**
+     * @param activeRequest The completed request
+     * @param method The HTTP method
+     * @param uri The request path without query string
+     * @param parameters The request parameters, whose values are redacted
+     * @param status The HTTP status code
+     * @param nanos The processing time in nanoseconds
+     * @param stageTimer The stage timer of the request or null if the stages were not timed
+     */
+    public SlowRequest(ActiveRequest activeRequest, String method, String uri, Map<String, String> parameters, int status, long nanos, StageTimer stageTimer) {
+        Objects.requireNonNull(activeRequest, Required.ACTIVE_REQUEST.toString());
+
+        this.timestamp = System.currentTimeMillis();
+        this.route = activeRequest.getRoute();
+        this.samples = activeRequest.getSamples();
+        this.method = method;
+        this.uri = uri;
+        this.status = status;
+        this.duration = TimeUnit.NANOSECONDS.toMillis(nanos);
+
+        if (parameters != null) {
+            parameters.keySet().forEach((String name) -> this.parameters.put(name, REDACTED));
+        }
+
+        if (stageTimer != null) {
+            for (RequestStage stage : RequestStage.values()) {
+                this.stages.put(stage.toString(), stageTimer.getDuration(stage) / NANOS_PER_MILLISECOND);
+            }
+        }
+    }
+
+    /**
+     * @return The time the request completed in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    public String getRoute() {
+        return this.route;
+    }
+
+    public String getMethod() {
+        return this.method;
+    }
+
+    public String getUri() {
+        return this.uri;
+    }
+
+    public int getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return The processing time in milliseconds
+     */
+    public long getDuration() {
+        return this.duration;
+    }
+
+    /**
+     * @return The request parameter names with redacted values
+     */
+    public Map<String, String> getParameters() {
+        return Collections.unmodifiableMap(this.parameters);
+    }
+
+    /**
+     * @return The time spent in each stage in milliseconds, empty if the stages were not timed
+     */
+    public Map<String, Double> getStages() {
+        return Collections.unmodifiableMap(this.stages);
+    }
+
+    /**
+     * @return The stack samples of the handling thread, oldest first
+     */
+    public List<StackSample> getSamples() {
+        return this.samples;
+    }
+
+    /**
+     * Stack trace of the handling thread at a point in time of the request
+     */
+    public static final class StackSample {
+        private static final int MAX_FRAMES = 64;
+        private final List<String> frames;
+        private final Thread.State state;
+        private final long offset;
+
+        /**
+         * @param nanos The time since the start of the request in nanoseconds
+         * @param state The state of the handling thread
+         * @param stackTrace The stack trace of the handling thread
+         */
+        public StackSample(long nanos, Thread.State state, StackTraceElement[] stackTrace) {
+            Objects.requireNonNull(stackTrace, Required.STACK_TRACE_ELEMENT.toString());
+
+            this.offset = TimeUnit.NANOSECONDS.toMillis(nanos);
+            this.state = state;
+
+            List<String> elements = new ArrayList<>(Math.min(stackTrace.length, MAX_FRAMES));
+            for (int i = 0; i < stackTrace.length && i < MAX_FRAMES; i++) {
+                elements.add(stackTrace[i].toString());
+            }
+            this.frames = Collections.unmodifiableList(elements);
+        }
+
+        /**
+         * @return The time since the start of the request in milliseconds
+         */
+        public long getOffset() {
+            return this.offset;
+        }
+
+        public Thread.State getState() {
+            return this.state;
+        }
+
+        /**
+         * @return The topmost stack frames, at most 64
+         */
+        public List<String> getFrames() {
+            return this.frames;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.mangoo.models;
+
+import java.util.Objects;
+
+import io.mangoo.enums.Required;
+import io.mangoo.enums.RequestStage;
+
+/**
+ * Measures the time spent in each stage of the request handler chain of a
+ * single request
+ *
+ * A stage ends when it is stopped and the next stage starts at the same time,
+ * so the stages add up to the time since the timer was created.
+ *
+ * @author svenkubiak
+ *
+ */
+public class StageTimer {
+    private static final RequestStage[] STAGES = RequestStage.values();
+    private static final double NANOS_PER_MILLISECOND = 1000000D;
+    private final long[] durations = new long[STAGES.length];
+    private final boolean sampled;
+    private long last = System.nanoTime();
+
+    public StageTimer() {
+        this(true);
+    }
+
+    /**
+     * @param sampled True if the request is sampled for the stage histograms, false if the
+     *                stages are only timed for the slow request log
+     */
+    public StageTimer(boolean sampled) {
+        this.sampled = sampled;
+    }
+
+    /**
+     * Ends the given stage and starts the next one
+     *
+     * @param stage The stage that ended
+     */
+    public void stop(RequestStage stage) {
+        long now = System.nanoTime();
+        this.durations[stage.ordinal()] += now - this.last;
+        this.last = now;
+    }
+
+    /**
+     * @param stage The stage
+     * @return The time spent in the stage in nanoseconds
+     */
+    public long getDuration(RequestStage stage) {
+        Objects.requireNonNull(stage, Required.STAGE.toString());
+        return this.durations[stage.ordinal()];
+    }
+
+    /**
+     * @return True if the request is sampled for the stage histograms, false otherwise
+     */
+    public boolean isSampled() {
+        return this.sampled;
+    }
+
+    /**
+     * @return The stages which have been stopped as Server-Timing header value, e.g. controller;dur=1.234
+     */
+    public String toServerTiming() {
+        StringBuilder buffer = new StringBuilder(STAGES.length * 24);
+        for (RequestStage stage : STAGES) {
+            long duration = this.durations[stage.ordinal()];
+            if (duration > 0) {
+                if (buffer.length() > 0) {
+                    buffer.append(", ");
+                }
+                buffer.append(stage).append(";dur=").append(Math.round(duration / NANOS_PER_MILLISECOND * 1000) / 1000D);
+            }
+        }
+
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package io.mangoo.models;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import io.mangoo.enums.Required;
+
+/**
+ * Statistics of an event bus subscriber
+ *
+ * @author svenkubiak
+ *
+ */
+public class SubscriberStatistics {
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongSupplier queueDepth;
+    private final String name;
+
+    public SubscriberStatistics(String name, LongSupplier queueDepth) {
+        this.name = Objects.requireNonNull(name, Required.NAME.toString());
+        this.queueDepth = Objects.requireNonNull(queueDepth, Required.QUEUE_DEPTH.toString());
+    }
+
+    public void recordDelivered(int count) {
+        this.delivered.add(count);
+    }
+
+    public void recordDropped() {
+        this.dropped.increment();
+    }
+
+    public void recordFailure() {
+        this.failures.increment();
+    }
+
+    public void recordLatency(long nanos) {
+        this.latency.record(nanos);
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public long getQueueDepth() {
+        return this.queueDepth.getAsLong();
+    }
+
+    public long getDelivered() {
+        return this.delivered.sum();
+    }
+
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+}
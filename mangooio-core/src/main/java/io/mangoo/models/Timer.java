@@ -0,0 +1,97 @@
+package io.mangoo.models;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.mangoo.enums.Required;
+
+/**
+ * Application metric recording durations into a latency histogram
+ *
+ * @author svenkubiak
+ *
+ */
+public class Timer extends Meter {
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder sum = new LongAdder();
+
+    public Timer(String name, Map<String, String> tags) {
+        super(name, tags);
+    }
+
+    /**
+     * Records a duration
+     *
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(long nanos) {
+        this.latency.record(nanos);
+        this.sum.add(Math.max(0, nanos));
+    }
+
+    /**
+     * Records a duration
+     *
+     * @param duration The duration
+     * @param timeUnit The unit of the duration
+     */
+    public void record(long duration, TimeUnit timeUnit) {
+        Objects.requireNonNull(timeUnit, Required.TIME_UNIT.toString());
+        record(timeUnit.toNanos(duration));
+    }
+
+    /**
+     * Runs the given runnable and records its duration
+     *
+     * @param runnable The runnable to time
+     */
+    public void time(Runnable runnable) {
+        Objects.requireNonNull(runnable, Required.RUNNABLE.toString());
+
+        long start = System.nanoTime();
+        try {
+            runnable.run();
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Calls the given supplier and records its duration
+     *
+     * @param supplier The supplier to time
+     * @param <T> The type of the result
+     * @return The result of the supplier
+     */
+    public <T> T time(Supplier<T> supplier) {
+        Objects.requireNonNull(supplier, Required.SUPPLIER.toString());
+
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    public LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * @return The number of recorded durations
+     */
+    public long getCount() {
+        return this.latency.getCount();
+    }
+
+    /**
+     * @return The sum of all recorded durations in nanoseconds
+     */
+    public long getSum() {
+        return this.sum.sum();
+    }
+}
@@ -1,11 +1,23 @@
 package io.mangoo.providers;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.ehcache.CacheManager;
 import org.ehcache.PersistentCacheManager;
 import org.ehcache.clustered.client.config.builders.ClusteringServiceConfigurationBuilder;
@@ -13,18 +25,27 @@ import org.ehcache.config.CacheConfiguration;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
 import org.ehcache.config.builders.CacheManagerBuilder;
 import org.ehcache.config.builders.ResourcePoolsBuilder;
-import org.ehcache.expiry.Duration;
-import org.ehcache.expiry.Expirations;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.internal.statistics.DefaultStatisticsService;
+import org.ehcache.core.spi.service.StatisticsService;
+import org.ehcache.core.statistics.TierStatistics;
+import org.ehcache.impl.serialization.PlainJavaSerializer;
+import org.ehcache.spi.serialization.Serializer;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
 
 import io.mangoo.cache.Cache;
+import io.mangoo.cache.CacheExpiry;
 import io.mangoo.cache.CacheImpl;
+import io.mangoo.cache.CacheSnapshot;
+import io.mangoo.cache.CaffeineCache;
 import io.mangoo.configuration.Config;
 import io.mangoo.enums.CacheName;
+import io.mangoo.enums.Default;
 import io.mangoo.enums.Required;
+import io.mangoo.services.ConcurrentService;
 
 /**
  * 
@@ -33,90 +54,155 @@ import io.mangoo.enums.Required;
  */
 @Singleton
 public class CacheProvider implements Provider<Cache> {
-    private Map<String, Cache> caches = new HashMap<>();
+    private static final Logger LOG = LogManager.getLogger(CacheProvider.class);
+    private static final String CAFFEINE = "caffeine";
+    private static final String APPLICATION = "application";
+    private static final String AUTH = "auth";
+    private static final String REQUEST = "request";
+    private static final String SSE = "sse";
+    private static final String WSS = "wss";
+    private static final List<String> BUILT_IN = Arrays.asList(APPLICATION, AUTH, REQUEST, SSE, WSS);
+    private static final long SIXTY_SECONDS = 60;
+    private static final long THIRTY_MINUTES = 1800;
+    private static final long SIXTY_MINUTES = 3600;
+    private static final long FORTY_THOUSAND_ELEMENTS = 40000;
+    private static final long TWENTY_THOUSAND_ELEMENTS = 20000;
+    private Map<String, Cache> caches = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final StatisticsService statisticsService = new DefaultStatisticsService();
     private CacheManager cacheManager;
-    private Cache cache;
-    private static final int SIXTY = 60;
-    private static final int THIRTY = 30;
-    private static final int FORTY_THOUSAND_ELEMENTS = 40000;
-    private static final int TWENTY_THOUSAND_ELEMENTS = 20000;
+    private Executor executor;
+    private Path snapshotPath;
 
     @Inject
-    public CacheProvider(Config config) {
+    public CacheProvider(Config config, ConcurrentService concurrentService) {
         Objects.requireNonNull(config, Required.CONFIG.toString());
+        Objects.requireNonNull(concurrentService, Required.CONCURRENT_SERVICE.toString());
+        
+        final String executorName = config.getExecutorNames().contains(Default.EXECUTOR_CACHE.toString()) ? Default.EXECUTOR_CACHE.toString() : Default.EXECUTOR_NAME.toString();
+        this.executor = concurrentService.getExecutor(executorName);
         
         if (config.isClusteredCached()) {
             CacheManagerBuilder<PersistentCacheManager> clusteredCacheManagerBuilder = CacheManagerBuilder.newCacheManagerBuilder() 
                     .with(ClusteringServiceConfigurationBuilder.cluster(URI.create(config.getCacheClusterUrl())) 
-                    .autoCreate());
+                    .autoCreate())
+                    .using(this.statisticsService);
 
             this.cacheManager = clusteredCacheManagerBuilder.build(true);
+        } else if (usesDisk(config)) {
+            CacheManagerBuilder<PersistentCacheManager> persistentCacheManagerBuilder = CacheManagerBuilder.newCacheManagerBuilder()
+                    .with(CacheManagerBuilder.persistence(new File(config.getCachePersistencePath())))
+                    .using(this.statisticsService);
+            
+            this.cacheManager = persistentCacheManagerBuilder.build(true);
         } else {
-            this.cacheManager = CacheManagerBuilder.newCacheManagerBuilder().build();
+            this.cacheManager = CacheManagerBuilder.newCacheManagerBuilder().using(this.statisticsService).build();
             this.cacheManager.init();
         }
 
-        initApplicationCache();
-        initAuthenticationCache();
-        initRequestCache();
-        initServerEventCache();
-        initWebSocketCache();
-    }
-
-    private void initApplicationCache() {
-        CacheConfiguration<String, Object> configuration = CacheConfigurationBuilder
-                .newCacheConfigurationBuilder(String.class, Object.class, ResourcePoolsBuilder.heap(TWENTY_THOUSAND_ELEMENTS))
-                .build();
-
-        this.cache = registerCacheConfiguration(CacheName.APPLICATION.toString(), configuration);
-    }
-
-    private void initAuthenticationCache() {
-        CacheConfiguration<String, Object> configuration = CacheConfigurationBuilder
-                .newCacheConfigurationBuilder(String.class, Object.class, ResourcePoolsBuilder.heap(TWENTY_THOUSAND_ELEMENTS))
-                .withExpiry(Expirations.timeToLiveExpiration(Duration.of(SIXTY, TimeUnit.MINUTES)))
-                .build();
-
-        registerCacheConfiguration(CacheName.AUTH.toString(), configuration);
+        initCaches(config);
+        
+        if (config.isCacheSnapshotEnabled()) {
+            this.snapshotPath = Paths.get(config.getCacheSnapshotPath());
+            restoreSnapshot();
+        }
     }
 
-    private void initRequestCache() {
-        CacheConfiguration<String, Object> configuration = CacheConfigurationBuilder
-                .newCacheConfigurationBuilder(String.class, Object.class, ResourcePoolsBuilder.heap(FORTY_THOUSAND_ELEMENTS))
-                .withExpiry(Expirations.timeToLiveExpiration(Duration.of(SIXTY, TimeUnit.SECONDS)))
-                .build();
+    private void initCaches(Config config) {
+        initCache(config, CacheName.APPLICATION.toString(), APPLICATION, TWENTY_THOUSAND_ELEMENTS, 0, 0);
+        initCache(config, CacheName.AUTH.toString(), AUTH, TWENTY_THOUSAND_ELEMENTS, SIXTY_MINUTES, 0);
+        initCache(config, CacheName.REQUEST.toString(), REQUEST, FORTY_THOUSAND_ELEMENTS, SIXTY_SECONDS, 0);
+        initCache(config, CacheName.SSE.toString(), SSE, TWENTY_THOUSAND_ELEMENTS, 0, THIRTY_MINUTES);
+        initCache(config, CacheName.WSS.toString(), WSS, TWENTY_THOUSAND_ELEMENTS, 0, THIRTY_MINUTES);
 
-        registerCacheConfiguration(CacheName.REQUEST.toString(), configuration);
+        config.getCacheNames().stream()
+            .filter(name -> !BUILT_IN.contains(name))
+            .forEach(name -> initCache(config, name, name, TWENTY_THOUSAND_ELEMENTS, 0, 0));
     }
 
-    private void initServerEventCache() {
-        CacheConfiguration<String, Object> configuration = CacheConfigurationBuilder
-                .newCacheConfigurationBuilder(String.class, Object.class, ResourcePoolsBuilder.heap(TWENTY_THOUSAND_ELEMENTS))
-                .withExpiry(Expirations.timeToIdleExpiration(Duration.of(THIRTY, TimeUnit.MINUTES)))
-                .build();
-
-        registerCacheConfiguration(CacheName.SSE.toString(), configuration);
+    private static boolean usesDisk(Config config) {
+        return BUILT_IN.stream().anyMatch(region -> config.getCacheDisk(region) > 0) ||
+               config.getCacheNames().stream().anyMatch(region -> config.getCacheDisk(region) > 0);
     }
 
-    private void initWebSocketCache() {
-        CacheConfiguration<String, Object> configuration = CacheConfigurationBuilder
-                .newCacheConfigurationBuilder(String.class, Object.class, ResourcePoolsBuilder.heap(TWENTY_THOUSAND_ELEMENTS))
-                .withExpiry(Expirations.timeToIdleExpiration(Duration.of(THIRTY, TimeUnit.MINUTES)))
-                .build();
+    /**
+     * Creates a cache from the cache.{region}.* configuration in application.yaml,
+     * using the given values as defaults
+     * 
+     * @param config The application configuration
+     * @param name The name of the cache
+     * @param region The name of the region in application.yaml
+     * @param entries The default number of entries on heap
+     * @param timeToLive The default time to live in seconds, 0 for none
+     * @param timeToIdle The default time to idle in seconds, 0 for none
+     */
+    @SuppressWarnings("unchecked")
+    private void initCache(Config config, String name, String region, long entries, long timeToLive, long timeToIdle) {
+        if (CAFFEINE.equalsIgnoreCase(config.getCacheImplementation(region))) {
+            if (config.getCacheSize(region) > 0 || config.getCacheOffHeap(region) > 0 || config.getCacheDisk(region) > 0) {
+                LOG.warn("Cache " + name + " uses caffeine which only supports sizing by entries on heap, ignoring size, offheap and disk");
+            }
+            
+            this.caches.put(name, new CaffeineCache(config.getCacheEntries(region, entries), config.getCacheTimeToLive(region, timeToLive), config.getCacheTimeToIdle(region, timeToIdle), this.executor));
+            return;
+        }
+        
+        long size = config.getCacheSize(region);
+        long offHeap = config.getCacheOffHeap(region);
+        long disk = config.getCacheDisk(region);
+        
+        ResourcePoolsBuilder resourcePools = (size > 0) ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(size, MemoryUnit.MB) : ResourcePoolsBuilder.heap(config.getCacheEntries(region, entries));
+        if (offHeap > 0) {
+            resourcePools = resourcePools.offheap(offHeap, MemoryUnit.MB);
+        }
+        if (disk > 0 && !config.isClusteredCached()) {
+            resourcePools = resourcePools.disk(disk, MemoryUnit.MB, config.isCachePersistent(region));
+        }
+        
+        CacheConfigurationBuilder<String, Object> builder = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(String.class, Object.class, resourcePools)
+                .withExpiry(new CacheExpiry(config.getCacheTimeToLive(region, timeToLive), config.getCacheTimeToIdle(region, timeToIdle)));
+        
+        String serializer = config.getCacheSerializer(region);
+        if (StringUtils.isNotBlank(serializer)) {
+            try {
+                builder = builder.withValueSerializer((Class<? extends Serializer<Object>>) Class.forName(serializer));
+            } catch (ClassNotFoundException e) {
+                LOG.error("Failed to load cache serializer " + serializer + " for cache " + name, e);
+            }
+        } else if (offHeap > 0 || disk > 0) {
+            builder = builder.withValueSerializer(new PlainJavaSerializer<>(CacheProvider.class.getClassLoader()));
+        }
 
-        registerCacheConfiguration(CacheName.WSS.toString(), configuration);
+        registerCacheConfiguration(name, builder.build());
     }
 
     public Cache registerCacheConfiguration(String name, CacheConfiguration<String, Object> configuration) {
-        cache = new CacheImpl(cacheManager.createCache(name, configuration));
+        Cache cache = new CacheImpl(cacheManager.createCache(name, configuration), this.executor, () -> entries(name));
         this.caches.put(name, cache);
 
         return cache;
     }
 
+    /**
+     * Counts the entries of a cache from the tier statistics of ehcache instead of
+     * iterating the cache. The authoritative tier holds every mapping, so the
+     * largest tier is the number of entries.
+     * 
+     * @param name The name of the cache
+     * @return The number of entries in the cache
+     */
+    private long entries(String name) {
+        long entries = 0;
+        for (TierStatistics tierStatistics : this.statisticsService.getCacheStatistics(name).getTierStatistics().values()) {
+            entries = Math.max(entries, tierStatistics.getMappings());
+        }
+        
+        return entries;
+    }
+
     @Override
     public Cache get() {
-        return this.cache;
+        return getCache(CacheName.APPLICATION);
     }
 
     /**
@@ -139,6 +225,57 @@ public class CacheProvider implements Provider<Cache> {
         return this.caches.get(name);
     }
 
+    /**
+     * @return An unmodifiable map of all caches by their name
+     */
+    public Map<String, Cache> getCaches() {
+        return Collections.unmodifiableMap(this.caches);
+    }
+
+    /**
+     * Writes the application cache and all configured regions to the snapshot
+     * file, if snapshots are enabled via cache.snapshot.enable
+     */
+    public void snapshot() {
+        if (this.snapshotPath != null) {
+            try {
+                long count = CacheSnapshot.write(getSnapshotCaches(), this.snapshotPath);
+                LOG.info("Wrote " + count + " cache entries to snapshot " + this.snapshotPath);
+            } catch (IOException e) {
+                LOG.error("Failed to write cache snapshot " + this.snapshotPath, e);
+            }
+        }
+    }
+
+    /**
+     * Restores the snapshot in a background thread, so the application
+     * starts without waiting for the caches to be filled
+     */
+    private void restoreSnapshot() {
+        if (Files.exists(this.snapshotPath)) {
+            Thread thread = new Thread(() -> {
+                try {
+                    long count = CacheSnapshot.read(this.snapshotPath, getSnapshotCaches());
+                    LOG.info("Restored " + count + " cache entries from snapshot " + this.snapshotPath);
+                } catch (IOException e) {
+                    LOG.error("Failed to restore cache snapshot " + this.snapshotPath, e);
+                }
+            }, "mangooio-cache-snapshot");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private Map<String, Cache> getSnapshotCaches() {
+        Map<String, Cache> snapshotCaches = new HashMap<>(this.caches);
+        snapshotCaches.remove(CacheName.AUTH.toString());
+        snapshotCaches.remove(CacheName.REQUEST.toString());
+        snapshotCaches.remove(CacheName.SSE.toString());
+        snapshotCaches.remove(CacheName.WSS.toString());
+        
+        return snapshotCaches;
+    }
+
     /**
      * Closes all caches
      */
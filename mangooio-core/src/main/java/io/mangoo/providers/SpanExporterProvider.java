@@ -0,0 +1,44 @@
+package io.mangoo.providers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+
+import io.mangoo.configuration.Config;
+import io.mangoo.interfaces.MangooSpanExporter;
+import io.mangoo.tracing.FileSpanExporter;
+
+/**
+ *
+ * @author svenkubiak
+ *
+ */
+@Singleton
+public class SpanExporterProvider implements Provider<MangooSpanExporter> {
+    private static final Logger LOG = LogManager.getLogger(SpanExporterProvider.class);
+    private MangooSpanExporter spanExporter;
+
+    @Inject
+    public SpanExporterProvider(Injector injector, Config config) {
+        Class<? extends MangooSpanExporter> spanExporterClass = FileSpanExporter.class;
+        try {
+            spanExporterClass = Class.forName(config.getTracingExporter()).asSubclass(MangooSpanExporter.class);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            LOG.error("Could not find Span Exporter class: " + config.getTracingExporter() + ", using " + FileSpanExporter.class.getName(), e);
+        }
+
+        this.spanExporter = injector.getInstance(spanExporterClass);
+        if (config.isTracingEnabled()) {
+            LOG.info("Using {} as implementation for Span Exporter", spanExporterClass);
+        }
+    }
+
+    @Override
+    public MangooSpanExporter get() {
+        return this.spanExporter;
+    }
+}
@@ -11,15 +11,20 @@ import java.util.Objects;
 import org.apache.commons.lang3.StringUtils;
 
 import io.mangoo.crypto.Crypto;
+import io.mangoo.enums.RequestStage;
 import io.mangoo.enums.Required;
 import io.mangoo.i18n.Messages;
 import io.mangoo.interfaces.MangooTemplateEngine;
+import io.mangoo.models.ActiveRequest;
+import io.mangoo.models.RouteMetrics;
+import io.mangoo.models.StageTimer;
 import io.mangoo.models.Subject;
 import io.mangoo.routing.bindings.Authentication;
 import io.mangoo.routing.bindings.Flash;
 import io.mangoo.routing.bindings.Form;
 import io.mangoo.routing.bindings.Request;
 import io.mangoo.routing.bindings.Session;
+import io.mangoo.tracing.Span;
 
 /**
  *
@@ -27,6 +32,8 @@ import io.mangoo.routing.bindings.Session;
  *
  */
 public class Attachment {
+    private ActiveRequest activeRequest;
+    private boolean async;
     private Authentication authentication;
     private String body;
     private List<Annotation> classAnnotations;
@@ -49,10 +56,14 @@ public class Attachment {
     private boolean requestFilter;
     private Map<String, String> requestParameter;
     private Response response;
+    private RouteMetrics routeMetrics;
     private Session session;
+    private Span span;
+    private StageTimer stageTimer;
     private final long start = System.currentTimeMillis();
     private Subject subject;
     private MangooTemplateEngine templateEngine;
+    private final long threadId = Thread.currentThread().getId();
     private boolean timer;
 
     private String username;
@@ -61,6 +72,10 @@ public class Attachment {
         return new Attachment();
     }
     
+    public ActiveRequest getActiveRequest() {
+        return this.activeRequest;
+    }
+
     public Authentication getAuthentication() {
         return this.authentication;
     }
@@ -149,6 +164,28 @@ public class Attachment {
         return this.response;
     }
 
+    public StageTimer getStageTimer() {
+        return this.stageTimer;
+    }
+
+    /**
+     * @return The span of the request or null if the request is not traced
+     */
+    public Span getSpan() {
+        return this.span;
+    }
+
+    public RouteMetrics getRouteMetrics() {
+        return this.routeMetrics;
+    }
+
+    /**
+     * @return The id of the thread which dispatched the request
+     */
+    public long getThreadId() {
+        return this.threadId;
+    }
+
     public long getResponseTime() {
         return System.currentTimeMillis() - this.start;
     }
@@ -185,6 +222,10 @@ public class Attachment {
         return this.timer;
     }
 
+    public boolean isAsync() {
+        return this.async;
+    }
+
     public void setAuthentication(Authentication authentication) {
         this.authentication = authentication;
     }
@@ -222,6 +263,11 @@ public class Attachment {
         return this;
     }
 
+    public Attachment withAsync(boolean async) {
+        this.async = async;
+        return this;
+    }
+
     public Attachment withControllerClass(Class<?> controllerClass) {
         this.controllerClass = Objects.requireNonNull(controllerClass, Required.CONTROLLER_CLASS.toString());
         return this;
@@ -297,6 +343,37 @@ public class Attachment {
         return this;
     }
     
+    public Attachment withStageTimer(StageTimer stageTimer) {
+        this.stageTimer = stageTimer;
+        return this;
+    }
+
+    /**
+     * Ends a stage of the handler chain if the request is sampled for stage timing
+     *
+     * @param stage The stage that ended
+     */
+    public void stopStage(RequestStage stage) {
+        if (this.stageTimer != null) {
+            this.stageTimer.stop(stage);
+        }
+    }
+    
+    public Attachment withActiveRequest(ActiveRequest activeRequest) {
+        this.activeRequest = activeRequest;
+        return this;
+    }
+    
+    public Attachment withSpan(Span span) {
+        this.span = span;
+        return this;
+    }
+    
+    public Attachment withRouteMetrics(RouteMetrics routeMetrics) {
+        this.routeMetrics = routeMetrics;
+        return this;
+    }
+    
     public Attachment withTemplateEngine(MangooTemplateEngine templateEngine) {
         this.templateEngine = Objects.requireNonNull(templateEngine, Required.TEMPLATE_ENGINE.toString());
         return this;
@@ -8,6 +8,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -15,14 +18,26 @@ import org.apache.logging.log4j.Logger;
 import com.google.inject.Inject;
 
 import io.mangoo.annotations.FilterWith;
+import io.mangoo.configuration.Config;
 import io.mangoo.core.Application;
 import io.mangoo.crypto.Crypto;
+import io.mangoo.enums.Header;
 import io.mangoo.enums.Required;
 import io.mangoo.helpers.RequestHelper;
 import io.mangoo.i18n.Messages;
 import io.mangoo.interfaces.MangooRequestFilter;
 import io.mangoo.interfaces.MangooTemplateEngine;
+import io.mangoo.models.ActiveRequest;
+import io.mangoo.models.Metrics;
+import io.mangoo.models.RouteMetrics;
+import io.mangoo.models.StageTimer;
 import io.mangoo.routing.Attachment;
+import io.mangoo.services.ConcurrentService;
+import io.mangoo.services.SlowRequestService;
+import io.mangoo.tracing.Span;
+import io.mangoo.tracing.Tracer;
+import io.mangoo.utils.FlightRecorderUtils;
+import io.undertow.server.ExchangeCompletionListener;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 
@@ -53,12 +68,19 @@ public class DispatcherHandler implements HttpHandler {
     private Class<?> controllerClass;
     private String controllerClassName;
     private String controllerMethodName;
+    private String route;
     private boolean hasRequestFilter;
     private MangooTemplateEngine templateEngine = Application.getInstance(MangooTemplateEngine.class);
+    private Executor executor;
+    private RouteMetrics routeMetrics;
+    private SlowRequestService slowRequestService;
+    private Tracer tracer;
     private String username;
     private String password;    
     private int limit;
+    private int stageSample;
     private int methodParametersCount;
+    private boolean async;
     private boolean blocking;
     private boolean timer;
     private final RequestHelper requestHelper;
@@ -74,9 +96,13 @@ public class DispatcherHandler implements HttpHandler {
 
         this.messages = Application.getInstance(Messages.class);
         this.crypto = Application.getInstance(Crypto.class);
+        this.executor = Application.getInstance(ConcurrentService.class).getRequestExecutor();
+        Tracer instance = Application.getInstance(Tracer.class);
+        this.tracer = instance.isEnabled() ? instance : null;
         this.controllerClass = controllerClass;
         this.controllerMethodName = controllerMethodName;
         this.controllerClassName = controllerClass.getSimpleName();
+        this.route = this.controllerClassName + ":" + this.controllerMethodName;
         this.methodParameters = getMethodParameters();
         this.methodParametersCount = this.methodParameters.size();
         this.hasRequestFilter = Application.getInjector().getAllBindings().containsKey(com.google.inject.Key.get(MangooRequestFilter.class));
@@ -85,6 +111,7 @@ public class DispatcherHandler implements HttpHandler {
             this.method = Application.getInstance(this.controllerClass)
                     .getClass()
                     .getMethod(this.controllerMethodName, this.methodParameters.values().toArray(new Class[0]));
+            this.async = CompletionStage.class.isAssignableFrom(this.method.getReturnType());
             
             for (Annotation annotation : this.method.getAnnotations()) {
                 if (annotation.annotationType().equals(FilterWith.class)) {
@@ -114,6 +141,24 @@ public class DispatcherHandler implements HttpHandler {
         return this;
     }
     
+    /**
+     * Enables recording of request metrics for the route
+     *
+     * @param metrics True if the route is recorded, false otherwise
+     * @return The DispatcherHandler
+     */
+    public DispatcherHandler withMetrics(boolean metrics) {
+        this.routeMetrics = metrics ? Application.getInstance(Metrics.class).getRouteMetrics(this.route) : null;
+        
+        Config config = Application.getInstance(Config.class);
+        this.stageSample = (metrics && config.isMetricsStagesEnabled()) ? Math.max(1, config.getMetricsStagesSample()) : 0;
+        
+        SlowRequestService service = Application.getInstance(SlowRequestService.class);
+        this.slowRequestService = (metrics && service.isEnabled()) ? service : null;
+        
+        return this;
+    }
+    
     public DispatcherHandler withUsername(String username) {
         this.username = username;
         return this;
@@ -132,10 +177,28 @@ public class DispatcherHandler implements HttpHandler {
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
         if ( (this.requestHelper.isPostPutPatch(exchange) || this.blocking) && exchange.isInIoThread()) {
-            exchange.dispatch(this);
+            if (this.executor == null) {
+                exchange.dispatch(this);
+            } else {
+                exchange.dispatch(this.executor, this);
+            }
             return;
         }
 
+        final Object requestEvent = FlightRecorderUtils.beginRequest();
+        if (requestEvent != null) {
+            exchange.addExchangeCompleteListener((HttpServerExchange completedExchange, ExchangeCompletionListener.NextListener nextListener) -> {
+                FlightRecorderUtils.endRequest(requestEvent,
+                        this.route,
+                        completedExchange.getRequestMethod().toString(),
+                        completedExchange.getRequestURI(),
+                        completedExchange.getStatusCode(),
+                        completedExchange.getResponseBytesSent());
+                nextListener.proceed();
+            });
+        }
+
+        final Span span = startSpan(exchange);
         final Attachment attachment = Attachment.build()
             .withControllerInstance(Application.getInstance(this.controllerClass))
             .withControllerClass(this.controllerClass)
@@ -145,9 +208,14 @@ public class DispatcherHandler implements HttpHandler {
             .withMethodAnnotations(this.methodAnnotations)
             .withMethodParameters(this.methodParameters)
             .withMethod(this.method)
+            .withAsync(this.async)
             .withMethodParameterCount(this.methodParametersCount)
             .withRequestFilter(this.hasRequestFilter)
             .withRequestParameter(this.requestHelper.getRequestParameters(exchange))
+            .withRouteMetrics(this.routeMetrics)
+            .withStageTimer(getStageTimer())
+            .withActiveRequest(getActiveRequest(exchange))
+            .withSpan(span)
             .withMessages(this.messages)
             .withTimer(this.timer)
             .withLimit(this.limit)
@@ -157,7 +225,72 @@ public class DispatcherHandler implements HttpHandler {
             .withCrypto(this.crypto);
 
         exchange.putAttachment(RequestHelper.ATTACHMENT_KEY, attachment);
-        nextHandler(exchange);
+        if (span == null) {
+            nextHandler(exchange);
+        } else {
+            final Span previous = Tracer.activate(span);
+            try {
+                nextHandler(exchange);
+            } finally {
+                Tracer.activate(previous);
+            }
+        }
+    }
+
+    /**
+     * Starts the span of the request from its traceparent header, which ends when the exchange completes
+     *
+     * @param exchange The HttpServerExchange
+     * @return The span or null if tracing is disabled
+     */
+    private Span startSpan(HttpServerExchange exchange) {
+        if (this.tracer == null) {
+            return null;
+        }
+
+        final Span span = this.tracer.startTrace(this.route, exchange.getRequestHeaders().getFirst(Header.TRACEPARENT.toHttpString()));
+        if (span != null) {
+            span.withAttribute("http.method", exchange.getRequestMethod().toString())
+                .withAttribute("http.target", exchange.getRequestPath());
+            exchange.addExchangeCompleteListener((HttpServerExchange completedExchange, ExchangeCompletionListener.NextListener nextListener) -> {
+                span.withAttribute("http.status_code", completedExchange.getStatusCode());
+                if (completedExchange.getStatusCode() >= 500) {
+                    span.withError(null);
+                }
+                span.end();
+                nextListener.proceed();
+            });
+        }
+
+        return span;
+    }
+
+    /**
+     * @return True if the stages of the current request are sampled, false otherwise
+     */
+    private boolean isSampled() {
+        return this.stageSample == 1 || (this.stageSample > 1 && ThreadLocalRandom.current().nextInt(this.stageSample) == 0);
+    }
+
+    /**
+     * @return A stage timer if the current request is sampled or slow requests are logged, null otherwise
+     */
+    private StageTimer getStageTimer() {
+        boolean sampled = isSampled();
+        return (sampled || this.slowRequestService != null) ? new StageTimer(sampled) : null;
+    }
+
+    /**
+     * @param exchange The HttpServerExchange
+     * @return The tracked request if slow requests are logged, null otherwise
+     */
+    private ActiveRequest getActiveRequest(HttpServerExchange exchange) {
+        if (this.slowRequestService == null) {
+            return null;
+        }
+
+        long start = exchange.getRequestStartTime();
+        return this.slowRequestService.begin(this.route, (start == -1) ? System.nanoTime() : start);
     }
 
     /**
@@ -18,6 +18,7 @@ import io.jsonwebtoken.Jwts;
 import io.mangoo.configuration.Config;
 import io.mangoo.core.Application;
 import io.mangoo.enums.ClaimKey;
+import io.mangoo.enums.RequestStage;
 import io.mangoo.enums.Required;
 import io.mangoo.helpers.RequestHelper;
 import io.mangoo.helpers.cookie.CookieParser;
@@ -28,6 +29,7 @@ import io.mangoo.routing.bindings.Flash;
 import io.mangoo.routing.bindings.Form;
 import io.mangoo.routing.bindings.Session;
 import io.mangoo.utils.CodecUtils;
+import io.mangoo.utils.FlightRecorderUtils;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.Cookie;
@@ -50,12 +52,15 @@ public class InboundCookiesHandler implements HttpHandler {
     
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
+        final Object cookiesEvent = FlightRecorderUtils.beginCookies();
         Attachment attachment = exchange.getAttachment(RequestHelper.ATTACHMENT_KEY);
         attachment.setSession(getSessionCookie(exchange));
         attachment.setAuthentication(getAuthenticationCookie(exchange));
         attachment.setSubject(this.subject);
         attachment.setFlash(getFlashCookie(exchange));
         attachment.setForm(this.form);
+        FlightRecorderUtils.endCookies(cookiesEvent, "decode");
+        attachment.stopStage(RequestStage.INBOUND_COOKIES);
 
         exchange.putAttachment(RequestHelper.ATTACHMENT_KEY, attachment);
         nextHandler(exchange);
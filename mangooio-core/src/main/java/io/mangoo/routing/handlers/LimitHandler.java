@@ -12,6 +12,7 @@ import io.mangoo.cache.Cache;
 import io.mangoo.core.Application;
 import io.mangoo.enums.CacheName;
 import io.mangoo.enums.Header;
+import io.mangoo.enums.RequestStage;
 import io.mangoo.enums.Required;
 import io.mangoo.helpers.RequestHelper;
 import io.mangoo.providers.CacheProvider;
@@ -112,6 +113,7 @@ public class LimitHandler implements HttpHandler {
      */
     @SuppressWarnings("all")
     protected void nextHandler(HttpServerExchange exchange) throws Exception {
+        this.attachment.stopStage(RequestStage.LIMIT);
         if (this.attachment.hasAuthentication()) {
             HttpHandler httpHandler = this.requestHelper.wrapSecurity(
                     Application.getInstance(LocaleHandler.class),
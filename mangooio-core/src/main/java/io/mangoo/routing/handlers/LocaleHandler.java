@@ -10,6 +10,7 @@ import com.google.inject.Inject;
 import io.mangoo.configuration.Config;
 import io.mangoo.core.Application;
 import io.mangoo.enums.Header;
+import io.mangoo.enums.RequestStage;
 import io.mangoo.enums.Required;
 import io.mangoo.helpers.RequestHelper;
 import io.mangoo.routing.Attachment;
@@ -53,6 +54,7 @@ public class LocaleHandler implements HttpHandler {
 
         attachment.getMessages().reload(locale);
         attachment.withLocale(locale);
+        attachment.stopStage(RequestStage.LOCALE);
         
         exchange.putAttachment(RequestHelper.ATTACHMENT_KEY, attachment);
         nextHandler(exchange);
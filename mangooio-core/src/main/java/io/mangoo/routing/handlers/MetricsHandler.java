@@ -1,5 +1,6 @@
 package io.mangoo.routing.handlers;
 
+import io.mangoo.core.Application;
 import io.mangoo.routing.listeners.MetricsListener;
 import io.undertow.server.HandlerWrapper;
 import io.undertow.server.HttpHandler;
@@ -12,6 +13,7 @@ import io.undertow.server.HttpServerExchange;
  */
 public class MetricsHandler implements HttpHandler {
     public static final HandlerWrapper HANDLER_WRAPPER = MetricsHandler::new;
+    private final MetricsListener metricsListener = Application.getInstance(MetricsListener.class);
     private final HttpHandler nextHandler;
 
     public MetricsHandler(HttpHandler next) {
@@ -21,8 +23,8 @@ public class MetricsHandler implements HttpHandler {
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
         if (!exchange.isComplete()) {
-            exchange.addExchangeCompleteListener(new MetricsListener(System.currentTimeMillis()));
+            exchange.addExchangeCompleteListener(this.metricsListener);
         }
         this.nextHandler.handleRequest(exchange);
     }
-}
\ No newline at end of file
+}
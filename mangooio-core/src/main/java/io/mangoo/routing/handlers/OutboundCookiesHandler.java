@@ -12,6 +12,7 @@ import io.jsonwebtoken.SignatureAlgorithm;
 import io.mangoo.configuration.Config;
 import io.mangoo.core.Application;
 import io.mangoo.enums.ClaimKey;
+import io.mangoo.enums.RequestStage;
 import io.mangoo.enums.Required;
 import io.mangoo.helpers.RequestHelper;
 import io.mangoo.helpers.cookie.CookieBuilder;
@@ -22,6 +23,7 @@ import io.mangoo.routing.bindings.Form;
 import io.mangoo.routing.bindings.Session;
 import io.mangoo.utils.CodecUtils;
 import io.mangoo.utils.DateUtils;
+import io.mangoo.utils.FlightRecorderUtils;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.server.handlers.Cookie;
@@ -42,11 +44,14 @@ public class OutboundCookiesHandler implements HttpHandler {
     
     @Override
     public void handleRequest(HttpServerExchange exchange) throws Exception {
+        final Object cookiesEvent = FlightRecorderUtils.beginCookies();
         this.attachment = exchange.getAttachment(RequestHelper.ATTACHMENT_KEY);
 
         setSessionCookie(exchange);
         setFlashCookie(exchange);
         setAuthenticationCookie(exchange);
+        FlightRecorderUtils.endCookies(cookiesEvent, "encode");
+        this.attachment.stopStage(RequestStage.OUTBOUND_COOKIES);
 
         nextHandler(exchange);
     }
@@ -10,6 +10,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -21,16 +23,24 @@ import io.mangoo.annotations.FilterWith;
 import io.mangoo.core.Application;
 import io.mangoo.enums.Binding;
 import io.mangoo.enums.Default;
+import io.mangoo.enums.RequestStage;
 import io.mangoo.enums.Required;
 import io.mangoo.exceptions.MangooTemplateEngineException;
 import io.mangoo.helpers.RequestHelper;
 import io.mangoo.interfaces.MangooRequestFilter;
+import io.mangoo.models.ActiveRequest;
 import io.mangoo.routing.Attachment;
 import io.mangoo.routing.Response;
 import io.mangoo.routing.bindings.Request;
+import io.mangoo.tracing.Span;
+import io.mangoo.tracing.Tracer;
+import io.mangoo.utils.FlightRecorderUtils;
 import io.mangoo.utils.JsonUtils;
+import io.undertow.Handlers;
+import io.undertow.server.Connectors;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.util.SameThreadExecutor;
 
 /**
  * Main class that handles all controller requests
@@ -52,8 +62,29 @@ public class RequestHandler implements HttpHandler {
         this.attachment = exchange.getAttachment(RequestHelper.ATTACHMENT_KEY);
         this.attachment.setBody(getRequestBody(exchange));
         this.attachment.setRequest(getRequest(exchange));
+        this.attachment.stopStage(RequestStage.FORM);
 
-        final Response response = getResponse(exchange);
+        if (this.attachment.isAsync()) {
+            final Response response = executeFilters();
+            this.attachment.stopStage(RequestStage.FILTERS);
+            if (response.isEndResponse()) {
+                complete(exchange, response);
+            } else {
+                invokeAsyncController(exchange, response);
+            }
+        } else {
+            complete(exchange, getResponse(exchange));
+        }
+    }
+
+    /**
+     * Sets the response and its cookies and passes the exchange to the next handler
+     *
+     * @param exchange The Undertow HttpServerExchange
+     * @param response The final response
+     * @throws Exception Thrown when an exception occurs
+     */
+    protected void complete(HttpServerExchange exchange, Response response) throws Exception {
         response.getCookies().forEach(exchange::setResponseCookie);
 
         this.attachment.setResponse(response);
@@ -95,30 +126,51 @@ public class RequestHandler implements HttpHandler {
      * @throws MangooTemplateEngineException 
      */
     protected Response getResponse(HttpServerExchange exchange) throws NoSuchMethodException, IllegalAccessException, InvocationTargetException, MangooTemplateEngineException {
-        //execute global request filter
-        Response response = Response.withOk();
-        if (this.attachment.hasRequestFilter()) {
-            final MangooRequestFilter mangooRequestFilter = Application.getInstance(MangooRequestFilter.class);
-            response = mangooRequestFilter.execute(this.attachment.getRequest(), response);
-        }
-
+        final Response response = executeFilters();
+        this.attachment.stopStage(RequestStage.FILTERS);
         if (response.isEndResponse()) {
             return response;
         }
 
-        //execute controller filters
-        response = executeFilter(this.attachment.getClassAnnotations(), response);
-        if (response.isEndResponse()) {
-            return response;
-        }
+        return invokeController(exchange, response);
+    }
 
-        //execute method filters
-        response = executeFilter(this.attachment.getMethodAnnotations(), response);
-        if (response.isEndResponse()) {
-            return response;
-        }
+    /**
+     * Executes the request filter, the controller filters and the method filters
+     *
+     * @return A Response object that will be merged to the final response
+     *
+     * @throws NoSuchMethodException
+     * @throws IllegalAccessException
+     * @throws InvocationTargetException
+     */
+    protected Response executeFilters() throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+        final Span span = Tracer.startSpan("filters");
+        try {
+            //execute global request filter
+            Response response = Response.withOk();
+            if (this.attachment.hasRequestFilter()) {
+                final MangooRequestFilter mangooRequestFilter = Application.getInstance(MangooRequestFilter.class);
+                response = mangooRequestFilter.execute(this.attachment.getRequest(), response);
+            }
 
-        return invokeController(exchange, response);
+            if (response.isEndResponse()) {
+                return response;
+            }
+
+            //execute controller filters
+            response = executeFilter(this.attachment.getClassAnnotations(), response);
+            if (response.isEndResponse()) {
+                return response;
+            }
+
+            //execute method filters
+            return executeFilter(this.attachment.getMethodAnnotations(), response);
+        } finally {
+            if (span != null) {
+                span.end();
+            }
+        }
     }
 
     /**
@@ -135,29 +187,171 @@ public class RequestHandler implements HttpHandler {
      * @throws MangooTemplateEngineException 
      */
     protected Response invokeController(HttpServerExchange exchange, Response response) throws IllegalAccessException, InvocationTargetException, MangooTemplateEngineException {
-        Response invokedResponse;
+        final Span span = Tracer.startSpan("controller");
+        final Response invokedResponse;
+        try {
+            invokedResponse = (Response) invoke(exchange, span);
+        } finally {
+            if (span != null) {
+                span.end();
+            }
+        }
+        this.attachment.stopStage(RequestStage.CONTROLLER);
+        
+        return render(invokedResponse, response);
+    }
 
-        if (this.attachment.getMethodParameters().isEmpty()) {
-            invokedResponse = (Response) this.attachment.getMethod().invoke(this.attachment.getControllerInstance());
-        } else {
-            final Object [] convertedParameters = getConvertedParameters(exchange);
-            invokedResponse = (Response) this.attachment.getMethod().invoke(this.attachment.getControllerInstance(), convertedParameters);
+    /**
+     * Invokes a controller method returning a CompletionStage and resumes the request
+     * once the stage completes, without holding a worker thread in the meantime
+     *
+     * @param exchange The Undertow HttpServerExchange
+     * @param response The response of the filters
+     *
+     * @throws IllegalAccessException
+     * @throws InvocationTargetException
+     */
+    @SuppressWarnings("unchecked")
+    protected void invokeAsyncController(HttpServerExchange exchange, Response response) throws IllegalAccessException, InvocationTargetException {
+        final Span span = Tracer.startSpan("controller");
+        final CompletionStage<Response> stage;
+        boolean pending = false;
+        try {
+            stage = (CompletionStage<Response>) invoke(exchange, span);
+            if (stage == null) {
+                throw new IllegalStateException("Controller method " + this.attachment.getControllerAndMethod() + " returned null instead of a CompletionStage");
+            }
+            pending = true;
+        } finally {
+            if (span != null && !pending) {
+                span.end();
+            }
+        }
+
+        final ActiveRequest activeRequest = this.attachment.getActiveRequest();
+        if (activeRequest != null) {
+            activeRequest.detach();
+        }
+
+        exchange.dispatch(SameThreadExecutor.INSTANCE, () -> stage.whenComplete((Response invokedResponse, Throwable throwable) -> {
+            if (span != null) {
+                if (throwable != null) {
+                    span.withError((throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable);
+                }
+                span.end();
+            }
+            exchange.dispatch(exchange.getConnection().getWorker(), () -> Connectors.executeRootHandler(
+                    Handlers.exceptionHandler((HttpServerExchange completedExchange) -> resume(completedExchange, response, invokedResponse, throwable))
+                        .addExceptionHandler(Throwable.class, Application.getInstance(ExceptionHandler.class)), exchange));
+        }));
+    }
+
+    /**
+     * Continues the handler chain with the result of a completed CompletionStage
+     *
+     * @param exchange The Undertow HttpServerExchange
+     * @param response The response of the filters
+     * @param invokedResponse The response the stage completed with
+     * @param throwable The exception the stage completed with
+     *
+     * @throws Exception Thrown when the stage completed exceptionally or an exception occurs
+     */
+    protected void resume(HttpServerExchange exchange, Response response, Response invokedResponse, Throwable throwable) throws Exception {
+        this.attachment.stopStage(RequestStage.CONTROLLER);
+        final ActiveRequest activeRequest = this.attachment.getActiveRequest();
+        if (activeRequest != null) {
+            activeRequest.attach();
+        }
+
+        final Span span = this.attachment.getSpan();
+        final Span previous = (span == null) ? null : Tracer.activate(span);
+        try {
+            if (throwable != null) {
+                final Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null) ? throwable.getCause() : throwable;
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new CompletionException(cause);
+            }
+
+            if (invokedResponse == null) {
+                throw new IllegalStateException("Controller method " + this.attachment.getControllerAndMethod() + " completed without a response");
+            }
+
+            complete(exchange, render(invokedResponse, response));
+        } finally {
+            if (span != null) {
+                Tracer.activate(previous);
+            }
         }
+    }
+
+    /**
+     * Invokes the controller method with the converted request parameters
+     *
+     * @param exchange The Undertow HttpServerExchange
+     * @param span The controller span, which is ended by the caller, or null if the request is not traced
+     * @return The object returned by the controller method
+     *
+     * @throws IllegalAccessException
+     * @throws InvocationTargetException
+     */
+    protected Object invoke(HttpServerExchange exchange, Span span) throws IllegalAccessException, InvocationTargetException {
+        final Object controllerEvent = FlightRecorderUtils.beginController();
+        try {
+            if (this.attachment.getMethodParameters().isEmpty()) {
+                return this.attachment.getMethod().invoke(this.attachment.getControllerInstance());
+            }
 
+            return this.attachment.getMethod().invoke(this.attachment.getControllerInstance(), getConvertedParameters(exchange));
+        } catch (InvocationTargetException e) {
+            if (span != null) {
+                span.withError(e.getCause());
+            }
+            throw e;
+        } finally {
+            if (controllerEvent != null) {
+                FlightRecorderUtils.endController(controllerEvent, this.attachment.getControllerAndMethod());
+            }
+        }
+    }
+
+    /**
+     * Merges the response of the filters into the response of the controller method
+     * and renders the template if the response has no body yet
+     *
+     * @param invokedResponse The response of the controller method
+     * @param response The response of the filters
+     * @return The final response
+     *
+     * @throws MangooTemplateEngineException
+     */
+    protected Response render(Response invokedResponse, Response response) throws MangooTemplateEngineException {
         invokedResponse.andContent(response.getContent());
         invokedResponse.andHeaders(response.getHeaders());
         if (!invokedResponse.isRendered()) {
-            invokedResponse.andBody(this.attachment.getTemplateEngine().render(
-                    this.attachment.getFlash(),
-                    this.attachment.getSession(),
-                    this.attachment.getForm(),
-                    this.attachment.getMessages(),
-                    this.attachment.getSubject(),
-                    getTemplatePath(invokedResponse),
-                    invokedResponse.getContent(),
-                    this.attachment.getControllerAndMethod(),
-                    this.attachment.getLocale()));
+            final String templatePath = getTemplatePath(invokedResponse);
+            final Span span = Tracer.startSpan("render");
+            try {
+                invokedResponse.andBody(this.attachment.getTemplateEngine().render(
+                        this.attachment.getFlash(),
+                        this.attachment.getSession(),
+                        this.attachment.getForm(),
+                        this.attachment.getMessages(),
+                        this.attachment.getSubject(),
+                        templatePath,
+                        invokedResponse.getContent(),
+                        this.attachment.getControllerAndMethod(),
+                        this.attachment.getLocale()));
+            } finally {
+                if (span != null) {
+                    span.withAttribute("template", templatePath).end();
+                }
+            }
         }
+        this.attachment.stopStage(RequestStage.RENDER);
 
         return invokedResponse;
     }
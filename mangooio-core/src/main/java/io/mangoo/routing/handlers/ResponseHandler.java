@@ -11,6 +11,7 @@ import com.google.inject.Inject;
 import io.mangoo.configuration.Config;
 import io.mangoo.core.Application;
 import io.mangoo.enums.Header;
+import io.mangoo.enums.RequestStage;
 import io.mangoo.enums.Required;
 import io.mangoo.helpers.RequestHelper;
 import io.mangoo.routing.Attachment;
@@ -112,12 +113,22 @@ public class ResponseHandler implements HttpHandler {
         exchange.getResponseHeaders().put(Header.CONTENT_TYPE.toHttpString(), response.getContentType() + "; charset=" + response.getCharset());
         exchange.getResponseHeaders().put(Header.SERVER.toHttpString(), this.config.getServerHeader());
         exchange.getResponseHeaders().put(Header.CONTENT_SECURITY_POLICY.toHttpString(), this.config.getContentSecurityPolicyHeader());
-        response.getHeaders().forEach((key, value) -> exchange.getResponseHeaders().add(key, value)); //NOSONAR
+        response.getHeaders().forEach((key, value) -> {
+            if (!Header.CONTENT_TYPE.toHttpString().equals(key)) {
+                exchange.getResponseHeaders().add(key, value);
+            }
+        }); //NOSONAR
 
         if (this.attachment.hasTimer()) {
             exchange.getResponseHeaders().put(Header.X_RESPONSE_TIME.toHttpString(), this.attachment.getResponseTime() + " ms");
         }
+        
+        final String body = getResponseBody(exchange, response);
+        if (this.attachment.getStageTimer() != null && this.attachment.getStageTimer().isSampled() && this.config.isMetricsStagesServerTiming()) {
+            exchange.getResponseHeaders().put(Header.SERVER_TIMING.toHttpString(), this.attachment.getStageTimer().toServerTiming());
+        }
 
-        exchange.getResponseSender().send(getResponseBody(exchange, response));
+        exchange.getResponseSender().send(body);
+        this.attachment.stopStage(RequestStage.SEND);
     }
 }
\ No newline at end of file
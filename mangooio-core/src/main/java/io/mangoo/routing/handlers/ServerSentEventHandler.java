@@ -9,6 +9,7 @@ import io.mangoo.enums.Header;
 import io.mangoo.enums.Required;
 import io.mangoo.helpers.RequestHelper;
 import io.mangoo.routing.listeners.ServerSentEventCloseListener;
+import io.mangoo.services.HeartbeatService;
 import io.mangoo.services.ServerSentEventService;
 import io.mangoo.utils.IOUtils;
 import io.undertow.server.handlers.sse.ServerSentEventConnection;
@@ -44,14 +45,19 @@ public class ServerSentEventHandler implements ServerSentEventConnectionCallback
             }
 
             if (this.requestHelper.hasValidAuthentication(header)) {
-                Application.getInstance(ServerSentEventService.class).addConnection(connection);
-                connection.addCloseTask(Application.getInstance(ServerSentEventCloseListener.class));
+                register(connection, lastEventId);
             } else {
                 IOUtils.closeQuietly(connection);
             }
         } else {
-            Application.getInstance(ServerSentEventService.class).addConnection(connection);
-            connection.addCloseTask(Application.getInstance(ServerSentEventCloseListener.class));
+            register(connection, lastEventId);
         }
     }
+
+    private static void register(ServerSentEventConnection connection, String lastEventId) {
+        final ServerSentEventService serverSentEventService = Application.getInstance(ServerSentEventService.class);
+        serverSentEventService.addConnection(connection, lastEventId);
+        connection.addCloseTask(Application.getInstance(ServerSentEventCloseListener.class));
+        Application.getInstance(HeartbeatService.class).register(connection);
+    }
 }
\ No newline at end of file
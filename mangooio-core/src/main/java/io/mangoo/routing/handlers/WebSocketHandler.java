@@ -11,6 +11,7 @@ import io.mangoo.enums.Header;
 import io.mangoo.enums.Required;
 import io.mangoo.helpers.RequestHelper;
 import io.mangoo.routing.listeners.WebSocketCloseListener;
+import io.mangoo.services.HeartbeatService;
 import io.mangoo.services.WebSocketService;
 import io.mangoo.utils.IOUtils;
 import io.undertow.websockets.WebSocketConnectionCallback;
@@ -54,18 +55,26 @@ public class WebSocketHandler implements WebSocketConnectionCallback {
             }
 
             if (this.requestHelper.hasValidAuthentication(header)) {
-                channel.getReceiveSetter().set((ChannelListener<? super WebSocketChannel>) Application.getInstance(this.controllerClass));
-                channel.resumeReceives();
-                channel.addCloseTask(Application.getInstance(WebSocketCloseListener.class));
-                Application.getInstance(WebSocketService.class).addChannel(channel);
+                register(channel);
             } else {
                 IOUtils.closeQuietly(channel);
             }
         } else {
-            channel.getReceiveSetter().set((ChannelListener<? super WebSocketChannel>) Application.getInstance(this.controllerClass));
-            channel.resumeReceives();
-            channel.addCloseTask(Application.getInstance(WebSocketCloseListener.class));
-            Application.getInstance(WebSocketService.class).addChannel(channel);
+            register(channel);
         }
     }
+
+    private void register(WebSocketChannel channel) {
+        final HeartbeatService heartbeatService = Application.getInstance(HeartbeatService.class);
+        final ChannelListener<? super WebSocketChannel> controller = (ChannelListener<? super WebSocketChannel>) Application.getInstance(this.controllerClass);
+
+        channel.getReceiveSetter().set((WebSocketChannel webSocketChannel) -> {
+            heartbeatService.touch(webSocketChannel);
+            controller.handleEvent(webSocketChannel);
+        });
+        channel.resumeReceives();
+        channel.addCloseTask(Application.getInstance(WebSocketCloseListener.class));
+        Application.getInstance(WebSocketService.class).addChannel(channel);
+        heartbeatService.register(channel);
+    }
 }
\ No newline at end of file
@@ -1,48 +1,97 @@
 package io.mangoo.routing.listeners;
 
-import java.util.Locale;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
-import io.mangoo.core.Application;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import io.mangoo.enums.Required;
+import io.mangoo.helpers.RequestHelper;
+import io.mangoo.models.ActiveRequest;
 import io.mangoo.models.Metrics;
+import io.mangoo.models.RequestLog;
+import io.mangoo.models.RouteMetrics;
+import io.mangoo.models.StageTimer;
+import io.mangoo.routing.Attachment;
+import io.mangoo.services.SlowRequestService;
 import io.undertow.server.ExchangeCompletionListener;
 import io.undertow.server.HttpServerExchange;
 
 /**
- * 
+ * Records the metrics of a completed request
+ *
+ * The listener is stateless and shared by all requests. The request start is taken
+ * from the exchange, which requires UndertowOptions.RECORD_REQUEST_START_TIME. Requests
+ * dispatched to a controller without route metrics, i.e. the administrative area, are
+ * not recorded.
+ *
  * @author svenkubiak
  *
  */
+@Singleton
 public class MetricsListener implements ExchangeCompletionListener {
-    private long start;
+    private final Metrics metrics;
+    private final RequestLog requestLog;
+    private final SlowRequestService slowRequestService;
     
-    public MetricsListener() {
-      //Empty constructor required for Google Guice
-    }
-
-    public MetricsListener(long start) {
-        this.start = start;
+    @Inject
+    public MetricsListener(Metrics metrics, RequestLog requestLog, SlowRequestService slowRequestService) {
+        this.metrics = Objects.requireNonNull(metrics, Required.METRICS.toString());
+        this.requestLog = Objects.requireNonNull(requestLog, Required.REQUEST_LOG.toString());
+        this.slowRequestService = Objects.requireNonNull(slowRequestService, Required.SLOW_REQUEST_SERVICE.toString());
     }
 
     @Override
     public void exchangeEvent(HttpServerExchange exchange, NextListener nextListener) {
-        String uri = Optional.ofNullable(exchange.getRequestURI())
-                .orElse("")
-                .toLowerCase(Locale.ENGLISH);
+        Attachment attachment = exchange.getAttachment(RequestHelper.ATTACHMENT_KEY);
+        RouteMetrics routeMetrics = (attachment == null) ? null : attachment.getRouteMetrics();
         
-        if (!uri.contains("@admin")) {
-            int processTime = (int) (System.currentTimeMillis() - this.start);
+        if (attachment == null || routeMetrics != null) {
+            int statusCode = exchange.getStatusCode();
+            long start = exchange.getRequestStartTime();
+            long processTime = (start == -1) ? -1 : System.nanoTime() - start;
+            if (start != -1) {
+                this.metrics.update((int) TimeUnit.NANOSECONDS.toMillis(processTime));
+                if (routeMetrics != null) {
+                    routeMetrics.record(processTime, statusCode);
+                }
+            }
+            this.metrics.addStatusCode(statusCode);
             
-            Metrics metrics = Application.getInstance(Metrics.class);
-            metrics.update(processTime);
-            metrics.addStatusCode(exchange.getStatusCode());
+            StageTimer stageTimer = (attachment == null) ? null : attachment.getStageTimer();
+            if (routeMetrics != null && stageTimer != null && stageTimer.isSampled()) {
+                routeMetrics.record(stageTimer);
+            }
+            
+            ActiveRequest activeRequest = (attachment == null) ? null : attachment.getActiveRequest();
+            if (activeRequest != null) {
+                this.slowRequestService.complete(activeRequest,
+                        exchange.getRequestMethod().toString(),
+                        exchange.getRequestPath(),
+                        attachment.getRequestParameter(),
+                        statusCode,
+                        System.nanoTime() - activeRequest.getStart(),
+                        stageTimer);
+            }
+            
+            if (this.requestLog.isEnabled()) {
+                this.requestLog.record(System.currentTimeMillis(),
+                        (routeMetrics == null) ? null : routeMetrics.getName(),
+                        exchange.getRequestMethod().toString(),
+                        exchange.getRequestPath(),
+                        statusCode,
+                        processTime,
+                        exchange.getResponseBytesSent(),
+                        (attachment == null) ? Thread.currentThread().getId() : attachment.getThreadId());
+            }
             
-            long contentLengeh = exchange.getResponseContentLength();
-            if (contentLengeh > 0) {
-                metrics.incrementDataSend(contentLengeh);
+            long contentLength = exchange.getResponseContentLength();
+            if (contentLength > 0) {
+                this.metrics.incrementDataSend(contentLength);
             }
         }
         
         nextListener.proceed();
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,6 @@
 package io.mangoo.routing.listeners;
 
 import java.util.Objects;
-import java.util.Set;
 
 import javax.inject.Singleton;
 
@@ -9,12 +8,9 @@ import org.xnio.ChannelListener;
 
 import com.google.inject.Inject;
 
-import io.mangoo.cache.Cache;
-import io.mangoo.enums.CacheName;
-import io.mangoo.enums.Default;
 import io.mangoo.enums.Required;
-import io.mangoo.helpers.RequestHelper;
-import io.mangoo.providers.CacheProvider;
+import io.mangoo.services.HeartbeatService;
+import io.mangoo.services.WebSocketService;
 import io.undertow.websockets.core.WebSocketChannel;
 
 /**
@@ -24,25 +20,18 @@ import io.undertow.websockets.core.WebSocketChannel;
  */
 @Singleton
 public class WebSocketCloseListener implements ChannelListener<WebSocketChannel> {
-    private final Cache cache;
-    private final RequestHelper requestHelper;
+    private final HeartbeatService heartbeatService;
+    private final WebSocketService webSocketService;
     
     @Inject
-    private WebSocketCloseListener(CacheProvider cacheProvider, RequestHelper requestHelper) {
-        Objects.requireNonNull(cacheProvider, Required.CACHE_PROVIDER.toString());
-        Objects.requireNonNull(cacheProvider, Required.REQUEST_HELPER.toString());
-        
-        this.cache = cacheProvider.getCache(CacheName.WSS);
-        this.requestHelper = requestHelper;
+    private WebSocketCloseListener(WebSocketService webSocketService, HeartbeatService heartbeatService) {
+        this.webSocketService = Objects.requireNonNull(webSocketService, Required.WEBSOCKET_SERVICE.toString());
+        this.heartbeatService = Objects.requireNonNull(heartbeatService, Required.HEARTBEAT_SERVICE.toString());
     }
 
     @Override
     public void handleEvent(WebSocketChannel channel) {
-        final String url = this.requestHelper.getWebSocketURL(channel);
-        final Set<WebSocketChannel> channels = this.cache.get(Default.WSS_CACHE_PREFIX.toString() + url);
-        if (channels != null) {
-            channels.remove(channel);
-            this.cache.put(Default.WSS_CACHE_PREFIX.toString() + url, channels);
-        }
+        this.webSocketService.removeChannel(channel);
+        this.heartbeatService.unregister(channel);
     }
-}
\ No newline at end of file
+}
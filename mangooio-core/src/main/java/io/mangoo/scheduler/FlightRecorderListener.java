@@ -0,0 +1,43 @@
+package io.mangoo.scheduler;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+
+import io.mangoo.utils.FlightRecorderUtils;
+
+/**
+ * Emits a flight recorder event for every executed job
+ *
+ * @author svenkubiak
+ *
+ */
+class FlightRecorderListener implements JobListener {
+    private static final String EVENT = FlightRecorderListener.class.getName();
+
+    @Override
+    public String getName() {
+        return "mangooio-flightrecorder";
+    }
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+        Object event = FlightRecorderUtils.beginJob();
+        if (event != null) {
+            context.put(EVENT, event);
+        }
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+        // Vetoed jobs are not recorded
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        Object event = context.get(EVENT);
+        if (event != null) {
+            FlightRecorderUtils.endJob(event, context.getJobDetail().getKey().getName(), jobException != null);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import io.mangoo.core.Application;
 import io.mangoo.enums.Default;
 import io.mangoo.enums.Required;
 import io.mangoo.exceptions.MangooSchedulerException;
+import io.mangoo.utils.FlightRecorderUtils;
 
 /**
  * Convenient class for interacting with the quartz scheduler
@@ -52,6 +53,9 @@ public class Scheduler {
         try {
             this.quartzScheduler = new StdSchedulerFactory().getScheduler();
             this.quartzScheduler.setJobFactory(Application.getInstance(SchedulerFactory.class));
+            if (FlightRecorderUtils.isAvailable()) {
+                this.quartzScheduler.getListenerManager().addJobListener(new FlightRecorderListener());
+            }
         } catch (final SchedulerException e) {
             LOG.error("Failed to initialize scheduler", e);
         }    
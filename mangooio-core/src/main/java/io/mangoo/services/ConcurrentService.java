@@ -1,30 +1,95 @@
 package io.mangoo.services;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import io.mangoo.configuration.Config;
+import io.mangoo.enums.Default;
+import io.mangoo.enums.ExecutorType;
+import io.mangoo.enums.Rejection;
 import io.mangoo.enums.Required;
+import io.mangoo.models.ExecutorStatistics;
+import io.mangoo.tracing.Tracer;
+import io.mangoo.utils.ThreadUtils;
 
 /**
+ * Provides named executors configured as executor.{name}.* in application.yaml
+ *
+ * Every executor is either a fixed thread pool with a bounded queue, a work-stealing
+ * pool or a scheduled pool. The executor named "default" is used when no name is given
+ * and falls back to application.threadpool for its number of threads. When the queue of a
+ * fixed executor is full, the configured rejection policy applies, which by default runs the
+ * task on the submitting thread. A submitted task dropped by the discard policies is cancelled,
+ * so that waiting for its Future fails instead of blocking forever. All tasks are measured for queue wait and execution time,
+ * and tasks submitted from a traced thread run in a child span of the current span.
+ *
+ * With application.virtualthreads enabled on Java 21 or newer, fixed executors start a
+ * virtual thread per task instead, and blocking requests are dispatched to the "requests"
+ * executor instead of the XNIO worker pool.
  *
  * @author svenkubiak
  *
  */
 @Singleton
 public class ConcurrentService {
-    private final ExecutorService executorService;
+    private static final Logger LOG = LogManager.getLogger(ConcurrentService.class);
+    private final Map<String, NamedExecutor> executors = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final NamedExecutor defaultExecutor;
+    private final NamedExecutor requestExecutor;
 
     @Inject
     public ConcurrentService(Config config) {
         Objects.requireNonNull(config, Required.CONFIG.toString());
-        this.executorService = Executors.newFixedThreadPool(config.getExecutionPool());
+
+        final String defaultName = Default.EXECUTOR_NAME.toString();
+        this.defaultExecutor = new NamedExecutor(config, defaultName, getType(config, defaultName), config.getExecutorThreads(defaultName, config.getExecutionPool()));
+        this.executors.put(defaultName, this.defaultExecutor);
+
+        config.getExecutorNames().forEach((String name) -> {
+            if (!defaultName.equals(name)) {
+                this.executors.put(name, new NamedExecutor(config, name, getType(config, name), config.getExecutorThreads(name, Runtime.getRuntime().availableProcessors())));
+            }
+        });
+
+        if (config.isVirtualThreadsEnabled() && ThreadUtils.isVirtualThreadsSupported()) {
+            final String requestName = Default.EXECUTOR_REQUESTS.toString();
+            this.requestExecutor = new NamedExecutor(config, requestName, ExecutorType.VIRTUAL, 0);
+            this.executors.put(requestName, this.requestExecutor);
+        } else {
+            this.requestExecutor = null;
+        }
     }
 
     /**
@@ -38,7 +103,25 @@ public class ConcurrentService {
      * @return a Future representing pending completion of the task
      */
     public <T> Future<T> submit(Callable<T> callable) {
-        return this.executorService.submit(callable);
+        return submit(Default.EXECUTOR_NAME.toString(), callable);
+    }
+
+    /**
+     * Submits a value-returning task for execution on a named executor
+     *
+     * @param <T> JavaDoc requires this (just ignore it)
+     * @param executor The name of the executor
+     * @param callable The callable to submit
+     *
+     * @return a Future representing pending completion of the task
+     */
+    public <T> Future<T> submit(String executor, Callable<T> callable) {
+        Objects.requireNonNull(callable, Required.CALLABLE.toString());
+
+        final FutureTask<T> futureTask = new FutureTask<>(callable);
+        getNamedExecutor(executor).execute(futureTask);
+
+        return futureTask;
     }
 
     /**
@@ -53,7 +136,12 @@ public class ConcurrentService {
      * @return a Future representing pending completion of the task
      */
     public <T> Future<T> submit(Runnable runnable, T result) {
-        return this.executorService.submit(runnable, result);
+        Objects.requireNonNull(runnable, Required.RUNNABLE.toString());
+
+        final FutureTask<T> futureTask = new FutureTask<>(runnable, result);
+        this.defaultExecutor.execute(futureTask);
+
+        return futureTask;
     }
 
     /**
@@ -64,10 +152,325 @@ public class ConcurrentService {
      * @param runnable the runnable task
      */
     public void execute(Runnable runnable) {
-        this.executorService.execute(runnable);
+        execute(Default.EXECUTOR_NAME.toString(), runnable);
+    }
+
+    /**
+     * Executes the given command on a named executor
+     *
+     * @param executor The name of the executor
+     * @param runnable the runnable task
+     */
+    public void execute(String executor, Runnable runnable) {
+        Objects.requireNonNull(runnable, Required.RUNNABLE.toString());
+
+        getNamedExecutor(executor).execute(runnable);
+    }
+
+    /**
+     * Runs the given supplier on the default executor
+     *
+     * @param <T> JavaDoc requires this (just ignore it)
+     * @param supplier The supplier to run
+     *
+     * @return a CompletableFuture completed with the value of the supplier
+     */
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        return supplyAsync(Default.EXECUTOR_NAME.toString(), supplier);
+    }
+
+    /**
+     * Runs the given supplier on a named executor
+     *
+     * @param <T> JavaDoc requires this (just ignore it)
+     * @param executor The name of the executor
+     * @param supplier The supplier to run
+     *
+     * @return a CompletableFuture completed with the value of the supplier
+     */
+    public <T> CompletableFuture<T> supplyAsync(String executor, Supplier<T> supplier) {
+        Objects.requireNonNull(supplier, Required.SUPPLIER.toString());
+
+        return CompletableFuture.supplyAsync(supplier, getNamedExecutor(executor));
+    }
+
+    /**
+     * Runs all given suppliers in parallel on a named executor and combines their values
+     *
+     * @param <T> JavaDoc requires this (just ignore it)
+     * @param executor The name of the executor
+     * @param suppliers The suppliers to run
+     *
+     * @return a CompletableFuture completed with the values of all suppliers in the given order,
+     * or completed exceptionally as soon as one supplier fails
+     */
+    public <T> CompletableFuture<List<T>> supplyAll(String executor, List<Supplier<T>> suppliers) {
+        Objects.requireNonNull(suppliers, Required.SUPPLIERS.toString());
+
+        final NamedExecutor namedExecutor = getNamedExecutor(executor);
+        return allOf(suppliers.stream()
+                .map((Supplier<T> supplier) -> CompletableFuture.supplyAsync(supplier, namedExecutor))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Combines the given futures into a single future of all their values
+     *
+     * @param <T> JavaDoc requires this (just ignore it)
+     * @param futures The futures to combine
+     *
+     * @return a CompletableFuture completed with the values of all futures in the given order,
+     * or completed exceptionally as soon as one future fails
+     */
+    public static <T> CompletableFuture<List<T>> allOf(List<CompletableFuture<T>> futures) {
+        Objects.requireNonNull(futures, Required.VALUES.toString());
+
+        final CompletableFuture<List<T>> result = CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]))
+                .thenApply((Void ignored) -> futures.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+
+        futures.forEach((CompletableFuture<T> future) -> future.whenComplete((T value, Throwable throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            }
+        }));
+
+        return result;
     }
-    
+
+    /**
+     * Executes the given command once after the given delay on a scheduled executor
+     *
+     * @param executor The name of the executor, which must be of type scheduled
+     * @param runnable the runnable task
+     * @param delay The delay
+     * @param timeUnit The unit of the delay
+     *
+     * @return a ScheduledFuture representing pending completion of the task
+     */
+    public ScheduledFuture<?> schedule(String executor, Runnable runnable, long delay, TimeUnit timeUnit) {
+        Objects.requireNonNull(runnable, Required.RUNNABLE.toString());
+        Objects.requireNonNull(timeUnit, Required.TIME_UNIT.toString());
+
+        return getNamedExecutor(executor).schedule(runnable, timeUnit.toNanos(delay), 0);
+    }
+
+    /**
+     * Executes the given command periodically at a fixed rate on a scheduled executor
+     *
+     * @param executor The name of the executor, which must be of type scheduled
+     * @param runnable the runnable task
+     * @param delay The delay before the first execution
+     * @param period The period between executions
+     * @param timeUnit The unit of the delay and the period
+     *
+     * @return a ScheduledFuture representing pending completion of the task
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(String executor, Runnable runnable, long delay, long period, TimeUnit timeUnit) {
+        Objects.requireNonNull(runnable, Required.RUNNABLE.toString());
+        Objects.requireNonNull(timeUnit, Required.TIME_UNIT.toString());
+
+        return getNamedExecutor(executor).schedule(runnable, timeUnit.toNanos(delay), timeUnit.toNanos(period));
+    }
+
+    /**
+     * Returns a named executor, e.g. for the async methods of CompletableFuture
+     *
+     * @param executor The name of the executor
+     * @return The executor, which records all executed tasks in its statistics
+     */
+    public Executor getExecutor(String executor) {
+        return getNamedExecutor(executor);
+    }
+
+    /**
+     * @return The executor blocking requests are dispatched to or null if requests are dispatched to the XNIO worker pool
+     */
+    public Executor getRequestExecutor() {
+        return this.requestExecutor;
+    }
+
+    /**
+     * @return The statistics of all executors ordered by name
+     */
+    public List<ExecutorStatistics> getStatistics() {
+        List<ExecutorStatistics> statistics = new ArrayList<>();
+        this.executors.values().forEach((NamedExecutor namedExecutor) -> statistics.add(namedExecutor.statistics));
+        statistics.sort(Comparator.comparing(ExecutorStatistics::getName));
+
+        return statistics;
+    }
+
     public void shutdown() {
-        this.executorService.shutdown();
+        this.executors.values().forEach((NamedExecutor namedExecutor) -> namedExecutor.executorService.shutdown());
+    }
+
+    private static ExecutorType getType(Config config, String name) {
+        final ExecutorType type = config.getExecutorType(name);
+        final boolean virtual = type == ExecutorType.VIRTUAL || (type == ExecutorType.FIXED && config.isVirtualThreadsEnabled());
+        if (virtual && !ThreadUtils.isVirtualThreadsSupported()) {
+            LOG.warn("Virtual threads require Java 21 or newer, executor '" + name + "' uses platform threads instead");
+            return ExecutorType.FIXED;
+        }
+
+        return virtual ? ExecutorType.VIRTUAL : type;
+    }
+
+    private NamedExecutor getNamedExecutor(String executor) {
+        Objects.requireNonNull(executor, Required.NAME.toString());
+
+        final NamedExecutor namedExecutor = this.executors.get(executor);
+        if (namedExecutor == null) {
+            throw new IllegalArgumentException("Executor '" + executor + "' is not configured");
+        }
+
+        return namedExecutor;
+    }
+
+    /**
+     * An executor with its configuration and statistics
+     */
+    private static final class NamedExecutor implements Executor {
+        private final ExecutorService executorService;
+        private final ExecutorStatistics statistics;
+        private final RejectedExecutionHandler rejection;
+        private final AtomicInteger running = new AtomicInteger();
+        private final String spanName;
+
+        NamedExecutor(Config config, String name, ExecutorType type, int threads) {
+            final int size = Math.max(1, threads);
+            this.spanName = "task " + name;
+
+            if (type == ExecutorType.VIRTUAL) {
+                this.rejection = null;
+                this.executorService = ThreadUtils.newVirtualThreadPerTaskExecutor(name);
+                this.statistics = new ExecutorStatistics(name, type, 0, -1, this.running::get, () -> 0);
+                LOG.info("Created executor '" + name + "' (" + type + ", one thread per task)");
+            } else if (type == ExecutorType.WORK_STEALING) {
+                final ForkJoinPool forkJoinPool = new ForkJoinPool(size, (ForkJoinPool pool) -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("mangooio-" + name + "-" + (thread.getPoolIndex() + 1));
+                    return thread;
+                }, null, true);
+
+                this.rejection = null;
+                this.executorService = forkJoinPool;
+                this.statistics = new ExecutorStatistics(name, type, size, -1, forkJoinPool::getActiveThreadCount,
+                        () -> forkJoinPool.getQueuedSubmissionCount() + forkJoinPool.getQueuedTaskCount());
+                LOG.info("Created executor '" + name + "' (" + type + ", " + size + " threads)");
+            } else if (type == ExecutorType.SCHEDULED) {
+                final ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(size, threadFactory(name), this::reject);
+
+                this.rejection = new ThreadPoolExecutor.AbortPolicy();
+                this.executorService = scheduledExecutor;
+                this.statistics = new ExecutorStatistics(name, type, size, -1, scheduledExecutor::getActiveCount, () -> scheduledExecutor.getQueue().size());
+                LOG.info("Created executor '" + name + "' (" + type + ", " + size + " threads)");
+            } else {
+                final int queue = config.getExecutorQueue(name);
+                final Rejection policy = config.getExecutorRejection(name);
+                final BlockingQueue<Runnable> workQueue = (queue > 0) ? new ArrayBlockingQueue<>(queue) : new SynchronousQueue<>();
+                final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, workQueue, threadFactory(name), this::reject);
+
+                this.rejection = rejection(policy);
+                this.executorService = threadPoolExecutor;
+                this.statistics = new ExecutorStatistics(name, type, size, Math.max(0, queue), threadPoolExecutor::getActiveCount, () -> threadPoolExecutor.getQueue().size());
+                LOG.info("Created executor '" + name + "' (" + type + ", " + size + " threads, queue " + Math.max(0, queue) + ", " + policy + ")");
+            }
+        }
+
+        @Override
+        public void execute(Runnable runnable) {
+            final long queued = System.nanoTime();
+            final Runnable task = Tracer.wrap(this.spanName, runnable);
+            this.executorService.execute(new QueuedTask(runnable, () -> run(task, queued)));
+        }
+
+        ScheduledFuture<?> schedule(Runnable runnable, long delay, long period) {
+            if (!(this.executorService instanceof ScheduledExecutorService)) {
+                throw new IllegalArgumentException("Executor '" + this.statistics.getName() + "' is not of type " + ExecutorType.SCHEDULED);
+            }
+
+            final ScheduledExecutorService scheduledExecutorService = (ScheduledExecutorService) this.executorService;
+            final AtomicLong due = new AtomicLong(System.nanoTime() + delay);
+            if (period > 0) {
+                return scheduledExecutorService.scheduleAtFixedRate(() -> run(runnable, due.getAndAdd(period)), delay, period, TimeUnit.NANOSECONDS);
+            }
+
+            final Runnable task = Tracer.wrap(this.spanName, runnable);
+            return scheduledExecutorService.schedule(() -> run(task, due.get()), delay, TimeUnit.NANOSECONDS);
+        }
+
+        private void run(Runnable runnable, long due) {
+            final long start = System.nanoTime();
+            this.running.incrementAndGet();
+            try {
+                runnable.run();
+            } finally {
+                this.running.decrementAndGet();
+                this.statistics.recordCompleted(Math.max(0, start - due), System.nanoTime() - start);
+            }
+        }
+
+        private void reject(Runnable runnable, ThreadPoolExecutor threadPoolExecutor) {
+            this.statistics.recordRejected();
+            this.rejection.rejectedExecution(runnable, threadPoolExecutor);
+        }
+    }
+
+    /**
+     * A task in the queue of an executor, which keeps the submitted runnable so
+     * that a discarding rejection policy can cancel the Future of a dropped task
+     */
+    private static final class QueuedTask implements Runnable {
+        private final Runnable submitted;
+        private final Runnable task;
+
+        QueuedTask(Runnable submitted, Runnable task) {
+            this.submitted = submitted;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            this.task.run();
+        }
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        final AtomicInteger threads = new AtomicInteger();
+        return (Runnable runnable) -> new Thread(runnable, "mangooio-" + name + "-" + threads.incrementAndGet());
+    }
+
+    private static RejectedExecutionHandler rejection(Rejection rejection) {
+        switch (rejection) {
+        case ABORT:
+            return new ThreadPoolExecutor.AbortPolicy();
+        case DISCARD:
+            return (Runnable runnable, ThreadPoolExecutor threadPoolExecutor) -> cancel(runnable);
+        case DISCARD_OLDEST:
+            return (Runnable runnable, ThreadPoolExecutor threadPoolExecutor) -> {
+                if (threadPoolExecutor.isShutdown()) {
+                    cancel(runnable);
+                } else {
+                    cancel(threadPoolExecutor.getQueue().poll());
+                    threadPoolExecutor.execute(runnable);
+                }
+            };
+        default:
+            return new ThreadPoolExecutor.CallerRunsPolicy();
+        }
+    }
+
+    /**
+     * Cancels a discarded task if it was submitted as a Future, so that
+     * callers waiting for its result do not wait forever
+     *
+     * @param runnable The discarded task
+     */
+    private static void cancel(Runnable runnable) {
+        if (runnable instanceof QueuedTask && ((QueuedTask) runnable).submitted instanceof Future) {
+            ((Future<?>) ((QueuedTask) runnable).submitted).cancel(false);
+        }
     }
-}
\ No newline at end of file
+}
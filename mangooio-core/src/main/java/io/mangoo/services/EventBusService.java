@@ -1,84 +1,480 @@
 package io.mangoo.services;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
-import com.google.common.eventbus.EventBus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import io.mangoo.annotations.Batch;
+import io.mangoo.configuration.Config;
+import io.mangoo.enums.Overflow;
 import io.mangoo.enums.Required;
 import io.mangoo.exceptions.MangooEventBusException;
+import io.mangoo.models.SubscriberStatistics;
+import io.mangoo.tracing.Span;
+import io.mangoo.tracing.Tracer;
 
 /**
-*
-* @author svenkubiak
-*
-*/
+ * Asynchronous event bus, delivering events to methods annotated with {@link Subscribe}
+ * on a dedicated thread pool instead of the publishing thread
+ *
+ * Every subscriber has its own bounded queues, one per partition, which are drained by
+ * at most one thread at a time. Events published with the same partition key are therefore
+ * delivered to a subscriber in the order they were published. Events without a partition key
+ * are spread over all partitions and have no ordering guarantee. A subscriber method with a
+ * single {@link List} parameter which is annotated with {@link Batch} receives the queued
+ * events in batches.
+ *
+ * As with Guava's EventBus, a subscriber method is invoked by one thread at a time unless it
+ * is annotated with {@link AllowConcurrentEvents}.
+ *
+ * When a subscriber's queue is full, eventbus.overflow decides whether the publishing thread
+ * blocks (the default), the oldest queued event is dropped or the new event is dropped. Blocking
+ * is never applied to events published from a subscriber, as a subscriber waiting for its own
+ * queue would never return. Dropped events are counted in the subscriber statistics and
+ * logged once per subscriber.
+ *
+ * Events published from a traced thread are delivered in a child span of the publishing span.
+ *
+ * @author svenkubiak
+ *
+ */
 @Singleton
 public class EventBusService {
-    private EventBus eventBus;
-    private AtomicLong listeners = new AtomicLong();
-    private AtomicLong events = new AtomicLong();
-    
-    public EventBusService() {
-        this.eventBus = new EventBus();
-    }
-    
+    private static final Logger LOG = LogManager.getLogger(EventBusService.class);
+    private static final ThreadLocal<Boolean> DELIVERING = new ThreadLocal<>();
+    private final Map<Object, List<Subscriber>> listeners = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private volatile Map<Class<?>, List<Subscriber>> eventTypes = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final AtomicLong events = new AtomicLong();
+    private final ExecutorService executorService;
+    private final Overflow overflow;
+    private final int partitions;
+    private final int queueSize;
+    private final int batchSize;
+
+    @Inject
+    public EventBusService(Config config) {
+        Objects.requireNonNull(config, Required.CONFIG.toString());
+
+        this.overflow = config.getEventBusOverflow();
+        this.partitions = Math.max(1, config.getEventBusPartitions());
+        this.queueSize = Math.max(1, config.getEventBusQueue());
+        this.batchSize = Math.max(1, config.getEventBusBatch());
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executorService = Executors.newFixedThreadPool(Math.max(1, config.getEventBusThreads()), (Runnable runnable) -> {
+            Thread thread = new Thread(() -> {
+                DELIVERING.set(Boolean.TRUE);
+                runnable.run();
+            }, "mangooio-eventbus-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     /**
      * Registers an event listener to the event bus
-     * 
+     *
      * @param eventListener The listener to register
      */
     public void register(Object eventListener) {
         Objects.requireNonNull(eventListener, Required.EVENT_LISTENER.toString());
-        
-        this.eventBus.register(eventListener);
-        this.listeners.getAndIncrement();
+
+        if (this.listeners.containsKey(eventListener)) {
+            return;
+        }
+
+        List<Subscriber> listenerSubscribers = new ArrayList<>();
+        for (Class<?> clazz = eventListener.getClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Subscribe.class) && method.getParameterCount() == 1 && !method.isBridge()) {
+                    method.setAccessible(true);
+                    listenerSubscribers.add(new Subscriber(eventListener, method));
+                }
+            }
+        }
+
+        if (this.listeners.putIfAbsent(eventListener, listenerSubscribers) == null) {
+            this.subscribers.addAll(listenerSubscribers);
+        }
+        this.eventTypes = new ConcurrentHashMap<>(16, 0.9F, 1);
     }
-    
+
     /**
      * Unregisters an event listener to the event bus
-     * 
+     *
+     * Events which are already queued for the listener are still delivered.
+     *
      * @param eventListener The listener to unregister
      * @throws MangooEventBusException when unregistering an event fails
      */
     public void unregister(Object eventListener) throws MangooEventBusException {
         Objects.requireNonNull(eventListener, Required.EVENT_LISTENER.toString());
-        
-        try {
-            this.eventBus.unregister(eventListener);
-        } catch (IllegalArgumentException e) {
-            throw new MangooEventBusException(e);
-        }
 
-        if (this.listeners.get() > 0) {
-            this.listeners.getAndDecrement();            
+        List<Subscriber> listenerSubscribers = this.listeners.remove(eventListener);
+        if (listenerSubscribers == null) {
+            throw new MangooEventBusException(new IllegalArgumentException("Event listener " + eventListener + " is not registered"));
         }
+
+        this.subscribers.removeAll(listenerSubscribers);
+        this.eventTypes = new ConcurrentHashMap<>(16, 0.9F, 1);
     }
-    
+
     /**
      * Publishes an event to the event bus
-     * 
+     *
      * @param event The event to publish
      */
     public void publish(Object event) {
         Objects.requireNonNull(event, Required.EVENT.toString());
-        
-        this.eventBus.post(event);
-        this.events.getAndIncrement();
+
+        dispatch(event, (this.roundRobin.getAndIncrement() & Integer.MAX_VALUE) % this.partitions);
     }
-    
+
+    /**
+     * Publishes an event to the event bus, delivering it to each subscriber after
+     * all events previously published with the same partition key
+     *
+     * @param event The event to publish
+     * @param partitionKey The partition key, e.g. an order or user id
+     */
+    public void publish(Object event, Object partitionKey) {
+        Objects.requireNonNull(event, Required.EVENT.toString());
+        Objects.requireNonNull(partitionKey, Required.KEY.toString());
+
+        dispatch(event, (partitionKey.hashCode() & Integer.MAX_VALUE) % this.partitions);
+    }
+
     /**
      * @return The number of registered listeners
      */
     public long getNumListeners() {
-        return this.listeners.get();
+        return this.listeners.size();
     }
-    
+
     /**
      * @return The number of published events to the event bus
      */
     public long getNumEvents() {
         return this.events.get();
     }
-}
\ No newline at end of file
+
+    /**
+     * @return The statistics of all registered subscribers
+     */
+    public List<SubscriberStatistics> getSubscriberStatistics() {
+        List<SubscriberStatistics> statistics = new ArrayList<>();
+        this.subscribers.forEach((Subscriber subscriber) -> statistics.add(subscriber.statistics));
+
+        return statistics;
+    }
+
+    /**
+     * Stops the delivery of events
+     */
+    public void shutdown() {
+        this.executorService.shutdown();
+    }
+
+    private void dispatch(Object event, int partition) {
+        Span parent = Tracer.current();
+        Object queued = (parent == null) ? event : new TracedEvent(event, parent);
+        this.eventTypes.computeIfAbsent(event.getClass(), this::matching)
+            .forEach((Subscriber subscriber) -> subscriber.offer(queued, partition));
+        this.events.getAndIncrement();
+    }
+
+    private List<Subscriber> matching(Class<?> eventType) {
+        List<Subscriber> matching = new ArrayList<>();
+        this.subscribers.forEach((Subscriber subscriber) -> {
+            if (subscriber.eventType.isAssignableFrom(eventType)) {
+                matching.add(subscriber);
+            }
+        });
+
+        return Collections.unmodifiableList(matching);
+    }
+
+    /**
+     * A subscriber method with a bounded queue per partition
+     */
+    private final class Subscriber {
+        private final Object target;
+        private final Method method;
+        private final Class<?> eventType;
+        private final boolean batch;
+        private final boolean concurrent;
+        private final Partition[] queues;
+        private final SubscriberStatistics statistics;
+        private final String spanName;
+        private final AtomicBoolean dropping = new AtomicBoolean();
+
+        Subscriber(Object target, Method method) {
+            this.target = target;
+            this.method = method;
+            this.batch = method.isAnnotationPresent(Batch.class) && List.class.equals(method.getParameterTypes()[0]);
+            this.eventType = this.batch ? elementType(method.getGenericParameterTypes()[0]) : wrap(method.getParameterTypes()[0]);
+            this.concurrent = method.isAnnotationPresent(AllowConcurrentEvents.class);
+            this.queues = new Partition[partitions];
+            for (int i = 0; i < partitions; i++) {
+                this.queues[i] = new Partition(this);
+            }
+            this.statistics = new SubscriberStatistics(target.getClass().getName() + "#" + method.getName(), () -> {
+                long depth = 0;
+                for (Partition partition : this.queues) {
+                    depth = depth + partition.queue.size();
+                }
+                return depth;
+            });
+            this.spanName = "event " + this.statistics.getName();
+        }
+
+        void offer(Object event, int index) {
+            Partition partition = this.queues[index];
+            boolean queued;
+            if (overflow == Overflow.BLOCK && DELIVERING.get() == null) {
+                queued = put(partition.queue, event);
+            } else {
+                queued = partition.queue.offer(event);
+                while (!queued && overflow == Overflow.DROP_OLDEST) {
+                    if (partition.queue.poll() != null) {
+                        dropped();
+                    }
+                    queued = partition.queue.offer(event);
+                }
+            }
+
+            if (queued) {
+                partition.schedule();
+            } else {
+                dropped();
+            }
+        }
+
+        private void dropped() {
+            this.statistics.recordDropped();
+            if (this.dropping.compareAndSet(false, true)) {
+                LOG.warn("Queue of event subscriber " + this.statistics.getName() + " is full, events are dropped according to eventbus.overflow");
+            }
+        }
+
+        void deliver(List<Object> events) {
+            long start = System.nanoTime();
+            try {
+                if (this.batch) {
+                    Span parent = unwrap(events);
+                    if (deliver(events, parent)) {
+                        this.statistics.recordDelivered(events.size());
+                    }
+                } else {
+                    int delivered = 0;
+                    for (Object event : events) {
+                        boolean success;
+                        if (event instanceof TracedEvent) {
+                            success = deliver(((TracedEvent) event).event, ((TracedEvent) event).parent);
+                        } else {
+                            success = deliver(event, null);
+                        }
+
+                        if (success) {
+                            delivered++;
+                        }
+                    }
+                    this.statistics.recordDelivered(delivered);
+                }
+            } finally {
+                this.statistics.recordLatency(System.nanoTime() - start);
+            }
+        }
+
+        private boolean deliver(Object argument, Span parent) {
+            try {
+                invoke(argument, parent);
+                return true;
+            } catch (IllegalAccessException | IllegalArgumentException e) {
+                this.statistics.recordFailure();
+                LOG.error("Failed to invoke event subscriber " + this.statistics.getName(), e);
+            } catch (InvocationTargetException e) {
+                this.statistics.recordFailure();
+                LOG.error("Event subscriber " + this.statistics.getName() + " threw an exception", e.getCause());
+            }
+
+            return false;
+        }
+
+        private void invoke(Object argument, Span parent) throws IllegalAccessException, InvocationTargetException {
+            if (parent == null) {
+                invoke(argument);
+                return;
+            }
+
+            Span span = parent.child(this.spanName);
+            Span previous = Tracer.activate(span);
+            try {
+                invoke(argument);
+            } catch (InvocationTargetException e) {
+                span.withError(e.getCause());
+                throw e;
+            } finally {
+                Tracer.activate(previous);
+                span.end();
+            }
+        }
+
+        private void invoke(Object argument) throws IllegalAccessException, InvocationTargetException {
+            if (this.concurrent) {
+                this.method.invoke(this.target, argument);
+            } else {
+                synchronized (this) {
+                    this.method.invoke(this.target, argument);
+                }
+            }
+        }
+    }
+
+    /**
+     * A bounded queue of events which is drained by at most one thread at a time
+     */
+    private final class Partition {
+        private final Subscriber subscriber;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Partition(Subscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void schedule() {
+            if (this.scheduled.compareAndSet(false, true)) {
+                try {
+                    executorService.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    this.scheduled.set(false);
+                    LOG.warn("Event bus is shut down, events for " + this.subscriber.statistics.getName() + " are not delivered");
+                }
+            }
+        }
+
+        void drain() {
+            try {
+                List<Object> drained = new ArrayList<>(batchSize);
+                this.queue.drainTo(drained, batchSize);
+                if (!drained.isEmpty()) {
+                    this.subscriber.deliver(drained);
+                }
+            } finally {
+                this.scheduled.set(false);
+                if (!this.queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+
+    /**
+     * An event published from a traced thread, together with the span it was published in
+     */
+    private static final class TracedEvent {
+        private final Object event;
+        private final Span parent;
+
+        TracedEvent(Object event, Span parent) {
+            this.event = event;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * Replaces the traced events of a batch with their events
+     *
+     * @param events The drained events
+     * @return The span of the first traced event or null if no event was traced
+     */
+    private static Span unwrap(List<Object> events) {
+        Span parent = null;
+        for (int i = 0; i < events.size(); i++) {
+            Object event = events.get(i);
+            if (event instanceof TracedEvent) {
+                if (parent == null) {
+                    parent = ((TracedEvent) event).parent;
+                }
+                events.set(i, ((TracedEvent) event).event);
+            }
+        }
+
+        return parent;
+    }
+
+    private static boolean put(BlockingQueue<Object> queue, Object event) {
+        try {
+            queue.put(event);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
+    }
+
+    private static Class<?> elementType(Type type) {
+        if (type instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) type).getActualTypeArguments()[0];
+            if (argument instanceof Class) {
+                return (Class<?>) argument;
+            } else if (argument instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) argument).getRawType();
+            }
+        }
+
+        return Object.class;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        }
+
+        return Character.class;
+    }
+}
@@ -0,0 +1,340 @@
+package io.mangoo.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import io.mangoo.configuration.Config;
+import io.mangoo.enums.Required;
+import io.mangoo.utils.IOUtils;
+import io.undertow.server.handlers.sse.ServerSentEventConnection;
+import io.undertow.server.handlers.sse.ServerSentEventConnection.EventCallback;
+import io.undertow.websockets.core.WebSocketCallback;
+import io.undertow.websockets.core.WebSocketChannel;
+import io.undertow.websockets.core.WebSockets;
+
+/**
+ * Sends heartbeats to open Server-Sent Event connections and WebSocket channels
+ * and closes connections which are dead or idle
+ *
+ * All connections share a single hashed timer wheel, which advances once per second
+ * on one daemon thread. Registering and unregistering a connection is O(1) and does
+ * not schedule a timer per connection.
+ *
+ * @author svenkubiak
+ *
+ */
+@Singleton
+public class HeartbeatService {
+    private static final Logger LOG = LogManager.getLogger(HeartbeatService.class);
+    private static final ByteBuffer PING = ByteBuffer.allocate(0);
+    private static final long TICK = 1000;
+    private static final int WHEEL_SIZE = 512;
+    private final List<List<Heartbeat>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final Queue<Heartbeat> pending = new ConcurrentLinkedQueue<>();
+    private final Map<Object, Heartbeat> heartbeats = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final ScheduledExecutorService scheduler;
+    private final long serverSentEventInterval;
+    private final long serverSentEventRetry;
+    private final long webSocketInterval;
+    private final long webSocketTimeout;
+    private long ticks;
+
+    @Inject
+    private HeartbeatService(Config config) {
+        Objects.requireNonNull(config, Required.CONFIG.toString());
+
+        this.serverSentEventInterval = TimeUnit.SECONDS.toMillis(config.getSseHeartbeatInterval());
+        this.serverSentEventRetry = config.getSseRetry();
+        this.webSocketInterval = TimeUnit.SECONDS.toMillis(config.getWebSocketHeartbeatInterval());
+        this.webSocketTimeout = TimeUnit.SECONDS.toMillis(config.getWebSocketHeartbeatTimeout());
+
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            this.wheel.add(new ArrayList<>());
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor((Runnable runnable) -> {
+            Thread thread = new Thread(runnable, "mangooio-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleAtFixedRate(this::tick, TICK, TICK, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a Server-Sent Event connection for heartbeats
+     *
+     * @param connection The connection to register
+     */
+    public void register(ServerSentEventConnection connection) {
+        Objects.requireNonNull(connection, Required.CONNECTION.toString());
+
+        if (this.serverSentEventInterval > 0) {
+            register(new ServerSentEventHeartbeat(connection, this.serverSentEventInterval));
+        }
+    }
+
+    /**
+     * Registers a WebSocket channel for heartbeats and idle detection
+     *
+     * @param channel The channel to register
+     */
+    public void register(WebSocketChannel channel) {
+        Objects.requireNonNull(channel, Required.CHANNEL.toString());
+
+        if (this.webSocketInterval > 0) {
+            register(new WebSocketHeartbeat(channel, this.webSocketInterval));
+        }
+    }
+
+    /**
+     * Records that data has been received on a WebSocket channel, which
+     * includes the pongs sent in reply to heartbeat pings
+     *
+     * @param channel The channel data has been received on
+     */
+    public void touch(WebSocketChannel channel) {
+        final Heartbeat heartbeat = this.heartbeats.get(channel);
+        if (heartbeat != null) {
+            heartbeat.activity = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Removes a connection or channel from heartbeats
+     *
+     * @param connection The Server-Sent Event connection or WebSocket channel
+     */
+    public void unregister(Object connection) {
+        Objects.requireNonNull(connection, Required.CONNECTION.toString());
+
+        final Heartbeat heartbeat = this.heartbeats.remove(connection);
+        if (heartbeat != null) {
+            heartbeat.cancelled = true;
+        }
+    }
+
+    /**
+     * Checks if a connection or channel currently receives heartbeats
+     *
+     * @param connection The Server-Sent Event connection or WebSocket channel
+     * @return True if the connection is registered, false otherwise
+     */
+    public boolean isRegistered(Object connection) {
+        Objects.requireNonNull(connection, Required.CONNECTION.toString());
+        return this.heartbeats.containsKey(connection);
+    }
+
+    /**
+     * @return The number of connections and channels currently receiving heartbeats
+     */
+    public int getCount() {
+        return this.heartbeats.size();
+    }
+
+    /**
+     * @return The number of connections closed because a heartbeat could not be sent
+     */
+    public long getFailureCount() {
+        return this.failures.sum();
+    }
+
+    /**
+     * @return The number of WebSocket channels closed because the peer stopped responding
+     */
+    public long getTimeoutCount() {
+        return this.timeouts.sum();
+    }
+
+    /**
+     * Stops sending heartbeats
+     */
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+        this.heartbeats.clear();
+    }
+
+    private void register(Heartbeat heartbeat) {
+        final Heartbeat previous = this.heartbeats.put(heartbeat.connection, heartbeat);
+        if (previous != null) {
+            previous.cancelled = true;
+        }
+        this.pending.offer(heartbeat);
+    }
+
+    private void tick() {
+        try {
+            final long now = System.currentTimeMillis();
+            final int slot = (int) (this.ticks % WHEEL_SIZE);
+            this.ticks++;
+
+            Heartbeat heartbeat;
+            while ((heartbeat = this.pending.poll()) != null) {
+                schedule(heartbeat);
+            }
+
+            final List<Heartbeat> due = this.wheel.get(slot);
+            this.wheel.set(slot, new ArrayList<>());
+
+            for (Heartbeat current : due) {
+                if (current.cancelled) {
+                    continue;
+                }
+
+                if (current.rounds > 0) {
+                    current.rounds--;
+                    this.wheel.get(slot).add(current);
+                } else {
+                    beat(current, now);
+                }
+            }
+        } catch (RuntimeException e) { //NOSONAR
+            LOG.error("Failed to advance heartbeat timer wheel", e);
+        }
+    }
+
+    private void beat(Heartbeat heartbeat, long now) {
+        try {
+            if (heartbeat.beat(now)) {
+                schedule(heartbeat);
+            } else {
+                this.heartbeats.remove(heartbeat.connection, heartbeat);
+            }
+        } catch (RuntimeException e) { //NOSONAR
+            LOG.error("Failed to send heartbeat", e);
+            fail(heartbeat);
+        }
+    }
+
+    private void schedule(Heartbeat heartbeat) {
+        final long delay = Math.max(1, heartbeat.interval / TICK);
+        heartbeat.rounds = (delay - 1) / WHEEL_SIZE;
+        this.wheel.get((int) ((this.ticks + delay - 1) % WHEEL_SIZE)).add(heartbeat);
+    }
+
+    private void fail(Heartbeat heartbeat) {
+        this.failures.increment();
+        this.heartbeats.remove(heartbeat.connection, heartbeat);
+        heartbeat.cancelled = true;
+        heartbeat.close();
+    }
+
+    /**
+     * A connection on the timer wheel
+     */
+    private abstract static class Heartbeat {
+        final Object connection;
+        final long interval;
+        volatile boolean cancelled;
+        volatile long activity = System.currentTimeMillis();
+        long rounds;
+
+        Heartbeat(Object connection, long interval) {
+            this.connection = connection;
+            this.interval = interval;
+        }
+
+        /**
+         * Sends a heartbeat
+         *
+         * @param now The current time in milliseconds
+         * @return True if the connection is still open and must be scheduled again, false otherwise
+         */
+        abstract boolean beat(long now);
+
+        abstract void close();
+    }
+
+    private final class ServerSentEventHeartbeat extends Heartbeat implements EventCallback {
+        private final ServerSentEventConnection connection;
+
+        ServerSentEventHeartbeat(ServerSentEventConnection connection, long interval) {
+            super(connection, interval);
+            this.connection = connection;
+        }
+
+        @Override
+        boolean beat(long now) {
+            if (!this.connection.isOpen()) {
+                return false;
+            }
+
+            // A retry field is not dispatched as a message by clients, but still needs a write to the peer
+            this.connection.sendRetry(serverSentEventRetry, this);
+            return true;
+        }
+
+        @Override
+        void close() {
+            IOUtils.closeQuietly(this.connection);
+        }
+
+        @Override
+        public void done(ServerSentEventConnection serverSentEventConnection, String data, String event, String id) {
+            // Nothing to do here
+        }
+
+        @Override
+        public void failed(ServerSentEventConnection serverSentEventConnection, String data, String event, String id, IOException e) {
+            fail(this);
+        }
+    }
+
+    private final class WebSocketHeartbeat extends Heartbeat implements WebSocketCallback<Void> {
+        private final WebSocketChannel channel;
+
+        WebSocketHeartbeat(WebSocketChannel channel, long interval) {
+            super(channel, interval);
+            this.channel = channel;
+        }
+
+        @Override
+        boolean beat(long now) {
+            if (!this.channel.isOpen()) {
+                return false;
+            }
+
+            if (webSocketTimeout > 0 && now - this.activity > webSocketTimeout) {
+                timeouts.increment();
+                close();
+                return false;
+            }
+
+            WebSockets.sendPing(PING.duplicate(), this.channel, this);
+            return true;
+        }
+
+        @Override
+        void close() {
+            IOUtils.closeQuietly(this.channel);
+        }
+
+        @Override
+        public void complete(WebSocketChannel webSocketChannel, Void context) {
+            // Nothing to do here
+        }
+
+        @Override
+        public void onError(WebSocketChannel webSocketChannel, Void context, Throwable throwable) {
+            fail(this);
+        }
+    }
+}
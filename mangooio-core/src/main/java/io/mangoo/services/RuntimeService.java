@@ -0,0 +1,124 @@
+package io.mangoo.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import io.mangoo.configuration.Config;
+import io.mangoo.enums.Required;
+import io.mangoo.models.RuntimeSample;
+
+/**
+ * Periodically samples the JVM and the Undertow workers into a fixed size ring buffer,
+ * which holds the samples of the last metrics.runtime.samples intervals
+ *
+ * Samples are written by a single daemon thread. Readers never block the writer and
+ * receive a copy of the samples in the order they were taken.
+ *
+ * @author svenkubiak
+ *
+ */
+@Singleton
+public class RuntimeService {
+    private static final Logger LOG = LogManager.getLogger(RuntimeService.class);
+    private final AtomicReferenceArray<RuntimeSample> samples;
+    private final long interval;
+    private ScheduledExecutorService scheduler;
+    private volatile long position;
+
+    @Inject
+    public RuntimeService(Config config) {
+        Objects.requireNonNull(config, Required.CONFIG.toString());
+
+        this.samples = new AtomicReferenceArray<>(Math.max(1, config.getMetricsRuntimeSamples()));
+        this.interval = Math.max(1, config.getMetricsRuntimeInterval());
+    }
+
+    /**
+     * Starts sampling in the configured interval
+     */
+    public synchronized void start() {
+        if (this.scheduler == null) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor((Runnable runnable) -> {
+                Thread thread = new Thread(runnable, "mangooio-runtime");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleAtFixedRate(this::sample, 0, this.interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Takes a new sample and adds it to the ring buffer, replacing the oldest sample if the buffer is full
+     */
+    public void sample() {
+        try {
+            synchronized (this.samples) {
+                long current = this.position;
+                this.samples.set(index(current), new RuntimeSample(getLatest()));
+                this.position = current + 1;
+            }
+        } catch (RuntimeException e) { //NOSONAR
+            LOG.error("Failed to sample runtime metrics", e);
+        }
+    }
+
+    /**
+     * @return The most recent sample or null if no sample has been taken yet
+     */
+    public RuntimeSample getLatest() {
+        long current = this.position;
+        return (current == 0) ? null : this.samples.get(index(current - 1));
+    }
+
+    /**
+     * @return The samples in the buffer, oldest first
+     */
+    public List<RuntimeSample> getSamples() {
+        long end = this.position;
+        long start = Math.max(0, end - this.samples.length());
+
+        List<RuntimeSample> result = new ArrayList<>((int) (end - start));
+        long last = Long.MIN_VALUE;
+        for (long i = start; i < end; i++) {
+            RuntimeSample sample = this.samples.get(index(i));
+            // A slot may already hold a newer sample if the writer wrapped around while reading
+            if (sample != null && sample.getTimestamp() >= last) {
+                result.add(sample);
+                last = sample.getTimestamp();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return The interval between two samples in seconds
+     */
+    public long getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Stops sampling
+     */
+    public synchronized void shutdown() {
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+        }
+    }
+
+    private int index(long value) {
+        return (int) (value % this.samples.length());
+    }
+}
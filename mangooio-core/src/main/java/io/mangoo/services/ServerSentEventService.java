@@ -1,18 +1,29 @@
 package io.mangoo.services;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
-import io.mangoo.cache.Cache;
-import io.mangoo.enums.CacheName;
-import io.mangoo.enums.Default;
+import io.mangoo.configuration.Config;
 import io.mangoo.enums.Required;
 import io.mangoo.helpers.RequestHelper;
-import io.mangoo.providers.CacheProvider;
 import io.mangoo.utils.IOUtils;
 import io.undertow.server.handlers.sse.ServerSentEventConnection;
 import io.undertow.server.handlers.sse.ServerSentEventConnection.EventCallback;
@@ -24,16 +35,27 @@ import io.undertow.server.handlers.sse.ServerSentEventConnection.EventCallback;
  */
 @Singleton
 public class ServerSentEventService {
-    private final Cache cache;
+    private static final String BOOT_ID = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private static final char ID_SEPARATOR = '-';
+    private final Map<String, Set<ServerSentEventConnection>> uris = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final Map<String, EventBuffer> buffers = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final Map<ServerSentEventConnection, ConnectionState> states = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
     private final RequestHelper requestHelper;
-    
+    private final int replaySize;
+    private final int coalesceThreshold;
+    private final int pendingLimit;
+
     @Inject
-    private ServerSentEventService(CacheProvider cacheProvider, RequestHelper requestHelper) {
-        Objects.requireNonNull(cacheProvider, Required.CACHE_PROVIDER.toString());
-        Objects.requireNonNull(cacheProvider, Required.REQUEST_HELPER.toString());
-        
-        this.cache = cacheProvider.getCache(CacheName.SSE);
-        this.requestHelper = requestHelper;
+    private ServerSentEventService(Config config, RequestHelper requestHelper) {
+        Objects.requireNonNull(config, Required.CONFIG.toString());
+
+        this.requestHelper = Objects.requireNonNull(requestHelper, Required.REQUEST_HELPER.toString());
+        this.replaySize = config.getSseReplaySize();
+        this.coalesceThreshold = config.getSseCoalesceThreshold();
+        this.pendingLimit = Math.max(1, config.getSsePendingLimit());
     }
 
     /**
@@ -41,40 +63,79 @@ public class ServerSentEventService {
      *
      * @param connection The connection to put
      */
-    @SuppressWarnings("all")
     public void addConnection(ServerSentEventConnection connection) {
+        addConnection(connection, null);
+    }
+
+    /**
+     * Adds a new connection to the manager and sends all buffered events of the connection's
+     * URI resource which the client has not received yet, based on the Last-Event-ID header
+     * sent by the client on reconnect
+     *
+     * Events published while the replay is running are held back and sent after the replayed
+     * events, so the client receives every event once and in order.
+     *
+     * @param connection The connection to put
+     * @param lastEventId The last event id received by the client or null
+     */
+    public void addConnection(ServerSentEventConnection connection, String lastEventId) {
         Objects.requireNonNull(connection, Required.CONNECTION.toString());
 
-        final String url = this.requestHelper.getServerSentEventURL(connection);
-        Set<ServerSentEventConnection> uriConnections = getConnections(url);
-        if (uriConnections == null) {
-            uriConnections = new HashSet<>();
-            uriConnections.add(connection);
-        } else {
-            uriConnections.add(connection);
+        final String uri = this.requestHelper.getServerSentEventURL(connection);
+        final boolean replay = StringUtils.isNotBlank(lastEventId);
+        final ConnectionState state = this.states.computeIfAbsent(connection, (ServerSentEventConnection key) -> new ConnectionState(uri, replay));
+        this.uris.compute(uri, (String key, Set<ServerSentEventConnection> connections) -> {
+            Set<ServerSentEventConnection> registered = (connections == null) ? ConcurrentHashMap.newKeySet() : connections;
+            this.buffers.computeIfAbsent(key, (String k) -> new EventBuffer(this.replaySize));
+            registered.add(connection);
+            return registered;
+        });
+
+        if (replay) {
+            long lastSequence = -1;
+            if (BOOT_ID.equals(StringUtils.substringBefore(lastEventId, String.valueOf(ID_SEPARATOR)))) {
+                lastSequence = NumberUtils.toLong(StringUtils.substringAfter(lastEventId, String.valueOf(ID_SEPARATOR)), -1);
+            }
+
+            final List<Event> events = new ArrayList<>();
+            final EventBuffer buffer = this.buffers.get(uri);
+            final long replayed = (buffer == null) ? -1 : buffer.after(lastSequence, events);
+            replay(connection, state, events, replayed);
         }
-        setConnections(url, uriConnections);
     }
 
     /**
-     * Sends data to all connections for a given URI resource
+     * Removes a connection from the manager
      *
-     * @param uri The URI resource for the connection
-     * @param data The event data
+     * @param connection The connection to remove
      */
-    public void send(String uri, String data) {
-        Objects.requireNonNull(uri, Required.URI.toString());
+    public void removeConnection(ServerSentEventConnection connection) {
+        Objects.requireNonNull(connection, Required.CONNECTION.toString());
 
-        final Set<ServerSentEventConnection> uriConnections = getConnections(uri);
-        if (uriConnections != null) {
-            uriConnections.forEach((ServerSentEventConnection connection) -> {
-                if (connection.isOpen()) {
-                    connection.send(data);
+        final ConnectionState state = this.states.remove(connection);
+        if (state != null) {
+            this.uris.computeIfPresent(state.uri, (String key, Set<ServerSentEventConnection> connections) -> {
+                connections.remove(connection);
+                if (connections.isEmpty()) {
+                    this.buffers.remove(key);
+                    return null;
                 }
+
+                return connections;
             });
         }
     }
 
+    /**
+     * Sends data to all connections for a given URI resource
+     *
+     * @param uri The URI resource for the connection
+     * @param data The event data
+     */
+    public void send(String uri, String data) {
+        publish(uri, null, null, data);
+    }
+
     /**
      * Sends data to all connections for a given URI and invokes the callback
      * on Success or failure
@@ -87,48 +148,77 @@ public class ServerSentEventService {
         Objects.requireNonNull(uri, Required.URI.toString());
         Objects.requireNonNull(eventCallback, Required.EVENT_CALLBACK.toString());
 
-        final Set<ServerSentEventConnection> uriConnections = getConnections(uri);
-        if (uriConnections != null) {
-            uriConnections.forEach((ServerSentEventConnection connection) -> {
+        final Event event = append(uri, null, null, data);
+        final Set<ServerSentEventConnection> connections = this.uris.get(uri);
+        if (event != null && connections != null) {
+            connections.forEach((ServerSentEventConnection connection) -> {
                 if (connection.isOpen()) {
-                    connection.send(data, eventCallback);
+                    connection.send(event.data, event.name, event.id, eventCallback);
                 }
             });
         }
     }
 
     /**
-     * Closes all connections for a given URI resource
+     * Sends an event to all connections for a given URI resource and keeps it for
+     * replay to reconnecting clients. The replay buffer of a URI resource is removed
+     * together with its last connection.
+     *
+     * If a connection can not keep up, events with the same key are coalesced for
+     * that connection, so it only receives the latest event per key once it caught up.
+     * Events without a key are held back up to sse.pending.limit per connection, after
+     * which the oldest held back event is dropped.
      *
      * @param uri The URI resource for the connection
+     * @param name The event name or null
+     * @param key The key for coalescing events or null if the event must not be coalesced
+     * @param data The event data
      */
-    public void close(String uri) {
+    public void publish(String uri, String name, String key, String data) {
         Objects.requireNonNull(uri, Required.URI.toString());
+        Objects.requireNonNull(data, Required.DATA.toString());
 
-        final Set<ServerSentEventConnection> uriConnections = getConnections(uri);
-        if (uriConnections != null) {
-            uriConnections.forEach((ServerSentEventConnection connection) -> {
-                if (connection.isOpen()){
-                    IOUtils.closeQuietly(connection);
+        final Event event = append(uri, name, key, data);
+        final Set<ServerSentEventConnection> connections = this.uris.get(uri);
+        if (event != null && connections != null) {
+            connections.forEach((ServerSentEventConnection connection) -> {
+                final ConnectionState state = this.states.get(connection);
+                if (state != null) {
+                    send(connection, state, event);
                 }
-           });
-           removeConnections(uri);
+            });
         }
     }
 
+    /**
+     * Closes all connections for a given URI resource
+     *
+     * @param uri The URI resource for the connection
+     */
+    public void close(String uri) {
+        Objects.requireNonNull(uri, Required.URI.toString());
+
+        getConnections(uri).forEach((ServerSentEventConnection connection) -> {
+            if (connection.isOpen()) {
+                IOUtils.closeQuietly(connection);
+            }
+        });
+        removeConnections(uri);
+    }
+
     /**
      * Retrieves all connection resources under a given URL
      *
      * @param uri The URI resource for the connections
      *
-     * @return A Set of connections for the URI resource
+     * @return An unmodifiable copy of the connections for the URI resource
      */
     public Set<ServerSentEventConnection> getConnections(String uri) {
         Objects.requireNonNull(uri, Required.URI.toString());
 
-        final Set<ServerSentEventConnection> uriConnections = this.cache.get(Default.SSE_CACHE_PREFIX.toString() + uri);
+        final Set<ServerSentEventConnection> uriConnections = this.uris.get(uri);
 
-        return (uriConnections == null) ? new HashSet<>() : uriConnections;
+        return (uriConnections == null) ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(uriConnections));
     }
 
     /**
@@ -141,7 +231,17 @@ public class ServerSentEventService {
         Objects.requireNonNull(uri, Required.URI.toString());
         Objects.requireNonNull(uriConnections, Required.URI_CONNECTIONS.toString());
 
-        this.cache.put(Default.SSE_CACHE_PREFIX.toString() + uri, uriConnections);
+        removeConnections(uri);
+
+        Set<ServerSentEventConnection> registered = ConcurrentHashMap.newKeySet();
+        uriConnections.forEach((ServerSentEventConnection connection) -> {
+            this.states.computeIfAbsent(connection, (ServerSentEventConnection key) -> new ConnectionState(uri, false));
+            registered.add(connection);
+        });
+        this.uris.compute(uri, (String key, Set<ServerSentEventConnection> connections) -> {
+            this.buffers.computeIfAbsent(key, (String k) -> new EventBuffer(this.replaySize));
+            return registered;
+        });
     }
 
     /**
@@ -152,6 +252,208 @@ public class ServerSentEventService {
     public void removeConnections(String uri) {
         Objects.requireNonNull(uri, Required.URI.toString());
 
-        this.cache.remove(Default.SSE_CACHE_PREFIX.toString() + uri);
+        final List<Set<ServerSentEventConnection>> removed = new ArrayList<>(1);
+        this.uris.computeIfPresent(uri, (String key, Set<ServerSentEventConnection> connections) -> {
+            this.buffers.remove(key);
+            removed.add(connections);
+            return null;
+        });
+
+        final Set<ServerSentEventConnection> uriConnections = removed.isEmpty() ? null : removed.get(0);
+        if (uriConnections != null) {
+            uriConnections.forEach(this::removeConnection);
+        }
+    }
+
+    /**
+     * @return The number of currently registered connections
+     */
+    public int getConnectionCount() {
+        return this.states.size();
+    }
+
+    /**
+     * @return The number of events which have been replaced by a newer event with the same key for a slow connection
+     */
+    public long getCoalescedCount() {
+        return this.coalesced.sum();
+    }
+
+    /**
+     * @return The number of events dropped because a connection exceeded sse.pending.limit
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * @return The number of URI resources with a replay buffer
+     */
+    public int getBufferCount() {
+        return this.buffers.size();
+    }
+
+    private Event append(String uri, String name, String key, String data) {
+        final EventBuffer buffer = this.buffers.get(uri);
+
+        return (buffer == null) ? null : buffer.append(this.sequence, name, key, data);
+    }
+
+    private void replay(ServerSentEventConnection connection, ConnectionState state, List<Event> events, long replayed) {
+        synchronized (state) {
+            final List<Event> live = new ArrayList<>(state.pending.values());
+            state.pending.clear();
+            state.replayed = replayed;
+            state.replaying = false;
+
+            events.forEach((Event event) -> hold(state, event));
+            live.forEach((Event event) -> {
+                if (event.sequence > replayed) {
+                    hold(state, event);
+                }
+            });
+        }
+
+        if (connection.isOpen()) {
+            flush(connection, state);
+        } else {
+            removeConnection(connection);
+        }
+    }
+
+    private void send(ServerSentEventConnection connection, ConnectionState state, Event event) {
+        if (!connection.isOpen()) {
+            removeConnection(connection);
+            return;
+        }
+
+        synchronized (state) {
+            if (event.sequence <= state.replayed) {
+                return;
+            }
+
+            if (state.replaying || state.inflight.get() >= this.coalesceThreshold || !state.pending.isEmpty()) {
+                hold(state, event);
+                return;
+            }
+            state.inflight.incrementAndGet();
+        }
+
+        write(connection, state, event);
+    }
+
+    private void hold(ConnectionState state, Event event) {
+        String pendingKey = (event.key == null) ? event.id : event.key;
+        if (state.pending.remove(pendingKey) != null) {
+            this.coalesced.increment();
+        } else if (state.pending.size() >= this.pendingLimit) {
+            Iterator<Event> iterator = state.pending.values().iterator();
+            iterator.next();
+            iterator.remove();
+            this.dropped.increment();
+        }
+        state.pending.put(pendingKey, event);
+    }
+
+    private void write(ServerSentEventConnection connection, ConnectionState state, Event event) {
+        connection.send(event.data, event.name, event.id, new EventCallback() {
+            @Override
+            public void done(ServerSentEventConnection serverSentEventConnection, String data, String name, String id) {
+                state.inflight.decrementAndGet();
+                flush(serverSentEventConnection, state);
+            }
+
+            @Override
+            public void failed(ServerSentEventConnection serverSentEventConnection, String data, String name, String id, IOException e) {
+                state.inflight.decrementAndGet();
+                removeConnection(serverSentEventConnection);
+                IOUtils.closeQuietly(serverSentEventConnection);
+            }
+        });
+    }
+
+    private void flush(ServerSentEventConnection connection, ConnectionState state) {
+        List<Event> events = new ArrayList<>();
+        synchronized (state) {
+            Iterator<Event> iterator = state.pending.values().iterator();
+            while (iterator.hasNext() && state.inflight.get() < this.coalesceThreshold) {
+                events.add(iterator.next());
+                iterator.remove();
+                state.inflight.incrementAndGet();
+            }
+        }
+
+        events.forEach((Event event) -> write(connection, state, event));
+    }
+
+    /**
+     * An event with its id, name, coalescing key and data
+     */
+    private static final class Event {
+        private final long sequence;
+        private final String id;
+        private final String name;
+        private final String key;
+        private final String data;
+
+        Event(long sequence, String name, String key, String data) {
+            this.sequence = sequence;
+            this.id = BOOT_ID + ID_SEPARATOR + sequence;
+            this.name = name;
+            this.key = key;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Bounded ring buffer of the most recent events of a URI resource
+     *
+     * Sequences are taken from a counter shared by all URI resources, so a buffer which
+     * is removed and created again never reuses the event ids of the previous one.
+     */
+    private static final class EventBuffer {
+        private final Event[] events;
+        private long count;
+        private long last = -1;
+
+        EventBuffer(int size) {
+            this.events = new Event[Math.max(1, size)];
+        }
+
+        synchronized Event append(AtomicLong sequence, String name, String key, String data) {
+            Event event = new Event(sequence.incrementAndGet(), name, key, data);
+            this.events[(int) (this.count % this.events.length)] = event;
+            this.count++;
+            this.last = event.sequence;
+
+            return event;
+        }
+
+        synchronized long after(long lastSequence, List<Event> result) {
+            for (long i = Math.max(0, this.count - this.events.length); i < this.count; i++) {
+                Event event = this.events[(int) (i % this.events.length)];
+                if (event.sequence > lastSequence) {
+                    result.add(event);
+                }
+            }
+
+            return this.last;
+        }
+    }
+
+    /**
+     * Registration and flow control state of a single connection
+     */
+    private static final class ConnectionState {
+        private final String uri;
+        private final Map<String, Event> pending = new LinkedHashMap<>();
+        private final AtomicInteger inflight = new AtomicInteger();
+        private boolean replaying;
+        private long replayed = -1;
+
+        ConnectionState(String uri, boolean replaying) {
+            this.uri = uri;
+            this.replaying = replaying;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+package io.mangoo.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import io.mangoo.configuration.Config;
+import io.mangoo.enums.Required;
+import io.mangoo.models.ActiveRequest;
+import io.mangoo.models.SlowRequest;
+import io.mangoo.models.StageTimer;
+
+/**
+ * Keeps the most recent requests which exceeded metrics.slow.threshold milliseconds
+ * in a bounded in-memory log
+ *
+ * The log is disabled unless metrics.slow.threshold is set, as every tracked request
+ * allocates its own tracking state and stage timer.
+ *
+ * Requests which are still running after metrics.slow.sampling.threshold milliseconds
+ * have the stack of their handling thread sampled every metrics.slow.sampling.interval
+ * milliseconds by a single watchdog thread, so that the log shows where the time was spent.
+ *
+ * @author svenkubiak
+ *
+ */
+@Singleton
+public class SlowRequestService {
+    private static final Logger LOG = LogManager.getLogger(SlowRequestService.class);
+    private static final int MAX_SAMPLES = 50;
+    private final Set<ActiveRequest> activeRequests = ConcurrentHashMap.newKeySet();
+    private final Deque<SlowRequest> slowRequests = new ArrayDeque<>();
+    private final boolean enabled;
+    private final long threshold;
+    private final long samplingThreshold;
+    private final long samplingInterval;
+    private final int size;
+    private ScheduledExecutorService watchdog;
+
+    @Inject
+    public SlowRequestService(Config config) {
+        Objects.requireNonNull(config, Required.CONFIG.toString());
+
+        this.enabled = config.isMetricsEnabled() && config.getMetricsSlowThreshold() > 0;
+        this.threshold = TimeUnit.MILLISECONDS.toNanos(config.getMetricsSlowThreshold());
+        this.samplingThreshold = TimeUnit.MILLISECONDS.toNanos(config.getMetricsSlowSamplingThreshold());
+        this.samplingInterval = config.getMetricsSlowSamplingInterval();
+        this.size = Math.max(1, config.getMetricsSlowSize());
+    }
+
+    /**
+     * Starts the watchdog which samples the stacks of very slow requests
+     */
+    public synchronized void start() {
+        if (this.enabled && this.samplingThreshold > 0 && this.samplingInterval > 0 && this.watchdog == null) {
+            this.watchdog = Executors.newSingleThreadScheduledExecutor((Runnable runnable) -> {
+                Thread thread = new Thread(runnable, "mangooio-slowrequests");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.watchdog.scheduleWithFixedDelay(this::sample, this.samplingInterval, this.samplingInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * @return True if slow requests are logged, false otherwise
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Starts tracking a request on the current thread
+     *
+     * @param route The controller and method, e.g. ApplicationController:index
+     * @param start The start of the request as returned by System.nanoTime()
+     * @return The tracked request
+     */
+    public ActiveRequest begin(String route, long start) {
+        ActiveRequest activeRequest = new ActiveRequest(route, Thread.currentThread(), start);
+        this.activeRequests.add(activeRequest);
+
+        return activeRequest;
+    }
+
+    /**
+     * Stops tracking a request and adds it to the log if it exceeded the threshold
+     *
+     * @param activeRequest The tracked request
+     * @param method The HTTP method
+     * @param uri The request path without query string
+     * @param parameters The request parameters, whose values are redacted
+     * @param status The HTTP status code
+     * @param nanos The processing time in nanoseconds
+     * @param stageTimer The stage timer of the request or null if the stages were not timed
+     */
+    public void complete(ActiveRequest activeRequest, String method, String uri, Map<String, String> parameters, int status, long nanos, StageTimer stageTimer) {
+        Objects.requireNonNull(activeRequest, Required.ACTIVE_REQUEST.toString());
+
+        activeRequest.complete();
+        this.activeRequests.remove(activeRequest);
+
+        if (nanos >= this.threshold) {
+            SlowRequest slowRequest = new SlowRequest(activeRequest, method, uri, parameters, status, nanos, stageTimer);
+            synchronized (this.slowRequests) {
+                if (this.slowRequests.size() >= this.size) {
+                    this.slowRequests.removeLast();
+                }
+                this.slowRequests.addFirst(slowRequest);
+            }
+            LOG.warn("Slow request " + method + " " + uri + " (" + slowRequest.getRoute() + ") took " + slowRequest.getDuration() + " ms");
+        }
+    }
+
+    /**
+     * Takes a stack sample of every tracked request running longer than the sampling threshold
+     */
+    public void sample() {
+        try {
+            long now = System.nanoTime();
+            for (ActiveRequest activeRequest : this.activeRequests) {
+                if (now - activeRequest.getStart() >= this.samplingThreshold) {
+                    activeRequest.sample(now, MAX_SAMPLES);
+                }
+            }
+        } catch (RuntimeException e) { //NOSONAR
+            LOG.error("Failed to sample slow requests", e);
+        }
+    }
+
+    /**
+     * @return The logged slow requests, most recent first
+     */
+    public List<SlowRequest> getSlowRequests() {
+        synchronized (this.slowRequests) {
+            return new ArrayList<>(this.slowRequests);
+        }
+    }
+
+    /**
+     * @return The number of requests currently tracked
+     */
+    public int getActiveCount() {
+        return this.activeRequests.size();
+    }
+
+    /**
+     * Removes all logged slow requests
+     */
+    public void reset() {
+        synchronized (this.slowRequests) {
+            this.slowRequests.clear();
+        }
+    }
+
+    /**
+     * Stops sampling
+     */
+    public synchronized void shutdown() {
+        if (this.watchdog != null) {
+            this.watchdog.shutdownNow();
+        }
+    }
+}
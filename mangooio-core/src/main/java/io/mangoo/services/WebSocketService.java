@@ -1,20 +1,29 @@
 package io.mangoo.services;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
-import io.mangoo.cache.Cache;
-import io.mangoo.enums.CacheName;
-import io.mangoo.enums.Default;
+import io.mangoo.configuration.Config;
+import io.mangoo.enums.Backpressure;
 import io.mangoo.enums.Required;
 import io.mangoo.helpers.RequestHelper;
-import io.mangoo.providers.CacheProvider;
 import io.mangoo.utils.IOUtils;
+import io.undertow.websockets.core.WebSocketCallback;
 import io.undertow.websockets.core.WebSocketChannel;
+import io.undertow.websockets.core.WebSockets;
 
 /**
  *
@@ -23,15 +32,24 @@ import io.undertow.websockets.core.WebSocketChannel;
  */
 @Singleton
 public class WebSocketService {
-    private final Cache cache;
+    private final Map<String, Set<WebSocketChannel>> uris = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final Map<String, Set<WebSocketChannel>> topics = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final Map<WebSocketChannel, ChannelState> states = new ConcurrentHashMap<>(16, 0.9F, 1);
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder slowClosed = new LongAdder();
     private final RequestHelper requestHelper;
-    
+    private final Backpressure backpressure;
+    private final int backpressureLimit;
+    private final int backpressureQueue;
+
     @Inject
-    private WebSocketService(CacheProvider cacheProvider,  RequestHelper requestHelper) {
-        Objects.requireNonNull(cacheProvider, Required.CACHE_PROVIDER.toString());
-        
-        this.cache = cacheProvider.getCache(CacheName.WSS);
-        this.requestHelper = requestHelper;
+    private WebSocketService(Config config, RequestHelper requestHelper) {
+        Objects.requireNonNull(config, Required.CONFIG.toString());
+
+        this.requestHelper = Objects.requireNonNull(requestHelper, Required.REQUEST_HELPER.toString());
+        this.backpressure = config.getWebSocketBackpressurePolicy();
+        this.backpressureLimit = config.getWebSocketBackpressureLimit();
+        this.backpressureQueue = config.getWebSocketBackpressureQueue();
     }
 
     /**
@@ -39,19 +57,28 @@ public class WebSocketService {
      *
      * @param channel channel The channel to put
      */
-    @SuppressWarnings("all")
     public void addChannel(WebSocketChannel channel) {
         Objects.requireNonNull(channel, Required.CHANNEL.toString());
 
-        final String url = this.requestHelper.getWebSocketURL(channel);
-        Set<WebSocketChannel> channels = getChannels(url);
-        if (channels == null) {
-            channels = new HashSet<>();
-            channels.add(channel);
-        } else {
-            channels.add(channel);
+        final String uri = this.requestHelper.getWebSocketURL(channel);
+        this.states.computeIfAbsent(channel, (WebSocketChannel key) -> new ChannelState(uri));
+        addTo(this.uris, uri, channel);
+    }
+
+    /**
+     * Removes a channel from the manager, including all of its topic subscriptions
+     *
+     * @param channel The channel to remove
+     */
+    public void removeChannel(WebSocketChannel channel) {
+        Objects.requireNonNull(channel, Required.CHANNEL.toString());
+
+        final ChannelState state = this.states.remove(channel);
+        if (state != null) {
+            removeFrom(this.uris, state.uri, channel);
+            state.topics.forEach((String topic) -> removeFrom(this.topics, topic, channel));
+            state.queue.clear();
         }
-        setChannels(url, channels);
     }
 
     /**
@@ -64,7 +91,14 @@ public class WebSocketService {
         Objects.requireNonNull(uri, Required.URI.toString());
         Objects.requireNonNull(channels, Required.URI_CONNECTIONS.toString());
 
-        this.cache.put(Default.WSS_CACHE_PREFIX.toString() + uri, channels);
+        removeChannels(uri);
+
+        Set<WebSocketChannel> registered = ConcurrentHashMap.newKeySet();
+        channels.forEach((WebSocketChannel channel) -> {
+            this.states.computeIfAbsent(channel, (WebSocketChannel key) -> new ChannelState(uri));
+            registered.add(channel);
+        });
+        this.uris.put(uri, registered);
     }
 
     /**
@@ -72,14 +106,12 @@ public class WebSocketService {
      *
      * @param uri The URI resource for the channels
      *
-     * @return A Set of channels for the URI resource
+     * @return An unmodifiable copy of the channels for the URI resource
      */
     public Set<WebSocketChannel> getChannels(String uri) {
         Objects.requireNonNull(uri, Required.URI.toString());
 
-        final Set<WebSocketChannel> channels = this.cache.get(Default.WSS_CACHE_PREFIX.toString() + uri);
-
-        return (channels == null) ? new HashSet<>() : channels;
+        return copyOf(this.uris.get(uri));
     }
 
     /**
@@ -90,7 +122,10 @@ public class WebSocketService {
     public void removeChannels(String uri) {
         Objects.requireNonNull(uri, Required.URI.toString());
 
-        this.cache.remove(Default.WSS_CACHE_PREFIX.toString() + uri);
+        final Set<WebSocketChannel> channels = this.uris.remove(uri);
+        if (channels != null) {
+            channels.forEach(this::removeChannel);
+        }
     }
 
     /**
@@ -101,14 +136,259 @@ public class WebSocketService {
     public void close(String uri) {
         Objects.requireNonNull(uri, Required.URI.toString());
 
-        final Set<WebSocketChannel> channels = getChannels(uri);
+        getChannels(uri).forEach((WebSocketChannel channel) -> {
+            if (channel.isOpen()) {
+                IOUtils.closeQuietly(channel);
+            }
+        });
+        removeChannels(uri);
+    }
+
+    /**
+     * Subscribes a channel to a topic
+     *
+     * @param channel The channel to subscribe
+     * @param topic The topic to subscribe to
+     */
+    public void subscribe(WebSocketChannel channel, String topic) {
+        Objects.requireNonNull(channel, Required.CHANNEL.toString());
+        Objects.requireNonNull(topic, Required.TOPIC.toString());
+
+        final ChannelState state = this.states.get(channel);
+        if (state != null) {
+            state.topics.add(topic);
+            addTo(this.topics, topic, channel);
+        }
+    }
+
+    /**
+     * Unsubscribes a channel from a topic
+     *
+     * @param channel The channel to unsubscribe
+     * @param topic The topic to unsubscribe from
+     */
+    public void unsubscribe(WebSocketChannel channel, String topic) {
+        Objects.requireNonNull(channel, Required.CHANNEL.toString());
+        Objects.requireNonNull(topic, Required.TOPIC.toString());
+
+        final ChannelState state = this.states.get(channel);
+        if (state != null) {
+            state.topics.remove(topic);
+        }
+        removeFrom(this.topics, topic, channel);
+    }
+
+    /**
+     * Retrieves all channels subscribed to a given topic
+     *
+     * @param topic The topic
+     * @return An unmodifiable copy of the channels subscribed to the topic
+     */
+    public Set<WebSocketChannel> getSubscribers(String topic) {
+        Objects.requireNonNull(topic, Required.TOPIC.toString());
+
+        return copyOf(this.topics.get(topic));
+    }
+
+    /**
+     * Sends a text message to all channels of a given URI resource, encoding the message only once
+     *
+     * @param uri The URI resource for the channels
+     * @param data The text to send
+     */
+    public void broadcast(String uri, String data) {
+        Objects.requireNonNull(uri, Required.URI.toString());
+        Objects.requireNonNull(data, Required.DATA.toString());
+
+        broadcast(this.uris.get(uri), new Frame(ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)), false));
+    }
+
+    /**
+     * Sends a binary message to all channels of a given URI resource
+     *
+     * @param uri The URI resource for the channels
+     * @param data The bytes to send
+     */
+    public void broadcast(String uri, byte[] data) {
+        Objects.requireNonNull(uri, Required.URI.toString());
+        Objects.requireNonNull(data, Required.DATA.toString());
+
+        broadcast(this.uris.get(uri), new Frame(ByteBuffer.wrap(data), true));
+    }
+
+    /**
+     * Sends a text message to all channels subscribed to a given topic, encoding the message only once
+     *
+     * @param topic The topic
+     * @param data The text to send
+     */
+    public void publish(String topic, String data) {
+        Objects.requireNonNull(topic, Required.TOPIC.toString());
+        Objects.requireNonNull(data, Required.DATA.toString());
+
+        broadcast(this.topics.get(topic), new Frame(ByteBuffer.wrap(data.getBytes(StandardCharsets.UTF_8)), false));
+    }
+
+    /**
+     * Sends a binary message to all channels subscribed to a given topic
+     *
+     * @param topic The topic
+     * @param data The bytes to send
+     */
+    public void publish(String topic, byte[] data) {
+        Objects.requireNonNull(topic, Required.TOPIC.toString());
+        Objects.requireNonNull(data, Required.DATA.toString());
+
+        broadcast(this.topics.get(topic), new Frame(ByteBuffer.wrap(data), true));
+    }
+
+    /**
+     * @return The number of currently registered channels
+     */
+    public int getChannelCount() {
+        return this.states.size();
+    }
+
+    /**
+     * @return The number of messages dropped because of backpressure
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * @return The number of channels closed because they could not keep up
+     */
+    public long getSlowClosedCount() {
+        return this.slowClosed.sum();
+    }
+
+    private void broadcast(Set<WebSocketChannel> channels, Frame frame) {
         if (channels != null) {
             channels.forEach((WebSocketChannel channel) -> {
-                if (channel.isOpen()) {
-                    IOUtils.closeQuietly(channel);
+                final ChannelState state = this.states.get(channel);
+                if (state != null) {
+                    send(channel, state, frame);
                 }
             });
-            removeChannels(uri);
         }
     }
-}
\ No newline at end of file
+
+    private void send(WebSocketChannel channel, ChannelState state, Frame frame) {
+        if (!channel.isOpen()) {
+            removeChannel(channel);
+            return;
+        }
+
+        final int capacity = (this.backpressure == Backpressure.QUEUE) ? this.backpressureLimit + this.backpressureQueue : this.backpressureLimit;
+        if (state.queued.incrementAndGet() + state.inflight.get() > capacity) {
+            state.queued.decrementAndGet();
+            if (this.backpressure == Backpressure.CLOSE) {
+                this.slowClosed.increment();
+                removeChannel(channel);
+                IOUtils.closeQuietly(channel);
+            } else {
+                this.dropped.increment();
+            }
+        } else {
+            state.queue.offer(frame);
+            drain(channel, state);
+        }
+    }
+
+    /**
+     * Writes queued frames while the channel is below its in-flight limit. Only one
+     * thread at a time drains a channel, so frames are written in the order they were queued.
+     */
+    private void drain(WebSocketChannel channel, ChannelState state) {
+        if (state.draining.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            while (state.inflight.get() < this.backpressureLimit) {
+                Frame frame = state.queue.poll();
+                if (frame == null) {
+                    break;
+                }
+                state.queued.decrementAndGet();
+                write(channel, state, frame);
+            }
+            missed = state.draining.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void write(WebSocketChannel channel, ChannelState state, Frame frame) {
+        state.inflight.incrementAndGet();
+
+        WebSocketCallback<Void> callback = new WebSocketCallback<Void>() {
+            @Override
+            public void complete(WebSocketChannel webSocketChannel, Void context) {
+                state.inflight.decrementAndGet();
+                drain(webSocketChannel, state);
+            }
+
+            @Override
+            public void onError(WebSocketChannel webSocketChannel, Void context, Throwable throwable) {
+                state.inflight.decrementAndGet();
+                removeChannel(webSocketChannel);
+                IOUtils.closeQuietly(webSocketChannel);
+            }
+        };
+
+        if (frame.binary) {
+            WebSockets.sendBinary(frame.payload.duplicate(), channel, callback);
+        } else {
+            WebSockets.sendText(frame.payload.duplicate(), channel, callback);
+        }
+    }
+
+    private static Set<WebSocketChannel> copyOf(Set<WebSocketChannel> channels) {
+        return (channels == null) ? Collections.emptySet() : Collections.unmodifiableSet(new HashSet<>(channels));
+    }
+
+    private static void addTo(Map<String, Set<WebSocketChannel>> map, String key, WebSocketChannel channel) {
+        map.compute(key, (String k, Set<WebSocketChannel> channels) -> {
+            Set<WebSocketChannel> registered = (channels == null) ? ConcurrentHashMap.newKeySet() : channels;
+            registered.add(channel);
+            return registered;
+        });
+    }
+
+    private static void removeFrom(Map<String, Set<WebSocketChannel>> map, String key, WebSocketChannel channel) {
+        map.computeIfPresent(key, (String k, Set<WebSocketChannel> channels) -> {
+            channels.remove(channel);
+            return channels.isEmpty() ? null : channels;
+        });
+    }
+
+    /**
+     * A message encoded once and shared between all channels it is sent to
+     */
+    private static final class Frame {
+        private final ByteBuffer payload;
+        private final boolean binary;
+
+        Frame(ByteBuffer payload, boolean binary) {
+            this.payload = payload;
+            this.binary = binary;
+        }
+    }
+
+    /**
+     * Registration and backpressure state of a single channel
+     */
+    private static final class ChannelState {
+        private final String uri;
+        private final Set<String> topics = ConcurrentHashMap.newKeySet();
+        private final Queue<Frame> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger inflight = new AtomicInteger();
+        private final AtomicInteger draining = new AtomicInteger();
+
+        ChannelState(String uri) {
+            this.uri = uri;
+        }
+    }
+}
@@ -44,6 +44,7 @@ import io.mangoo.templating.methods.LocationMethod;
 import io.mangoo.templating.methods.PrettyTimeMethod;
 import io.mangoo.templating.methods.RouteMethod;
 import io.mangoo.utils.BootstrapUtils;
+import io.mangoo.utils.FlightRecorderUtils;
 import io.undertow.server.HttpServerExchange;
 import no.api.freemarker.java8.Java8ObjectWrapper;
 
@@ -182,11 +183,14 @@ public class TemplateEngineFreemarker implements MangooTemplateEngine {
         Objects.requireNonNull(content, Required.CONTENT.toString());
         Objects.requireNonNull(template, Required.TEMPLATE.toString());
         
+        final Object renderEvent = FlightRecorderUtils.beginRender();
         StringWriter buffer = new StringWriter(MAX_CHARS);
         try {
             template.process(content, buffer);
         } catch (TemplateException | IOException e) {
             throw new MangooTemplateEngineException("Failed to process template", e);
+        } finally {
+            FlightRecorderUtils.endRender(renderEvent, template.getName());
         }
 
         return buffer.toString();
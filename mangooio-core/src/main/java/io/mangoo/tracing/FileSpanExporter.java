@@ -0,0 +1,187 @@
+package io.mangoo.tracing;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import io.mangoo.configuration.Config;
+import io.mangoo.enums.Required;
+import io.mangoo.interfaces.MangooSpanExporter;
+import io.mangoo.utils.JsonUtils;
+
+/**
+ * Appends spans as one JSON object per line to tracing.file
+ *
+ * Spans are queued in a queue bounded by tracing.queue and written by a single
+ * background thread, which is started with the first span. When the queue is full
+ * the span is dropped instead of blocking the exporting thread. If writing to the
+ * file fails, the spans of the current batch are dropped and the file is reopened.
+ *
+ * @author svenkubiak
+ *
+ */
+@Singleton
+public class FileSpanExporter implements MangooSpanExporter {
+    private static final Logger LOG = LogManager.getLogger(FileSpanExporter.class);
+    private static final int BATCH_SIZE = 256;
+    private static final long POLL_MILLISECONDS = 500;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder exported = new LongAdder();
+    private final BlockingQueue<Span> queue;
+    private final Path path;
+    private volatile boolean closed;
+    private Thread writer;
+
+    @Inject
+    public FileSpanExporter(Config config) {
+        Objects.requireNonNull(config, Required.CONFIG.toString());
+
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getTracingQueue()));
+        this.path = Paths.get(config.getTracingFile());
+    }
+
+    @Override
+    public void export(Span span) {
+        Objects.requireNonNull(span, Required.SPAN.toString());
+
+        if (this.closed || !this.queue.offer(span)) {
+            this.dropped.increment();
+            return;
+        }
+
+        if (!this.started.get() && this.started.compareAndSet(false, true)) {
+            start();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+
+        Thread thread;
+        synchronized (this) {
+            thread = this.writer;
+        }
+
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return The number of spans written to the file
+     */
+    public long getExported() {
+        return this.exported.sum();
+    }
+
+    /**
+     * @return The number of spans dropped because the queue was full, the exporter was closed or writing to the file failed
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    private synchronized void start() {
+        this.writer = new Thread(this::write, "mangooio-spans");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    private void write() {
+        List<Span> spans = new ArrayList<>(BATCH_SIZE);
+        while (!this.closed || !this.queue.isEmpty()) {
+            try {
+                write(spans);
+            } catch (IOException e) {
+                LOG.error("Failed to write spans to " + this.path + ", reopening the file", e);
+                spans.clear();
+                if (this.closed) {
+                    this.dropped.add(this.queue.drainTo(spans));
+                    spans.clear();
+                } else {
+                    try {
+                        Thread.sleep(POLL_MILLISECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Opens the file and writes spans until the exporter is closed and the queue
+     * is drained, or writing to the file fails
+     *
+     * @param spans The reused list for a batch of spans
+     * @throws IOException If the file can not be opened or written
+     * @throws InterruptedException If the writer thread is interrupted
+     */
+    private void write(List<Span> spans) throws IOException, InterruptedException {
+        Path parent = this.path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (Writer output = Files.newBufferedWriter(this.path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (!this.closed || !this.queue.isEmpty()) {
+                Span span = this.queue.poll(POLL_MILLISECONDS, TimeUnit.MILLISECONDS);
+                if (span != null) {
+                    spans.add(span);
+                    this.queue.drainTo(spans, BATCH_SIZE - 1);
+                    write(output, spans);
+                    spans.clear();
+                    output.flush();
+                }
+            }
+        }
+    }
+
+    private void write(Writer output, List<Span> spans) throws IOException {
+        for (int i = 0; i < spans.size(); i++) {
+            String json = JsonUtils.toJson(spans.get(i));
+            if (json != null) {
+                try {
+                    output.write(json);
+                    output.write('\n');
+                } catch (IOException e) {
+                    this.dropped.add((long) spans.size() - i);
+                    throw e;
+                }
+                this.exported.increment();
+            }
+        }
+    }
+}
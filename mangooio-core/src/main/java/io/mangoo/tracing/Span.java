@@ -0,0 +1,159 @@
+package io.mangoo.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import io.mangoo.enums.Required;
+
+/**
+ * A timed operation of a trace, e.g. a request, a filter chain or a task
+ *
+ * A span is created by the {@link Tracer} and exported once when it ends, if its
+ * trace is sampled. Spans of unsampled traces only carry the trace context, so that
+ * it is propagated to other services with the sampled flag unset.
+ *
+ * @author svenkubiak
+ *
+ */
+public class Span {
+    private static final AtomicLongFieldUpdater<Span> DURATION = AtomicLongFieldUpdater.newUpdater(Span.class, "duration");
+    private final Map<String, Object> attributes = new LinkedHashMap<>(); //NOSONAR
+    private final Tracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final long timestamp;
+    private final long start;
+    private volatile long duration = -1;
+    private final boolean sampled;
+    private volatile boolean error;
+
+    Span(Tracer tracer, String traceId, String parentSpanId, String name, boolean sampled) {
+        this.tracer = Objects.requireNonNull(tracer, Required.TRACER.toString());
+        this.traceId = Objects.requireNonNull(traceId, Required.TRACE_ID.toString());
+        this.name = Objects.requireNonNull(name, Required.NAME.toString());
+        this.parentSpanId = parentSpanId;
+        this.sampled = sampled;
+        this.spanId = TraceContext.newSpanId();
+        this.timestamp = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Creates a new span as child of this span
+     *
+     * @param name The name of the child span
+     * @return The child span
+     */
+    public Span child(String name) {
+        return new Span(this.tracer, this.traceId, this.spanId, name, this.sampled);
+    }
+
+    /**
+     * Adds an attribute to the span
+     *
+     * @param key The key of the attribute, e.g. http.method
+     * @param value The value of the attribute
+     * @return The span
+     */
+    public Span withAttribute(String key, Object value) {
+        Objects.requireNonNull(key, Required.KEY.toString());
+
+        if (this.sampled) {
+            synchronized (this.attributes) {
+                this.attributes.put(key, value);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Marks the span as failed and records the type of the exception
+     *
+     * @param throwable The exception which caused the failure
+     * @return The span
+     */
+    public Span withError(Throwable throwable) {
+        this.error = true;
+        if (throwable != null) {
+            withAttribute("error.type", throwable.getClass().getName());
+        }
+
+        return this;
+    }
+
+    /**
+     * Ends the span and passes it to the exporter if the trace is sampled, subsequent calls are ignored
+     */
+    public void end() {
+        if (DURATION.compareAndSet(this, -1, Math.max(0, System.nanoTime() - this.start)) && this.sampled) {
+            this.tracer.export(this);
+        }
+    }
+
+    public String getTraceId() {
+        return this.traceId;
+    }
+
+    public String getSpanId() {
+        return this.spanId;
+    }
+
+    /**
+     * @return The id of the parent span or null if the span is the root of the trace
+     */
+    public String getParentSpanId() {
+        return this.parentSpanId;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The start of the span in microseconds since the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * @return The duration of the span in nanoseconds or -1 if the span has not ended
+     */
+    public long getDuration() {
+        return this.duration;
+    }
+
+    /**
+     * @return True if the span is exported when it ends, false otherwise
+     */
+    @JsonIgnore
+    public boolean isSampled() {
+        return this.sampled;
+    }
+
+    public boolean isError() {
+        return this.error;
+    }
+
+    public Map<String, Object> getAttributes() {
+        synchronized (this.attributes) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(this.attributes));
+        }
+    }
+
+    /**
+     * @return The W3C traceparent header value to propagate this span to another service
+     */
+    public String getTraceparent() {
+        return TraceContext.toTraceparent(this.traceId, this.spanId, this.sampled);
+    }
+}
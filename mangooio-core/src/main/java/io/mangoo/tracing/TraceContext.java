@@ -0,0 +1,151 @@
+package io.mangoo.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Trace id, parent span id and sampling decision of a W3C traceparent header
+ *
+ * @see <a href="https://www.w3.org/TR/trace-context/">W3C Trace Context</a>
+ *
+ * @author svenkubiak
+ *
+ */
+public final class TraceContext {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int LENGTH = 55;
+    private static final int TRACE_ID_LENGTH = 32;
+    private static final int SPAN_ID_LENGTH = 16;
+    private final String traceId;
+    private final String parentSpanId;
+    private final boolean sampled;
+
+    private TraceContext(String traceId, String parentSpanId, boolean sampled) {
+        this.traceId = traceId;
+        this.parentSpanId = parentSpanId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * Parses a traceparent header, e.g. 00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01
+     *
+     * @param traceparent The value of the traceparent header
+     * @return The trace context or null if the header is missing or invalid
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null || traceparent.length() < LENGTH) {
+            return null;
+        }
+
+        String value = traceparent.trim();
+        if (value.length() < LENGTH || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-') {
+            return null;
+        }
+
+        String version = value.substring(0, 2);
+        if (!isHex(version) || "ff".equals(version) || ("00".equals(version) && value.length() != LENGTH)
+                || (value.length() > LENGTH && value.charAt(LENGTH) != '-')) {
+            return null;
+        }
+
+        String traceId = value.substring(3, 35);
+        String parentSpanId = value.substring(36, 52);
+        String flags = value.substring(53, 55);
+        if (!isHex(traceId) || !isHex(parentSpanId) || !isHex(flags) || isZero(traceId) || isZero(parentSpanId)) {
+            return null;
+        }
+
+        return new TraceContext(traceId, parentSpanId, (Character.digit(flags.charAt(1), 16) & 1) == 1);
+    }
+
+    /**
+     * Formats a traceparent header
+     *
+     * @param traceId The trace id
+     * @param spanId The span id
+     * @param sampled True if the trace is sampled, false otherwise
+     * @return The value of the traceparent header
+     */
+    public static String toTraceparent(String traceId, String spanId, boolean sampled) {
+        return new StringBuilder(LENGTH)
+                .append("00-")
+                .append(traceId)
+                .append('-')
+                .append(spanId)
+                .append(sampled ? "-01" : "-00")
+                .toString();
+    }
+
+    /**
+     * @return A new random trace id of 32 lowercase hex characters
+     */
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0 && low == 0);
+
+        char[] chars = new char[TRACE_ID_LENGTH];
+        hex(high, chars, 0);
+        hex(low, chars, SPAN_ID_LENGTH);
+
+        return new String(chars);
+    }
+
+    /**
+     * @return A new random span id of 16 lowercase hex characters
+     */
+    public static String newSpanId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id;
+        do {
+            id = random.nextLong();
+        } while (id == 0);
+
+        char[] chars = new char[SPAN_ID_LENGTH];
+        hex(id, chars, 0);
+
+        return new String(chars);
+    }
+
+    public String getTraceId() {
+        return this.traceId;
+    }
+
+    public String getParentSpanId() {
+        return this.parentSpanId;
+    }
+
+    public boolean isSampled() {
+        return this.sampled;
+    }
+
+    private static void hex(long value, char[] chars, int offset) {
+        for (int i = SPAN_ID_LENGTH - 1; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) ((value >>> ((SPAN_ID_LENGTH - 1 - i) * 4)) & 0xF)];
+        }
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,199 @@
+package io.mangoo.tracing;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import io.mangoo.configuration.Config;
+import io.mangoo.enums.Required;
+import io.mangoo.interfaces.MangooSpanExporter;
+
+/**
+ * Creates spans and exports the spans of sampled traces
+ *
+ * A request starts a trace from its traceparent header, or a new trace if it has none,
+ * and becomes the current span of the handling thread. Spans for internal stages are
+ * created as children of the current span. The current span is propagated to tasks of
+ * the ConcurrentService and to events of the EventBusService.
+ *
+ * Requests with a sampled traceparent are always sampled, requests without one are
+ * sampled one in tracing.sample. Unsampled traces keep their trace context and are
+ * propagated with the sampled flag unset, only their spans are not exported.
+ *
+ * @author svenkubiak
+ *
+ */
+@Singleton
+public class Tracer {
+    private static final Logger LOG = LogManager.getLogger(Tracer.class);
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private final MangooSpanExporter spanExporter;
+    private final boolean enabled;
+    private final int sample;
+
+    @Inject
+    public Tracer(Config config, MangooSpanExporter spanExporter) {
+        Objects.requireNonNull(config, Required.CONFIG.toString());
+
+        this.spanExporter = Objects.requireNonNull(spanExporter, Required.SPAN_EXPORTER.toString());
+        this.enabled = config.isTracingEnabled();
+        this.sample = Math.max(1, config.getTracingSample());
+    }
+
+    /**
+     * @return True if tracing is enabled, false otherwise
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Starts the root span of a request
+     *
+     * @param name The name of the span, e.g. ApplicationController:index
+     * @param traceparent The traceparent header of the request or null if there is none
+     * @return The span or null if tracing is disabled
+     */
+    public Span startTrace(String name, String traceparent) {
+        if (!this.enabled) {
+            return null;
+        }
+
+        TraceContext traceContext = TraceContext.parse(traceparent);
+        if (traceContext != null) {
+            return new Span(this, traceContext.getTraceId(), traceContext.getParentSpanId(), name, traceContext.isSampled());
+        }
+
+        return new Span(this, TraceContext.newTraceId(), null, name, this.sample == 1 || ThreadLocalRandom.current().nextInt(this.sample) == 0);
+    }
+
+    /**
+     * Passes an ended span to the exporter
+     *
+     * @param span The ended span
+     */
+    void export(Span span) {
+        try {
+            this.spanExporter.export(span);
+        } catch (RuntimeException e) { //NOSONAR
+            LOG.error("Failed to export span " + span.getName(), e);
+        }
+    }
+
+    /**
+     * Closes the exporter
+     */
+    public void shutdown() {
+        this.spanExporter.close();
+    }
+
+    /**
+     * @return The current span of the calling thread or null if it is not traced
+     */
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes the given span the current span of the calling thread
+     *
+     * @param span The span or null to clear the current span
+     * @return The previous span of the calling thread, which should be restored afterwards
+     */
+    public static Span activate(Span span) {
+        Span previous = CURRENT.get();
+        if (span == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(span);
+        }
+
+        return previous;
+    }
+
+    /**
+     * Starts a child of the current span
+     *
+     * @param name The name of the span, e.g. render
+     * @return The span or null if the calling thread is not traced
+     */
+    public static Span startSpan(String name) {
+        Span current = CURRENT.get();
+        return (current == null) ? null : current.child(name);
+    }
+
+    /**
+     * @return The traceparent header value to pass the current trace to another service or null if the calling thread is not traced
+     */
+    public static String traceparent() {
+        Span current = CURRENT.get();
+        return (current == null) ? null : current.getTraceparent();
+    }
+
+    /**
+     * Wraps a runnable, so that it runs in a child span of the current span
+     *
+     * @param name The name of the child span
+     * @param runnable The runnable to wrap
+     * @return The wrapped runnable or the given runnable if the calling thread is not traced
+     */
+    public static Runnable wrap(String name, Runnable runnable) {
+        Objects.requireNonNull(runnable, Required.RUNNABLE.toString());
+
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return runnable;
+        }
+
+        return () -> {
+            Span span = parent.child(name);
+            Span previous = activate(span);
+            try {
+                runnable.run();
+            } catch (RuntimeException | Error e) {
+                span.withError(e);
+                throw e;
+            } finally {
+                activate(previous);
+                span.end();
+            }
+        };
+    }
+
+    /**
+     * Wraps a callable, so that it runs in a child span of the current span
+     *
+     * @param name The name of the child span
+     * @param callable The callable to wrap
+     * @param <T> The type of the result
+     * @return The wrapped callable or the given callable if the calling thread is not traced
+     */
+    public static <T> Callable<T> wrap(String name, Callable<T> callable) {
+        Objects.requireNonNull(callable, Required.CALLABLE.toString());
+
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return callable;
+        }
+
+        return () -> {
+            Span span = parent.child(name);
+            Span previous = activate(span);
+            try {
+                return callable.call();
+            } catch (Exception | Error e) { //NOSONAR
+                span.withError(e);
+                throw e;
+            } finally {
+                activate(previous);
+                span.end();
+            }
+        };
+    }
+}
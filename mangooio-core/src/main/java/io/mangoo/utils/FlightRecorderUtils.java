@@ -0,0 +1,107 @@
+package io.mangoo.utils;
+
+/**
+ * Emits Java Flight Recorder events for the request lifecycle, controller invocations,
+ * template rendering, cookie handling, cache access and scheduler jobs
+ *
+ * A begin method returns the started event or null if no recording is active for the
+ * event type. The event is passed to the matching end method, which ignores null.
+ *
+ * This is the Java 8 implementation, which does not emit any events. When running on
+ * Java 11 or newer, the implementation in META-INF/versions/11 of the multi-release
+ * jar is used instead.
+ *
+ * @author svenkubiak
+ *
+ */
+public final class FlightRecorderUtils {
+    
+    private FlightRecorderUtils() {
+    }
+    
+    /**
+     * @return True if the running JDK supports custom flight recorder events, false otherwise
+     */
+    public static boolean isAvailable() {
+        return false;
+    }
+
+    public static Object beginRequest() {
+        return null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginRequest()}
+     * @param route The controller and method, e.g. ApplicationController:index
+     * @param method The HTTP method
+     * @param uri The request URI
+     * @param status The HTTP status code
+     * @param bytes The number of bytes sent
+     */
+    public static void endRequest(Object event, String route, String method, String uri, int status, long bytes) {
+        // Flight recorder events require Java 11 or newer
+    }
+
+    public static Object beginController() {
+        return null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginController()}
+     * @param route The controller and method, e.g. ApplicationController:index
+     */
+    public static void endController(Object event, String route) {
+        // Flight recorder events require Java 11 or newer
+    }
+
+    public static Object beginRender() {
+        return null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginRender()}
+     * @param template The path of the rendered template
+     */
+    public static void endRender(Object event, String template) {
+        // Flight recorder events require Java 11 or newer
+    }
+
+    public static Object beginCookies() {
+        return null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginCookies()}
+     * @param operation decode for inbound or encode for outbound cookies
+     */
+    public static void endCookies(Object event, String operation) {
+        // Flight recorder events require Java 11 or newer
+    }
+
+    public static Object beginCache() {
+        return null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginCache()}
+     * @param operation get or put
+     * @param key The cache key
+     * @param hit True if a get found a value, false otherwise
+     */
+    public static void endCache(Object event, String operation, String key, boolean hit) {
+        // Flight recorder events require Java 11 or newer
+    }
+
+    public static Object beginJob() {
+        return null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginJob()}
+     * @param job The name of the job
+     * @param failed True if the job threw an exception, false otherwise
+     */
+    public static void endJob(Object event, String job, boolean failed) {
+        // Flight recorder events require Java 11 or newer
+    }
+}
@@ -1,6 +1,25 @@
 package io.mangoo.utils;
 
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
 import java.text.DecimalFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.management.AttributeNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.xnio.Options;
+import org.xnio.XnioWorker;
+
+import io.mangoo.core.Application;
 
 /**
  * 
@@ -8,8 +27,10 @@ import java.text.DecimalFormat;
  *
  */
 public final class MetricsUtils {
+    private static final Logger LOG = LogManager.getLogger(MetricsUtils.class);
     private static final String [] UNITS = new String[] { "B", "kB", "MB", "GB", "TB" };
     private static final int CONVERTION = 1024;
+    private static final String [] WORKER_ATTRIBUTES = new String[] { "IoThreadCount", "CoreWorkerPoolSize", "MaxWorkerPoolSize", "WorkerPoolSize", "BusyWorkerThreadCount", "WorkerQueueSize" };
     
     private MetricsUtils() {
     }
@@ -28,4 +49,88 @@ public final class MetricsUtils {
         int index = (int) (Math.log10(size) / Math.log10(CONVERTION));
         return new DecimalFormat("#,##0.#").format(size / Math.pow(CONVERTION, index)) + " " + UNITS[index];
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the statistics of the JVM buffer pools, e.g. the direct buffers used by Undertow
+     * 
+     * @return The count, used memory and total capacity of each buffer pool by pool name
+     */
+    public static Map<String, Map<String, Long>> getBufferPools() {
+        Map<String, Map<String, Long>> bufferPools = new TreeMap<>();
+        for (BufferPoolMXBean bufferPool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            Map<String, Long> statistics = new TreeMap<>();
+            statistics.put("count", bufferPool.getCount());
+            statistics.put("memoryUsed", bufferPool.getMemoryUsed());
+            statistics.put("totalCapacity", bufferPool.getTotalCapacity());
+            bufferPools.put(bufferPool.getName(), statistics);
+        }
+        
+        return bufferPools;
+    }
+    
+    /**
+     * Reads the statistics of the XNIO workers from the MBeans registered by XNIO
+     * 
+     * Attributes which are not provided by the XNIO version in use are omitted. If XNIO
+     * registers no MBeans, the configured sizes of the worker of the running server are
+     * returned instead.
+     * 
+     * @return The thread and queue statistics of each worker by worker name
+     */
+    public static Map<String, Map<String, Object>> getWorkers() {
+        Map<String, Map<String, Object>> workers = new TreeMap<>();
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName objectName : mBeanServer.queryNames(new ObjectName("org.xnio:type=Xnio,provider=*,worker=*"), null)) {
+                Map<String, Object> statistics = new TreeMap<>();
+                for (String attribute : WORKER_ATTRIBUTES) {
+                    try {
+                        statistics.put(attribute, mBeanServer.getAttribute(objectName, attribute));
+                    } catch (AttributeNotFoundException e) {
+                        LOG.debug("Attribute " + attribute + " is not provided by " + objectName, e);
+                    } catch (JMException e) {
+                        LOG.warn("Failed to read attribute " + attribute + " of " + objectName, e);
+                    }
+                }
+                String worker = objectName.getKeyProperty("worker");
+                workers.put((worker == null) ? objectName.toString() : StringUtils.strip(worker, "\""), statistics);
+            }
+        } catch (MalformedObjectNameException e) {
+            LOG.warn("Failed to query the XNIO worker MBeans", e);
+        }
+        
+        if (workers.isEmpty()) {
+            XnioWorker worker = Application.getWorker();
+            if (worker != null) {
+                workers.put(worker.getName(), getWorker(worker));
+            }
+        }
+        
+        return workers;
+    }
+    
+    /**
+     * Reads the configured sizes of a worker, for XNIO versions which do not register MBeans
+     * 
+     * @param worker The XNIO worker
+     * @return The IO thread count and the core and maximum worker pool size
+     */
+    private static Map<String, Object> getWorker(XnioWorker worker) {
+        Map<String, Object> statistics = new TreeMap<>();
+        statistics.put("IoThreadCount", worker.getIoThreadCount());
+        try {
+            Integer coreThreads = worker.getOption(Options.WORKER_TASK_CORE_THREADS);
+            if (coreThreads != null) {
+                statistics.put("CoreWorkerPoolSize", coreThreads);
+            }
+            Integer maxThreads = worker.getOption(Options.WORKER_TASK_MAX_THREADS);
+            if (maxThreads != null) {
+                statistics.put("MaxWorkerPoolSize", maxThreads);
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to read the options of XNIO worker " + worker.getName(), e);
+        }
+        
+        return statistics;
+    }
+}
@@ -0,0 +1,35 @@
+package io.mangoo.utils;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates threads which are only available on newer JDKs
+ *
+ * This is the Java 8 implementation. When running on Java 21 or newer, the
+ * implementation in META-INF/versions/21 of the multi-release jar is used instead.
+ *
+ * @author svenkubiak
+ *
+ */
+public final class ThreadUtils {
+    
+    private ThreadUtils() {
+    }
+    
+    /**
+     * @return True if the running JDK supports virtual threads, false otherwise
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return false;
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task
+     *
+     * @param name The name prefix of the virtual threads
+     * @return A new executor service
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+    }
+}
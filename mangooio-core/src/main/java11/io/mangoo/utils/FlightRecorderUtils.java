@@ -0,0 +1,246 @@
+package io.mangoo.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emits Java Flight Recorder events for the request lifecycle, controller invocations,
+ * template rendering, cookie handling, cache access and scheduler jobs
+ *
+ * A begin method returns the started event or null if no recording is active for the
+ * event type. The event is passed to the matching end method, which ignores null.
+ * Without an active recording no event is allocated.
+ *
+ * @author svenkubiak
+ *
+ */
+public final class FlightRecorderUtils {
+    private static final String CATEGORY = "mangoo I/O";
+    private static final RequestEvent REQUEST = new RequestEvent();
+    private static final ControllerEvent CONTROLLER = new ControllerEvent();
+    private static final RenderEvent RENDER = new RenderEvent();
+    private static final CookiesEvent COOKIES = new CookiesEvent();
+    private static final CacheEvent CACHE = new CacheEvent();
+    private static final JobEvent JOB = new JobEvent();
+    
+    private FlightRecorderUtils() {
+    }
+    
+    /**
+     * @return True if the running JDK supports custom flight recorder events, false otherwise
+     */
+    public static boolean isAvailable() {
+        return true;
+    }
+
+    public static Object beginRequest() {
+        return REQUEST.isEnabled() ? begin(new RequestEvent()) : null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginRequest()}
+     * @param route The controller and method, e.g. ApplicationController:index
+     * @param method The HTTP method
+     * @param uri The request URI
+     * @param status The HTTP status code
+     * @param bytes The number of bytes sent
+     */
+    public static void endRequest(Object event, String route, String method, String uri, int status, long bytes) {
+        if (event != null) {
+            RequestEvent requestEvent = (RequestEvent) event;
+            requestEvent.end();
+            if (requestEvent.shouldCommit()) {
+                requestEvent.route = route;
+                requestEvent.method = method;
+                requestEvent.uri = uri;
+                requestEvent.status = status;
+                requestEvent.bytes = bytes;
+                requestEvent.commit();
+            }
+        }
+    }
+
+    public static Object beginController() {
+        return CONTROLLER.isEnabled() ? begin(new ControllerEvent()) : null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginController()}
+     * @param route The controller and method, e.g. ApplicationController:index
+     */
+    public static void endController(Object event, String route) {
+        if (event != null) {
+            ControllerEvent controllerEvent = (ControllerEvent) event;
+            controllerEvent.end();
+            if (controllerEvent.shouldCommit()) {
+                controllerEvent.route = route;
+                controllerEvent.commit();
+            }
+        }
+    }
+
+    public static Object beginRender() {
+        return RENDER.isEnabled() ? begin(new RenderEvent()) : null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginRender()}
+     * @param template The path of the rendered template
+     */
+    public static void endRender(Object event, String template) {
+        if (event != null) {
+            RenderEvent renderEvent = (RenderEvent) event;
+            renderEvent.end();
+            if (renderEvent.shouldCommit()) {
+                renderEvent.template = template;
+                renderEvent.commit();
+            }
+        }
+    }
+
+    public static Object beginCookies() {
+        return COOKIES.isEnabled() ? begin(new CookiesEvent()) : null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginCookies()}
+     * @param operation decode for inbound or encode for outbound cookies
+     */
+    public static void endCookies(Object event, String operation) {
+        if (event != null) {
+            CookiesEvent cookiesEvent = (CookiesEvent) event;
+            cookiesEvent.end();
+            if (cookiesEvent.shouldCommit()) {
+                cookiesEvent.operation = operation;
+                cookiesEvent.commit();
+            }
+        }
+    }
+
+    public static Object beginCache() {
+        return CACHE.isEnabled() ? begin(new CacheEvent()) : null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginCache()}
+     * @param operation get or put
+     * @param key The cache key
+     * @param hit True if a get found a value, false otherwise
+     */
+    public static void endCache(Object event, String operation, String key, boolean hit) {
+        if (event != null) {
+            CacheEvent cacheEvent = (CacheEvent) event;
+            cacheEvent.end();
+            if (cacheEvent.shouldCommit()) {
+                cacheEvent.operation = operation;
+                cacheEvent.key = key;
+                cacheEvent.hit = hit;
+                cacheEvent.commit();
+            }
+        }
+    }
+
+    public static Object beginJob() {
+        return JOB.isEnabled() ? begin(new JobEvent()) : null;
+    }
+
+    /**
+     * @param event The event returned by {@link #beginJob()}
+     * @param job The name of the job
+     * @param failed True if the job threw an exception, false otherwise
+     */
+    public static void endJob(Object event, String job, boolean failed) {
+        if (event != null) {
+            JobEvent jobEvent = (JobEvent) event;
+            jobEvent.end();
+            if (jobEvent.shouldCommit()) {
+                jobEvent.job = job;
+                jobEvent.failed = failed;
+                jobEvent.commit();
+            }
+        }
+    }
+
+    private static Event begin(Event event) {
+        event.begin();
+        return event;
+    }
+
+    @Name("io.mangoo.Request")
+    @Label("Request")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class RequestEvent extends Event {
+        @Label("Route")
+        String route;
+
+        @Label("Method")
+        String method;
+
+        @Label("URI")
+        String uri;
+
+        @Label("Status")
+        int status;
+
+        @Label("Bytes Sent")
+        @DataAmount
+        long bytes;
+    }
+
+    @Name("io.mangoo.Controller")
+    @Label("Controller Invocation")
+    @Category(CATEGORY)
+    static final class ControllerEvent extends Event {
+        @Label("Route")
+        String route;
+    }
+
+    @Name("io.mangoo.Render")
+    @Label("Template Render")
+    @Category(CATEGORY)
+    static final class RenderEvent extends Event {
+        @Label("Template")
+        String template;
+    }
+
+    @Name("io.mangoo.Cookies")
+    @Label("Cookies")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class CookiesEvent extends Event {
+        @Label("Operation")
+        String operation;
+    }
+
+    @Name("io.mangoo.Cache")
+    @Label("Cache Access")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class CacheEvent extends Event {
+        @Label("Operation")
+        String operation;
+
+        @Label("Key")
+        String key;
+
+        @Label("Hit")
+        boolean hit;
+    }
+
+    @Name("io.mangoo.Job")
+    @Label("Scheduler Job")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class JobEvent extends Event {
+        @Label("Job")
+        String job;
+
+        @Label("Failed")
+        boolean failed;
+    }
+}
@@ -0,0 +1,36 @@
+package io.mangoo.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates threads which are only available on newer JDKs
+ *
+ * This is the Java 21 implementation, which is packaged to META-INF/versions/21
+ * of the multi-release jar.
+ *
+ * @author svenkubiak
+ *
+ */
+public final class ThreadUtils {
+    
+    private ThreadUtils() {
+    }
+    
+    /**
+     * @return True if the running JDK supports virtual threads, false otherwise
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return true;
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task
+     *
+     * @param name The name prefix of the virtual threads
+     * @return A new executor service
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mangooio-" + name + "-", 1).factory());
+    }
+}
@@ -0,0 +1,56 @@
+<#include "header.ftl">
+<section class="content-header">
+	<h1>Cache</h1>
+</section>
+<section class="content">
+<#if caches?has_content>
+<div class="row">
+	<div class="col-xs-12">
+    	<div class="box">
+	    	<div class="box-header">
+				<div class="form-group">
+	            	<input type="text" name="table_search" id="filter" class="form-control" placeholder="Start typing what you are looking for...">
+	            </div>
+	        </div>
+            <div class="box-body table-responsive no-padding">
+            	<table class="table table-hover">
+                	<thead>
+						<tr>
+							<th data-sort="string"><b>Name</b></th>
+							<th data-sort="int"><b>Entries</b></th>
+							<th data-sort="int"><b>Hits</b></th>
+							<th data-sort="int"><b>Misses</b></th>
+							<th data-sort="float"><b>Hit rate</b></th>
+							<th data-sort="int"><b>Puts</b></th>
+							<th data-sort="int"><b>Removals</b></th>
+							<th data-sort="int"><b>Evictions</b></th>
+							<th data-sort="int"><b>Expirations</b></th>
+							<th data-sort="float"><b>Get p50 / p99</b></th>
+							<th data-sort="string"><b>Resources</b></th>
+						</tr>
+					</thead>
+					<tbody class="searchable">
+						<#list caches as name, statistics>
+							<tr>
+								<td>${name}</td>
+								<td>${statistics.entries}</td>
+								<td>${statistics.hits}</td>
+								<td>${statistics.misses}</td>
+								<td>${statistics.hitRate?string("0.00")} %</td>
+								<td>${statistics.puts}</td>
+								<td>${statistics.removals}</td>
+								<td>${statistics.evictions}</td>
+								<td>${statistics.expirations}</td>
+								<td>${(statistics.latency.p50 / 1000)?string("0.0")} / ${(statistics.latency.p99 / 1000)?string("0.0")} &micro;s</td>
+								<td><#list statistics.resources as type, size>${type}: ${size}<#sep>, </#sep></#list></td>
+							</tr>
+						</#list>
+                	</tbody>
+                </table>
+        	</div>
+    	</div>
+	</div>
+</div>
+</#if>
+</section>
+<#include "footer.ftl">
@@ -0,0 +1,66 @@
+<#include "header.ftl">
+<section class="content-header">
+	<h1>Event bus</h1>
+</section>
+<section class="content">
+<div class="row">
+    <div class="col-lg-6">
+    	<div class="info-box">
+        	<span class="info-box-icon bg-aqua"><i class="fa fa-users"></i></span>
+            <div class="info-box-content">
+            	<span class="info-box-text">Listeners</span>
+            	<span class="info-box-number">${listeners}</span>
+            </div>
+        </div>
+    </div>
+    <div class="col-lg-6">
+    	<div class="info-box">
+        	<span class="info-box-icon bg-aqua"><i class="fa fa-bullhorn"></i></span>
+            <div class="info-box-content">
+            	<span class="info-box-text">Published events</span>
+            	<span class="info-box-number">${events}</span>
+            </div>
+        </div>
+    </div>
+</div>
+<#if subscribers?has_content>
+<div class="row">
+	<div class="col-xs-12">
+    	<div class="box">
+	    	<div class="box-header">
+				<div class="form-group">
+	            	<input type="text" name="table_search" id="filter" class="form-control" placeholder="Start typing what you are looking for...">
+	            </div>
+	        </div>
+            <div class="box-body table-responsive no-padding">
+            	<table class="table table-hover">
+                	<thead>
+						<tr>
+							<th data-sort="string"><b>Subscriber</b></th>
+							<th data-sort="int"><b>Queue depth</b></th>
+							<th data-sort="int"><b>Delivered</b></th>
+							<th data-sort="int"><b>Dropped</b></th>
+							<th data-sort="int"><b>Failures</b></th>
+							<th data-sort="float"><b>Handler p50 / p99</b></th>
+						</tr>
+					</thead>
+					<tbody class="searchable">
+						<#list subscribers as subscriber>
+							<tr>
+								<td>${subscriber.name}</td>
+								<td>${subscriber.queueDepth}</td>
+								<td>${subscriber.delivered}</td>
+								<td>${subscriber.dropped}</td>
+								<td>${subscriber.failures}</td>
+								<td>${(subscriber.latency.p50 / 1000000)?string("0.00")} / ${(subscriber.latency.p99 / 1000000)?string("0.00")} ms</td>
+							</tr>
+						</#list>
+                	</tbody>
+                </table>
+        	</div>
+    	</div>
+	</div>
+</div>
+</#if>
+</section>
+<#include "footer.ftl">
@@ -0,0 +1,50 @@
+<#include "header.ftl">
+<section class="content-header">
+	<h1>Executors</h1>
+</section>
+<section class="content">
+<div class="row">
+	<div class="col-xs-12">
+    	<div class="box">
+	    	<div class="box-header">
+				<div class="form-group">
+	            	<input type="text" name="table_search" id="filter" class="form-control" placeholder="Start typing what you are looking for...">
+	            </div>
+	        </div>
+            <div class="box-body table-responsive no-padding">
+            	<table class="table table-hover">
+                	<thead>
+						<tr>
+							<th data-sort="string"><b>Executor</b></th>
+							<th data-sort="string"><b>Type</b></th>
+							<th data-sort="int"><b>Threads</b></th>
+							<th data-sort="int"><b>Active</b></th>
+							<th data-sort="int"><b>Queue depth</b></th>
+							<th data-sort="int"><b>Completed</b></th>
+							<th data-sort="int"><b>Rejected</b></th>
+							<th data-sort="float"><b>Queue wait p50 / p99</b></th>
+							<th data-sort="float"><b>Task p50 / p99</b></th>
+						</tr>
+					</thead>
+					<tbody class="searchable">
+						<#list executors as executor>
+							<tr>
+								<td>${executor.name}</td>
+								<td>${executor.type}</td>
+								<td>${executor.threads}</td>
+								<td>${executor.active}</td>
+								<td>${executor.queueDepth}<#if (executor.queueCapacity >= 0)> / ${executor.queueCapacity}</#if></td>
+								<td>${executor.completed}</td>
+								<td>${executor.rejected}</td>
+								<td>${(executor.wait.p50 / 1000000)?string("0.00")} / ${(executor.wait.p99 / 1000000)?string("0.00")} ms</td>
+								<td>${(executor.latency.p50 / 1000000)?string("0.00")} / ${(executor.latency.p99 / 1000000)?string("0.00")} ms</td>
+							</tr>
+						</#list>
+                	</tbody>
+                </table>
+        	</div>
+    	</div>
+	</div>
+</div>
+</section>
+<#include "footer.ftl">
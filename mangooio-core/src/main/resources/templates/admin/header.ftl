@@ -33,6 +33,11 @@
             <li <#if space?? && space == 'routes'>class="active"</#if>><a href="/@admin/routes"><i class="fa fa-arrows"></i><span>Routes</span></a></li>
             <li <#if space?? && space == 'scheduler'>class="active"</#if>><a href="/@admin/scheduler"><i class="fa fa-calendar"></i><span>Scheduler</span></a></li>
             <li <#if space?? && space == 'metrics'>class="active"</#if>><a href="/@admin/metrics"><i class="fa fa-signal"></i><span>Metrics</span></a></li>
+            <li <#if space?? && space == 'requests'>class="active"</#if>><a href="/@admin/requests"><i class="fa fa-list"></i><span>Requests</span></a></li>
+            <li <#if space?? && space == 'slow'>class="active"</#if>><a href="/@admin/slow"><i class="fa fa-clock-o"></i><span>Slow requests</span></a></li>
+            <li <#if space?? && space == 'caches'>class="active"</#if>><a href="/@admin/cache"><i class="fa fa-database"></i><span>Cache</span></a></li>
+            <li <#if space?? && space == 'eventbus'>class="active"</#if>><a href="/@admin/eventbus"><i class="fa fa-bullhorn"></i><span>Event bus</span></a></li>
+            <li <#if space?? && space == 'executors'>class="active"</#if>><a href="/@admin/executors"><i class="fa fa-tasks"></i><span>Executors</span></a></li>
             <li <#if space?? && space == 'tools'>class="active"</#if>><a href="/@admin/tools"><i class="fa fa-wrench"></i><span>Tools</span></a></li>
           </ul>
         </section>
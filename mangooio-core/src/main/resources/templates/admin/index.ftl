@@ -47,5 +47,25 @@
         </div>
     </div>
 </div>
+<div class="row">
+    <div class="col-lg-6">
+    	<div class="info-box">
+        	<span class="info-box-icon bg-yellow"><i class="fa fa-exchange"></i></span>
+            <div class="info-box-content">
+            	<span class="info-box-text">Server-Sent Event connections</span>
+            	<span class="info-box-number">${connections.serverSentEvents}</span>
+            </div>
+        </div>
+    </div>
+    <div class="col-lg-6">
+    	<div class="info-box">
+        	<span class="info-box-icon bg-yellow"><i class="fa fa-plug"></i></span>
+            <div class="info-box-content">
+            	<span class="info-box-text">WebSocket connections</span>
+            	<span class="info-box-number">${connections.webSockets}</span>
+            </div>
+        </div>
+    </div>
+</div>
 </section>
 <#include "footer.ftl">
\ No newline at end of file
@@ -87,6 +87,126 @@
 	</div>
 </div>
 </#if>
+<#if routeMetrics?has_content>
+<div class="row">
+	<div class="col-xs-12">
+    	<div class="box">
+            <div class="box-body table-responsive no-padding">
+            	<table class="table table-hover">
+                	<thead>
+						<tr>
+							<th data-sort="string"><b>Route</b></th>
+							<th data-sort="int"><b>Requests</b></th>
+							<th data-sort="float"><b>p50</b></th>
+							<th data-sort="float"><b>p90</b></th>
+							<th data-sort="float"><b>p99</b></th>
+							<th data-sort="float"><b>p999</b></th>
+							<th data-sort="string"><b>2xx / 3xx / 4xx / 5xx</b></th>
+						</tr>
+					</thead>
+					<tbody class="searchable">
+						<#list routeMetrics as route>
+							<tr>
+								<td>${route.name}</td>
+								<td>${route.count}</td>
+								<td>${(route.latency.p50 / 1000000)?string("0.00")} ms</td>
+								<td>${(route.latency.p90 / 1000000)?string("0.00")} ms</td>
+								<td>${(route.latency.p99 / 1000000)?string("0.00")} ms</td>
+								<td>${(route.latency.p999 / 1000000)?string("0.00")} ms</td>
+								<td>${route.statusClasses["2xx"]} / ${route.statusClasses["3xx"]} / ${route.statusClasses["4xx"]} / ${route.statusClasses["5xx"]}</td>
+							</tr>
+						</#list>
+                	</tbody>
+                </table>
+        	</div>
+    	</div>
+	</div>
+</div>
+</#if>
+<#if stages?has_content>
+<div class="row">
+	<div class="col-xs-12">
+    	<div class="box">
+	    	<div class="box-header">
+	    		<h3 class="box-title">Sampled stages p50 / p99</h3>
+	        </div>
+            <div class="box-body table-responsive no-padding">
+            	<table class="table table-hover">
+                	<thead>
+						<tr>
+							<th data-sort="string"><b>Route</b></th>
+							<#list stages as stage>
+							<th><b>${stage}</b></th>
+							</#list>
+						</tr>
+					</thead>
+					<tbody class="searchable">
+						<#list routeMetrics as route>
+							<#if route.stages?has_content>
+							<tr>
+								<td>${route.name}</td>
+								<#list route.stages as stage, histogram>
+								<td>${(histogram.p50 / 1000000)?string("0.000")} / ${(histogram.p99 / 1000000)?string("0.000")} ms</td>
+								</#list>
+							</tr>
+							</#if>
+						</#list>
+                	</tbody>
+                </table>
+        	</div>
+    	</div>
+	</div>
+</div>
+</#if>
+<#if application.counters?has_content || application.gauges?has_content || application.timers?has_content>
+<div class="row">
+	<div class="col-xs-12">
+    	<div class="box">
+	    	<div class="box-header">
+	    		<h3 class="box-title">Application metrics</h3>
+	        </div>
+            <div class="box-body table-responsive no-padding">
+            	<table class="table table-hover">
+                	<thead>
+						<tr>
+							<th data-sort="string"><b>Name</b></th>
+							<th data-sort="string"><b>Tags</b></th>
+							<th data-sort="string"><b>Type</b></th>
+							<th data-sort="string"><b>Value</b></th>
+						</tr>
+					</thead>
+					<tbody class="searchable">
+						<#list application.counters as counter>
+							<tr>
+								<td>${counter.name}</td>
+								<td><#list counter.tags as name, value>${name}=${value?html}<#sep>, </#sep></#list></td>
+								<td>Counter</td>
+								<td>${counter.count}</td>
+							</tr>
+						</#list>
+						<#list application.gauges as gauge>
+							<tr>
+								<td>${gauge.name}</td>
+								<td><#list gauge.tags as name, value>${name}=${value?html}<#sep>, </#sep></#list></td>
+								<td>Gauge</td>
+								<td>${gauge.value?c}</td>
+							</tr>
+						</#list>
+						<#list application.timers as timer>
+							<tr>
+								<td>${timer.name}</td>
+								<td><#list timer.tags as name, value>${name}=${value?html}<#sep>, </#sep></#list></td>
+								<td>Timer</td>
+								<td>${timer.count} / p50 ${(timer.latency.p50 / 1000000)?string("0.00")} ms / p99 ${(timer.latency.p99 / 1000000)?string("0.00")} ms</td>
+							</tr>
+						</#list>
+                	</tbody>
+                </table>
+        	</div>
+    	</div>
+	</div>
+</div>
+</#if>
 <div class="row">
 	<div class="col-xs-12">
 		<a href="/@admin/metrics/reset" class="btn btn-primary btn-block" onclick="return confirm('Are you sure you want to reset the metrics?')">Reset metrics</a>
@@ -0,0 +1,64 @@
+<#include "header.ftl">
+<#if enabled>
+<section class="content-header">
+	<h1>Requests <small>last ${capacity} requests</small></h1>
+</section>
+<section class="content">
+<div class="row">
+	<div class="col-xs-12">
+    	<div class="box">
+	    	<div class="box-header">
+	    		<form method="get" action="/@admin/requests" class="form-inline">
+					<div class="form-group">
+		            	<input type="text" name="route" value="${route?html}" class="form-control" placeholder="Route">
+		            </div>
+					<div class="form-group">
+		            	<input type="text" name="status" value="${status?html}" class="form-control" placeholder="Status, e.g. 5 or 404">
+		            </div>
+					<div class="form-group">
+		            	<input type="text" name="min" value="${min?html}" class="form-control" placeholder="Minimum time in ms">
+		            </div>
+		            <button type="submit" class="btn btn-primary">Filter</button>
+		            <a href="/@admin/requests/json?route=${route?url}&status=${status?url}&min=${min?url}" class="btn btn-default">JSON</a>
+				</form>
+	        </div>
+            <div class="box-body table-responsive no-padding">
+            	<table class="table table-hover">
+                	<thead>
+						<tr>
+							<th data-sort="string"><b>Time</b></th>
+							<th data-sort="string"><b>Method</b></th>
+							<th data-sort="string"><b>Path</b></th>
+							<th data-sort="string"><b>Route</b></th>
+							<th data-sort="int"><b>Status</b></th>
+							<th data-sort="float"><b>Time (ms)</b></th>
+							<th data-sort="int"><b>Bytes</b></th>
+							<th data-sort="string"><b>Thread</b></th>
+						</tr>
+					</thead>
+					<tbody class="searchable">
+						<#list requests as request>
+							<tr>
+								<td>${request.timestamp?number_to_datetime?string("HH:mm:ss.SSS")}</td>
+								<td>${request.method}</td>
+								<td>${request.path?html}</td>
+								<td>${request.route!"-"}</td>
+								<td>${request.status}</td>
+								<td><#if (request.latency >= 0)>${request.latency?string("0.00")}<#else>-</#if></td>
+								<td>${request.bytes}</td>
+								<td>${request.thread}</td>
+							</tr>
+						</#list>
+                	</tbody>
+                </table>
+        	</div>
+    	</div>
+	</div>
+</div>
+</section>
+<#else>
+<section class="content-header">
+	<h1>Request log is not enabled</h1>
+</section>
+</#if>
+<#include "footer.ftl">
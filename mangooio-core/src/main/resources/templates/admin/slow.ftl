@@ -0,0 +1,52 @@
+<#include "header.ftl">
+<#if enabled>
+<section class="content-header">
+	<h1>Slow requests <small>slower than ${threshold} ms</small></h1>
+</section>
+<section class="content">
+<#if requests?has_content>
+<#list requests as request>
+<div class="row">
+	<div class="col-xs-12">
+		<div class="box box-primary">
+			<div class="box-header with-border">
+				<h3 class="box-title">${request.method} ${request.uri?html} <small>${request.route}</small></h3>
+				<div class="box-tools pull-right">
+					<span class="label label-default">${request.timestamp?number_to_datetime?string("yyyy-MM-dd HH:mm:ss")}</span>
+					<span class="label label-primary">${request.status}</span>
+					<span class="label label-danger">${request.duration} ms</span>
+				</div>
+			</div>
+			<div class="box-body">
+				<#if request.parameters?has_content>
+				<p><b>Parameters:</b> <#list request.parameters?keys as name>${name?html}=${request.parameters[name]}<#sep>, </#sep></#list></p>
+				</#if>
+				<#if request.stages?has_content>
+				<p><b>Stages:</b> <#list request.stages?keys as stage>${stage} ${request.stages[stage]?string("0.00")} ms<#sep>, </#sep></#list></p>
+				</#if>
+				<#list request.samples as sample>
+				<p><b>Stack sample after ${sample.offset} ms</b> (${sample.state})</p>
+				<pre><#list sample.frames as frame>${frame?html}
+</#list></pre>
+				</#list>
+			</div>
+		</div>
+	</div>
+</div>
+</#list>
+<#else>
+<div class="row">
+	<div class="col-xs-12">
+		<div class="box">
+			<div class="box-body">No slow requests recorded.</div>
+		</div>
+	</div>
+</div>
+</#if>
+</section>
+<#else>
+<section class="content-header">
+	<h1>Slow request log is not enabled</h1>
+</section>
+</#if>
+<#include "footer.ftl">
\ No newline at end of file
@@ -5,9 +5,12 @@ import java.net.URL;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import io.mangoo.routing.Response;
 import io.mangoo.routing.bindings.Request;
+import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
 
 public class ApplicationController {
@@ -32,6 +35,16 @@ public class ApplicationController {
         return Response.withOk().andTextBody("foo");
     }
     
+    public CompletionStage<Response> async() {
+        return CompletableFuture.supplyAsync(() -> Response.withOk().andTextBody("async"));
+    }
+    
+    public CompletionStage<Response> asyncerror() {
+        return CompletableFuture.supplyAsync(() -> {
+            throw new IllegalStateException("async");
+        });
+    }
+    
     public Response limit() {
         return Response.withOk().andEmptyBody();
     }
@@ -111,6 +124,14 @@ public class ApplicationController {
         return Response.withOk().andContent("myloc", myloc);
     }
 
+    public Response contenttype() {
+        return Response
+                .withOk()
+                .andTextBody("foo")
+                .andContentType("text/csv")
+                .andHeader(Headers.SERVER, "mangoo");
+    }
+    
     public Response header() {
         return Response
                 .withOk()
@@ -0,0 +1,81 @@
+package io.mangoo.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.ehcache.expiry.Duration;
+import org.junit.Test;
+
+/**
+ * 
+ * @author svenkubiak
+ *
+ */
+public class CacheExpiryTest {
+    private static final String TEST_VALUE = "This is a test value for the cache!";
+
+    @Test
+    public void testCreationUsesShorterTimeToIdle() {
+        //given
+        CacheExpiry cacheExpiry = new CacheExpiry(10, 1);
+        
+        //when
+        Duration duration = cacheExpiry.getExpiryForCreation("key", CacheEntry.stamp(TEST_VALUE));
+        
+        //then
+        assertThat(TimeUnit.MILLISECONDS.convert(duration.getLength(), duration.getTimeUnit()), equalTo(1000L));
+    }
+
+    @Test
+    public void testCreationUsesShorterTimeToLive() {
+        //given
+        CacheExpiry cacheExpiry = new CacheExpiry(1, 10);
+        
+        //when
+        Duration duration = cacheExpiry.getExpiryForCreation("key", CacheEntry.stamp(TEST_VALUE));
+        
+        //then
+        assertThat(TimeUnit.MILLISECONDS.convert(duration.getLength(), duration.getTimeUnit()), equalTo(1000L));
+    }
+
+    @Test
+    public void testAccessIsCappedByTimeToLive() {
+        //given
+        CacheExpiry cacheExpiry = new CacheExpiry(1, 10);
+        CacheEntry cacheEntry = CacheEntry.stamp(TEST_VALUE);
+        
+        //when
+        Duration duration = cacheExpiry.getExpiryForAccess("key", () -> cacheEntry);
+        
+        //then
+        assertThat(TimeUnit.MILLISECONDS.convert(duration.getLength(), duration.getTimeUnit()), lessThanOrEqualTo(1000L));
+    }
+
+    @Test
+    public void testAccessKeepsEntryTimeToLive() {
+        //given
+        CacheExpiry cacheExpiry = new CacheExpiry(1, 10);
+        
+        //when
+        Duration duration = cacheExpiry.getExpiryForAccess("key", () -> new CacheEntry(TEST_VALUE, 60000));
+        
+        //then
+        assertThat(duration, nullValue());
+    }
+
+    @Test
+    public void testAccessWithTimeToIdle() {
+        //given
+        CacheExpiry cacheExpiry = new CacheExpiry(0, 10);
+        
+        //when
+        Duration duration = cacheExpiry.getExpiryForAccess("key", () -> TEST_VALUE);
+        
+        //then
+        assertThat(TimeUnit.MILLISECONDS.convert(duration.getLength(), duration.getTimeUnit()), equalTo(10000L));
+    }
+}
@@ -0,0 +1,78 @@
+package io.mangoo.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.junit.Test;
+
+import io.mangoo.core.Application;
+import io.mangoo.providers.CacheProvider;
+import io.mangoo.services.ConcurrentService;
+
+/**
+ * Replays the same Zipf distributed key stream through the ehcache and the
+ * Caffeine implementation and compares their hit ratios
+ *
+ * @author svenkubiak
+ *
+ */
+public class CacheHitRatioTest {
+    private static final int CAPACITY = 500;
+    private static final int KEYS = 20000;
+    private static final int REQUESTS = 200000;
+    private static final double EXPONENT = 0.9;
+    private static final long SEED = 42;
+
+    @Test
+    public void testZipfHitRatio() {
+        //given
+        int[] stream = zipf(new Random(SEED));
+        Cache ehcache = Application.getInstance(CacheProvider.class).registerCacheConfiguration("zipf-ehcache",
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(String.class, Object.class, ResourcePoolsBuilder.heap(CAPACITY)).build());
+        Cache caffeine = new CaffeineCache(CAPACITY, 0, 0, Application.getInstance(ConcurrentService.class).getExecutor("default"));
+
+        //when
+        double ehcacheHitRatio = replay(ehcache, stream);
+        double caffeineHitRatio = replay(caffeine, stream);
+
+        //then
+        String ratios = "ehcache " + ehcacheHitRatio + "%, caffeine " + caffeineHitRatio + "%";
+        assertThat(ratios, ehcacheHitRatio, greaterThan(0.0));
+        assertThat(ratios, caffeineHitRatio, greaterThanOrEqualTo(ehcacheHitRatio));
+    }
+
+    private static double replay(Cache cache, int[] stream) {
+        for (int key : stream) {
+            cache.get(String.valueOf(key), (String k) -> k);
+        }
+
+        return cache.getStatistics().getHitRate();
+    }
+
+    /**
+     * @param random The random to draw the keys from
+     * @return A stream of keys where the key with rank k is requested with a probability proportional to 1 / k^EXPONENT
+     */
+    private static int[] zipf(Random random) {
+        double[] cumulative = new double[KEYS];
+        double sum = 0;
+        for (int i = 0; i < KEYS; i++) {
+            sum += 1 / Math.pow(i + 1, EXPONENT);
+            cumulative[i] = sum;
+        }
+
+        int[] stream = new int[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            stream[i] = (index < 0) ? -index - 1 : index;
+        }
+
+        return stream;
+    }
+}
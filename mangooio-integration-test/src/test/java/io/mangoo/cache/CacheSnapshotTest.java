@@ -0,0 +1,119 @@
+package io.mangoo.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import io.mangoo.core.Application;
+import io.mangoo.enums.CacheName;
+import io.mangoo.providers.CacheProvider;
+
+/**
+ * 
+ * @author svenkubiak
+ *
+ */
+public class CacheSnapshotTest {
+    private static final String TEST_VALUE = "This is a test value for the cache snapshot!";
+    
+    @Test
+    public void testWriteAndRead() throws IOException {
+        //given
+        Cache cache = Application.getInstance(CacheProvider.class).getCache(CacheName.APPLICATION);
+        Map<String, Cache> caches = new HashMap<>();
+        caches.put(CacheName.APPLICATION.toString(), cache);
+        Path path = Files.createTempFile("snapshot", ".bin");
+        cache.put("snapshot", TEST_VALUE);
+        cache.put("snapshotttl", TEST_VALUE, Duration.ofMinutes(5));
+        cache.put("snapshotexpired", TEST_VALUE, Duration.ofMillis(1));
+        
+        //when
+        long written = CacheSnapshot.write(caches, path);
+        cache.remove("snapshot");
+        cache.remove("snapshotttl");
+        cache.remove("snapshotexpired");
+        long read = CacheSnapshot.read(path, caches);
+        
+        //then
+        assertThat(written, greaterThanOrEqualTo(3L));
+        assertThat(read, greaterThanOrEqualTo(2L));
+        assertThat(cache.get("snapshot"), equalTo(TEST_VALUE));
+        assertThat(cache.get("snapshotttl"), equalTo(TEST_VALUE));
+        assertThat(cache.get("snapshotexpired"), nullValue());
+        Files.deleteIfExists(path);
+    }
+    
+    @Test
+    public void testReadDoesNotOverwrite() throws IOException {
+        //given
+        Cache cache = Application.getInstance(CacheProvider.class).getCache(CacheName.APPLICATION);
+        Map<String, Cache> caches = new HashMap<>();
+        caches.put(CacheName.APPLICATION.toString(), cache);
+        Path path = Files.createTempFile("snapshot", ".bin");
+        cache.put("snapshotfresh", "old");
+        
+        //when
+        CacheSnapshot.write(caches, path);
+        cache.put("snapshotfresh", "new");
+        CacheSnapshot.read(path, caches);
+        
+        //then
+        assertThat(cache.get("snapshotfresh"), equalTo("new"));
+        Files.deleteIfExists(path);
+    }
+    
+    @Test
+    public void testLongKey() throws IOException {
+        //given
+        Cache cache = Application.getInstance(CacheProvider.class).getCache(CacheName.APPLICATION);
+        Map<String, Cache> caches = new HashMap<>();
+        caches.put(CacheName.APPLICATION.toString(), cache);
+        Path path = Files.createTempFile("snapshot", ".bin");
+        String key = StringUtils.repeat("\u20ac", 30000) + "\u0000";
+        cache.put(key, TEST_VALUE);
+        
+        //when
+        CacheSnapshot.write(caches, path);
+        cache.remove(key);
+        CacheSnapshot.read(path, caches);
+        
+        //then
+        assertThat(cache.get(key), equalTo(TEST_VALUE));
+        cache.remove(key);
+        Files.deleteIfExists(path);
+    }
+    
+    @Test
+    public void testTempFileRemovedOnFailure() throws IOException {
+        //given
+        Cache cache = Application.getInstance(CacheProvider.class).getCache(CacheName.APPLICATION);
+        Map<String, Cache> caches = new HashMap<>();
+        caches.put(CacheName.APPLICATION.toString(), cache);
+        Path path = Files.createTempDirectory("snapshot").resolve("snapshot.bin");
+        Files.createDirectories(path.resolve("notempty"));
+        
+        //when
+        IOException exception = null;
+        try {
+            CacheSnapshot.write(caches, path);
+        } catch (IOException e) {
+            exception = e;
+        }
+        
+        //then
+        assertThat(exception, not(nullValue()));
+        assertThat(Files.exists(path.resolveSibling("snapshot.bin.tmp")), equalTo(false));
+    }
+}
@@ -1,17 +1,32 @@
 package io.mangoo.cache;
 
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
 import org.junit.Test;
 
 import io.mangoo.core.Application;
+import io.mangoo.test.utils.ConcurrentTester;
 
 /**
  * 
@@ -20,6 +35,7 @@ import io.mangoo.core.Application;
  */
 public class CacheTest {
     private static final String TEST_VALUE = "This is a test value for the cache!";
+    private static final int THREADS = 50;
 
     @Test
     public void testAdd() {
@@ -110,4 +126,233 @@ public class CacheTest {
         //then
         assertThat(decrement.get(), equalTo(-1));
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testGetWithFallback() {
+        //given
+        Cache cache = Application.getInstance(Cache.class);
+        cache.remove("fallback");
+        
+        //when
+        String value = cache.get("fallback", key -> TEST_VALUE);
+        
+        //then
+        assertThat(value, equalTo(TEST_VALUE));
+        assertThat(cache.get("fallback"), equalTo(TEST_VALUE));
+    }
+    
+    @Test
+    public void testGetWithFallbackNull() {
+        //given
+        Cache cache = Application.getInstance(Cache.class);
+        cache.remove("fallbacknull");
+        
+        //when
+        String value = cache.get("fallbacknull", key -> null);
+        
+        //then
+        assertThat(value, nullValue());
+        assertThat(cache.get("fallbacknull"), nullValue());
+    }
+    
+    @Test
+    public void testGetWithFallbackConcurrent() throws InterruptedException {
+        //given
+        Cache cache = Application.getInstance(Cache.class);
+        cache.remove("concurrent");
+        AtomicInteger loads = new AtomicInteger();
+        
+        //when
+        Runnable runnable = () -> {
+            String value = cache.get("concurrent", key -> {
+                loads.incrementAndGet();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return TEST_VALUE;
+            });
+            assertThat(value, equalTo(TEST_VALUE));
+        };
+        
+        ConcurrentTester.create()
+            .withRunnable(runnable)
+            .withThreads(THREADS)
+            .run();
+        
+        //then
+        assertThat(loads.get(), equalTo(1));
+    }
+    
+    @Test
+    public void testGetWithRefresh() {
+        //given
+        Cache cache = Application.getInstance(Cache.class);
+        cache.remove("refresh");
+        
+        //when
+        String value = cache.get("refresh", key -> TEST_VALUE, Duration.ofMinutes(1));
+        
+        //then
+        assertThat(value, equalTo(TEST_VALUE));
+        assertThat(cache.get("refresh", key -> "foo", Duration.ofMinutes(1)), equalTo(TEST_VALUE));
+    }
+    
+    @Test
+    public void testRefreshKeepsTimeToLive() {
+        //given
+        Cache cache = Application.getInstance(Cache.class);
+        cache.put("refreshttl", TEST_VALUE, Duration.ofSeconds(1));
+        cache.get("refreshttl", key -> "refreshed", Duration.ofMillis(1));
+        
+        //when
+        await().atMost(1, TimeUnit.SECONDS).until(() -> "refreshed".equals(cache.get("refreshttl", key -> "refreshed", Duration.ofMillis(1))));
+        
+        //then
+        await().atMost(2, TimeUnit.SECONDS).until(() -> cache.get("refreshttl") == null);
+    }
+    
+    @Test
+    public void testGetAll() {
+        //given
+        Cache cache = Application.getInstance(Cache.class);
+        cache.put("all1", TEST_VALUE);
+        cache.remove("all2");
+        Set<String> keys = new HashSet<>();
+        keys.add("all1");
+        keys.add("all2");
+        AtomicInteger loads = new AtomicInteger();
+        
+        //when
+        Map<String, Object> values = cache.getAll(keys, missing -> {
+            loads.incrementAndGet();
+            Map<String, Object> map = new HashMap<>();
+            missing.forEach(key -> map.put(key, 1));
+            return map;
+        });
+        
+        //then
+        assertThat(loads.get(), equalTo(1));
+        assertThat(values.get("all1"), equalTo(TEST_VALUE));
+        assertThat(values.get("all2"), equalTo(1));
+        assertThat(cache.get("all2"), equalTo(1));
+    }
+    
+    @Test
+    public void testPutWithTimeToLive() {
+        //given
+        Cache cache = Application.getInstance(Cache.class);
+        
+        //when
+        cache.put("ttl", TEST_VALUE, Duration.ofMillis(500));
+        
+        //then
+        assertThat(cache.get("ttl"), equalTo(TEST_VALUE));
+        await().atMost(2, TimeUnit.SECONDS).until(() -> cache.get("ttl") == null);
+    }
+    
+    @Test
+    public void testStatistics() {
+        //given
+        Cache cache = Application.getInstance(Cache.class);
+        long hits = cache.getStatistics().getHits();
+        long misses = cache.getStatistics().getMisses();
+        long puts = cache.getStatistics().getPuts();
+        
+        //when
+        cache.put("statistics", TEST_VALUE);
+        cache.get("statistics");
+        cache.get("nostatistics");
+        
+        //then
+        assertThat(cache.getStatistics().getHits(), greaterThan(hits));
+        assertThat(cache.getStatistics().getMisses(), greaterThan(misses));
+        assertThat(cache.getStatistics().getPuts(), greaterThan(puts));
+        assertThat(cache.getStatistics().getEntries(), greaterThan(0L));
+        assertThat(cache.getStatistics().getResources().containsKey("heap"), equalTo(true));
+    }
+    
+    @Test
+    public void testStatisticsEntries() {
+        //given
+        Cache cache = Application.getInstance(Cache.class);
+        cache.clear();
+        
+        //when
+        cache.put("entries1", TEST_VALUE);
+        cache.put("entries2", TEST_VALUE);
+        cache.put("entries2", TEST_VALUE);
+        cache.put("entries3", TEST_VALUE);
+        
+        //then
+        assertThat(cache.getStatistics().getEntries(), equalTo(3L));
+        
+        //when
+        cache.remove("entries1");
+        
+        //then
+        assertThat(cache.getStatistics().getEntries(), equalTo(2L));
+    }
+    
+    @Test
+    public void testRefreshIsScheduledOnce() {
+        //given
+        List<Runnable> tasks = new CopyOnWriteArrayList<>();
+        Cache cache = newCache("refreshonce", tasks::add);
+        cache.get("refresh", key -> TEST_VALUE, Duration.ofMillis(1));
+        
+        //when
+        await().atMost(1, TimeUnit.SECONDS).until(() -> TEST_VALUE.equals(cache.get("refresh", key -> "refreshed", Duration.ofMillis(1))) && !tasks.isEmpty());
+        for (int i = 0; i < THREADS; i++) {
+            cache.get("refresh", key -> "refreshed", Duration.ofMillis(1));
+        }
+        
+        //then
+        assertThat(tasks.size(), equalTo(1));
+    }
+    
+    @Test
+    public void testRefreshNotOnCallingThread() {
+        //given
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger tasks = new AtomicInteger();
+        Cache cache = newCache("refreshcaller", (Runnable runnable) -> {
+            tasks.incrementAndGet();
+            runnable.run();
+        });
+        cache.get("refresh", key -> TEST_VALUE + loads.incrementAndGet(), Duration.ofMillis(1));
+        
+        //when
+        await().atMost(1, TimeUnit.SECONDS).until(() -> (TEST_VALUE + 1).equals(cache.get("refresh", key -> TEST_VALUE + loads.incrementAndGet(), Duration.ofMillis(1))) && tasks.get() > 1);
+        
+        //then
+        assertThat(loads.get(), equalTo(1));
+        assertThat(cache.get("refresh"), equalTo(TEST_VALUE + 1));
+    }
+    
+    @Test
+    public void testRefreshRejected() {
+        //given
+        AtomicInteger tasks = new AtomicInteger();
+        Cache cache = newCache("refreshrejected", (Runnable runnable) -> {
+            tasks.incrementAndGet();
+            throw new RejectedExecutionException();
+        });
+        cache.get("refresh", key -> TEST_VALUE, Duration.ofMillis(1));
+        
+        //when
+        await().atMost(1, TimeUnit.SECONDS).until(() -> TEST_VALUE.equals(cache.get("refresh", key -> "refreshed", Duration.ofMillis(1))) && tasks.get() > 1);
+        
+        //then
+        assertThat(cache.get("refresh"), equalTo(TEST_VALUE));
+    }
+    
+    private static Cache newCache(String name, Executor executor) {
+        CacheManager cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+                .withCache(name, CacheConfigurationBuilder.newCacheConfigurationBuilder(String.class, Object.class, ResourcePoolsBuilder.heap(100)))
+                .build(true);
+        
+        return new CacheImpl(cacheManager.getCache(name, String.class, Object.class), executor, () -> 0);
+    }
+}
@@ -0,0 +1,225 @@
+package io.mangoo.cache;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.mangoo.core.Application;
+import io.mangoo.providers.CacheProvider;
+import io.mangoo.test.utils.ConcurrentTester;
+
+/**
+ * 
+ * @author svenkubiak
+ *
+ */
+public class CaffeineCacheTest {
+    private static final String TEST_VALUE = "This is a test value for the cache!";
+    private static final int THREADS = 50;
+    
+    private Cache getCache() {
+        return Application.getInstance(CacheProvider.class).getCache("caffeine");
+    }
+    
+    @Test
+    public void testImplementation() {
+        //then
+        assertThat(getCache(), instanceOf(CaffeineCache.class));
+    }
+    
+    @Test
+    public void testPutAndGet() {
+        //given
+        Cache cache = getCache();
+        
+        //when
+        cache.put("test", TEST_VALUE);
+        
+        //then
+        assertThat(cache.get("test"), equalTo(TEST_VALUE));
+    }
+    
+    @Test
+    public void testRemove() {
+        //given
+        Cache cache = getCache();
+        cache.put("remove", TEST_VALUE);
+        
+        //when
+        cache.remove("remove");
+        
+        //then
+        assertThat(cache.get("remove"), nullValue());
+    }
+    
+    @Test
+    public void testPutWithTimeToLive() {
+        //given
+        Cache cache = getCache();
+        
+        //when
+        cache.put("ttl", TEST_VALUE, Duration.ofMillis(500));
+        
+        //then
+        assertThat(cache.get("ttl"), equalTo(TEST_VALUE));
+        await().atMost(2, TimeUnit.SECONDS).until(() -> cache.get("ttl") == null);
+    }
+    
+    @Test
+    public void testIncrementAndDecrement() {
+        //given
+        Cache cache = getCache();
+        
+        //when
+        cache.increment("counter");
+        cache.increment("counter");
+        cache.decrement("counter");
+        
+        //then
+        assertThat(cache.getCounter("counter").get(), equalTo(0));
+    }
+    
+    @Test
+    public void testGetWithFallbackConcurrent() throws InterruptedException {
+        //given
+        Cache cache = getCache();
+        cache.remove("concurrent");
+        AtomicInteger loads = new AtomicInteger();
+        
+        //when
+        Runnable runnable = () -> {
+            String value = cache.get("concurrent", key -> {
+                loads.incrementAndGet();
+                return TEST_VALUE;
+            });
+            assertThat(value, equalTo(TEST_VALUE));
+        };
+        
+        ConcurrentTester.create()
+            .withRunnable(runnable)
+            .withThreads(THREADS)
+            .run();
+        
+        //then
+        assertThat(loads.get(), equalTo(1));
+    }
+    
+    @Test
+    public void testMaximumSize() {
+        //given
+        Cache cache = getCache();
+        
+        //when
+        for (int i=0; i < 1000; i++) {
+            cache.put("key" + i, i);
+        }
+        
+        //then
+        assertThat(cache.getStatistics().getEntries(), lessThanOrEqualTo(100L));
+    }
+    
+    @Test(expected = NullPointerException.class)
+    public void testPutNullWithTimeToLive() {
+        //given
+        Cache cache = getCache();
+        
+        //when
+        cache.put("nullttl", null, Duration.ofSeconds(1));
+    }
+    
+    @Test
+    public void testRefreshUsesExecutor() {
+        //given
+        AtomicInteger tasks = new AtomicInteger();
+        Cache cache = new CaffeineCache(100, 0, 0, (Runnable runnable) -> {
+            tasks.incrementAndGet();
+            new Thread(runnable).start();
+        });
+        cache.get("refresh", key -> TEST_VALUE, Duration.ofMillis(1));
+        
+        //when
+        await().atMost(2, TimeUnit.SECONDS).until(() -> "refreshed".equals(cache.get("refresh", key -> "refreshed", Duration.ofMillis(1))));
+        
+        //then
+        assertThat(tasks.get(), greaterThan(0));
+    }
+    
+    @Test
+    public void testReadsDoNotExtendTimeToLive() {
+        //given
+        Cache cache = new CaffeineCache(100, 1, 10, Runnable::run);
+        cache.put("ttlread", TEST_VALUE);
+        
+        //then
+        await().atMost(3, TimeUnit.SECONDS).until(() -> cache.get("ttlread") == null);
+    }
+    
+    @Test
+    public void testTimeToIdleShorterThanTimeToLive() {
+        //given
+        Cache cache = new CaffeineCache(100, 10, 1, Runnable::run);
+        
+        //when
+        cache.put("ttlidle", TEST_VALUE);
+        
+        //then
+        await().pollDelay(1500, TimeUnit.MILLISECONDS).atMost(3, TimeUnit.SECONDS).until(() -> cache.get("ttlidle") == null);
+    }
+    
+    @Test
+    public void testCounterWithTimeToLiveAndTimeToIdle() {
+        //given
+        Cache cache = new CaffeineCache(100, 10, 10, Runnable::run);
+        
+        //when
+        cache.increment("stampedcounter");
+        cache.increment("stampedcounter");
+        
+        //then
+        assertThat(cache.getCounter("stampedcounter").get(), equalTo(2));
+    }
+    
+    @Test
+    public void testRefreshKeepsTimeToLive() {
+        //given
+        Cache cache = new CaffeineCache(100, 0, 0, (Runnable runnable) -> new Thread(runnable).start());
+        cache.put("refreshttl", TEST_VALUE, Duration.ofSeconds(1));
+        cache.get("refreshttl", key -> "refreshed", Duration.ofMillis(1));
+        
+        //when
+        await().atMost(1, TimeUnit.SECONDS).until(() -> "refreshed".equals(cache.get("refreshttl", key -> "refreshed", Duration.ofMillis(1))));
+        
+        //then
+        await().atMost(2, TimeUnit.SECONDS).until(() -> cache.get("refreshttl") == null);
+    }
+    
+    @Test
+    public void testRefreshDoesNotRestoreRemovedKey() throws InterruptedException {
+        //given
+        List<Runnable> tasks = new CopyOnWriteArrayList<>();
+        Cache cache = new CaffeineCache(100, 0, 0, tasks::add);
+        cache.get("refreshremoved", key -> TEST_VALUE, Duration.ofMillis(1));
+        await().atMost(1, TimeUnit.SECONDS).until(() -> TEST_VALUE.equals(cache.get("refreshremoved", key -> "refreshed", Duration.ofMillis(1))) && !tasks.isEmpty());
+        
+        //when
+        cache.remove("refreshremoved");
+        Thread thread = new Thread(tasks.get(0));
+        thread.start();
+        thread.join();
+        
+        //then
+        assertThat(cache.get("refreshremoved"), nullValue());
+    }
+}
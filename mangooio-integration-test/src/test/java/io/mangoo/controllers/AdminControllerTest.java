@@ -1,15 +1,24 @@
 package io.mangoo.controllers;
 
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
 import io.mangoo.core.Application;
 import io.mangoo.models.Metrics;
+import io.mangoo.models.MetricsRegistry;
+import io.mangoo.models.RequestLog;
+import io.mangoo.models.RequestSummary;
 import io.mangoo.test.utils.WebRequest;
 import io.mangoo.test.utils.WebResponse;
 import io.undertow.util.StatusCodes;
@@ -27,6 +36,9 @@ public class AdminControllerTest {
     private static final String METRICS = "metrics";
     private static final String ROUTES = "routes";
     private static final String TOOLS = "tools";
+    private static final String CACHE = "mangooio-application";
+    private static final String EVENTBUS = "Published events";
+    private static final String EXECUTORS = "Queue wait p50 / p99";
     private static final String ADMIN = "admin";
     private static final String CONTROL_PANEL = "mangoo I/O | Control Panel";
     
@@ -289,6 +301,9 @@ public class AdminControllerTest {
         assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
         assertThat(response.getContentType(), equalTo("application/json; charset=UTF-8"));
         assertThat(response.getContent(), containsString("uptime"));
+        assertThat(response.getContent(), containsString("bufferPools"));
+        assertThat(response.getContent(), containsString("allocationRate"));
+        assertThat(response.getContent(), containsString("application"));
     }
     
     @Test
@@ -302,4 +317,235 @@ public class AdminControllerTest {
         assertThat(response.getContentType(), equalTo("text/plain; charset=UTF-8"));
         assertThat(response.getContent(), not(containsString("uptime")));
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testPrometheusAuthorized() {
+        //given
+        WebRequest.get("/text").execute();
+        
+        //when
+        WebResponse response = WebRequest.get("/@admin/prometheus")
+                .withBasicauthentication(ADMIN, ADMIN)
+                .execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        assertThat(response.getContentType(), equalTo("text/plain; version=0.0.4; charset=UTF-8"));
+        assertThat(response.getContent(), containsString("# TYPE mangooio_requests_total counter"));
+        assertThat(response.getContent(), containsString("mangooio_route_duration_seconds{route=\"ApplicationController:text\",quantile=\"0.99\"}"));
+        assertThat(response.getContent(), containsString("mangooio_cache_entries{cache="));
+        assertThat(response.getContent(), containsString("jvm_memory_bytes_used{area=\"heap\"}"));
+    }
+    
+    @Test
+    public void testPrometheusApplicationMetrics() {
+        //given
+        MetricsRegistry metricsRegistry = Application.getInstance(MetricsRegistry.class);
+        metricsRegistry.counter("test_orders_total", "type", "express").increment(3);
+        metricsRegistry.gauge("test_orders_pending", () -> 42);
+        metricsRegistry.timer("test_checkout_duration").record(5, TimeUnit.MILLISECONDS);
+        
+        //when
+        WebResponse response = WebRequest.get("/@admin/prometheus")
+                .withBasicauthentication(ADMIN, ADMIN)
+                .execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        assertThat(response.getContent(), containsString("# TYPE test_orders_total counter"));
+        assertThat(response.getContent(), containsString("test_orders_total{type=\"express\"} 3"));
+        assertThat(response.getContent(), containsString("test_orders_pending 42.0"));
+        assertThat(response.getContent(), containsString("test_checkout_duration{quantile=\"0.99\"}"));
+        assertThat(response.getContent(), containsString("test_checkout_duration_count 1"));
+    }
+    
+    @Test
+    public void testPrometheusFamiliesAreContiguous() {
+        //given
+        WebRequest.get("/text").execute();
+        
+        //when
+        WebResponse response = WebRequest.get("/@admin/prometheus")
+                .withBasicauthentication(ADMIN, ADMIN)
+                .execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        Set<String> closed = new HashSet<>();
+        String current = null;
+        for (String line : response.getContent().split("\n")) {
+            if (line.startsWith("# TYPE ")) {
+                String family = line.split(" ")[2];
+                assertThat(closed.add(family), equalTo(true));
+                current = family;
+            } else if (!line.startsWith("#") && !line.isEmpty()) {
+                assertThat(line, startsWith(current));
+            }
+        }
+    }
+    
+    @Test
+    public void testPrometheusUnauthorized() {
+        //given
+        WebResponse response = WebRequest.get("/@admin/prometheus").execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.UNAUTHORIZED));
+        assertThat(response.getContent(), not(containsString("mangooio_requests_total")));
+    }
+    
+    @Test
+    public void testCacheUnAuthorized() {
+        //given
+        WebResponse response = WebRequest.get("/@admin/cache").execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.UNAUTHORIZED));
+        assertThat(response.getContentType(), equalTo(TEXT_PLAIN));
+        assertThat(response.getContent(), not(containsString(CACHE)));
+    }
+    
+    @Test
+    public void testCacheAuthorized() {
+        //given
+        WebResponse response = WebRequest.get("/@admin/cache")
+                .withBasicauthentication(ADMIN, ADMIN)
+                .execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        assertThat(response.getContentType(), equalTo(TEXT_HTML));
+        assertThat(response.getContent(), containsString(CACHE));
+    }
+    
+    @Test
+    public void testEventBusUnAuthorized() {
+        //given
+        WebResponse response = WebRequest.get("/@admin/eventbus").execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.UNAUTHORIZED));
+        assertThat(response.getContentType(), equalTo(TEXT_PLAIN));
+        assertThat(response.getContent(), not(containsString(EVENTBUS)));
+    }
+    
+    @Test
+    public void testEventBusAuthorized() {
+        //given
+        WebResponse response = WebRequest.get("/@admin/eventbus")
+                .withBasicauthentication(ADMIN, ADMIN)
+                .execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        assertThat(response.getContentType(), equalTo(TEXT_HTML));
+        assertThat(response.getContent(), containsString(EVENTBUS));
+    }
+    
+    @Test
+    public void testExecutorsUnAuthorized() {
+        //given
+        WebResponse response = WebRequest.get("/@admin/executors").execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.UNAUTHORIZED));
+        assertThat(response.getContentType(), equalTo(TEXT_PLAIN));
+        assertThat(response.getContent(), not(containsString(EXECUTORS)));
+    }
+    
+    @Test
+    public void testExecutorsAuthorized() {
+        //given
+        WebResponse response = WebRequest.get("/@admin/executors")
+                .withBasicauthentication(ADMIN, ADMIN)
+                .execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        assertThat(response.getContentType(), equalTo(TEXT_HTML));
+        assertThat(response.getContent(), containsString(EXECUTORS));
+    }
+    
+    @Test
+    public void testSlowAuthorized() {
+        //given
+        WebResponse response = WebRequest.get("/@admin/slow")
+                .withBasicauthentication(ADMIN, ADMIN)
+                .execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        assertThat(response.getContentType(), equalTo(TEXT_HTML));
+        assertThat(response.getContent(), containsString("Slow requests"));
+    }
+    
+    @Test
+    public void testSlowUnauthorized() {
+        //given
+        WebResponse response = WebRequest.get("/@admin/slow").execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.UNAUTHORIZED));
+    }
+    
+    @Test
+    public void testRequestsAuthorized() {
+        //given
+        WebRequest.get("/").execute();
+        awaitRequestLog();
+        WebResponse response = WebRequest.get("/@admin/requests")
+                .withBasicauthentication(ADMIN, ADMIN)
+                .execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        assertThat(response.getContentType(), equalTo(TEXT_HTML));
+        assertThat(response.getContent(), containsString("ApplicationController:index"));
+    }
+    
+    @Test
+    public void testRequestsJsonAuthorized() {
+        //given
+        WebRequest.get("/").execute();
+        awaitRequestLog();
+        WebResponse response = WebRequest.get("/@admin/requests/json?route=ApplicationController&status=2")
+                .withBasicauthentication(ADMIN, ADMIN)
+                .execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        assertThat(response.getContent(), containsString("ApplicationController:index"));
+        assertThat(response.getContent(), not(containsString("AdminController")));
+    }
+    
+    @Test
+    public void testRequestsUnauthorized() {
+        //given
+        WebResponse response = WebRequest.get("/@admin/requests/json").execute();
+        
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.UNAUTHORIZED));
+    }
+    
+    private static void awaitRequestLog() {
+        RequestLog requestLog = Application.getInstance(RequestLog.class);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> requestLog.getRequests()
+                .stream()
+                .anyMatch((RequestSummary summary) -> "ApplicationController:index".equals(summary.getRoute())));
+    }
+}
@@ -2,6 +2,7 @@ package io.mangoo.controllers;
 
 import static io.mangoo.test.hamcrest.RegexMatcher.matches;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
@@ -10,7 +11,9 @@ import static org.hamcrest.Matchers.nullValue;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.http.client.methods.CloseableHttpResponse;
@@ -198,6 +201,40 @@ public class ApplicationControllerTest {
         assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
     }
 
+    @Test
+    public void testServerTiming() {
+        //given
+        final WebResponse response = WebRequest.get("/text").execute();
+
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        assertThat(response.getHeader(Header.SERVER_TIMING.toString()), containsString("controller;dur="));
+        assertThat(response.getHeader(Header.SERVER_TIMING.toString()), containsString("render;dur="));
+    }
+
+    @Test
+    public void testAsync() {
+        //given
+        final WebResponse response = WebRequest.get("/async").execute();
+
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getContentType(), equalTo(TEXT_PLAIN));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        assertThat(response.getContent(), equalTo("async"));
+    }
+
+    @Test
+    public void testAsyncError() {
+        //given
+        final WebResponse response = WebRequest.get("/asyncerror").execute();
+
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.INTERNAL_SERVER_ERROR));
+    }
+
     @Test
     public void testNotFound() {
         //given
@@ -392,6 +429,21 @@ public class ApplicationControllerTest {
         assertThat(response.getHeader(Header.X_RESPONSE_TIME.toString()), containsString("ms"));
     }
     
+    @Test
+    public void testResponseHeaders() {
+        //given
+        final WebResponse response = WebRequest.get("/contenttype").execute();
+
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        assertThat(response.getHttpResponse().getHeaders(Headers.CONTENT_TYPE.toString()).length, equalTo(1));
+        assertThat(response.getContentType(), equalTo("text/csv; charset=UTF-8"));
+        assertThat(Arrays.stream(response.getHttpResponse().getHeaders(Headers.SERVER.toString()))
+                .map(header -> header.getValue())
+                .collect(Collectors.toList()), contains("Undertow", "mangoo"));
+    }
+
     @Test
     public void testHeaders() {
         //given
@@ -0,0 +1,109 @@
+package io.mangoo.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * Upgrades a plain connection to HTTP/2 (h2c) and reads the response frames
+ * of the upgraded request, as Java 8 has no HTTP/2 client
+ *
+ * @author svenkubiak
+ *
+ */
+public class Http2ConnectorTest {
+    private static final String HOST = "localhost";
+    private static final int PORT = 10808;
+    private static final int TIMEOUT = 5000;
+    private static final int FRAME_DATA = 0x0;
+    private static final int FRAME_HEADERS = 0x1;
+    private static final int FRAME_SETTINGS = 0x4;
+    private static final int FLAG_END_STREAM = 0x1;
+    private static final int FLAG_PADDED = 0x8;
+    private static final byte[] PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EMPTY_SETTINGS = {0, 0, 0, FRAME_SETTINGS, 0, 0, 0, 0, 0};
+
+    @Test
+    public void testHttp2Upgrade() throws IOException {
+        //given
+        try (Socket socket = new Socket(HOST, PORT)) {
+            socket.setSoTimeout(TIMEOUT);
+            OutputStream outputStream = socket.getOutputStream();
+            DataInputStream inputStream = new DataInputStream(socket.getInputStream());
+
+            //when
+            outputStream.write(("GET /text HTTP/1.1\r\n"
+                    + "Host: " + HOST + ":" + PORT + "\r\n"
+                    + "Connection: Upgrade, HTTP2-Settings\r\n"
+                    + "Upgrade: h2c\r\n"
+                    + "HTTP2-Settings: AAMAAABkAAQAAP__\r\n"
+                    + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+            String upgrade = readHead(inputStream);
+            assertThat(upgrade, startsWith("HTTP/1.1 101"));
+            assertThat(upgrade.toLowerCase(Locale.ENGLISH), containsString("upgrade: h2c"));
+
+            outputStream.write(PREFACE);
+            outputStream.write(EMPTY_SETTINGS);
+            outputStream.flush();
+
+            int firstFrame = -1;
+            boolean headers = false;
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            boolean endStream = false;
+            while (!endStream) {
+                int length = (inputStream.readUnsignedByte() << 16) | (inputStream.readUnsignedByte() << 8) | inputStream.readUnsignedByte();
+                int type = inputStream.readUnsignedByte();
+                int flags = inputStream.readUnsignedByte();
+                int stream = inputStream.readInt() & Integer.MAX_VALUE;
+                byte[] payload = new byte[length];
+                inputStream.readFully(payload);
+
+                if (firstFrame == -1) {
+                    firstFrame = type;
+                }
+                if (stream == 1 && type == FRAME_HEADERS) {
+                    headers = true;
+                    endStream = (flags & FLAG_END_STREAM) != 0;
+                } else if (stream == 1 && type == FRAME_DATA) {
+                    int offset = ((flags & FLAG_PADDED) != 0) ? 1 : 0;
+                    int end = length - ((offset == 1) ? payload[0] & 0xFF : 0);
+                    content.write(payload, offset, end - offset);
+                    endStream = (flags & FLAG_END_STREAM) != 0;
+                }
+            }
+
+            //then
+            assertThat(firstFrame, equalTo(FRAME_SETTINGS));
+            assertThat(headers, equalTo(true));
+            assertThat(new String(content.toByteArray(), StandardCharsets.UTF_8), equalTo("foo"));
+        }
+    }
+
+    /**
+     * Reads the status line and headers of an HTTP/1.1 response byte by byte,
+     * so that no HTTP/2 frame is consumed
+     */
+    private static String readHead(DataInputStream inputStream) throws IOException {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        int matched = 0;
+        while (matched < 4) {
+            int value = inputStream.readUnsignedByte();
+            head.write(value);
+            matched = (value == ((matched % 2 == 0) ? '\r' : '\n')) ? matched + 1 : ((value == '\r') ? 1 : 0);
+        }
+
+        return new String(head.toByteArray(), StandardCharsets.US_ASCII);
+    }
+}
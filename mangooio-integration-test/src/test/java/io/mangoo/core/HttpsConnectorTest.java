@@ -0,0 +1,64 @@
+package io.mangoo.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import com.google.common.io.Resources;
+
+import io.undertow.util.StatusCodes;
+
+/**
+ * 
+ * @author svenkubiak
+ *
+ */
+public class HttpsConnectorTest {
+    private static final String PASSWORD = "mangooio";
+    
+    @Test
+    public void testHttpsConnector() throws IOException, GeneralSecurityException {
+        //given
+        HttpsURLConnection connection = (HttpsURLConnection) new URL("https://localhost:10807/text").openConnection();
+        connection.setSSLSocketFactory(getSSLContext().getSocketFactory());
+
+        //when
+        int statusCode = connection.getResponseCode();
+        String content;
+        try (InputStream inputStream = connection.getInputStream()) {
+            content = IOUtils.toString(inputStream, StandardCharsets.UTF_8);
+        }
+
+        //then
+        assertThat(statusCode, equalTo(StatusCodes.OK));
+        assertThat(content, equalTo("foo"));
+    }
+
+    private static SSLContext getSSLContext() throws IOException, GeneralSecurityException {
+        KeyStore trustStore = KeyStore.getInstance("JKS");
+        try (InputStream inputStream = Resources.getResource("keystore.jks").openStream()) {
+            trustStore.load(inputStream, PASSWORD.toCharArray());
+        }
+        
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(trustStore);
+        
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, trustManagerFactory.getTrustManagers(), null);
+        
+        return sslContext;
+    }
+}
@@ -0,0 +1,76 @@
+package io.mangoo.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author svenkubiak
+ *
+ */
+public class LatencyHistogramTest {
+    
+    @Test
+    public void testPercentiles() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        
+        //when
+        for (int i=1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        
+        //then
+        assertThat(histogram.getCount(), equalTo(1000L));
+        assertThat(histogram.getP50(), greaterThanOrEqualTo(500000L));
+        assertThat(histogram.getP50(), lessThanOrEqualTo(562500L));
+        assertThat(histogram.getP99(), greaterThanOrEqualTo(990000L));
+        assertThat(histogram.getP99(), lessThanOrEqualTo(1113750L));
+    }
+    
+    @Test
+    public void testGetPercentiles() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i=1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        
+        //when
+        long[] percentiles = histogram.getPercentiles(50, 90, 99, 99.9);
+        
+        //then
+        assertThat(percentiles[0], equalTo(histogram.getP50()));
+        assertThat(percentiles[1], equalTo(histogram.getP90()));
+        assertThat(percentiles[2], equalTo(histogram.getP99()));
+        assertThat(percentiles[3], equalTo(histogram.getP999()));
+        assertThat(new LatencyHistogram().getPercentiles(50)[0], equalTo(0L));
+    }
+    
+    @Test
+    public void testEmpty() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        
+        //then
+        assertThat(histogram.getCount(), equalTo(0L));
+        assertThat(histogram.getP99(), equalTo(0L));
+    }
+    
+    @Test
+    public void testReset() {
+        //given
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        
+        //when
+        histogram.reset();
+        
+        //then
+        assertThat(histogram.getCount(), equalTo(0L));
+    }
+}
@@ -0,0 +1,186 @@
+package io.mangoo.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author svenkubiak
+ *
+ */
+public class MetricsRegistryTest {
+
+    @Test
+    public void testCounter() {
+        //given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+        //when
+        Counter counter = metricsRegistry.counter("orders_total", "type", "express", "region", "eu");
+        counter.increment();
+        counter.increment(5);
+        counter.increment(-1);
+
+        //then
+        assertThat(metricsRegistry.counter("orders_total", "region", "eu", "type", "express"), sameInstance(counter));
+        assertThat(counter.getCount(), equalTo(6L));
+        assertThat(counter.getTags().toString(), equalTo("{region=eu, type=express}"));
+        assertThat(metricsRegistry.getCounters().size(), equalTo(1));
+    }
+
+    @Test
+    public void testGauge() {
+        //given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+        //when
+        Gauge gauge = metricsRegistry.gauge("orders_pending", () -> 42);
+        Gauge failing = metricsRegistry.gauge("orders_failing", () -> null);
+
+        //then
+        assertThat(gauge.getValue(), equalTo(42D));
+        assertThat(Double.isNaN(failing.getValue()), equalTo(true));
+        assertThat(metricsRegistry.getGauges().get(0), sameInstance(failing));
+    }
+
+    @Test
+    public void testTimer() {
+        //given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        Timer timer = metricsRegistry.timer("checkout_duration");
+
+        //when
+        timer.record(2, TimeUnit.MILLISECONDS);
+        String result = timer.time(() -> "done");
+
+        //then
+        assertThat(result, equalTo("done"));
+        assertThat(timer.getCount(), equalTo(2L));
+        assertThat(timer.getSum(), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(2)));
+        assertThat(timer.getLatency().getP99(), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(2)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTypeConflict() {
+        //given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.counter("orders");
+
+        //when
+        metricsRegistry.timer("orders", "type", "express");
+    }
+
+    @Test
+    public void testTagsWithSeparators() {
+        //given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+        //when
+        Counter counter = metricsRegistry.counter("orders", "type", "express, user=admin");
+        Counter other = metricsRegistry.counter("orders", "type", "express", "user", "admin");
+
+        //then
+        assertThat(counter, not(sameInstance(other)));
+        assertThat(metricsRegistry.getCounters().size(), equalTo(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReservedPrefix() {
+        //given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+        //when
+        metricsRegistry.counter("mangooio_requests_total");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReservedJvmPrefix() {
+        //given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+        //when
+        metricsRegistry.gauge("jvm_threads", () -> 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCounterCollidesWithTimer() {
+        //given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.timer("checkout");
+
+        //when
+        metricsRegistry.counter("checkout_count");
+    }
+
+    @Test
+    public void testTimerCollidesWithCounter() {
+        //given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.counter("checkout_sum");
+
+        //when
+        try {
+            metricsRegistry.timer("checkout");
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            //then
+            assertThat(metricsRegistry.getTimers().isEmpty(), equalTo(true));
+            assertThat(metricsRegistry.counter("checkout").getName(), equalTo("checkout"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidName() {
+        //given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+        //when
+        metricsRegistry.counter("orders-total");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOddTags() {
+        //given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+        //when
+        metricsRegistry.counter("orders_total", "type");
+    }
+
+    @Test
+    public void testRecordingDoesNotAllocate() {
+        //given
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        Counter counter = metricsRegistry.counter("orders_total");
+        Timer timer = metricsRegistry.timer("checkout_duration");
+        record(counter, timer, 100000);
+
+        //when
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        record(counter, timer, 100000);
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        //then
+        assertThat(allocated, lessThan(1024L));
+        assertThat(counter.getCount(), equalTo(200000L));
+    }
+
+    private static void record(Counter counter, Timer timer, int count) {
+        for (int i = 0; i < count; i++) {
+            counter.increment();
+            timer.record(i * 1000L);
+        }
+    }
+}
@@ -1,12 +1,29 @@
 package io.mangoo.models;
 
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
 import io.mangoo.core.Application;
+import io.mangoo.helpers.RequestHelper;
+import io.mangoo.routing.Attachment;
+import io.mangoo.routing.listeners.MetricsListener;
+import io.mangoo.test.utils.WebRequest;
+import io.undertow.server.Connectors;
+import io.undertow.server.ExchangeCompletionListener.NextListener;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import io.undertow.util.StatusCodes;
 
 /**
  * 
@@ -84,4 +101,69 @@ public class MetricsTest {
         assertThat(metrics.getMinRequestTime(), lessThan(2000));
         assertThat(metrics.getAvgRequestTime(), lessThan(2000L));
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testRouteMetrics() {
+        //given
+        Metrics metrics = Application.getInstance(Metrics.class);
+        metrics.reset();
+        
+        //when
+        WebRequest.get("/text").execute();
+        
+        //then
+        RouteMetrics routeMetrics = metrics.getRouteMetrics("ApplicationController:text");
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(routeMetrics.getCount(), equalTo(1L)));
+        assertThat(routeMetrics.getStatusClasses().get("2xx"), equalTo(1L));
+        assertThat(metrics.getRoutes(), hasItem(routeMetrics));
+    }
+    
+    @Test
+    public void testAdminRoutesNotRecorded() {
+        //given
+        Metrics metrics = Application.getInstance(Metrics.class);
+        
+        //when
+        WebRequest.get("/@admin/json").execute();
+        
+        //then
+        metrics.getRoutes().forEach((RouteMetrics routeMetrics) -> assertThat(routeMetrics.getName(), not(startsWith("AdminController"))));
+    }
+    
+    @Test
+    public void testRecordingDoesNotAllocate() {
+        //given
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Metrics metrics = Application.getInstance(Metrics.class);
+        RouteMetrics routeMetrics = metrics.getRouteMetrics("MetricsTest:allocation");
+        MetricsListener metricsListener = Application.getInstance(MetricsListener.class);
+        HttpServerExchange exchange = new HttpServerExchange(null);
+        exchange.setRequestMethod(Methods.GET);
+        exchange.setRequestPath("/allocation");
+        exchange.setStatusCode(StatusCodes.OK);
+        exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH, "512");
+        exchange.putAttachment(RequestHelper.ATTACHMENT_KEY, Attachment.build().withRouteMetrics(routeMetrics));
+        Connectors.setRequestStartTime(exchange);
+        NextListener nextListener = () -> {};
+        record(metrics, routeMetrics, metricsListener, exchange, nextListener, 100000);
+        
+        //when
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        record(metrics, routeMetrics, metricsListener, exchange, nextListener, 100000);
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+        
+        //then
+        assertThat(allocated, lessThan(1024L));
+    }
+    
+    private static void record(Metrics metrics, RouteMetrics routeMetrics, MetricsListener metricsListener, HttpServerExchange exchange, NextListener nextListener, int requests) {
+        for (int i = 0; i < requests; i++) {
+            metrics.update(i % 100);
+            metrics.addStatusCode(200 + (i % 5));
+            metrics.incrementDataSend(512);
+            routeMetrics.record(i * 1000L, 200 + (i % 5));
+            metricsListener.exchangeEvent(exchange, nextListener);
+        }
+    }
+}
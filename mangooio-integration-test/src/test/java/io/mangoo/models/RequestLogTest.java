@@ -0,0 +1,105 @@
+package io.mangoo.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mockito.Mockito.when;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.mangoo.configuration.Config;
+
+/**
+ * 
+ * @author svenkubiak
+ *
+ */
+public class RequestLogTest {
+
+    @Test
+    public void testRecord() {
+        //given
+        RequestLog requestLog = new RequestLog(config(true, 8));
+        long threadId = Thread.currentThread().getId();
+
+        //when
+        requestLog.record(1000, "ApplicationController:index", "GET", "/", 200, 2000000, 512, threadId);
+        requestLog.record(2000, null, "GET", "/missing", 404, -1, 0, threadId);
+        List<RequestSummary> requests = requestLog.getRequests();
+
+        //then
+        assertThat(requestLog.isEnabled(), equalTo(true));
+        assertThat(requests.size(), equalTo(2));
+        assertThat(requests.get(0).getPath(), equalTo("/missing"));
+        assertThat(requests.get(0).getLatency(), equalTo(-1D));
+        assertThat(requests.get(1).getRoute(), equalTo("ApplicationController:index"));
+        assertThat(requests.get(1).getStatus(), equalTo(200));
+        assertThat(requests.get(1).getLatency(), equalTo(2D));
+        assertThat(requests.get(1).getBytes(), equalTo(512L));
+        assertThat(requests.get(1).getThread(), equalTo(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void testWrapAround() {
+        //given
+        RequestLog requestLog = new RequestLog(config(true, 5));
+
+        //when
+        for (int i = 0; i < 20; i++) {
+            requestLog.record(i, "ApplicationController:index", "GET", "/" + i, 200, i, 0, 1);
+        }
+        List<RequestSummary> requests = requestLog.getRequests();
+
+        //then
+        assertThat(requestLog.getCapacity(), equalTo(8));
+        assertThat(requestLog.getCount(), equalTo(20L));
+        assertThat(requests.size(), equalTo(8));
+        assertThat(requests.get(0).getPath(), equalTo("/19"));
+        assertThat(requests.get(7).getPath(), equalTo("/12"));
+    }
+
+    @Test
+    public void testDisabled() {
+        //given
+        RequestLog requestLog = new RequestLog(config(false, 4096));
+
+        //then
+        assertThat(requestLog.isEnabled(), equalTo(false));
+        assertThat(requestLog.getCapacity(), equalTo(1));
+    }
+
+    @Test
+    public void testRecordingDoesNotAllocate() {
+        //given
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        RequestLog requestLog = new RequestLog(config(true, 4096));
+        record(requestLog, threadId, 100000);
+
+        //when
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        record(requestLog, threadId, 100000);
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        //then
+        assertThat(allocated, lessThan(1024L));
+    }
+
+    private static void record(RequestLog requestLog, long threadId, int requests) {
+        for (int i = 0; i < requests; i++) {
+            requestLog.record(i, "ApplicationController:index", "GET", "/", 200 + (i % 5), i * 1000L, 512, threadId);
+        }
+    }
+
+    private static Config config(boolean enabled, int size) {
+        Config config = Mockito.mock(Config.class);
+        when(config.isMetricsEnabled()).thenReturn(enabled);
+        when(config.getMetricsRequestsSize()).thenReturn(size);
+
+        return config;
+    }
+}
@@ -0,0 +1,89 @@
+package io.mangoo.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+import org.junit.Test;
+
+import io.mangoo.enums.RequestStage;
+
+/**
+ * 
+ * @author svenkubiak
+ *
+ */
+public class RouteMetricsTest {
+    
+    @Test
+    public void testRecord() {
+        //given
+        RouteMetrics routeMetrics = new RouteMetrics("ApplicationController:index");
+        
+        //when
+        routeMetrics.record(1000000, 200);
+        routeMetrics.record(2000000, 201);
+        routeMetrics.record(3000000, 404);
+        routeMetrics.record(4000000, 500);
+        
+        //then
+        assertThat(routeMetrics.getName(), equalTo("ApplicationController:index"));
+        assertThat(routeMetrics.getCount(), equalTo(4L));
+        assertThat(routeMetrics.getLatency().getCount(), equalTo(4L));
+        assertThat(routeMetrics.getLatency().getP999(), greaterThanOrEqualTo(4000000L));
+        assertThat(routeMetrics.getStatusClasses().get("2xx"), equalTo(2L));
+        assertThat(routeMetrics.getStatusClasses().get("3xx"), equalTo(0L));
+        assertThat(routeMetrics.getStatusClasses().get("4xx"), equalTo(1L));
+        assertThat(routeMetrics.getStatusClasses().get("5xx"), equalTo(1L));
+    }
+    
+    @Test
+    public void testSnapshot() throws InterruptedException {
+        //given
+        RouteMetrics routeMetrics = new RouteMetrics("ApplicationController:index");
+        RouteMetrics.Snapshot previous = routeMetrics.snapshot();
+        
+        //when
+        routeMetrics.record(1000, 200);
+        routeMetrics.record(1000, 503);
+        Thread.sleep(10);
+        RouteMetrics.Snapshot current = routeMetrics.snapshot();
+        
+        //then
+        assertThat(current.getCount() - previous.getCount(), equalTo(2L));
+        assertThat(current.getErrors() - previous.getErrors(), equalTo(1L));
+        assertThat(current.getRate(previous), greaterThan(0D));
+        assertThat(current.getErrorRate(previous), greaterThan(0D));
+        assertThat(current.getRate(current), equalTo(0D));
+    }
+    
+    @Test
+    public void testRecordStages() {
+        //given
+        RouteMetrics routeMetrics = new RouteMetrics("ApplicationController:index");
+        StageTimer stageTimer = new StageTimer();
+        stageTimer.stop(RequestStage.CONTROLLER);
+        
+        //when
+        routeMetrics.record(stageTimer);
+        
+        //then
+        assertThat(routeMetrics.getStages().size(), equalTo(RequestStage.values().length));
+        assertThat(routeMetrics.getStages().get("controller").getCount(), equalTo(1L));
+    }
+    
+    @Test
+    public void testReset() {
+        //given
+        RouteMetrics routeMetrics = new RouteMetrics("ApplicationController:index");
+        routeMetrics.record(1000, 200);
+        
+        //when
+        routeMetrics.reset();
+        
+        //then
+        assertThat(routeMetrics.getCount(), equalTo(0L));
+        assertThat(routeMetrics.getLatency().getCount(), equalTo(0L));
+    }
+}
@@ -0,0 +1,53 @@
+package io.mangoo.models;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.Test;
+
+import io.mangoo.enums.RequestStage;
+
+/**
+ * 
+ * @author svenkubiak
+ *
+ */
+public class StageTimerTest {
+    
+    @Test
+    public void testStop() throws InterruptedException {
+        //given
+        StageTimer stageTimer = new StageTimer();
+        
+        //when
+        Thread.sleep(2);
+        stageTimer.stop(RequestStage.LIMIT);
+        Thread.sleep(2);
+        stageTimer.stop(RequestStage.CONTROLLER);
+        
+        //then
+        assertThat(stageTimer.getDuration(RequestStage.LIMIT), greaterThan(0L));
+        assertThat(stageTimer.getDuration(RequestStage.CONTROLLER), greaterThan(0L));
+        assertThat(stageTimer.getDuration(RequestStage.RENDER), equalTo(0L));
+    }
+    
+    @Test
+    public void testToServerTiming() throws InterruptedException {
+        //given
+        StageTimer stageTimer = new StageTimer();
+        
+        //when
+        Thread.sleep(2);
+        stageTimer.stop(RequestStage.CONTROLLER);
+        Thread.sleep(2);
+        stageTimer.stop(RequestStage.RENDER);
+        
+        //then
+        assertThat(stageTimer.toServerTiming(), containsString("controller;dur="));
+        assertThat(stageTimer.toServerTiming(), containsString(", render;dur="));
+        assertThat(stageTimer.toServerTiming(), not(containsString("send")));
+    }
+}
@@ -1,12 +1,15 @@
 package io.mangoo.providers;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 
 import org.junit.Test;
 
+import io.mangoo.cache.Cache;
 import io.mangoo.core.Application;
+import io.mangoo.enums.CacheName;
 
 /**
  * 
@@ -23,4 +26,43 @@ public class CacheProviderTest {
         assertThat(cacheProvider, not(nullValue()));
         assertThat(cacheProvider.get(), not(nullValue()));
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testGetApplicationCache() {
+        //given
+        CacheProvider cacheProvider = Application.getInstance(CacheProvider.class);
+        
+        //then
+        assertThat(cacheProvider.get(), equalTo(cacheProvider.getCache(CacheName.APPLICATION)));
+    }
+    
+    @Test
+    public void testGetConfiguredRegion() {
+        //given
+        CacheProvider cacheProvider = Application.getInstance(CacheProvider.class);
+        
+        //when
+        Cache cache = cacheProvider.getCache("custom");
+        cache.put("foo", "bar");
+        
+        //then
+        assertThat(cache, not(nullValue()));
+        assertThat(cache.get("foo"), equalTo("bar"));
+    }
+    
+    @Test
+    public void testGetOffHeapRegion() {
+        //given
+        CacheProvider cacheProvider = Application.getInstance(CacheProvider.class);
+        Cache cache = cacheProvider.getCache("tiered");
+        
+        //when
+        for (int i=0; i < 1000; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+        
+        //then
+        assertThat(cache.get("key0"), equalTo("value0"));
+        assertThat(cache.get("key999"), equalTo("value999"));
+    }
+}
@@ -0,0 +1,30 @@
+package io.mangoo.providers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Test;
+
+import io.mangoo.core.Application;
+import io.mangoo.tracing.FileSpanExporter;
+
+/**
+ * 
+ * @author svenkubiak
+ *
+ */
+public class SpanExporterProviderTest {
+
+    @Test
+    public void testGet() {
+        //given
+        SpanExporterProvider spanExporterProvider = Application.getInstance(SpanExporterProvider.class);
+        
+        //then
+        assertThat(spanExporterProvider, not(nullValue()));
+        assertThat(spanExporterProvider.get(), not(nullValue()));
+        assertThat(spanExporterProvider.get(), instanceOf(FileSpanExporter.class));
+    }
+}
\ No newline at end of file
@@ -1,14 +1,27 @@
 package io.mangoo.services;
 
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import org.junit.Test;
 
 import io.mangoo.core.Application;
+import io.mangoo.models.ExecutorStatistics;
 import io.mangoo.services.executors.TestCallable;
 import io.mangoo.services.executors.TestRunnable;
 
@@ -52,4 +65,173 @@ public class ConcurrentServicesTest {
         //then
     		concurrentService.execute(new TestRunnable());
     }
+
+    @Test
+    public void testSupplyAll() throws InterruptedException, ExecutionException {
+        //given
+        ConcurrentService concurrentService = Application.getInstance(ConcurrentService.class);
+        List<Supplier<Integer>> suppliers = Arrays.asList(() -> 1, () -> 2, () -> 3);
+
+        //when
+        CompletableFuture<List<Integer>> future = concurrentService.supplyAll("stealing", suppliers);
+
+        //then
+        assertThat(future.get(), contains(1, 2, 3));
+    }
+
+    @Test
+    public void testAllOfFailure() {
+        //given
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        //when
+        CompletableFuture<List<String>> future = ConcurrentService.allOf(Arrays.asList(failed, pending));
+        failed.completeExceptionally(new IllegalStateException());
+
+        //then
+        assertThat(future.isCompletedExceptionally(), equalTo(true));
+    }
+
+    @Test
+    public void testSchedule() throws InterruptedException {
+        //given
+        ConcurrentService concurrentService = Application.getInstance(ConcurrentService.class);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        //when
+        concurrentService.schedule("timer", latch::countDown, 10, TimeUnit.MILLISECONDS);
+
+        //then
+        assertThat(latch.await(5, TimeUnit.SECONDS), equalTo(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testScheduleWithoutScheduledExecutor() {
+        //given
+        ConcurrentService concurrentService = Application.getInstance(ConcurrentService.class);
+
+        //then
+        concurrentService.schedule("default", new TestRunnable(), 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownExecutor() {
+        //given
+        ConcurrentService concurrentService = Application.getInstance(ConcurrentService.class);
+
+        //then
+        concurrentService.execute("unknown", new TestRunnable());
+    }
+
+    @Test
+    public void testRejection() throws InterruptedException {
+        //given
+        ConcurrentService concurrentService = Application.getInstance(ConcurrentService.class);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        long rejected = getStatistics(concurrentService, "bounded").getRejected();
+
+        //when
+        concurrentService.execute("bounded", () -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        running.await(5, TimeUnit.SECONDS);
+        concurrentService.execute("bounded", new TestRunnable());
+        try {
+            concurrentService.execute("bounded", new TestRunnable());
+        } catch (RejectedExecutionException e) {
+            // expected, as the only thread is busy and the queue is full
+        } finally {
+            release.countDown();
+        }
+
+        //then
+        assertThat(getStatistics(concurrentService, "bounded").getRejected(), equalTo(rejected + 1));
+    }
+
+    @Test(expected = CancellationException.class)
+    public void testDiscardCancelsFuture() throws InterruptedException, ExecutionException, TimeoutException {
+        //given
+        ConcurrentService concurrentService = Application.getInstance(ConcurrentService.class);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> discarded;
+
+        //when
+        concurrentService.submit("discarding", () -> {
+            running.countDown();
+            awaitQuietly(release);
+            return "blocking";
+        });
+        running.await(5, TimeUnit.SECONDS);
+        try {
+            concurrentService.submit("discarding", new TestCallable());
+            discarded = concurrentService.submit("discarding", new TestCallable());
+        } finally {
+            release.countDown();
+        }
+
+        //then
+        discarded.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testDiscardOldestCancelsFuture() throws InterruptedException, ExecutionException, TimeoutException {
+        //given
+        ConcurrentService concurrentService = Application.getInstance(ConcurrentService.class);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> oldest;
+        Future<String> newest;
+
+        //when
+        concurrentService.submit("discardingoldest", () -> {
+            running.countDown();
+            awaitQuietly(release);
+            return "blocking";
+        });
+        running.await(5, TimeUnit.SECONDS);
+        try {
+            oldest = concurrentService.submit("discardingoldest", new TestCallable());
+            newest = concurrentService.submit("discardingoldest", new TestCallable());
+        } finally {
+            release.countDown();
+        }
+
+        //then
+        assertThat(oldest.isCancelled(), equalTo(true));
+        assertThat(newest.get(5, TimeUnit.SECONDS), equalTo("from callable"));
+    }
+
+    @Test
+    public void testStatistics() {
+        //given
+        ConcurrentService concurrentService = Application.getInstance(ConcurrentService.class);
+        long completed = getStatistics(concurrentService, "default").getCompleted();
+
+        //when
+        concurrentService.execute(new TestRunnable());
+
+        //then
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(getStatistics(concurrentService, "default").getCompleted(), greaterThan(completed)));
+        assertThat(getStatistics(concurrentService, "default").getLatency().getCount(), greaterThan(0L));
+    }
+
+    private static ExecutorStatistics getStatistics(ConcurrentService concurrentService, String name) {
+        return concurrentService.getStatistics()
+                .stream()
+                .filter((ExecutorStatistics statistics) -> name.equals(statistics.getName()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
\ No newline at end of file
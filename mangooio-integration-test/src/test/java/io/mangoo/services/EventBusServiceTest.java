@@ -1,14 +1,28 @@
 package io.mangoo.services;
 
+import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
+import org.mockito.Mockito;
+
+import com.google.common.eventbus.Subscribe;
 
+import io.mangoo.annotations.Batch;
+import io.mangoo.configuration.Config;
 import io.mangoo.core.Application;
+import io.mangoo.enums.Overflow;
 import io.mangoo.exceptions.MangooEventBusException;
 import io.mangoo.test.utils.ConcurrentTester;
 
@@ -33,7 +47,7 @@ public class EventBusServiceTest {
         busManager.publish("This is a test");
         
         //then
-        assertThat(testListener.getCount(), equalTo(3));
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(testListener.getCount(), equalTo(3)));
         assertThat(busManager.getNumListeners(), equalTo(1L));
         assertThat(busManager.getNumEvents(), equalTo(3L));
         
@@ -57,7 +71,7 @@ public class EventBusServiceTest {
             busManager.publish("This is a test");
             
             //then
-            assertThat(testListener.getCount(), greaterThan(0));
+            await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(testListener.getCount(), greaterThan(0)));
         };
         
         ConcurrentTester.create()
@@ -65,4 +79,237 @@ public class EventBusServiceTest {
             .withThreads(50)
             .run();
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testCPartitionOrdering() throws MangooEventBusException {
+        //given
+        OrderListener orderListener = new OrderListener();
+        EventBusService busManager = Application.getInstance(EventBusService.class);
+        busManager.register(orderListener);
+        
+        //when
+        for (int i = 0; i < 100; i++) {
+            busManager.publish(Integer.valueOf(i), "order-4711");
+        }
+        
+        //then
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(orderListener.getEvents().size(), equalTo(100)));
+        for (int i = 0; i < 100; i++) {
+            assertThat(orderListener.getEvents().get(i), equalTo(i));
+        }
+        busManager.unregister(orderListener);
+    }
+    
+    @Test
+    public void testDBatchDelivery() throws MangooEventBusException {
+        //given
+        BatchListener batchListener = new BatchListener();
+        EventBusService busManager = Application.getInstance(EventBusService.class);
+        busManager.register(batchListener);
+        
+        //when
+        busManager.publish(Long.valueOf(1), "batch");
+        busManager.publish(Long.valueOf(2), "batch");
+        busManager.publish(Long.valueOf(3), "batch");
+        
+        //then
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(batchListener.getEvents(), contains(1L, 2L, 3L)));
+        assertThat(batchListener.getBatches(), greaterThan(0));
+        busManager.unregister(batchListener);
+    }
+    
+    @Test
+    public void testEStatistics() throws MangooEventBusException {
+        //given
+        OrderListener orderListener = new OrderListener();
+        EventBusService busManager = Application.getInstance(EventBusService.class);
+        busManager.register(orderListener);
+        
+        //when
+        busManager.publish(Integer.valueOf(42));
+        
+        //then
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(busManager.getSubscriberStatistics()
+                .stream()
+                .filter(statistics -> statistics.getName().startsWith(OrderListener.class.getName()))
+                .mapToLong(statistics -> statistics.getDelivered())
+                .sum(), equalTo(1L)));
+        busManager.unregister(orderListener);
+    }
+    
+    @Test
+    public void testFFailureDoesNotSkipEvents() throws MangooEventBusException {
+        //given
+        FailingListener failingListener = new FailingListener();
+        EventBusService busManager = Application.getInstance(EventBusService.class);
+        busManager.register(failingListener);
+        
+        //when
+        for (int i = 0; i < 10; i++) {
+            busManager.publish(Short.valueOf((short) i), "failing");
+        }
+        
+        //then
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(failingListener.getEvents().size(), equalTo(9)));
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(busManager.getSubscriberStatistics()
+                .stream()
+                .filter(statistics -> statistics.getName().startsWith(FailingListener.class.getName()))
+                .mapToLong(statistics -> statistics.getDelivered())
+                .sum(), equalTo(9L)));
+        assertThat(busManager.getSubscriberStatistics()
+                .stream()
+                .filter(statistics -> statistics.getName().startsWith(FailingListener.class.getName()))
+                .mapToLong(statistics -> statistics.getFailures())
+                .sum(), equalTo(1L));
+        busManager.unregister(failingListener);
+    }
+    
+    @Test
+    public void testGPublishFromSubscriberDoesNotBlock() {
+        //given
+        Config config = Mockito.mock(Config.class);
+        when(config.getEventBusOverflow()).thenReturn(Overflow.BLOCK);
+        when(config.getEventBusPartitions()).thenReturn(1);
+        when(config.getEventBusQueue()).thenReturn(1);
+        when(config.getEventBusBatch()).thenReturn(1);
+        when(config.getEventBusThreads()).thenReturn(1);
+        EventBusService busManager = new EventBusService(config);
+        RepublishingListener republishingListener = new RepublishingListener(busManager);
+        busManager.register(republishingListener);
+        
+        //when
+        busManager.publish(Integer.valueOf(100));
+        
+        //then
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(republishingListener.getEvents().contains(0), equalTo(true)));
+        busManager.shutdown();
+    }
+    
+    @Test
+    public void testHRegisterTwice() throws MangooEventBusException {
+        //given
+        OrderListener orderListener = new OrderListener();
+        EventBusService busManager = Application.getInstance(EventBusService.class);
+        long listeners = busManager.getNumListeners();
+        
+        //when
+        busManager.register(orderListener);
+        busManager.register(orderListener);
+        busManager.publish(Integer.valueOf(7));
+        
+        //then
+        assertThat(busManager.getNumListeners(), equalTo(listeners + 1));
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(orderListener.getEvents(), contains(7)));
+        await().pollDelay(200, TimeUnit.MILLISECONDS).atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(orderListener.getEvents(), contains(7)));
+        busManager.unregister(orderListener);
+        assertThat(busManager.getNumListeners(), equalTo(listeners));
+    }
+    
+    @Test
+    public void testIListSubscriber() throws MangooEventBusException {
+        //given
+        ListListener listListener = new ListListener();
+        EventBusService busManager = Application.getInstance(EventBusService.class);
+        busManager.register(listListener);
+        List<String> event = new CopyOnWriteArrayList<>();
+        event.add("list");
+        
+        //when
+        busManager.publish(event);
+        
+        //then
+        await().atMost(2, TimeUnit.SECONDS).untilAsserted(() -> assertThat(listListener.getEvents().size(), equalTo(1)));
+        assertThat(listListener.getEvents().get(0), equalTo(event));
+        busManager.unregister(listListener);
+    }
+    
+    @Test
+    public void testJDefaultOverflow() {
+        //then
+        assertThat(Application.getInstance(Config.class).getEventBusOverflow(), equalTo(Overflow.BLOCK));
+    }
+    
+    public static class ListListener {
+        private final List<List<?>> events = new CopyOnWriteArrayList<>();
+        
+        @Subscribe
+        public void task(List<?> event) {
+            this.events.add(event);
+        }
+        
+        public List<List<?>> getEvents() {
+            return this.events;
+        }
+    }
+    
+    public static class OrderListener {
+        private final List<Integer> events = new CopyOnWriteArrayList<>();
+        
+        @Subscribe
+        public void task(Integer event) {
+            this.events.add(event);
+        }
+        
+        public List<Integer> getEvents() {
+            return this.events;
+        }
+    }
+    
+    public static class BatchListener {
+        private final List<Long> events = new CopyOnWriteArrayList<>();
+        private final AtomicInteger batches = new AtomicInteger();
+        
+        @Batch
+        @Subscribe
+        public void task(List<Long> events) {
+            this.events.addAll(events);
+            this.batches.incrementAndGet();
+        }
+        
+        public List<Long> getEvents() {
+            return this.events;
+        }
+        
+        public int getBatches() {
+            return this.batches.get();
+        }
+    }
+    
+    public static class FailingListener {
+        private final List<Short> events = new CopyOnWriteArrayList<>();
+        
+        @Subscribe
+        public void task(Short event) {
+            if (event.intValue() == 3) {
+                throw new IllegalStateException("Failed to handle event " + event);
+            }
+            this.events.add(event);
+        }
+        
+        public List<Short> getEvents() {
+            return this.events;
+        }
+    }
+    
+    public static class RepublishingListener {
+        private final List<Integer> events = new CopyOnWriteArrayList<>();
+        private final EventBusService busManager;
+        
+        public RepublishingListener(EventBusService busManager) {
+            this.busManager = busManager;
+        }
+        
+        @Subscribe
+        public void task(Integer event) {
+            this.events.add(event);
+            if (event.intValue() > 0) {
+                this.busManager.publish(Integer.valueOf(event.intValue() - 1));
+                this.busManager.publish(Integer.valueOf(event.intValue() - 1));
+            }
+        }
+        
+        public List<Integer> getEvents() {
+            return this.events;
+        }
+    }
+}
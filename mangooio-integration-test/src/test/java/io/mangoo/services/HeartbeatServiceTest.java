@@ -0,0 +1,212 @@
+package io.mangoo.services;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+
+import com.google.inject.Binder;
+import com.google.inject.Guice;
+
+import io.mangoo.configuration.Config;
+import io.mangoo.core.Application;
+import io.undertow.server.handlers.sse.ServerSentEventConnection;
+import io.undertow.server.handlers.sse.ServerSentEventConnection.EventCallback;
+import io.undertow.websockets.core.WebSocketChannel;
+import io.undertow.websockets.core.WebSocketFrameType;
+
+/**
+ *
+ * @author svenkubiak
+ *
+ */
+public class HeartbeatServiceTest {
+    private static final long RETRY = 3000;
+
+    @Test
+    public void testRegister() {
+        //given
+        final HeartbeatService heartbeatService = Application.getInstance(HeartbeatService.class);
+        final WebSocketChannel channel = Mockito.mock(WebSocketChannel.class);
+        final int count = heartbeatService.getCount();
+
+        //when
+        heartbeatService.register(channel);
+
+        //then
+        assertThat(heartbeatService.getCount(), equalTo(count + 1));
+        assertThat(heartbeatService.isRegistered(channel), equalTo(true));
+        heartbeatService.unregister(channel);
+    }
+
+    @Test
+    public void testUnregister() {
+        //given
+        final HeartbeatService heartbeatService = Application.getInstance(HeartbeatService.class);
+        final ServerSentEventConnection connection = Mockito.mock(ServerSentEventConnection.class);
+        final int count = heartbeatService.getCount();
+
+        //when
+        heartbeatService.register(connection);
+        heartbeatService.unregister(connection);
+
+        //then
+        assertThat(heartbeatService.getCount(), equalTo(count));
+    }
+
+    @Test
+    public void testClosedConnection() {
+        //given
+        final HeartbeatService heartbeatService = Application.getInstance(HeartbeatService.class);
+        final WebSocketChannel channel = Mockito.mock(WebSocketChannel.class);
+        final ServerSentEventConnection connection = Mockito.mock(ServerSentEventConnection.class);
+        when(channel.isOpen()).thenReturn(false);
+        when(connection.isOpen()).thenReturn(false);
+
+        //when
+        heartbeatService.register(channel);
+        heartbeatService.register(connection);
+
+        //then
+        assertThat(heartbeatService.isRegistered(channel), equalTo(true));
+        assertThat(heartbeatService.isRegistered(connection), equalTo(true));
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(heartbeatService.isRegistered(channel), equalTo(false)));
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(heartbeatService.isRegistered(connection), equalTo(false)));
+    }
+
+    @Test
+    public void testServerSentEventRetry() {
+        //given
+        final HeartbeatService heartbeatService = newHeartbeatService(0);
+        final ServerSentEventConnection connection = Mockito.mock(ServerSentEventConnection.class);
+        when(connection.isOpen()).thenReturn(true);
+
+        try {
+            //when
+            heartbeatService.register(connection);
+
+            //then
+            verify(connection, timeout(5000).atLeastOnce()).sendRetry(eq(RETRY), any(EventCallback.class));
+            assertThat(heartbeatService.isRegistered(connection), equalTo(true));
+        } finally {
+            heartbeatService.shutdown();
+        }
+    }
+
+    @Test
+    public void testServerSentEventFailure() throws IOException {
+        //given
+        final HeartbeatService heartbeatService = newHeartbeatService(0);
+        final ServerSentEventConnection connection = Mockito.mock(ServerSentEventConnection.class);
+        when(connection.isOpen()).thenReturn(true);
+        doAnswer((InvocationOnMock invocation) -> {
+            invocation.<EventCallback>getArgument(1).failed(connection, null, null, null, new IOException("closed"));
+            return null;
+        }).when(connection).sendRetry(anyLong(), any(EventCallback.class));
+
+        try {
+            //when
+            heartbeatService.register(connection);
+
+            //then
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(heartbeatService.getFailureCount(), equalTo(1L)));
+            assertThat(heartbeatService.isRegistered(connection), equalTo(false));
+            verify(connection).close();
+        } finally {
+            heartbeatService.shutdown();
+        }
+    }
+
+    @Test
+    public void testWebSocketPing() {
+        //given
+        final HeartbeatService heartbeatService = newHeartbeatService(0);
+        final WebSocketChannel channel = Mockito.mock(WebSocketChannel.class);
+        when(channel.isOpen()).thenReturn(true);
+
+        try {
+            //when
+            heartbeatService.register(channel);
+
+            //then
+            verify(channel, timeout(5000).atLeastOnce()).send(WebSocketFrameType.PING);
+        } finally {
+            heartbeatService.shutdown();
+        }
+    }
+
+    @Test
+    public void testWebSocketFailure() throws IOException {
+        //given
+        final HeartbeatService heartbeatService = newHeartbeatService(0);
+        final WebSocketChannel channel = Mockito.mock(WebSocketChannel.class);
+        when(channel.isOpen()).thenReturn(true);
+        when(channel.send(WebSocketFrameType.PING)).thenThrow(new IOException("closed"));
+
+        try {
+            //when
+            heartbeatService.register(channel);
+
+            //then
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(heartbeatService.getFailureCount(), equalTo(1L)));
+            assertThat(heartbeatService.isRegistered(channel), equalTo(false));
+            verify(channel).close();
+        } finally {
+            heartbeatService.shutdown();
+        }
+    }
+
+    @Test
+    public void testWebSocketTimeout() throws IOException {
+        //given
+        final HeartbeatService heartbeatService = newHeartbeatService(1);
+        final WebSocketChannel channel = Mockito.mock(WebSocketChannel.class);
+        when(channel.isOpen()).thenReturn(true);
+
+        try {
+            //when
+            heartbeatService.register(channel);
+
+            //then
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(heartbeatService.getTimeoutCount(), equalTo(1L)));
+            assertThat(heartbeatService.isRegistered(channel), equalTo(false));
+            assertThat(heartbeatService.getFailureCount(), equalTo(0L));
+            verify(channel).close();
+            verify(channel, never()).send(WebSocketFrameType.PING);
+        } finally {
+            heartbeatService.shutdown();
+        }
+    }
+
+    /**
+     * Creates a heartbeat service which sends a heartbeat every second, or every
+     * two seconds to WebSocket channels if a timeout is set, so that the first
+     * heartbeat always finds a silent peer timed out
+     *
+     * @param webSocketTimeout The WebSocket timeout in seconds, 0 for none
+     * @return A new heartbeat service
+     */
+    private static HeartbeatService newHeartbeatService(long webSocketTimeout) {
+        final Config config = Mockito.mock(Config.class);
+        when(config.getSseHeartbeatInterval()).thenReturn(1L);
+        when(config.getSseRetry()).thenReturn(RETRY);
+        when(config.getWebSocketHeartbeatInterval()).thenReturn((webSocketTimeout > 0) ? 2L : 1L);
+        when(config.getWebSocketHeartbeatTimeout()).thenReturn(webSocketTimeout);
+
+        return Guice.createInjector((Binder binder) -> binder.bind(Config.class).toInstance(config)).getInstance(HeartbeatService.class);
+    }
+}
@@ -0,0 +1,82 @@
+package io.mangoo.services;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.mangoo.configuration.Config;
+import io.mangoo.models.RuntimeSample;
+
+/**
+ *
+ * @author svenkubiak
+ *
+ */
+public class RuntimeServiceTest {
+
+    @Test
+    public void testSample() {
+        //given
+        final RuntimeService runtimeService = new RuntimeService(config(10));
+
+        //when
+        runtimeService.sample();
+        runtimeService.sample();
+        final RuntimeSample sample = runtimeService.getLatest();
+
+        //then
+        assertThat(runtimeService.getSamples().size(), equalTo(2));
+        assertThat(sample, not(nullValue()));
+        assertThat(sample.getHeapUsed(), greaterThan(0L));
+        assertThat(sample.getThreads(), greaterThan(0));
+        assertThat(sample.getLoadedClasses(), greaterThan(0));
+        assertThat(sample.getCollectors().isEmpty(), equalTo(false));
+        assertThat(sample.getThreadStates().get("RUNNABLE"), greaterThan(0));
+        assertThat(sample.getGcPause(), greaterThanOrEqualTo(0L));
+    }
+
+    @Test
+    public void testRingBufferWraps() {
+        //given
+        final RuntimeService runtimeService = new RuntimeService(config(3));
+
+        //when
+        for (int i = 0; i < 5; i++) {
+            runtimeService.sample();
+        }
+        final List<RuntimeSample> samples = runtimeService.getSamples();
+
+        //then
+        assertThat(samples.size(), equalTo(3));
+        assertThat(samples.get(2), equalTo(runtimeService.getLatest()));
+        assertThat(samples.get(0).getTimestamp(), lessThanOrEqualTo(samples.get(2).getTimestamp()));
+    }
+
+    @Test
+    public void testEmpty() {
+        //given
+        final RuntimeService runtimeService = new RuntimeService(config(3));
+
+        //then
+        assertThat(runtimeService.getLatest(), nullValue());
+        assertThat(runtimeService.getSamples().isEmpty(), equalTo(true));
+    }
+
+    private static Config config(int samples) {
+        final Config config = Mockito.mock(Config.class);
+        when(config.getMetricsRuntimeSamples()).thenReturn(samples);
+        when(config.getMetricsRuntimeInterval()).thenReturn(10);
+
+        return config;
+    }
+}
@@ -5,8 +5,17 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -22,11 +31,13 @@ import org.glassfish.jersey.media.sse.EventSource;
 import org.glassfish.jersey.media.sse.InboundEvent;
 import org.glassfish.jersey.media.sse.SseFeature;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import io.mangoo.configuration.Config;
 import io.mangoo.core.Application;
 import io.undertow.server.handlers.sse.ServerSentEventConnection;
+import io.undertow.server.handlers.sse.ServerSentEventConnection.EventCallback;
 
 /**
  *
@@ -71,6 +82,135 @@ public class ServerSentEventServiceTest {
         assertThat(ServerSentEventService.getConnections("/foo").size(), equalTo(0));
     }
 
+    @Test
+    public void testReplay() {
+        //given
+        final ServerSentEventService serverSentEventService = Application.getInstance(ServerSentEventService.class);
+        final ServerSentEventConnection connection = Mockito.mock(ServerSentEventConnection.class);
+        final ServerSentEventConnection reconnected = Mockito.mock(ServerSentEventConnection.class);
+        final ArgumentCaptor<String> ids = ArgumentCaptor.forClass(String.class);
+        when(connection.getRequestURI()).thenReturn("/replay");
+        when(connection.isOpen()).thenReturn(true);
+        when(reconnected.getRequestURI()).thenReturn("/replay");
+        when(reconnected.isOpen()).thenReturn(true);
+
+        //when
+        serverSentEventService.addConnection(connection);
+        serverSentEventService.send("/replay", "first");
+        serverSentEventService.send("/replay", "second");
+        serverSentEventService.send("/replay", "third");
+        verify(connection, times(3)).send(anyString(), isNull(), ids.capture(), any(EventCallback.class));
+        serverSentEventService.addConnection(reconnected, ids.getAllValues().get(0));
+
+        //then
+        verify(reconnected, never()).send(eq("first"), isNull(), anyString(), any(EventCallback.class));
+        verify(reconnected).send(eq("second"), isNull(), eq(ids.getAllValues().get(1)), any(EventCallback.class));
+        verify(reconnected).send(eq("third"), isNull(), eq(ids.getAllValues().get(2)), any(EventCallback.class));
+        serverSentEventService.removeConnections("/replay");
+    }
+
+    @Test
+    public void testCoalesce() {
+        //given
+        final ServerSentEventService serverSentEventService = Application.getInstance(ServerSentEventService.class);
+        final Config config = Application.getInstance(Config.class);
+        final ServerSentEventConnection connection = Mockito.mock(ServerSentEventConnection.class);
+        final ArgumentCaptor<EventCallback> callbacks = ArgumentCaptor.forClass(EventCallback.class);
+        when(connection.getRequestURI()).thenReturn("/coalesce");
+        when(connection.isOpen()).thenReturn(true);
+        final long coalesced = serverSentEventService.getCoalescedCount();
+
+        //when
+        serverSentEventService.addConnection(connection);
+        for (int i = 0; i < config.getSseCoalesceThreshold(); i++) {
+            serverSentEventService.publish("/coalesce", "price", "price", "inflight-" + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            serverSentEventService.publish("/coalesce", "price", "price", "pending-" + i);
+        }
+        verify(connection, times(config.getSseCoalesceThreshold())).send(anyString(), eq("price"), anyString(), callbacks.capture());
+        List<EventCallback> inflight = callbacks.getAllValues();
+        inflight.get(0).done(connection, "inflight-0", "price", null);
+
+        //then
+        assertThat(serverSentEventService.getCoalescedCount() - coalesced, equalTo(9L));
+        verify(connection).send(eq("pending-9"), eq("price"), anyString(), any(EventCallback.class));
+        verify(connection, never()).send(eq("pending-0"), eq("price"), anyString(), any(EventCallback.class));
+        serverSentEventService.removeConnections("/coalesce");
+    }
+
+    @Test
+    public void testReplayBeforeLiveEvents() {
+        //given
+        final ServerSentEventService serverSentEventService = Application.getInstance(ServerSentEventService.class);
+        final ServerSentEventConnection connection = Mockito.mock(ServerSentEventConnection.class);
+        final ServerSentEventConnection reconnected = Mockito.mock(ServerSentEventConnection.class);
+        final ArgumentCaptor<String> ids = ArgumentCaptor.forClass(String.class);
+        final ArgumentCaptor<String> data = ArgumentCaptor.forClass(String.class);
+        when(connection.getRequestURI()).thenReturn("/replaylive");
+        when(connection.isOpen()).thenReturn(true);
+        when(reconnected.getRequestURI()).thenReturn("/replaylive");
+        when(reconnected.isOpen()).thenReturn(true);
+
+        //when
+        serverSentEventService.addConnection(connection);
+        serverSentEventService.send("/replaylive", "first");
+        serverSentEventService.send("/replaylive", "second");
+        verify(connection, times(2)).send(anyString(), isNull(), ids.capture(), any(EventCallback.class));
+        serverSentEventService.addConnection(reconnected, ids.getAllValues().get(0));
+        serverSentEventService.send("/replaylive", "third");
+
+        //then
+        verify(reconnected, times(2)).send(data.capture(), isNull(), anyString(), any(EventCallback.class));
+        assertThat(data.getAllValues(), equalTo(Arrays.asList("second", "third")));
+        serverSentEventService.removeConnections("/replaylive");
+    }
+
+    @Test
+    public void testPendingLimit() {
+        //given
+        final ServerSentEventService serverSentEventService = Application.getInstance(ServerSentEventService.class);
+        final Config config = Application.getInstance(Config.class);
+        final ServerSentEventConnection connection = Mockito.mock(ServerSentEventConnection.class);
+        when(connection.getRequestURI()).thenReturn("/pending");
+        when(connection.isOpen()).thenReturn(true);
+        final long dropped = serverSentEventService.getDroppedCount();
+
+        //when
+        serverSentEventService.addConnection(connection);
+        for (int i = 0; i < config.getSseCoalesceThreshold() + config.getSsePendingLimit() + 10; i++) {
+            serverSentEventService.send("/pending", "event-" + i);
+        }
+
+        //then
+        assertThat(serverSentEventService.getDroppedCount() - dropped, equalTo(10L));
+        serverSentEventService.removeConnections("/pending");
+    }
+
+    @Test
+    public void testBufferRemovedWithLastConnection() {
+        //given
+        final ServerSentEventService serverSentEventService = Application.getInstance(ServerSentEventService.class);
+        final ServerSentEventConnection connection = Mockito.mock(ServerSentEventConnection.class);
+        when(connection.getRequestURI()).thenReturn("/buffer");
+        when(connection.isOpen()).thenReturn(true);
+        final int buffers = serverSentEventService.getBufferCount();
+
+        //when
+        serverSentEventService.addConnection(connection);
+        serverSentEventService.send("/buffer", "data");
+
+        //then
+        assertThat(serverSentEventService.getBufferCount(), equalTo(buffers + 1));
+
+        //when
+        serverSentEventService.removeConnection(connection);
+        serverSentEventService.send("/buffer", "data");
+
+        //then
+        assertThat(serverSentEventService.getBufferCount(), equalTo(buffers));
+    }
+
 	@Test
 	public void testCloseConnection() throws InterruptedException {
 		//given
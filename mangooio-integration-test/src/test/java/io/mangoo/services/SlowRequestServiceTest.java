@@ -0,0 +1,119 @@
+package io.mangoo.services;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.mangoo.configuration.Config;
+import io.mangoo.enums.RequestStage;
+import io.mangoo.models.ActiveRequest;
+import io.mangoo.models.SlowRequest;
+import io.mangoo.models.StageTimer;
+
+/**
+ *
+ * @author svenkubiak
+ *
+ */
+public class SlowRequestServiceTest {
+
+    @Test
+    public void testFastRequestIsNotLogged() {
+        //given
+        final SlowRequestService slowRequestService = new SlowRequestService(config(5));
+        final ActiveRequest activeRequest = slowRequestService.begin("ApplicationController:index", System.nanoTime());
+
+        //when
+        slowRequestService.complete(activeRequest, "GET", "/", new HashMap<>(), 200, TimeUnit.MILLISECONDS.toNanos(10), null);
+
+        //then
+        assertThat(slowRequestService.isEnabled(), equalTo(true));
+        assertThat(slowRequestService.getActiveCount(), equalTo(0));
+        assertThat(slowRequestService.getSlowRequests().isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void testSlowRequestIsLogged() {
+        //given
+        final SlowRequestService slowRequestService = new SlowRequestService(config(5));
+        final ActiveRequest activeRequest = slowRequestService.begin("ApplicationController:index", System.nanoTime() - TimeUnit.SECONDS.toNanos(5));
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("password", "secret");
+        final StageTimer stageTimer = new StageTimer(false);
+        stageTimer.stop(RequestStage.CONTROLLER);
+
+        //when
+        slowRequestService.sample();
+        slowRequestService.complete(activeRequest, "POST", "/login", parameters, 200, TimeUnit.SECONDS.toNanos(5), stageTimer);
+        final List<SlowRequest> slowRequests = slowRequestService.getSlowRequests();
+
+        //then
+        assertThat(slowRequests.size(), equalTo(1));
+        assertThat(slowRequests.get(0).getRoute(), equalTo("ApplicationController:index"));
+        assertThat(slowRequests.get(0).getUri(), equalTo("/login"));
+        assertThat(slowRequests.get(0).getDuration(), equalTo(5000L));
+        assertThat(slowRequests.get(0).getParameters().get("password"), equalTo("***"));
+        assertThat(slowRequests.get(0).getStages().containsKey(RequestStage.CONTROLLER.toString()), equalTo(true));
+        assertThat(slowRequests.get(0).getSamples().size(), equalTo(1));
+        assertThat(slowRequests.get(0).getSamples().get(0).getFrames().size(), greaterThan(0));
+    }
+
+    @Test
+    public void testDetachedRequestIsNotSampled() {
+        //given
+        final SlowRequestService slowRequestService = new SlowRequestService(config(5));
+        final ActiveRequest activeRequest = slowRequestService.begin("ApplicationController:async", System.nanoTime() - TimeUnit.SECONDS.toNanos(5));
+
+        //when
+        activeRequest.detach();
+        slowRequestService.sample();
+
+        //then
+        assertThat(activeRequest.getSamples().isEmpty(), equalTo(true));
+
+        //when
+        activeRequest.attach();
+        slowRequestService.sample();
+
+        //then
+        assertThat(activeRequest.getSamples().size(), equalTo(1));
+        slowRequestService.complete(activeRequest, "GET", "/async", null, 200, TimeUnit.SECONDS.toNanos(5), null);
+    }
+
+    @Test
+    public void testLogIsBounded() {
+        //given
+        final SlowRequestService slowRequestService = new SlowRequestService(config(5));
+
+        //when
+        for (int i = 0; i < 10; i++) {
+            ActiveRequest activeRequest = slowRequestService.begin("ApplicationController:index", System.nanoTime());
+            slowRequestService.complete(activeRequest, "GET", "/" + i, null, 200, TimeUnit.SECONDS.toNanos(2), null);
+        }
+        final List<SlowRequest> slowRequests = slowRequestService.getSlowRequests();
+
+        //then
+        assertThat(slowRequests.size(), equalTo(5));
+        assertThat(slowRequests.get(0).getUri(), equalTo("/9"));
+    }
+
+    private static Config config(int size) {
+        final Config config = Mockito.mock(Config.class);
+        when(config.isMetricsEnabled()).thenReturn(true);
+        when(config.getMetricsSlowThreshold()).thenReturn(1000);
+        when(config.getMetricsSlowSamplingThreshold()).thenReturn(3000);
+        when(config.getMetricsSlowSamplingInterval()).thenReturn(100);
+        when(config.getMetricsSlowSize()).thenReturn(size);
+
+        return config;
+    }
+}
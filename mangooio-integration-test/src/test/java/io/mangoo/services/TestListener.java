@@ -8,7 +8,7 @@ import com.google.common.eventbus.Subscribe;
  *
  */
 public class TestListener {
-    private int count;
+    private volatile int count;
     
     @Subscribe
     public void task(String s) {
@@ -18,4 +18,4 @@ public class TestListener {
     public int getCount() {
         return count;
     }
-}
\ No newline at end of file
+}
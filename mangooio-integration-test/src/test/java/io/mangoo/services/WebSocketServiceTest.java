@@ -9,6 +9,11 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
@@ -242,4 +247,157 @@ public class WebSocketServiceTest {
         //then
         await().atMost(2,  TimeUnit.SECONDS).untilAsserted(() -> assertThat(eventData, not(equalTo(data))));
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testSubscribe() {
+        //given
+        final WebSocketService webSocketService = Application.getInstance(WebSocketService.class);
+        final WebSocketChannel channel = Mockito.mock(WebSocketChannel.class);
+        when(channel.getUrl()).thenReturn("/websocket");
+        webSocketService.addChannel(channel);
+
+        //when
+        webSocketService.subscribe(channel, "ticker");
+
+        //then
+        assertThat(webSocketService.getSubscribers("ticker").contains(channel), equalTo(true));
+        
+        //when
+        webSocketService.removeChannel(channel);
+        
+        //then
+        assertThat(webSocketService.getSubscribers("ticker").contains(channel), equalTo(false));
+        assertThat(webSocketService.getChannels("/websocket").contains(channel), equalTo(false));
+    }
+
+    @Test
+    public void testBroadcast() throws Exception {
+        //given
+        final Config config = Application.getInstance(Config.class);
+        final WebSocketService webSocketService = Application.getInstance(WebSocketService.class);
+        webSocketService.removeChannels("/websocket");
+        final WebSocketClientFactory factory = new WebSocketClientFactory();
+        factory.start();
+        final String url = "ws://" + config.getConnectorHttpHost() + ":" + config.getConnectorHttpPort() + "/websocket";
+        final String data = "Server broadcast data FTW!";
+        eventData = null;
+
+        //when
+        new WebSocketClient(factory).open(new URI(url), new WebSocket.OnTextMessage() {
+            @Override
+            public void onOpen(Connection connection) {
+                // intentionally left blank
+            }
+
+            @Override
+            public void onClose(int closeCode, String message) {
+                // intentionally left blank
+            }
+
+            @Override
+            public void onMessage(String data) {
+                eventData = data;
+            }
+        }).get(5, TimeUnit.SECONDS);
+        await().atMost(2, TimeUnit.SECONDS).until(() -> webSocketService.getChannels("/websocket").size() == 1);
+        webSocketService.broadcast("/websocket", data);
+
+        //then
+        await().atMost(4, TimeUnit.SECONDS).untilAsserted(() -> assertThat(eventData, equalTo(data)));
+    }
+
+    @Test
+    public void testGetChannelsIsCopy() {
+        //given
+        final WebSocketService webSocketService = Application.getInstance(WebSocketService.class);
+        final WebSocketChannel channel = Mockito.mock(WebSocketChannel.class);
+        when(channel.getUrl()).thenReturn("/websocketcopy");
+        webSocketService.addChannel(channel);
+
+        //when
+        final Set<WebSocketChannel> channels = webSocketService.getChannels("/websocketcopy");
+        webSocketService.removeChannel(channel);
+
+        //then
+        assertThat(channels.contains(channel), equalTo(true));
+        assertThat(webSocketService.getChannels("/websocketcopy").isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void testConcurrentAddAndRemove() throws InterruptedException {
+        //given
+        final WebSocketService webSocketService = Application.getInstance(WebSocketService.class);
+        final List<WebSocketChannel> added = new ArrayList<>();
+        final List<WebSocketChannel> removed = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            WebSocketChannel channel = Mockito.mock(WebSocketChannel.class);
+            when(channel.getUrl()).thenReturn("/websocketrace");
+            added.add(channel);
+            channel = Mockito.mock(WebSocketChannel.class);
+            when(channel.getUrl()).thenReturn("/websocketrace");
+            removed.add(channel);
+        }
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        //when
+        Thread remover = new Thread(() -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            removed.forEach((WebSocketChannel channel) -> {
+                webSocketService.addChannel(channel);
+                webSocketService.removeChannel(channel);
+            });
+        });
+        remover.start();
+        latch.countDown();
+        added.forEach(webSocketService::addChannel);
+        remover.join();
+
+        //then
+        assertThat(webSocketService.getChannels("/websocketrace").size(), equalTo(1000));
+        webSocketService.removeChannels("/websocketrace");
+    }
+
+    @Test
+    public void testBroadcastOrder() throws Exception {
+        //given
+        final Config config = Application.getInstance(Config.class);
+        final WebSocketService webSocketService = Application.getInstance(WebSocketService.class);
+        webSocketService.removeChannels("/websocket");
+        final WebSocketClientFactory factory = new WebSocketClientFactory();
+        factory.start();
+        final String url = "ws://" + config.getConnectorHttpHost() + ":" + config.getConnectorHttpPort() + "/websocket";
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final List<String> expected = new ArrayList<>();
+
+        //when
+        new WebSocketClient(factory).open(new URI(url), new WebSocket.OnTextMessage() {
+            @Override
+            public void onOpen(Connection connection) {
+                // intentionally left blank
+            }
+
+            @Override
+            public void onClose(int closeCode, String message) {
+                // intentionally left blank
+            }
+
+            @Override
+            public void onMessage(String data) {
+                messages.add(data);
+            }
+        }).get(5, TimeUnit.SECONDS);
+        await().atMost(2, TimeUnit.SECONDS).until(() -> webSocketService.getChannels("/websocket").size() == 1);
+        for (int i = 0; i < 500; i++) {
+            expected.add(String.valueOf(i));
+            webSocketService.broadcast("/websocket", String.valueOf(i));
+        }
+
+        //then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> messages.size() == 500);
+        assertThat(messages, equalTo(expected));
+    }
+}
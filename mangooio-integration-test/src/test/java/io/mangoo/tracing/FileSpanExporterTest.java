@@ -0,0 +1,100 @@
+package io.mangoo.tracing;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.mangoo.configuration.Config;
+
+/**
+ *
+ * @author svenkubiak
+ *
+ */
+public class FileSpanExporterTest {
+
+    @Test
+    public void testExport() throws IOException {
+        //given
+        Path path = Files.createTempDirectory("spans").resolve("traces/spans.json");
+        FileSpanExporter fileSpanExporter = new FileSpanExporter(config(path, 16));
+        Tracer tracer = new Tracer(config(path, 16), fileSpanExporter);
+
+        //when
+        Span span = tracer.startTrace("ApplicationController:index", null);
+        span.child("render").withAttribute("template", "index.ftl").end();
+        span.end();
+        fileSpanExporter.close();
+        tracer.startTrace("ApplicationController:index", null).end();
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+
+        //then
+        assertThat(lines.size(), equalTo(2));
+        assertThat(lines.get(0), containsString("index.ftl"));
+        assertThat(lines.get(1), containsString(span.getTraceId()));
+        assertThat(fileSpanExporter.getExported(), equalTo(2L));
+        assertThat(fileSpanExporter.getDropped(), equalTo(1L));
+    }
+
+    @Test
+    public void testBoundedQueue() throws IOException {
+        //given
+        Path path = Files.createTempDirectory("spans").resolve("spans.json");
+        FileSpanExporter fileSpanExporter = new FileSpanExporter(config(path, 1));
+        Tracer tracer = new Tracer(config(path, 1), fileSpanExporter);
+
+        //when
+        for (int i = 0; i < 1000; i++) {
+            tracer.startTrace("ApplicationController:index", null).end();
+        }
+        fileSpanExporter.close();
+
+        //then
+        assertThat(fileSpanExporter.getExported() + fileSpanExporter.getDropped(), equalTo(1000L));
+        assertThat((long) Files.readAllLines(path, StandardCharsets.UTF_8).size(), equalTo(fileSpanExporter.getExported()));
+    }
+
+    @Test
+    public void testReopenAfterFailure() throws IOException {
+        //given
+        Path directory = Files.createTempDirectory("spans");
+        Path parent = Files.createFile(directory.resolve("traces"));
+        Path path = parent.resolve("spans.json");
+        FileSpanExporter fileSpanExporter = new FileSpanExporter(config(path, 16));
+        Tracer tracer = new Tracer(config(path, 16), fileSpanExporter);
+
+        //when
+        Span span = tracer.startTrace("ApplicationController:index", null);
+        span.end();
+        await().during(1, TimeUnit.SECONDS).atMost(2, TimeUnit.SECONDS).until(() -> fileSpanExporter.getExported() == 0);
+        Files.delete(parent);
+
+        //then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> fileSpanExporter.getExported() == 1);
+        fileSpanExporter.close();
+        assertThat(Files.readAllLines(path, StandardCharsets.UTF_8).get(0), containsString(span.getTraceId()));
+        assertThat(fileSpanExporter.getDropped(), equalTo(0L));
+    }
+
+    private static Config config(Path path, int queue) {
+        Config config = Mockito.mock(Config.class);
+        when(config.isTracingEnabled()).thenReturn(true);
+        when(config.getTracingSample()).thenReturn(1);
+        when(config.getTracingQueue()).thenReturn(queue);
+        when(config.getTracingFile()).thenReturn(path.toString());
+
+        return config;
+    }
+}
@@ -0,0 +1,71 @@
+package io.mangoo.tracing;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Test;
+
+/**
+ *
+ * @author svenkubiak
+ *
+ */
+public class TraceContextTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SPAN_ID = "00f067aa0ba902b7";
+
+    @Test
+    public void testParse() {
+        //when
+        TraceContext sampled = TraceContext.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-01");
+        TraceContext unsampled = TraceContext.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-00");
+
+        //then
+        assertThat(sampled, not(nullValue()));
+        assertThat(sampled.getTraceId(), equalTo(TRACE_ID));
+        assertThat(sampled.getParentSpanId(), equalTo(SPAN_ID));
+        assertThat(sampled.isSampled(), equalTo(true));
+        assertThat(unsampled.isSampled(), equalTo(false));
+    }
+
+    @Test
+    public void testParseFutureVersion() {
+        //when
+        TraceContext traceContext = TraceContext.parse("01-" + TRACE_ID + "-" + SPAN_ID + "-01-future");
+
+        //then
+        assertThat(traceContext, not(nullValue()));
+        assertThat(traceContext.getTraceId(), equalTo(TRACE_ID));
+    }
+
+    @Test
+    public void testParseInvalid() {
+        //then
+        assertThat(TraceContext.parse(null), nullValue());
+        assertThat(TraceContext.parse(""), nullValue());
+        assertThat(TraceContext.parse("00-" + TRACE_ID.toUpperCase() + "-" + SPAN_ID + "-01"), nullValue());
+        assertThat(TraceContext.parse("00-00000000000000000000000000000000-" + SPAN_ID + "-01"), nullValue());
+        assertThat(TraceContext.parse("00-" + TRACE_ID + "-0000000000000000-01"), nullValue());
+        assertThat(TraceContext.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-01-extra"), nullValue());
+        assertThat(TraceContext.parse("ff-" + TRACE_ID + "-" + SPAN_ID + "-01"), nullValue());
+    }
+
+    @Test
+    public void testToTraceparent() {
+        //given
+        String traceId = TraceContext.newTraceId();
+        String spanId = TraceContext.newSpanId();
+
+        //when
+        TraceContext traceContext = TraceContext.parse(TraceContext.toTraceparent(traceId, spanId, true));
+
+        //then
+        assertThat(traceId.length(), equalTo(32));
+        assertThat(spanId.length(), equalTo(16));
+        assertThat(traceContext.getTraceId(), equalTo(traceId));
+        assertThat(traceContext.getParentSpanId(), equalTo(spanId));
+        assertThat(traceContext.isSampled(), equalTo(true));
+    }
+}
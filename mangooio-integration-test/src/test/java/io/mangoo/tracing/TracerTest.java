@@ -0,0 +1,215 @@
+package io.mangoo.tracing;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import io.mangoo.configuration.Config;
+import io.mangoo.core.Application;
+import io.mangoo.interfaces.MangooSpanExporter;
+import io.mangoo.services.ConcurrentService;
+import io.mangoo.test.utils.WebRequest;
+import io.mangoo.test.utils.WebResponse;
+import io.undertow.util.StatusCodes;
+
+/**
+ *
+ * @author svenkubiak
+ *
+ */
+public class TracerTest {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String TRACEPARENT = "00-" + TRACE_ID + "-00f067aa0ba902b7-01";
+
+    @Test
+    public void testStartTrace() {
+        //given
+        Tracer tracer = new Tracer(config(true, 1), new ListExporter());
+
+        //when
+        Span span = tracer.startTrace("ApplicationController:index", TRACEPARENT);
+
+        //then
+        assertThat(span, not(nullValue()));
+        assertThat(span.getTraceId(), equalTo(TRACE_ID));
+        assertThat(span.getParentSpanId(), equalTo("00f067aa0ba902b7"));
+        assertThat(tracer.startTrace("ApplicationController:index", null).getParentSpanId(), nullValue());
+    }
+
+    @Test
+    public void testUnsampledTrace() {
+        //given
+        ListExporter exporter = new ListExporter();
+        Tracer tracer = new Tracer(config(true, 1), exporter);
+
+        //when
+        Span span = tracer.startTrace("ApplicationController:index", "00-" + TRACE_ID + "-00f067aa0ba902b7-00");
+        Span child = span.child("render");
+        child.end();
+        span.end();
+
+        //then
+        assertThat(span.isSampled(), equalTo(false));
+        assertThat(span.getTraceId(), equalTo(TRACE_ID));
+        assertThat(span.getParentSpanId(), equalTo("00f067aa0ba902b7"));
+        assertThat(span.getSpanId(), not(equalTo("00f067aa0ba902b7")));
+        assertThat(span.getTraceparent(), equalTo("00-" + TRACE_ID + "-" + span.getSpanId() + "-00"));
+        assertThat(child.getTraceparent(), equalTo("00-" + TRACE_ID + "-" + child.getSpanId() + "-00"));
+        assertThat(exporter.spans.size(), equalTo(0));
+    }
+
+    @Test
+    public void testLocallyUnsampledTrace() {
+        //given
+        ListExporter exporter = new ListExporter();
+        Tracer tracer = new Tracer(config(true, Integer.MAX_VALUE), exporter);
+
+        //when
+        Span span = tracer.startTrace("ApplicationController:index", null);
+        span.end();
+
+        //then
+        assertThat(span, not(nullValue()));
+        assertThat(span.getTraceparent(), equalTo("00-" + span.getTraceId() + "-" + span.getSpanId() + "-00"));
+        assertThat(TraceContext.parse(span.getTraceparent()).isSampled(), equalTo(false));
+        assertThat(exporter.spans.size(), equalTo(0));
+    }
+
+    @Test
+    public void testDisabled() {
+        //given
+        Tracer tracer = new Tracer(config(false, 1), new ListExporter());
+
+        //then
+        assertThat(tracer.isEnabled(), equalTo(false));
+        assertThat(tracer.startTrace("ApplicationController:index", TRACEPARENT), nullValue());
+    }
+
+    @Test
+    public void testPropagation() throws InterruptedException {
+        //given
+        ListExporter exporter = new ListExporter();
+        Tracer tracer = new Tracer(config(true, 1), exporter);
+        Span root = tracer.startTrace("ApplicationController:index", TRACEPARENT);
+
+        //when
+        Span previous = Tracer.activate(root);
+        Runnable runnable = Tracer.wrap("task", () -> Tracer.startSpan("mail").end());
+        Tracer.activate(previous);
+        Thread thread = new Thread(runnable);
+        thread.start();
+        thread.join();
+        root.end();
+        root.end();
+
+        //then
+        assertThat(Tracer.current(), nullValue());
+        assertThat(Tracer.startSpan("render"), nullValue());
+        assertThat(exporter.spans.size(), equalTo(3));
+        assertThat(exporter.spans.get(0).getName(), equalTo("mail"));
+        assertThat(exporter.spans.get(0).getParentSpanId(), equalTo(exporter.spans.get(1).getSpanId()));
+        assertThat(exporter.spans.get(1).getName(), equalTo("task"));
+        assertThat(exporter.spans.get(1).getParentSpanId(), equalTo(root.getSpanId()));
+        assertThat(exporter.spans.get(2), equalTo(root));
+        assertThat(root.getTraceparent(), equalTo("00-" + TRACE_ID + "-" + root.getSpanId() + "-01"));
+    }
+
+    @Test
+    public void testConcurrentServicePropagation() throws InterruptedException, ExecutionException {
+        //given
+        ListExporter exporter = new ListExporter();
+        Tracer tracer = new Tracer(config(true, 1), exporter);
+        Span root = tracer.startTrace("ApplicationController:index", null);
+
+        //when
+        Span previous = Tracer.activate(root);
+        String traceparent;
+        try {
+            traceparent = Application.getInstance(ConcurrentService.class).submit(Tracer::traceparent).get();
+        } finally {
+            Tracer.activate(previous);
+        }
+
+        //then
+        assertThat(traceparent, not(nullValue()));
+        assertThat(TraceContext.parse(traceparent).getTraceId(), equalTo(root.getTraceId()));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> exporter.spans.size() == 1);
+        assertThat(exporter.spans.get(0).getName(), equalTo("task default"));
+    }
+
+    @Test
+    public void testRequest() {
+        //given
+        Path path = Application.getInstance(FileSpanExporter.class).getPath();
+
+        //when
+        WebResponse response = WebRequest.get("/text")
+                .withHeader("traceparent", TRACEPARENT)
+                .execute();
+
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> read(path).contains("ApplicationController:text") && read(path).contains(TRACE_ID));
+    }
+
+    @Test
+    public void testAsyncControllerSpan() {
+        //given
+        Path path = Application.getInstance(FileSpanExporter.class).getPath();
+        String traceId = "5bf92f3577b34da6a3ce929d0e0e4736";
+
+        //when
+        WebResponse response = WebRequest.get("/asyncerror")
+                .withHeader("traceparent", "00-" + traceId + "-00f067aa0ba902b7-01")
+                .execute();
+
+        //then
+        assertThat(response, not(nullValue()));
+        assertThat(response.getStatusCode(), equalTo(StatusCodes.INTERNAL_SERVER_ERROR));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> Arrays.stream(read(path).split("\n"))
+                .anyMatch(line -> line.contains(traceId) && line.contains("\"controller\"") && line.contains(IllegalStateException.class.getName())));
+    }
+
+    private static String read(Path path) throws IOException {
+        return Files.exists(path) ? new String(Files.readAllBytes(path), StandardCharsets.UTF_8) : "";
+    }
+
+    private static Config config(boolean enabled, int sample) {
+        Config config = Mockito.mock(Config.class);
+        when(config.isTracingEnabled()).thenReturn(enabled);
+        when(config.getTracingSample()).thenReturn(sample);
+
+        return config;
+    }
+
+    private static final class ListExporter implements MangooSpanExporter {
+        private final List<Span> spans = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void export(Span span) {
+            this.spans.add(span);
+        }
+
+        @Override
+        public void close() {
+            this.spans.clear();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package io.mangoo.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Test;
+
+/**
+ * 
+ * @author svenkubiak
+ *
+ */
+public class FlightRecorderUtilsTest {
+
+    @Test
+    public void testNoEventsWithoutRecording() {
+        //given
+        Object request = FlightRecorderUtils.beginRequest();
+        Object controller = FlightRecorderUtils.beginController();
+        Object render = FlightRecorderUtils.beginRender();
+        Object cookies = FlightRecorderUtils.beginCookies();
+        Object cache = FlightRecorderUtils.beginCache();
+        Object job = FlightRecorderUtils.beginJob();
+
+        //when
+        FlightRecorderUtils.endRequest(request, "ApplicationController:index", "GET", "/", 200, 0);
+        FlightRecorderUtils.endController(controller, "ApplicationController:index");
+        FlightRecorderUtils.endRender(render, "ApplicationController/index.ftl");
+        FlightRecorderUtils.endCookies(cookies, "decode");
+        FlightRecorderUtils.endCache(cache, "get", "foo", false);
+        FlightRecorderUtils.endJob(job, "InfoJob", false);
+
+        //then
+        assertThat(request, nullValue());
+        assertThat(controller, nullValue());
+        assertThat(render, nullValue());
+        assertThat(cookies, nullValue());
+        assertThat(cache, nullValue());
+        assertThat(job, nullValue());
+    }
+}
@@ -2,9 +2,15 @@ package io.mangoo.utils;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 
+import java.util.Map;
+
 import org.junit.Test;
 
 /**
@@ -26,4 +32,37 @@ public class MetricsUtilsTest {
         assertThat(readableSize, not(nullValue()));
         assertThat(readableSize, equalTo("24 MB"));
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testBufferPools() {
+        //when
+        Map<String, Map<String, Long>> bufferPools = MetricsUtils.getBufferPools();
+        
+        //then
+        assertThat(bufferPools, hasKey("direct"));
+        assertThat(bufferPools.get("direct"), hasKey("memoryUsed"));
+    }
+    
+    @Test
+    public void testWorkers() {
+        //when
+        Map<String, Map<String, Object>> workers = MetricsUtils.getWorkers();
+        
+        //then
+        assertThat(workers, not(nullValue()));
+        assertThat(workers.isEmpty(), equalTo(false));
+        for (Map<String, Object> worker : workers.values()) {
+            assertThat(((Number) worker.get("IoThreadCount")).intValue(), greaterThan(0));
+            if (worker.containsKey("MaxWorkerPoolSize")) {
+                assertThat(((Number) worker.get("MaxWorkerPoolSize")).intValue(), greaterThan(0));
+            }
+            if (worker.containsKey("MaxWorkerPoolSize") && worker.containsKey("CoreWorkerPoolSize")) {
+                assertThat(((Number) worker.get("MaxWorkerPoolSize")).intValue(), greaterThanOrEqualTo(((Number) worker.get("CoreWorkerPoolSize")).intValue()));
+            }
+            if (worker.containsKey("MaxWorkerPoolSize") && worker.containsKey("BusyWorkerThreadCount")) {
+                assertThat(((Number) worker.get("BusyWorkerThreadCount")).intValue(), greaterThanOrEqualTo(0));
+                assertThat(((Number) worker.get("BusyWorkerThreadCount")).intValue(), lessThanOrEqualTo(((Number) worker.get("MaxWorkerPoolSize")).intValue()));
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.mangoo.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.jar.JarFile;
+
+import org.junit.Test;
+
+/**
+ * Verifies the multi-release jar of mangooio-core, which is only used when the
+ * tests run against the packaged jar on JDK 21 or newer, e.g. with mvn verify
+ *
+ * @author svenkubiak
+ *
+ */
+public class ThreadUtilsTest {
+    private static final int JAVA_21 = 21;
+
+    @Test
+    public void testMultiReleaseJar() throws IOException, URISyntaxException {
+        //given
+        assumeTrue(javaVersion() >= JAVA_21);
+        Path path = Paths.get(ThreadUtils.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        assumeTrue(path.toString().endsWith(".jar"));
+
+        //when
+        try (JarFile jarFile = new JarFile(path.toFile())) {
+            //then
+            assertThat(jarFile.getManifest().getMainAttributes().getValue("Multi-Release"), equalTo("true"));
+            assertThat(jarFile.getEntry("META-INF/versions/11/io/mangoo/utils/FlightRecorderUtils.class"), not(nullValue()));
+            assertThat(jarFile.getEntry("META-INF/versions/21/io/mangoo/utils/ThreadUtils.class"), not(nullValue()));
+        }
+    }
+
+    @Test
+    public void testVirtualThreads() throws InterruptedException, ExecutionException, URISyntaxException {
+        //given
+        assumeTrue(javaVersion() >= JAVA_21);
+        assumeTrue(ThreadUtils.class.getProtectionDomain().getCodeSource().getLocation().toURI().getPath().endsWith(".jar"));
+        ExecutorService executorService = ThreadUtils.newVirtualThreadPerTaskExecutor("test");
+
+        //when
+        String name;
+        try {
+            name = executorService.submit(() -> Thread.currentThread().getName()).get();
+        } finally {
+            executorService.shutdown();
+        }
+
+        //then
+        assertThat(ThreadUtils.isVirtualThreadsSupported(), equalTo(true));
+        assertThat(name, startsWith("mangooio-test-"));
+    }
+
+    private static int javaVersion() {
+        String version = System.getProperty("java.specification.version");
+        return version.startsWith("1.") ? Integer.parseInt(version.substring(2)) : Integer.parseInt(version);
+    }
+}
@@ -0,0 +1,124 @@
+package io.mangoo.utils;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.mangoo.cache.Cache;
+import io.mangoo.core.Application;
+import io.mangoo.test.utils.WebRequest;
+import io.mangoo.test.utils.WebResponse;
+import io.undertow.util.StatusCodes;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Records the events of FlightRecorderUtils, which are only emitted when the tests run
+ * against the packaged multi-release jar of mangooio-core on JDK 11 or newer
+ *
+ * @author svenkubiak
+ *
+ */
+public class FlightRecorderEventsTest {
+    private static final String ROUTE = "ApplicationController:index";
+
+    @Test
+    public void testRecordedEvents() throws IOException {
+        //given
+        assumeTrue(FlightRecorderUtils.isAvailable());
+        Path path = Files.createTempFile("mangooio", ".jfr");
+        Cache cache = Application.getInstance(Cache.class);
+
+        try (Recording recording = new Recording()) {
+            recording.enable("io.mangoo.Request").withoutThreshold();
+            recording.enable("io.mangoo.Controller").withoutThreshold();
+            recording.enable("io.mangoo.Render").withoutThreshold();
+            recording.enable("io.mangoo.Cache").withoutThreshold();
+            recording.start();
+
+            //when
+            WebResponse response = WebRequest.get("/").execute();
+            cache.put("flightrecorder", "value");
+            cache.get("flightrecorder");
+
+            //then
+            assertThat(response, not(nullValue()));
+            assertThat(response.getStatusCode(), equalTo(StatusCodes.OK));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> find(dump(recording, path), "io.mangoo.Request", "route", ROUTE) != null);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(path);
+        RecordedEvent request = find(events, "io.mangoo.Request", "route", ROUTE);
+        assertThat(request.getString("method"), equalTo("GET"));
+        assertThat(request.getString("uri"), equalTo("/"));
+        assertThat(request.getInt("status"), equalTo(StatusCodes.OK));
+        assertThat(request.getLong("bytes"), greaterThan(0L));
+        assertThat(request.getDuration().isNegative(), equalTo(false));
+
+        assertThat(find(events, "io.mangoo.Controller", "route", ROUTE), not(nullValue()));
+
+        RecordedEvent render = find(events, "io.mangoo.Render");
+        assertThat(render, not(nullValue()));
+        assertThat(render.getString("template"), containsString("index.ftl"));
+
+        RecordedEvent put = find(events, "io.mangoo.Cache", "operation", "put", "key", "flightrecorder");
+        assertThat(put, not(nullValue()));
+        assertThat(put.getBoolean("hit"), equalTo(false));
+
+        RecordedEvent get = find(events, "io.mangoo.Cache", "operation", "get", "key", "flightrecorder");
+        assertThat(get, not(nullValue()));
+        assertThat(get.getBoolean("hit"), equalTo(true));
+
+        Files.deleteIfExists(path);
+    }
+
+    private static List<RecordedEvent> dump(Recording recording, Path path) {
+        try {
+            recording.dump(path);
+            return RecordingFile.readAllEvents(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param events The recorded events
+     * @param type The name of the event type
+     * @param fields Pairs of field name and expected value
+     * @return The first event of the type with the given values or null
+     */
+    private static RecordedEvent find(List<RecordedEvent> events, String type, String... fields) {
+        for (RecordedEvent event : events) {
+            if (event.getEventType().getName().equals(type) && matches(event, fields)) {
+                return event;
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean matches(RecordedEvent event, String... fields) {
+        for (int i = 0; i < fields.length; i = i + 2) {
+            if (!fields[i + 1].equals(event.getString(fields[i]))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}